@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.client;
+
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.shared.notification.INotificationHandler;
+import org.eclipsescout.demo.bahbah.client.services.BuddyAvatarCache;
+import org.eclipsescout.demo.bahbah.shared.notification.AvatarChangedNotification;
+
+public class AvatarChangedNotificationHandler implements INotificationHandler<AvatarChangedNotification> {
+
+  @Override
+  public void handleNotification(AvatarChangedNotification notification) {
+    BEANS.get(BuddyAvatarCache.class).invalidate(notification.getUserName(), notification.getVersion());
+  }
+}
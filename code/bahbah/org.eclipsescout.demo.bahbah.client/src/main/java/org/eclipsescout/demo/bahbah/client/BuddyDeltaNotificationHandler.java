@@ -15,21 +15,17 @@ import org.eclipse.scout.rt.client.job.ModelJobs;
 import org.eclipse.scout.rt.shared.notification.INotificationHandler;
 import org.eclipsescout.demo.bahbah.client.ui.desktop.Desktop;
 import org.eclipsescout.demo.bahbah.client.ui.desktop.outlines.pages.UserNodePage;
-import org.eclipsescout.demo.bahbah.shared.notification.RefreshBuddiesNotification;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.eclipsescout.demo.bahbah.shared.notification.BuddyDeltaNotification;
 
-public class RefreshBuddiesNotificationHandler implements INotificationHandler<RefreshBuddiesNotification> {
-  private static final Logger LOG = LoggerFactory.getLogger(RefreshBuddiesNotificationHandler.class);
+public class BuddyDeltaNotificationHandler implements INotificationHandler<BuddyDeltaNotification> {
 
   @Override
-  public void handleNotification(RefreshBuddiesNotification notification) {
+  public void handleNotification(BuddyDeltaNotification notification) {
     ModelJobs.schedule(() -> {
       UserNodePage userPage = getUserNodePage();
 
       if (userPage != null) {
-        LOG.info("refreshing buddies on client");
-        userPage.updateBuddyPages();
+        userPage.applyBuddyDelta(notification);
       }
     }, ModelJobs.newInput(ClientRunContexts.copyCurrent()));
   }
@@ -10,8 +10,6 @@
  ******************************************************************************/
 package org.eclipsescout.demo.bahbah.client;
 
-import java.util.Date;
-
 import org.eclipse.scout.rt.client.context.ClientRunContexts;
 import org.eclipse.scout.rt.client.job.ModelJobs;
 import org.eclipse.scout.rt.shared.notification.INotificationHandler;
@@ -19,6 +17,7 @@ import org.eclipsescout.demo.bahbah.client.ui.desktop.Desktop;
 import org.eclipsescout.demo.bahbah.client.ui.desktop.outlines.pages.UserNodePage;
 import org.eclipsescout.demo.bahbah.client.ui.forms.ChatForm;
 import org.eclipsescout.demo.bahbah.shared.notification.MessageNotification;
+import org.eclipsescout.demo.bahbah.shared.notification.MessageNotification.ChatMessage;
 
 //tag::notificationHandler[]
 public class MessageNotificationHandler implements INotificationHandler<MessageNotification> {
@@ -27,14 +26,18 @@ public class MessageNotificationHandler implements INotificationHandler<MessageN
   @Override
   public void handleNotification(final MessageNotification notification) {
     // end::notificationHandler[]
+    // all messages of the notification are added in one model job
     ModelJobs.schedule(() -> {
       UserNodePage userPage = getUserNodePage();
-      String buddy = notification.getSenderName();
+      if (userPage == null) {
+        return;
+      }
 
-      if (userPage != null) {
+      for (ChatMessage message : notification.getMessages()) {
+        String buddy = message.getSenderName();
         ChatForm form = userPage.getChatForm(buddy);
         if (form != null) {
-          form.getHistoryField().addMessage(false, buddy, form.getUserName(), new Date(), notification.getMessage());
+          form.getHistoryField().addMessage(false, buddy, form.getUserName(), message.getDate(), message.getMessage());
         }
       }
     }, ModelJobs.newInput(ClientRunContexts.copyCurrent()));
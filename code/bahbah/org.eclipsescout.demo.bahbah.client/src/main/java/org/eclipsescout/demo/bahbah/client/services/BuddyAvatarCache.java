@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.client.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipsescout.demo.bahbah.shared.notification.AvatarChangedNotification;
+import org.eclipsescout.demo.bahbah.shared.services.process.IIconProcessService;
+
+/**
+ * Client side cache of the buddy avatar icons by user name.
+ * <p>
+ * Each entry holds the icon and its version (see {@link AvatarChangedNotification#versionOf(byte[])}). The server
+ * sends an {@link AvatarChangedNotification} when a user uploads a new icon, which removes the entry unless it already
+ * has the new version. Users without an icon are cached as well. The cache keeps the {@link #MAX_AVATARS} most
+ * recently used icons; the icons are loaded from the server outside of the lock.
+ */
+@ApplicationScoped
+public class BuddyAvatarCache {
+
+  protected static final int MAX_AVATARS = 1000;
+
+  // in access order, the least recently used icon is removed first
+  private final LinkedHashMap<String, Avatar> m_avatars = new LinkedHashMap<String, Avatar>(16, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Avatar> eldest) {
+      return size() > MAX_AVATARS;
+    }
+  };
+  // incremented on every invalidation, so that icons loaded before an invalidation are not cached
+  private long m_invalidations;
+
+  /**
+   * @return the icon of the user or <code>null</code> if the user has no icon. Must be called with a client session.
+   */
+  public byte[] get(String userName) {
+    Avatar avatar;
+    long invalidations;
+    synchronized (this) {
+      avatar = m_avatars.get(userName);
+      invalidations = m_invalidations;
+    }
+    if (avatar == null) {
+      avatar = new Avatar(BEANS.get(IIconProcessService.class).loadIcon(userName));
+      put(userName, avatar, invalidations);
+    }
+    return avatar.getIcon();
+  }
+
+  /**
+   * Loads the icons of the given users that are not cached yet in one call. Must be called with a client session.
+   */
+  public void warmUp(Collection<String> userNames) {
+    List<String> missing = new ArrayList<>();
+    long invalidations;
+    synchronized (this) {
+      for (String userName : userNames) {
+        if (!m_avatars.containsKey(userName)) {
+          missing.add(userName);
+        }
+      }
+      invalidations = m_invalidations;
+    }
+    if (missing.isEmpty()) {
+      return;
+    }
+
+    Map<String, byte[]> icons = BEANS.get(IIconProcessService.class).loadIcons(missing);
+    for (Entry<String, byte[]> icon : icons.entrySet()) {
+      put(icon.getKey(), new Avatar(icon.getValue()), invalidations);
+    }
+  }
+
+  protected synchronized void put(String userName, Avatar avatar, long invalidations) {
+    // an icon loaded before an invalidation may be outdated already
+    if (m_invalidations == invalidations) {
+      m_avatars.put(userName, avatar);
+    }
+  }
+
+  protected synchronized int size() {
+    return m_avatars.size();
+  }
+
+  /**
+   * Removes the icon of the user unless it has the given version.
+   */
+  public synchronized void invalidate(String userName, long version) {
+    Avatar avatar = m_avatars.get(userName);
+    if (avatar != null && avatar.getVersion() == version) {
+      return;
+    }
+    m_invalidations++;
+    m_avatars.remove(userName);
+  }
+
+  protected static class Avatar {
+    private final byte[] m_icon;
+    private final long m_version;
+
+    public Avatar(byte[] icon) {
+      m_icon = icon;
+      m_version = AvatarChangedNotification.versionOf(icon);
+    }
+
+    public byte[] getIcon() {
+      return m_icon;
+    }
+
+    public long getVersion() {
+      return m_version;
+    }
+  }
+}
@@ -16,7 +16,6 @@ import org.eclipse.scout.rt.client.services.common.icon.IconSpec;
 import org.eclipse.scout.rt.platform.BEANS;
 import org.eclipse.scout.rt.platform.Order;
 import org.eclipsescout.demo.bahbah.client.ClientSession;
-import org.eclipsescout.demo.bahbah.shared.services.process.IIconProcessService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -48,7 +47,7 @@ public class BuddyAvatarIconProviderService implements IIconProviderService {
     }
 
     IconSpec spec = loadBuddyAvatarIconSpec(iconName.substring(BUDDY_ICON_PREFIX.length()));
-    if (spec.getContent() != null) {
+    if (spec != null && spec.getContent() != null) {
       // return the icon from the database
       return spec;
     }
@@ -61,7 +60,7 @@ public class BuddyAvatarIconProviderService implements IIconProviderService {
   protected IconSpec loadBuddyAvatarIconSpec(String m_iconName) {
     try {
       if (ClientSession.get() != null) {
-        byte[] data = BEANS.get(IIconProcessService.class).loadIcon(m_iconName);
+        byte[] data = BEANS.get(BuddyAvatarCache.class).get(m_iconName);
         return new IconSpec(m_iconName, data);
       }
     }
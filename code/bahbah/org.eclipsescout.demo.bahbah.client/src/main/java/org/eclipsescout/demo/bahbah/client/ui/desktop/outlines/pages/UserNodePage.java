@@ -10,14 +10,14 @@
  ******************************************************************************/
 package org.eclipsescout.demo.bahbah.client.ui.desktop.outlines.pages;
 
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.scout.rt.client.ui.action.menu.AbstractMenu;
 import org.eclipse.scout.rt.client.ui.basic.cell.Cell;
-import org.eclipse.scout.rt.client.ui.basic.tree.ITreeNode;
 import org.eclipse.scout.rt.client.ui.desktop.outline.pages.AbstractPageWithNodes;
 import org.eclipse.scout.rt.client.ui.desktop.outline.pages.IPage;
 import org.eclipse.scout.rt.platform.BEANS;
@@ -27,14 +27,22 @@ import org.eclipse.scout.rt.platform.util.StringUtility;
 import org.eclipse.scout.rt.shared.services.common.security.ACCESS;
 import org.eclipse.scout.rt.shared.ui.UserAgentUtility;
 import org.eclipsescout.demo.bahbah.client.ClientSession;
+import org.eclipsescout.demo.bahbah.client.services.BuddyAvatarCache;
 import org.eclipsescout.demo.bahbah.client.services.BuddyAvatarIconProviderService;
 import org.eclipsescout.demo.bahbah.client.ui.forms.ChatForm;
 import org.eclipsescout.demo.bahbah.client.ui.forms.IconChooserForm;
+import org.eclipsescout.demo.bahbah.shared.notification.BuddyDeltaNotification;
 import org.eclipsescout.demo.bahbah.shared.security.UpdateIconPermission;
 import org.eclipsescout.demo.bahbah.shared.services.outline.IStandardOutlineService;
+import org.eclipsescout.demo.bahbah.shared.services.outline.OnlineUsersDelta;
 
 public class UserNodePage extends AbstractPageWithNodes {
 
+  // version of the online users shown as buddy pages
+  private long m_onlineUsersVersion;
+  // buddy pages by buddy name
+  private final Map<String, BuddyNodePage> m_buddyPages = new HashMap<>();
+
   @Override
   protected boolean getConfiguredExpanded() {
     return true;
@@ -65,53 +73,88 @@ public class UserNodePage extends AbstractPageWithNodes {
       return null;
     }
 
-    for (ITreeNode node : getChildNodes()) {
-      BuddyNodePage buddyNode = (BuddyNodePage) node;
-      if (buddyNode.getName().equals(buddy)) {
-        return buddyNode.getChatForm();
-      }
+    BuddyNodePage buddyPage = m_buddyPages.get(buddy);
+    if (buddyPage == null) {
+      return null;
     }
-    return null;
+    return buddyPage.getChatForm();
+  }
+
+  protected BuddyNodePage createBuddyPage(String buddy) {
+    BuddyNodePage buddyPage = new BuddyNodePage();
+    buddyPage.setName(buddy);
+    m_buddyPages.put(buddy, buddyPage);
+    return buddyPage;
+  }
+
+  protected void removeBuddyPage(BuddyNodePage buddyPage) {
+    m_buddyPages.remove(buddyPage.getName());
+    getTree().removeChildNode(this, buddyPage);
   }
 
   @Override
   protected void execCreateChildPages(List<IPage<?>> pageList) {
-    String[] buddies = BEANS.get(IStandardOutlineService.class).getOnlineUsers();
-    for (String buddy : buddies) {
-      BuddyNodePage buddyPage = new BuddyNodePage();
-      buddyPage.setName(buddy);
-      pageList.add(buddyPage);
+    OnlineUsersDelta delta = BEANS.get(IStandardOutlineService.class).getOnlineUserChanges(0);
+    m_onlineUsersVersion = delta.getVersion();
+    m_buddyPages.clear();
+    // load the icons of all buddies in one call
+    BEANS.get(BuddyAvatarCache.class).warmUp(delta.getJoinedUsers());
+    for (String buddy : delta.getJoinedUsers()) {
+      pageList.add(createBuddyPage(buddy));
     }
   }
 
+  /**
+   * Fetches the users that came online or went offline since the last update and adds or removes their pages.
+   */
   public void updateBuddyPages() {
-    HashSet<String> newBuddy = new HashSet<>();
-    ArrayList<String> updatedList = new ArrayList<>();
-    String[] buddies = BEANS.get(IStandardOutlineService.class).getOnlineUsers();
-
-    newBuddy.addAll(Arrays.asList(buddies));
+    OnlineUsersDelta delta = BEANS.get(IStandardOutlineService.class).getOnlineUserChanges(m_onlineUsersVersion);
+    m_onlineUsersVersion = delta.getVersion();
 
-    // keep track of known buddies and remove buddies that are no longer here
-    List<IPage<?>> childPages = getChildPages();
-    for (IPage<?> page : childPages) {
+    Set<String> newBuddies = new HashSet<>(delta.getJoinedUsers());
+    for (IPage<?> page : getChildPages()) {
       BuddyNodePage buddyPage = (BuddyNodePage) page;
-
-      if (newBuddy.contains(buddyPage.getName())) {
-        updatedList.add(buddyPage.getName());
-      }
-      else {
-        getTree().removeChildNode(this, buddyPage);
+      boolean online = newBuddies.remove(buddyPage.getName()) || (!delta.isComplete() && !delta.getLeftUsers().contains(buddyPage.getName()));
+      if (!online) {
+        removeBuddyPage(buddyPage);
       }
     }
 
-    // add new buddies
-    for (String buddy : newBuddy) {
-      if (!updatedList.contains(buddy)) {
-        BuddyNodePage buddyPage = new BuddyNodePage();
-        buddyPage.setName(buddy);
-        getTree().addChildNode(this, buddyPage);
+    BEANS.get(BuddyAvatarCache.class).warmUp(newBuddies);
+    for (String buddy : newBuddies) {
+      getTree().addChildNode(this, createBuddyPage(buddy));
+    }
+  }
+
+  /**
+   * Adds and removes the pages of the buddies in the delta. If the delta does not continue the version of the buddy
+   * pages, the changes are fetched from the server instead.
+   */
+  public void applyBuddyDelta(BuddyDeltaNotification delta) {
+    if (m_onlineUsersVersion >= delta.getVersion()) {
+      return;
+    }
+    if (m_onlineUsersVersion < delta.getPreviousVersion()) {
+      updateBuddyPages();
+      return;
+    }
+    m_onlineUsersVersion = delta.getVersion();
+
+    String myself = ClientSession.get().getUserId();
+    Set<String> newBuddies = new HashSet<>(delta.getJoinedUsers());
+    newBuddies.remove(myself);
+    for (IPage<?> page : getChildPages()) {
+      BuddyNodePage buddyPage = (BuddyNodePage) page;
+      newBuddies.remove(buddyPage.getName());
+      if (delta.getLeftUsers().contains(buddyPage.getName())) {
+        removeBuddyPage(buddyPage);
       }
     }
+
+    BEANS.get(BuddyAvatarCache.class).warmUp(newBuddies);
+    for (String buddy : newBuddies) {
+      getTree().addChildNode(this, createBuddyPage(buddy));
+    }
   }
 
   @Order(10)
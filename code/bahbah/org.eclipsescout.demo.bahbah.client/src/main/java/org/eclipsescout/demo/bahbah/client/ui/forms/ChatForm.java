@@ -10,15 +10,25 @@
  ******************************************************************************/
 package org.eclipsescout.demo.bahbah.client.ui.forms;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import org.eclipse.scout.rt.client.dto.FormData;
 import org.eclipse.scout.rt.client.dto.FormData.SdkCommand;
 import org.eclipse.scout.rt.client.ui.action.keystroke.AbstractKeyStroke;
+import org.eclipse.scout.rt.client.ui.action.menu.AbstractMenu;
+import org.eclipse.scout.rt.client.ui.action.menu.IMenuType;
+import org.eclipse.scout.rt.client.ui.action.menu.TableMenuType;
 import org.eclipse.scout.rt.client.ui.basic.cell.Cell;
 import org.eclipse.scout.rt.client.ui.basic.table.AbstractTable;
 import org.eclipse.scout.rt.client.ui.basic.table.ITableRow;
 import org.eclipse.scout.rt.client.ui.basic.table.columns.AbstractIntegerColumn;
+import org.eclipse.scout.rt.client.ui.basic.table.columns.AbstractLongColumn;
 import org.eclipse.scout.rt.client.ui.basic.table.columns.AbstractStringColumn;
 import org.eclipse.scout.rt.client.ui.basic.table.columns.AbstractTimeColumn;
 import org.eclipse.scout.rt.client.ui.basic.table.columns.IColumn;
@@ -30,17 +40,24 @@ import org.eclipse.scout.rt.client.ui.form.fields.tablefield.AbstractTableField;
 import org.eclipse.scout.rt.platform.BEANS;
 import org.eclipse.scout.rt.platform.Order;
 import org.eclipse.scout.rt.platform.text.TEXTS;
+import org.eclipse.scout.rt.platform.util.CollectionUtility;
 import org.eclipse.scout.rt.platform.util.StringUtility;
 import org.eclipse.scout.rt.shared.data.basic.FontSpec;
 import org.eclipsescout.demo.bahbah.client.services.BuddyAvatarIconProviderService;
 import org.eclipsescout.demo.bahbah.client.ui.forms.ChatForm.MainBox.HistoryField;
 import org.eclipsescout.demo.bahbah.client.ui.forms.ChatForm.MainBox.HistoryField.Table;
 import org.eclipsescout.demo.bahbah.client.ui.forms.ChatForm.MainBox.MessageField;
+import org.eclipsescout.demo.bahbah.shared.services.process.ChatHistoryEntry;
 import org.eclipsescout.demo.bahbah.shared.services.process.INotificationProcessService;
 
 @FormData(sdkCommand = SdkCommand.IGNORE)
 public class ChatForm extends AbstractForm {
 
+  // number of messages loaded from the chat history at once
+  private static final int HISTORY_PAGE_SIZE = 50;
+  // number of messages kept in the history table
+  private static final int MAX_HISTORY_ROWS = 200;
+
   private String m_buddyName;
   private String m_userName;
 
@@ -118,8 +135,92 @@ public class ChatForm extends AbstractForm {
       private final Integer MESSAGE_TYPE_LOCAL = 1;
       private final Integer MESSAGE_TYPE_REMOTE = 2;
 
+      // sender, time and text of the messages in the table
+      private final Set<List<Object>> m_messageKeys = new HashSet<>();
+      // the window grows by the older messages explicitly loaded
+      private int m_maxRows = MAX_HISTORY_ROWS;
+
       public void addMessage(boolean local, String sender, String receiver, Date date, String message) {
-        getTable().addRowByArray(new Object[]{(local ? MESSAGE_TYPE_LOCAL : MESSAGE_TYPE_REMOTE), sender, receiver, message, date});
+        // a message may already have been loaded with the chat history when the form was opened
+        if (!m_messageKeys.add(toMessageKey(sender, date, message))) {
+          return;
+        }
+        getTable().addRowByArray(new Object[]{(local ? MESSAGE_TYPE_LOCAL : MESSAGE_TYPE_REMOTE), sender, receiver, message, date, null});
+        discardRowsBeyondWindow();
+      }
+
+      /**
+       * Loads the newest messages from the chat history.
+       */
+      public void loadHistory() {
+        getTable().discardAllRows();
+        m_messageKeys.clear();
+        m_maxRows = MAX_HISTORY_ROWS;
+        addHistory(BEANS.get(INotificationProcessService.class).getHistory(getBuddyName(), null, HISTORY_PAGE_SIZE));
+      }
+
+      /**
+       * Loads the messages older than the oldest message in the table from the chat history.
+       */
+      public void loadOlderHistory() {
+        List<ITableRow> rows = getRowsNewestFirst();
+        ChatHistoryEntry before = null;
+        if (!rows.isEmpty()) {
+          ITableRow oldest = rows.get(rows.size() - 1);
+          before = new ChatHistoryEntry(getTable().getMessageIdColumn().getValue(oldest), null, null, getTable().getTimeColumn().getValue(oldest), null);
+        }
+        List<ChatHistoryEntry> entries = BEANS.get(INotificationProcessService.class).getHistory(getBuddyName(), before, HISTORY_PAGE_SIZE);
+        // the newest messages are kept, the window is extended by the requested ones
+        m_maxRows = Math.max(m_maxRows, getTable().getRowCount() + entries.size());
+        addHistory(entries);
+      }
+
+      protected void addHistory(List<ChatHistoryEntry> entries) {
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (ChatHistoryEntry entry : entries) {
+          if (!m_messageKeys.add(toMessageKey(entry.getSender(), entry.getDate(), entry.getMessage()))) {
+            continue;
+          }
+          boolean local = entry.getSender().equals(getUserName());
+          rows.add(new Object[]{(local ? MESSAGE_TYPE_LOCAL : MESSAGE_TYPE_REMOTE), entry.getSender(), entry.getReceiver(), entry.getMessage(), entry.getDate(), entry.getMessageId()});
+        }
+        getTable().addRowsByMatrix(rows.toArray(new Object[rows.size()][]));
+      }
+
+      /**
+       * Keeps the newest rows in the table, at most {@link #MAX_HISTORY_ROWS} and the older messages explicitly
+       * loaded.
+       */
+      protected void discardRowsBeyondWindow() {
+        int excess = getTable().getRowCount() - m_maxRows;
+        if (excess <= 0) {
+          return;
+        }
+
+        List<ITableRow> rows = getRowsNewestFirst();
+        List<ITableRow> discardedRows = rows.subList(rows.size() - excess, rows.size());
+        Table table = getTable();
+        for (ITableRow row : discardedRows) {
+          m_messageKeys.remove(toMessageKey(table.getSenderColumn().getValue(row), table.getTimeColumn().getValue(row), table.getMessageColumn().getValue(row)));
+        }
+        table.discardRows(discardedRows);
+      }
+
+      public boolean containsMessage(String sender, Date date, String message) {
+        return m_messageKeys.contains(toMessageKey(sender, date, message));
+      }
+
+      protected List<Object> toMessageKey(String sender, Date date, String message) {
+        return Arrays.asList(sender, date == null ? null : date.getTime(), message);
+      }
+
+      protected List<ITableRow> getRowsNewestFirst() {
+        Table table = getTable();
+        List<ITableRow> rows = new ArrayList<>(table.getRows());
+        rows.sort(Comparator.comparing((ITableRow row) -> table.getTimeColumn().getValue(row))
+            .thenComparing(row -> table.getMessageIdColumn().getValue(row), Comparator.nullsLast(Comparator.naturalOrder()))
+            .reversed());
+        return rows;
       }
 
       @Override
@@ -170,6 +271,10 @@ public class ChatForm extends AbstractForm {
           return getColumnSet().getColumnByClass(TypeColumn.class);
         }
 
+        public MessageIdColumn getMessageIdColumn() {
+          return getColumnSet().getColumnByClass(MessageIdColumn.class);
+        }
+
         @Order(10)
         public class TypeColumn extends AbstractIntegerColumn {
 
@@ -254,6 +359,34 @@ public class ChatForm extends AbstractForm {
             return 0;
           }
         }
+
+        @Order(60)
+        public class MessageIdColumn extends AbstractLongColumn {
+
+          @Override
+          protected boolean getConfiguredDisplayable() {
+            return false;
+          }
+        }
+
+        @Order(10)
+        public class LoadOlderMessagesMenu extends AbstractMenu {
+
+          @Override
+          protected String getConfiguredText() {
+            return TEXTS.get("LoadOlderMessages");
+          }
+
+          @Override
+          protected Set<? extends IMenuType> getConfiguredMenuTypes() {
+            return CollectionUtility.hashSet(TableMenuType.EmptySpace);
+          }
+
+          @Override
+          protected void execAction() {
+            loadOlderHistory();
+          }
+        }
       }
     }
 
@@ -271,10 +404,10 @@ public class ChatForm extends AbstractForm {
 
         if (!StringUtility.isNullOrEmpty(message)) {
           // send message to server
-          BEANS.get(INotificationProcessService.class).sendMessage(getBuddyName(), message);
+          Date date = BEANS.get(INotificationProcessService.class).sendMessage(getBuddyName(), message);
           // update local chat history
 
-          getHistoryField().addMessage(true, getUserName(), getBuddyName(), new Date(), message);
+          getHistoryField().addMessage(true, getUserName(), getBuddyName(), date, message);
         }
         getMessageField().setValue(null);
       }
@@ -282,5 +415,10 @@ public class ChatForm extends AbstractForm {
   }
 
   public class NewHandler extends AbstractFormHandler {
+
+    @Override
+    protected void execLoad() {
+      getHistoryField().loadHistory();
+    }
   }
 }
@@ -0,0 +1,71 @@
+package org.eclipsescout.demo.bahbah.client.services;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.eclipse.scout.rt.testing.platform.mock.BeanMock;
+import org.eclipse.scout.rt.testing.platform.runner.PlatformTestRunner;
+import org.eclipsescout.demo.bahbah.shared.notification.AvatarChangedNotification;
+import org.eclipsescout.demo.bahbah.shared.services.process.IIconProcessService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link BuddyAvatarCache}
+ */
+@RunWith(PlatformTestRunner.class)
+public class BuddyAvatarCacheTest {
+
+  private static final byte[] ICON = {1, 2, 3};
+
+  @BeanMock
+  private IIconProcessService m_iconService;
+
+  @Test
+  public void testIconIsLoadedOnce() {
+    when(m_iconService.loadIcon("buddy")).thenReturn(ICON);
+    BuddyAvatarCache cache = new BuddyAvatarCache();
+
+    assertArrayEquals(ICON, cache.get("buddy"));
+    assertArrayEquals(ICON, cache.get("buddy"));
+    verify(m_iconService, times(1)).loadIcon("buddy");
+  }
+
+  @Test
+  public void testCacheIsBounded() {
+    when(m_iconService.loadIcon(anyString())).thenReturn(ICON);
+    BuddyAvatarCache cache = new BuddyAvatarCache();
+
+    cache.get("buddy0");
+    for (int i = 1; i <= BuddyAvatarCache.MAX_AVATARS; i++) {
+      cache.get("buddy" + i);
+      // the first buddy is used recently and stays cached
+      cache.get("buddy0");
+    }
+
+    assertEquals(BuddyAvatarCache.MAX_AVATARS, cache.size());
+    verify(m_iconService, times(1)).loadIcon("buddy0");
+    cache.get("buddy1");
+    verify(m_iconService, times(2)).loadIcon("buddy1");
+  }
+
+  @Test
+  public void testIconLoadedBeforeInvalidationIsNotCached() {
+    when(m_iconService.loadIcon("buddy")).thenReturn(ICON);
+    BuddyAvatarCache cache = new BuddyAvatarCache() {
+      @Override
+      protected synchronized void put(String userName, Avatar avatar, long invalidations) {
+        // the icon is changed while it is loaded
+        invalidate(userName, AvatarChangedNotification.versionOf(new byte[]{4}));
+        super.put(userName, avatar, invalidations);
+      }
+    };
+
+    cache.get("buddy");
+    assertEquals(0, cache.size());
+  }
+}
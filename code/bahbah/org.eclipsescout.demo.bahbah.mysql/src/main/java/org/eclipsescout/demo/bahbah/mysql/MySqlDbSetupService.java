@@ -32,8 +32,10 @@ public class MySqlDbSetupService implements IDbSetupService {
       SQL.insert(" CREATE TABLE TABUSERS ("
           + " u_id BIGINT NOT NULL AUTO_INCREMENT, "
           + " username VARCHAR(32) NOT NULL, "
+          + " username_key VARCHAR(32) NOT NULL, "
           + " pass VARCHAR(1024) NOT NULL, "
           + " salt VARCHAR(64) NOT NULL, "
+          + " hash_iterations INT NOT NULL, "
           + " permission_id INT NOT NULL, "
           + " icon BLOB, "
           + " PRIMARY KEY (u_id)"
@@ -43,11 +45,59 @@ public class MySqlDbSetupService implements IDbSetupService {
       SQL.insert(" CREATE UNIQUE INDEX IX_USERNAME ON TABUSERS (username) ");
       SQL.commit();
 
+      SQL.insert(" CREATE UNIQUE INDEX IX_USERNAME_KEY ON TABUSERS (username_key) ");
+      SQL.commit();
+
       // create first admin account
       UserUtility.createNewUser("admin", "admin".toCharArray(), AdministratorCode.ID);
       SQL.commit();
     }
+    else if (!getExistingColumns("TABUSERS").contains("username_key")) {
+      UserUtility.checkUsernamesUniqueIgnoringCase();
+
+      // existing passwords were hashed with 20000 iterations
+      SQL.update(" ALTER TABLE TABUSERS ADD COLUMN hash_iterations INT NOT NULL DEFAULT 20000 ");
+      SQL.update(" ALTER TABLE TABUSERS ADD COLUMN username_key VARCHAR(32) ");
+      SQL.update(" UPDATE TABUSERS SET username_key = LOWER(username) ");
+      SQL.update(" ALTER TABLE TABUSERS MODIFY username_key VARCHAR(32) NOT NULL ");
+      SQL.insert(" CREATE UNIQUE INDEX IX_USERNAME_KEY ON TABUSERS (username_key) ");
+      SQL.commit();
+    }
+
+    if (!existingTables.contains("messages")) {
+      SQL.insert(" CREATE TABLE MESSAGES ("
+          + " m_id BIGINT NOT NULL AUTO_INCREMENT, "
+          + " sender VARCHAR(32) NOT NULL, "
+          + " receiver VARCHAR(32) NOT NULL, "
+          + " sent_at DATETIME(3) NOT NULL, "
+          + " message VARCHAR(5000) NOT NULL, "
+          + " PRIMARY KEY (m_id)"
+          + ")");
+      SQL.commit();
+
+      SQL.insert(" CREATE INDEX IX_MESSAGES_CONVERSATION ON MESSAGES (sender, receiver, sent_at) ");
+      SQL.commit();
+    }
 
+    if (!existingTables.contains("user_icons")) {
+      SQL.insert(" CREATE TABLE USER_ICONS ("
+          + " username VARCHAR(32) NOT NULL, "
+          + " icon_size INT NOT NULL, "
+          + " icon BLOB NOT NULL, "
+          + " PRIMARY KEY (username, icon_size)"
+          + ")");
+      SQL.commit();
+    }
+
+  }
+
+  private Set<String> getExistingColumns(String tableName) {
+    Object[][] existingColumns = SQL.select("SHOW COLUMNS FROM " + tableName);
+    HashSet<String> result = new HashSet<>(existingColumns.length);
+    for (Object[] row : existingColumns) {
+      result.add(row[0] + "");
+    }
+    return result;
   }
 
   private Set<String> getExistingTables() {
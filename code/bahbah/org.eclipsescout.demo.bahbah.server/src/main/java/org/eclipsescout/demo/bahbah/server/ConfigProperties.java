@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.server;
+
+import org.eclipse.scout.rt.platform.config.AbstractPositiveIntegerConfigProperty;
+
+public class ConfigProperties {
+
+  public static class PasswordHashIterationsProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 20000;
+    }
+
+    @Override
+    public String getKey() {
+      return "bahbah.passwordHashIterations";
+    }
+
+    @Override
+    public String description() {
+      return "Number of iterations used to hash new passwords. Passwords hashed with a different number of iterations are hashed again on the next successful login. The default value is 20000.";
+    }
+  }
+
+  public static class AuthenticationCacheTtlProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 60;
+    }
+
+    @Override
+    public String getKey() {
+      return "bahbah.authenticationCacheTtl";
+    }
+
+    @Override
+    public String description() {
+      return "Time in seconds for which a successful verification of a username and password is reused without checking the password hash again. The default value is 60.";
+    }
+  }
+
+  public static class AuthenticationCacheSizeProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 1000;
+    }
+
+    @Override
+    public String getKey() {
+      return "bahbah.authenticationCacheSize";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum number of successful verifications of a username and password kept in the authentication cache. The default value is 1000.";
+    }
+  }
+}
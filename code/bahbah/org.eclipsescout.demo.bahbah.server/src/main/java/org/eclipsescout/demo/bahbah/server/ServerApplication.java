@@ -24,6 +24,8 @@ import org.eclipse.scout.rt.server.context.ServerRunContext;
 import org.eclipse.scout.rt.server.context.ServerRunContexts;
 import org.eclipse.scout.rt.server.session.ServerSessionProviderWithCache;
 import org.eclipsescout.demo.bahbah.server.services.db.IDbSetupService;
+import org.eclipsescout.demo.bahbah.server.services.process.BuddyDeltaPublisher;
+import org.eclipsescout.demo.bahbah.server.services.process.MessageStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +44,7 @@ public class ServerApplication implements IPlatformListener {
   @Override
   public void stateChanged(PlatformEvent event) throws PlatformException {
     if (event.getState() == State.PlatformStarted) {
+      BEANS.get(BuddyDeltaPublisher.class).init();
       try {
         ServerRunContext runContext = ServerRunContexts.empty();
         runContext.withSubject(s_subject);
@@ -54,6 +57,15 @@ public class ServerApplication implements IPlatformListener {
 
       LOG.info("bahbah server initialized");
     }
+    else if (event.getState() == State.PlatformAboutToStop) {
+      // the chat messages are written behind, store the queued ones before the database goes away
+      try {
+        ServerRunContexts.empty().withSubject(s_subject).run(() -> BEANS.get(MessageStore.class).flush());
+      }
+      catch (RuntimeException e) {
+        LOG.error("Unable to store the queued chat messages", e);
+      }
+    }
   }
 
   public static Subject getSubject() {
@@ -20,6 +20,7 @@ import org.eclipsescout.demo.bahbah.server.ServerSession;
 import org.eclipsescout.demo.bahbah.shared.security.CreateNotificationPermission;
 import org.eclipsescout.demo.bahbah.shared.security.CreateUserPermission;
 import org.eclipsescout.demo.bahbah.shared.security.DeleteUserPermission;
+import org.eclipsescout.demo.bahbah.shared.security.ReadChatHistoryPermission;
 import org.eclipsescout.demo.bahbah.shared.security.ReadUsersPermission;
 import org.eclipsescout.demo.bahbah.shared.security.RegisterUserPermission;
 import org.eclipsescout.demo.bahbah.shared.security.ResetPasswordPermission;
@@ -44,6 +45,7 @@ public class ServerAccessControlService extends AccessControlService {
         permissions.add(new RemoteServiceAccessPermission("*.shared.*", "*"));
 
         permissions.add(new CreateNotificationPermission());
+        permissions.add(new ReadChatHistoryPermission());
         permissions.add(new ReadUsersPermission());
         permissions.add(new RegisterUserPermission());
         permissions.add(new UnregisterUserPermission());
@@ -13,6 +13,7 @@ package org.eclipsescout.demo.bahbah.server.services.db;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.eclipse.scout.rt.platform.holders.NVPair;
 import org.eclipse.scout.rt.server.jdbc.SQL;
 import org.eclipsescout.demo.bahbah.server.util.UserUtility;
 import org.eclipsescout.demo.bahbah.shared.services.code.UserRoleCodeType.AdministratorCode;
@@ -30,8 +31,10 @@ public class DerbyDbSetupService implements IDbSetupService {
       SQL.insert(" CREATE TABLE TABUSERS ("
           + " u_id BIGINT NOT NULL GENERATED ALWAYS AS IDENTITY CONSTRAINT USERS_PK PRIMARY KEY, "
           + " username VARCHAR(32) NOT NULL, "
+          + " username_key VARCHAR(32) NOT NULL, "
           + " pass VARCHAR(256) NOT NULL, "
           + " salt VARCHAR(64) NOT NULL, "
+          + " hash_iterations INT NOT NULL, "
           + " permission_id INT NOT NULL, "
           + " icon BLOB "
           + ")");
@@ -40,11 +43,59 @@ public class DerbyDbSetupService implements IDbSetupService {
       SQL.insert(" CREATE UNIQUE INDEX IX_USERNAME ON TABUSERS (username) ");
       SQL.commit();
 
+      SQL.insert(" CREATE UNIQUE INDEX IX_USERNAME_KEY ON TABUSERS (username_key) ");
+      SQL.commit();
+
       // create first admin account
       UserUtility.createNewUser("admin", "admin".toCharArray(), AdministratorCode.ID);
       SQL.commit();
     }
+    else if (!getExistingColumns("TABUSERS").contains("USERNAME_KEY")) {
+      UserUtility.checkUsernamesUniqueIgnoringCase();
+
+      // existing passwords were hashed with 20000 iterations
+      SQL.update(" ALTER TABLE TABUSERS ADD COLUMN hash_iterations INT NOT NULL DEFAULT 20000 ");
+      SQL.update(" ALTER TABLE TABUSERS ADD COLUMN username_key VARCHAR(32) ");
+      SQL.update(" UPDATE TABUSERS SET username_key = LOWER(username) ");
+      SQL.update(" ALTER TABLE TABUSERS ALTER COLUMN username_key NOT NULL ");
+      SQL.insert(" CREATE UNIQUE INDEX IX_USERNAME_KEY ON TABUSERS (username_key) ");
+      SQL.commit();
+    }
+
+    if (!existingTables.contains("MESSAGES")) {
+      SQL.insert(" CREATE TABLE MESSAGES ("
+          + " m_id BIGINT NOT NULL GENERATED ALWAYS AS IDENTITY CONSTRAINT MESSAGES_PK PRIMARY KEY, "
+          + " sender VARCHAR(32) NOT NULL, "
+          + " receiver VARCHAR(32) NOT NULL, "
+          + " sent_at TIMESTAMP NOT NULL, "
+          + " message VARCHAR(5000) NOT NULL"
+          + ")");
+      SQL.commit();
+
+      SQL.insert(" CREATE INDEX IX_MESSAGES_CONVERSATION ON MESSAGES (sender, receiver, sent_at) ");
+      SQL.commit();
+    }
 
+    if (!existingTables.contains("USER_ICONS")) {
+      SQL.insert(" CREATE TABLE USER_ICONS ("
+          + " username VARCHAR(32) NOT NULL, "
+          + " icon_size INT NOT NULL, "
+          + " icon BLOB NOT NULL, "
+          + " PRIMARY KEY (username, icon_size)"
+          + ")");
+      SQL.commit();
+    }
+
+  }
+
+  private Set<String> getExistingColumns(String tableName) {
+    Object[][] existingColumns = SQL.select("SELECT c.columnname FROM sys.syscolumns c, sys.systables t WHERE c.referenceid = t.tableid AND t.tablename = :tableName",
+        new NVPair("tableName", tableName));
+    HashSet<String> result = new HashSet<>(existingColumns.length);
+    for (Object[] row : existingColumns) {
+      result.add(row[0] + "");
+    }
+    return result;
   }
 
   private Set<String> getExistingTables() {
@@ -0,0 +1,22 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.server.services.notification;
+
+import java.io.Serializable;
+
+/**
+ * Clears the authentication cache on the other cluster nodes after a username or password changed.
+ */
+public class ClearAuthenticationCacheNotification implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+}
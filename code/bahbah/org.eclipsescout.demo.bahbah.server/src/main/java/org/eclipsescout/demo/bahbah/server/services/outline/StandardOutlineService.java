@@ -14,18 +14,43 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.exception.VetoException;
+import org.eclipse.scout.rt.platform.text.TEXTS;
+import org.eclipse.scout.rt.shared.services.common.security.ACCESS;
 import org.eclipsescout.demo.bahbah.server.ServerSession;
+import org.eclipsescout.demo.bahbah.server.services.process.OnlineUserRegistry;
+import org.eclipsescout.demo.bahbah.shared.security.ReadUsersPermission;
 import org.eclipsescout.demo.bahbah.shared.services.outline.IStandardOutlineService;
+import org.eclipsescout.demo.bahbah.shared.services.outline.OnlineUsersDelta;
 import org.eclipsescout.demo.bahbah.shared.services.process.IUserProcessService;
 
 public class StandardOutlineService implements IStandardOutlineService {
 
   @Override
   public String[] getOnlineUsers() {
-    Set<String> allUsers = BEANS.get(IUserProcessService.class).getUsersOnline();
-    Set<String> users = new HashSet<>(allUsers);
-    // remove myself
-    users.remove(ServerSession.get().getUserId());
-    return users.toArray(new String[users.size()]);
+    String myself = ServerSession.get().getUserId();
+    return BEANS.get(IUserProcessService.class).getUsersOnline().stream()
+        .filter(user -> !user.equals(myself))
+        .toArray(String[]::new);
+  }
+
+  @Override
+  public OnlineUsersDelta getOnlineUserChanges(long version) {
+    if (!ACCESS.check(new ReadUsersPermission())) {
+      throw new VetoException(TEXTS.get("AuthorizationFailed"));
+    }
+
+    OnlineUsersDelta delta = BEANS.get(OnlineUserRegistry.class).getChangesSince(version);
+    String myself = ServerSession.get().getUserId();
+    if (!delta.getJoinedUsers().contains(myself) && !delta.getLeftUsers().contains(myself)) {
+      return delta;
+    }
+    return new OnlineUsersDelta(delta.getVersion(), delta.isComplete(), withoutUser(delta.getJoinedUsers(), myself), withoutUser(delta.getLeftUsers(), myself));
+  }
+
+  private static Set<String> withoutUser(Set<String> users, String userId) {
+    Set<String> result = new HashSet<>(users);
+    result.remove(userId);
+    return result;
   }
 }
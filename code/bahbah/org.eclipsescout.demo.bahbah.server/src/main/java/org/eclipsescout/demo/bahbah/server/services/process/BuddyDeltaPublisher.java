@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.server.services.process;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.context.RunContexts;
+import org.eclipse.scout.rt.platform.job.Jobs;
+import org.eclipse.scout.rt.server.clientnotification.ClientNotificationRegistry;
+import org.eclipsescout.demo.bahbah.shared.notification.BuddyDeltaNotification;
+import org.eclipsescout.demo.bahbah.shared.services.outline.OnlineUsersDelta;
+
+/**
+ * Notifies all sessions of this server node about the users that came online or went offline.
+ * <p>
+ * Changes of the {@link OnlineUserRegistry} are coalesced for {@link #COALESCE_MILLIS} milliseconds and published as
+ * one {@link BuddyDeltaNotification}, so a burst of logins results in a single notification per session. The
+ * notifications are not distributed over the cluster: the other nodes maintain their own registry and publish its
+ * changes to their sessions.
+ */
+@ApplicationScoped
+public class BuddyDeltaPublisher {
+
+  private static final long COALESCE_MILLIS = 200;
+
+  private final AtomicBoolean m_publishScheduled = new AtomicBoolean();
+  private long m_publishedVersion;
+
+  /**
+   * Starts publishing the changes made from now on. Called when the platform is started, before any user can log in: a
+   * publisher created by the first change would start after it and never publish it.
+   */
+  public synchronized void init() {
+    m_publishedVersion = BEANS.get(OnlineUserRegistry.class).getSnapshot().getVersion();
+  }
+
+  /**
+   * Schedules the publication of the changes of the registry unless it is already scheduled.
+   */
+  public void registryChanged() {
+    if (m_publishScheduled.compareAndSet(false, true)) {
+      Jobs.schedule(this::publish, Jobs.newInput()
+          .withName("Publishing buddy changes")
+          .withRunContext(RunContexts.empty())
+          .withExecutionTrigger(Jobs.newExecutionTrigger()
+              .withStartIn(COALESCE_MILLIS, TimeUnit.MILLISECONDS)));
+    }
+  }
+
+  protected synchronized void publish() {
+    // reset first, changes from now on are published by the next job
+    m_publishScheduled.set(false);
+
+    OnlineUsersDelta delta = BEANS.get(OnlineUserRegistry.class).getChangesSince(m_publishedVersion);
+    if (delta.getVersion() == m_publishedVersion) {
+      return;
+    }
+
+    BuddyDeltaNotification notification;
+    if (delta.isComplete()) {
+      // too many changes to tell, an empty delta starting at the new version makes all clients fetch their changes
+      notification = new BuddyDeltaNotification(delta.getVersion(), delta.getVersion(), Collections.<String> emptySet(), Collections.<String> emptySet());
+    }
+    else {
+      notification = new BuddyDeltaNotification(m_publishedVersion, delta.getVersion(), delta.getJoinedUsers(), delta.getLeftUsers());
+    }
+    BEANS.get(ClientNotificationRegistry.class).putForAllSessions(notification, false);
+    m_publishedVersion = delta.getVersion();
+  }
+}
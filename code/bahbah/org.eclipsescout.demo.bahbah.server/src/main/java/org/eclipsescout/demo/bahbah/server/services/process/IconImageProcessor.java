@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.server.services.process;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.context.RunContexts;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.exception.VetoException;
+import org.eclipse.scout.rt.platform.job.IExecutionSemaphore;
+import org.eclipse.scout.rt.platform.job.IFuture;
+import org.eclipse.scout.rt.platform.job.Jobs;
+import org.eclipse.scout.rt.platform.text.TEXTS;
+import org.eclipse.scout.rt.platform.util.concurrent.TimedOutError;
+import org.eclipsescout.demo.bahbah.shared.services.process.IIconProcessService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scales uploaded images to the icon sizes in {@link IIconProcessService#ICON_SIZES}.
+ * <p>
+ * The size of an image is read from its header before it is decoded, so images that are too large are rejected
+ * without allocating their pixels. Decoding and scaling run in jobs of which at most {@link #MAX_CONCURRENT_JOBS} run
+ * at the same time. An image is halved until it is less than twice the target size before the last scaling step, and
+ * each smaller icon is scaled from the next larger one.
+ */
+@ApplicationScoped
+public class IconImageProcessor {
+  private static final Logger LOG = LoggerFactory.getLogger(IconImageProcessor.class);
+
+  public static final int MAX_SOURCE_BYTES = 5 * 1024 * 1024;
+  public static final int MAX_SOURCE_DIMENSION = 4096;
+  private static final int MAX_CONCURRENT_JOBS = 2;
+  private static final long TIMEOUT_SECONDS = 30;
+
+  private final IExecutionSemaphore m_semaphore = Jobs.newExecutionSemaphore(MAX_CONCURRENT_JOBS);
+
+  /**
+   * @return the PNG encoded icons by size
+   * @throws VetoException
+   *           if the content is not a supported image or too large
+   */
+  public Map<Integer, byte[]> createIcons(byte[] content) {
+    if (content == null || content.length == 0) {
+      throw new VetoException(TEXTS.get("IconInvalid"));
+    }
+    if (content.length > MAX_SOURCE_BYTES || !hasAcceptableDimensions(content)) {
+      throw new VetoException(TEXTS.get("IconTooLarge", String.valueOf(MAX_SOURCE_DIMENSION)));
+    }
+
+    IFuture<Map<Integer, byte[]>> future = Jobs.schedule(() -> scale(content), Jobs.newInput()
+        .withName("Scaling icon")
+        .withRunContext(RunContexts.empty())
+        .withExecutionSemaphore(m_semaphore));
+    try {
+      return future.awaitDoneAndGet(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+    catch (RuntimeException | TimedOutError e) {
+      future.cancel(true);
+      LOG.debug("Could not scale image", e);
+      throw new VetoException(TEXTS.get("IconInvalid"));
+    }
+  }
+
+  /**
+   * Reads the dimensions from the image header.
+   *
+   * @throws VetoException
+   *           if the content is not a supported image
+   */
+  protected boolean hasAcceptableDimensions(byte[] content) {
+    try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+      if (readers.hasNext()) {
+        ImageReader reader = readers.next();
+        try {
+          reader.setInput(in, true, true);
+          return reader.getWidth(0) <= MAX_SOURCE_DIMENSION && reader.getHeight(0) <= MAX_SOURCE_DIMENSION;
+        }
+        finally {
+          reader.dispose();
+        }
+      }
+    }
+    catch (IOException e) {
+      LOG.debug("Could not read image header", e);
+    }
+    throw new VetoException(TEXTS.get("IconInvalid"));
+  }
+
+  protected Map<Integer, byte[]> scale(byte[] content) throws IOException {
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(content));
+    if (image == null) {
+      throw new ProcessingException("Unsupported image format");
+    }
+
+    List<Integer> sizes = IIconProcessService.ICON_SIZES;
+    Map<Integer, byte[]> icons = new HashMap<>(sizes.size());
+    for (int i = sizes.size() - 1; i >= 0; i--) {
+      image = scaleToFit(image, sizes.get(i));
+      icons.put(sizes.get(i), encode(image));
+    }
+    return icons;
+  }
+
+  protected BufferedImage scaleToFit(BufferedImage image, int size) {
+    int w = image.getWidth();
+    int h = image.getHeight();
+    if (w <= size && h <= size) {
+      return image;
+    }
+
+    float factor = (float) size / Math.max(w, h);
+    int targetWidth = Math.max(1, Math.round(factor * w));
+    int targetHeight = Math.max(1, Math.round(factor * h));
+
+    // halving with bilinear interpolation keeps the quality of a bicubic scaling at a fraction of its cost
+    while (w / 2 >= targetWidth && h / 2 >= targetHeight) {
+      w /= 2;
+      h /= 2;
+      image = draw(image, w, h);
+    }
+    if (w != targetWidth || h != targetHeight) {
+      image = draw(image, targetWidth, targetHeight);
+    }
+    return image;
+  }
+
+  protected BufferedImage draw(BufferedImage image, int w, int h) {
+    BufferedImage scaled = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = scaled.createGraphics();
+    try {
+      g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      g.drawImage(image, 0, 0, w, h, null);
+    }
+    finally {
+      g.dispose();
+    }
+    return scaled;
+  }
+
+  protected byte[] encode(BufferedImage image) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(image, "png", out);
+    return out.toByteArray();
+  }
+}
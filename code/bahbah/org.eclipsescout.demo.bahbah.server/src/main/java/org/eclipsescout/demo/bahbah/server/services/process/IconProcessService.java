@@ -10,64 +10,29 @@
  ******************************************************************************/
 package org.eclipsescout.demo.bahbah.server.services.process;
 
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-
-import javax.imageio.ImageIO;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.eclipse.scout.rt.platform.BEANS;
 import org.eclipse.scout.rt.platform.exception.VetoException;
 import org.eclipse.scout.rt.platform.holders.ByteArrayHolder;
 import org.eclipse.scout.rt.platform.holders.NVPair;
 import org.eclipse.scout.rt.platform.text.TEXTS;
+import org.eclipse.scout.rt.server.clientnotification.ClientNotificationRegistry;
 import org.eclipse.scout.rt.server.jdbc.SQL;
 import org.eclipse.scout.rt.shared.services.common.security.ACCESS;
 import org.eclipsescout.demo.bahbah.server.ServerSession;
+import org.eclipsescout.demo.bahbah.shared.notification.AvatarChangedNotification;
 import org.eclipsescout.demo.bahbah.shared.security.UpdateIconPermission;
 import org.eclipsescout.demo.bahbah.shared.services.process.IIconProcessService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 public class IconProcessService implements IIconProcessService {
-  public static final int MAX_SIZE = 16;
-  private static final Logger LOG = LoggerFactory.getLogger(IconProcessService.class);
 
-  private byte[] resize(byte[] content) {
-    try {
-      BufferedImage img = ImageIO.read(new ByteArrayInputStream(content));
-      int w = img.getWidth();
-      int h = img.getHeight();
-      if (w > MAX_SIZE || h > MAX_SIZE) {
-        float longer = w;
-        if (h > w) longer = h;
-        float fl = MAX_SIZE / longer;
-        w = Math.round(fl * w);
-        h = Math.round(fl * h);
-        BufferedImage scaledImg = new BufferedImage(w, h, BufferedImage.TYPE_4BYTE_ABGR);
-        Graphics2D gScaledImg = scaledImg.createGraphics();
-        gScaledImg.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-        gScaledImg.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        gScaledImg.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
-        gScaledImg.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-        gScaledImg.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        gScaledImg.drawImage(img, 0, 0, w, h, null);
-        gScaledImg.dispose();
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        ImageIO.write(scaledImg, "png", out);
-        return out.toByteArray();
-      }
-      else {
-        return content;
-      }
-    }
-    catch (IOException e) {
-      LOG.debug("Could not resize image", e);
-    }
-    return null;
-  }
+  // the names are bound as IN list, which is queried in chunks to keep the number of statement parameters bounded
+  protected static final int MAX_NAMES_PER_QUERY = 500;
 
   @Override
   public byte[] loadIcon(String name) {
@@ -76,6 +41,38 @@ public class IconProcessService implements IIconProcessService {
     return iconHolder.getValue();
   }
 
+  @Override
+  public byte[] loadIcon(String name, int size) {
+    if (size == DEFAULT_ICON_SIZE) {
+      return loadIcon(name);
+    }
+
+    ByteArrayHolder iconHolder = new ByteArrayHolder();
+    SQL.selectInto("SELECT icon INTO :icon FROM USER_ICONS WHERE username = :name AND icon_size = :size", new NVPair("icon", iconHolder), new NVPair("name", name), new NVPair("size", size));
+    return iconHolder.getValue();
+  }
+
+  @Override
+  public Map<String, byte[]> loadIcons(Collection<String> names) {
+    Map<String, byte[]> icons = new HashMap<>(names.size());
+    for (String name : names) {
+      icons.put(name, null);
+    }
+    if (names.isEmpty()) {
+      return icons;
+    }
+
+    List<String> nameList = new ArrayList<>(names);
+    for (int from = 0; from < nameList.size(); from += MAX_NAMES_PER_QUERY) {
+      List<String> chunk = nameList.subList(from, Math.min(from + MAX_NAMES_PER_QUERY, nameList.size()));
+      Object[][] rows = SQL.select("SELECT username, icon FROM TABUSERS WHERE username = :names", new NVPair("names", chunk.toArray(new String[0])));
+      for (Object[] row : rows) {
+        icons.put((String) row[0], (byte[]) row[1]);
+      }
+    }
+    return icons;
+  }
+
   @Override
   public void saveIcon(byte[] icon) {
     // permission validation
@@ -83,13 +80,20 @@ public class IconProcessService implements IIconProcessService {
       throw new VetoException(TEXTS.get("AuthorizationFailed"));
     }
 
-    // input validation
-    byte[] resizedIcon = resize(icon);
-    if (resizedIcon == null) {
-      throw new VetoException();
-    }
+    // input validation and scaling
+    Map<Integer, byte[]> icons = BEANS.get(IconImageProcessor.class).createIcons(icon);
+    byte[] resizedIcon = icons.get(DEFAULT_ICON_SIZE);
 
     //store in database
     SQL.update("UPDATE TABUSERS SET icon = :icon WHERE username = :userId", new NVPair("name", ServerSession.get().getUserId()), new NVPair("icon", resizedIcon));
+    SQL.delete("DELETE FROM USER_ICONS WHERE username = :userId");
+    for (int size : ICON_SIZES) {
+      if (size != DEFAULT_ICON_SIZE) {
+        SQL.insert("INSERT INTO USER_ICONS (username, icon_size, icon) VALUES (:userId, :size, :icon)", new NVPair("size", size), new NVPair("icon", icons.get(size)));
+      }
+    }
+
+    // the clients drop the cached icon once the transaction is committed
+    BEANS.get(ClientNotificationRegistry.class).putTransactionalForAllSessions(new AvatarChangedNotification(ServerSession.get().getUserId(), AvatarChangedNotification.versionOf(resizedIcon)));
   }
 }
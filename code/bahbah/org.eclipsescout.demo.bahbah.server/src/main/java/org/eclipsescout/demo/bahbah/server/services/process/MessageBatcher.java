@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.server.services.process;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.context.NodeIdentifier;
+import org.eclipse.scout.rt.platform.context.RunContexts;
+import org.eclipse.scout.rt.platform.job.Jobs;
+import org.eclipse.scout.rt.server.clientnotification.ClientNotificationRegistry;
+import org.eclipsescout.demo.bahbah.shared.notification.MessageNotification;
+import org.eclipsescout.demo.bahbah.shared.notification.MessageNotification.ChatMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delivers chat messages to their recipients in batches.
+ * <p>
+ * The messages are queued per recipient. A queue is delivered in notifications of at most {@link #MAX_BATCH_SIZE}
+ * messages after {@link #MAX_DELAY_MILLIS} milliseconds or as soon as it contains {@link #MAX_BATCH_SIZE} messages,
+ * whichever comes first. The batches are taken from the queue under its lock but delivered outside of it, one at a
+ * time to keep their order, so senders are not blocked by a slow delivery. A queue holds at most
+ * {@link #MAX_QUEUE_LENGTH} messages while a delivery is in progress, the oldest messages beyond are dropped (they are
+ * still part of the stored history). Queues are removed once they are drained.
+ */
+@ApplicationScoped
+public class MessageBatcher {
+  private static final Logger LOG = LoggerFactory.getLogger(MessageBatcher.class);
+
+  protected static final int MAX_BATCH_SIZE = 50;
+  protected static final int MAX_QUEUE_LENGTH = 1000;
+  protected static final long MAX_DELAY_MILLIS = 50;
+
+  private final ConcurrentMap<String, RecipientQueue> m_queues = new ConcurrentHashMap<>();
+
+  public void add(String recipient, ChatMessage message) {
+    // a queue removed concurrently rejects the message, which is then added to a new queue
+    while (!m_queues.computeIfAbsent(recipient, RecipientQueue::new).add(message)) {
+      Thread.yield();
+    }
+  }
+
+  /**
+   * @return the number of recipients with messages queued or being delivered
+   */
+  public int getQueueCount() {
+    return m_queues.size();
+  }
+
+  protected void deliver(String recipient, List<ChatMessage> messages) {
+    String nodeId = BEANS.get(NodeIdentifier.class).get();
+    BEANS.get(ClientNotificationRegistry.class).putForUser(recipient, new MessageNotification(messages, nodeId));
+  }
+
+  protected class RecipientQueue {
+    private final String m_recipient;
+    private final List<ChatMessage> m_messages = new ArrayList<>();
+    private boolean m_flushScheduled;
+    private boolean m_delivering;
+    private boolean m_removed;
+
+    public RecipientQueue(String recipient) {
+      m_recipient = recipient;
+    }
+
+    /**
+     * @return <code>false</code> if the queue was removed and does not accept messages anymore
+     */
+    public boolean add(ChatMessage message) {
+      synchronized (this) {
+        if (m_removed) {
+          return false;
+        }
+        if (m_messages.size() >= MAX_QUEUE_LENGTH) {
+          m_messages.remove(0);
+          LOG.warn("More than {} chat messages queued for {}, dropping the oldest one", MAX_QUEUE_LENGTH, m_recipient);
+        }
+        m_messages.add(message);
+        if (m_messages.size() < MAX_BATCH_SIZE) {
+          scheduleFlush();
+          return true;
+        }
+      }
+      flush();
+      return true;
+    }
+
+    protected synchronized void scheduleFlush() {
+      if (!m_flushScheduled) {
+        m_flushScheduled = true;
+        Jobs.schedule(this::flushScheduled, Jobs.newInput()
+            .withName("Delivering chat messages to {}", m_recipient)
+            .withRunContext(RunContexts.empty())
+            .withExecutionTrigger(Jobs.newExecutionTrigger()
+                .withStartIn(MAX_DELAY_MILLIS, TimeUnit.MILLISECONDS)));
+      }
+    }
+
+    protected void flushScheduled() {
+      synchronized (this) {
+        m_flushScheduled = false;
+      }
+      flush();
+    }
+
+    /**
+     * Delivers the queued messages batch by batch unless another thread is delivering them already, which then
+     * delivers the new messages as well.
+     */
+    protected void flush() {
+      while (true) {
+        List<ChatMessage> batch;
+        synchronized (this) {
+          if (m_delivering) {
+            return;
+          }
+          if (m_messages.isEmpty()) {
+            removeIfIdle();
+            return;
+          }
+          List<ChatMessage> head = m_messages.subList(0, Math.min(MAX_BATCH_SIZE, m_messages.size()));
+          batch = new ArrayList<>(head);
+          head.clear();
+          m_delivering = true;
+        }
+
+        try {
+          deliver(m_recipient, batch);
+        }
+        catch (RuntimeException e) {
+          // the remaining messages are delivered by the next flush
+          synchronized (this) {
+            m_delivering = false;
+            scheduleFlush();
+          }
+          throw e;
+        }
+        synchronized (this) {
+          m_delivering = false;
+        }
+      }
+    }
+
+    private void removeIfIdle() {
+      if (!m_flushScheduled) {
+        m_removed = true;
+        m_queues.remove(m_recipient, this);
+      }
+    }
+  }
+}
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.server.services.process;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.exception.PlatformExceptionTranslator;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.job.Jobs;
+import org.eclipse.scout.rt.platform.transaction.TransactionScope;
+import org.eclipse.scout.rt.server.context.ServerRunContexts;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipsescout.demo.bahbah.server.ServerApplication;
+import org.eclipsescout.demo.bahbah.shared.services.process.ChatHistoryEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only store of the chat messages in the table MESSAGES.
+ * <p>
+ * Messages are written behind: they are queued and inserted in one JDBC batch {@link #MAX_DELAY_MILLIS} milliseconds
+ * after the first queued message or as soon as {@link #MAX_QUEUE_SIZE} messages are queued. Every batch is inserted in
+ * its own transaction. A batch that cannot be inserted is queued again and retried after {@link #MAX_DELAY_MILLIS}
+ * milliseconds; while the store fails, at most {@link #MAX_PENDING_MESSAGES} messages are kept. Reading the history
+ * and stopping the platform store the queued messages first.
+ */
+@ApplicationScoped
+public class MessageStore {
+  private static final Logger LOG = LoggerFactory.getLogger(MessageStore.class);
+
+  private static final int MAX_QUEUE_SIZE = 500;
+  private static final int MAX_PENDING_MESSAGES = 10000;
+  private static final long MAX_DELAY_MILLIS = 500;
+
+  private static final String INSERT_MESSAGE = "INSERT INTO MESSAGES (sender, receiver, sent_at, message) VALUES (?, ?, ?, ?)";
+  private static final String SELECT_MESSAGES = "SELECT m_id, sender, receiver, sent_at, message FROM MESSAGES "
+      + " WHERE sender = :sender AND receiver = :receiver ";
+  private static final String AND_BEFORE_DATE = " AND sent_at < :beforeDate ";
+  private static final String AND_BEFORE_ENTRY = " AND (sent_at < :beforeDate OR (sent_at = :beforeDate AND m_id < :beforeId)) ";
+  private static final String ORDER_BY_NEWEST = " ORDER BY sent_at DESC, m_id DESC";
+
+  private static final Comparator<ChatHistoryEntry> NEWEST_FIRST = Comparator
+      .comparing(ChatHistoryEntry::getDate)
+      .thenComparing(ChatHistoryEntry::getMessageId)
+      .reversed();
+
+  private List<ChatHistoryEntry> m_queue = new ArrayList<>();
+  private boolean m_flushScheduled;
+  private boolean m_failing;
+
+  /**
+   * Queues the message to be stored.
+   */
+  public void append(ChatHistoryEntry entry) {
+    List<ChatHistoryEntry> batch = null;
+    synchronized (this) {
+      m_queue.add(entry);
+      // while the store fails, the queue is only retried by the scheduled flush
+      if (m_queue.size() >= MAX_QUEUE_SIZE && !m_failing) {
+        batch = takeQueue();
+      }
+      else {
+        scheduleFlush();
+      }
+    }
+
+    // a full queue is stored by the sender
+    if (batch != null) {
+      store(batch);
+    }
+  }
+
+  protected synchronized void scheduleFlush() {
+    if (!m_flushScheduled) {
+      m_flushScheduled = true;
+      Jobs.schedule(this::flushScheduled, Jobs.newInput()
+          .withName("Storing chat messages")
+          .withRunContext(ServerRunContexts.empty().withSubject(ServerApplication.getSubject()))
+          .withExecutionTrigger(Jobs.newExecutionTrigger()
+              .withStartIn(MAX_DELAY_MILLIS, TimeUnit.MILLISECONDS)));
+    }
+  }
+
+  protected void flushScheduled() {
+    List<ChatHistoryEntry> batch;
+    synchronized (this) {
+      m_flushScheduled = false;
+      batch = takeQueue();
+    }
+    store(batch);
+  }
+
+  /**
+   * Stores the queued messages in a new transaction, independent of the current one.
+   */
+  public void flush() {
+    store(takeQueue());
+  }
+
+  protected synchronized List<ChatHistoryEntry> takeQueue() {
+    List<ChatHistoryEntry> batch = m_queue;
+    m_queue = new ArrayList<>();
+    return batch;
+  }
+
+  protected void store(List<ChatHistoryEntry> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    try {
+      ServerRunContexts.copyCurrent()
+          .withTransactionScope(TransactionScope.REQUIRES_NEW)
+          .run(() -> insert(batch));
+      synchronized (this) {
+        m_failing = false;
+      }
+    }
+    catch (RuntimeException e) {
+      LOG.warn("Could not store {} chat messages, retrying in {} ms", batch.size(), MAX_DELAY_MILLIS, e);
+      requeue(batch);
+    }
+  }
+
+  /**
+   * Queues a batch that could not be stored again, before the messages queued in the meantime.
+   */
+  protected synchronized void requeue(List<ChatHistoryEntry> batch) {
+    m_failing = true;
+    m_queue.addAll(0, batch);
+    int excess = m_queue.size() - MAX_PENDING_MESSAGES;
+    if (excess > 0) {
+      LOG.error("More than {} chat messages could not be stored, dropping the {} oldest ones", MAX_PENDING_MESSAGES, excess);
+      m_queue.subList(0, excess).clear();
+    }
+    scheduleFlush();
+  }
+
+  protected void insert(List<ChatHistoryEntry> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    try {
+      Connection connection = SQL.getConnection();
+      try (PreparedStatement statement = connection.prepareStatement(INSERT_MESSAGE)) {
+        for (ChatHistoryEntry entry : batch) {
+          statement.setString(1, entry.getSender());
+          statement.setString(2, entry.getReceiver());
+          statement.setTimestamp(3, new Timestamp(entry.getDate().getTime()));
+          statement.setString(4, entry.getMessage());
+          statement.addBatch();
+        }
+        statement.executeBatch();
+      }
+    }
+    catch (SQLException e) {
+      throw BEANS.get(PlatformExceptionTranslator.class).translate(e);
+    }
+  }
+
+  /**
+   * Returns the newest messages between the two users that are older than the given entry, newest first.
+   */
+  public List<ChatHistoryEntry> getConversation(String user, String buddy, ChatHistoryEntry before, int maxRows) {
+    flush();
+
+    // each direction is read from the index (sender, receiver, sent_at), the two pages are merged afterwards
+    List<ChatHistoryEntry> result = new ArrayList<>();
+    result.addAll(getMessages(user, buddy, before, maxRows));
+    result.addAll(getMessages(buddy, user, before, maxRows));
+    Collections.sort(result, NEWEST_FIRST);
+    if (result.size() > maxRows) {
+      return new ArrayList<>(result.subList(0, maxRows));
+    }
+    return result;
+  }
+
+  protected List<ChatHistoryEntry> getMessages(String sender, String receiver, ChatHistoryEntry before, int maxRows) {
+    StringBuilder sql = new StringBuilder(SELECT_MESSAGES);
+    List<Object> binds = new ArrayList<>();
+    binds.add(new NVPair("sender", sender));
+    binds.add(new NVPair("receiver", receiver));
+    if (before != null) {
+      sql.append(before.getMessageId() == null ? AND_BEFORE_DATE : AND_BEFORE_ENTRY);
+      binds.add(new NVPair("beforeDate", before.getDate()));
+      binds.add(new NVPair("beforeId", before.getMessageId()));
+    }
+    sql.append(ORDER_BY_NEWEST);
+
+    Object[][] rows = SQL.selectLimited(sql.toString(), maxRows, binds.toArray());
+    List<ChatHistoryEntry> entries = new ArrayList<>(rows.length);
+    for (Object[] row : rows) {
+      entries.add(new ChatHistoryEntry(((Number) row[0]).longValue(), (String) row[1], (String) row[2], new Date(((Date) row[3]).getTime()), (String) row[4]));
+    }
+    return entries;
+  }
+}
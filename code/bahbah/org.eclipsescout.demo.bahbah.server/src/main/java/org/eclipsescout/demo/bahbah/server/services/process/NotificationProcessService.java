@@ -10,23 +10,26 @@
  ******************************************************************************/
 package org.eclipsescout.demo.bahbah.server.services.process;
 
+import java.util.Date;
+import java.util.List;
+
 import org.eclipse.scout.rt.platform.BEANS;
-import org.eclipse.scout.rt.platform.context.NodeIdentifier;
 import org.eclipse.scout.rt.platform.exception.VetoException;
 import org.eclipse.scout.rt.platform.text.TEXTS;
 import org.eclipse.scout.rt.platform.util.StringUtility;
-import org.eclipse.scout.rt.server.clientnotification.ClientNotificationRegistry;
 import org.eclipse.scout.rt.shared.services.common.security.ACCESS;
 import org.eclipsescout.demo.bahbah.server.ServerSession;
-import org.eclipsescout.demo.bahbah.shared.notification.MessageNotification;
+import org.eclipsescout.demo.bahbah.shared.notification.MessageNotification.ChatMessage;
 import org.eclipsescout.demo.bahbah.shared.security.CreateNotificationPermission;
+import org.eclipsescout.demo.bahbah.shared.security.ReadChatHistoryPermission;
+import org.eclipsescout.demo.bahbah.shared.services.process.ChatHistoryEntry;
 import org.eclipsescout.demo.bahbah.shared.services.process.INotificationProcessService;
 import org.eclipsescout.demo.bahbah.shared.util.SharedUserUtility;
 
 public class NotificationProcessService implements INotificationProcessService {
 
   @Override
-  public void sendMessage(String buddyName, String message) {
+  public Date sendMessage(String buddyName, String message) {
     // permission validation
     if (!ACCESS.check(new CreateNotificationPermission())) {
       throw new VetoException(TEXTS.get("AuthorizationFailed"));
@@ -41,8 +44,30 @@ public class NotificationProcessService implements INotificationProcessService {
     }
 
     // process message
-    String nodeId = BEANS.get(NodeIdentifier.class).get();
-    BEANS.get(ClientNotificationRegistry.class).putForUser(buddyName, new MessageNotification(ServerSession.get().getUserId(), message, nodeId));
+    String sender = ServerSession.get().getUserId();
+    Date date = new Date();
+    BEANS.get(MessageBatcher.class).add(buddyName, new ChatMessage(sender, message, date));
+    BEANS.get(MessageStore.class).append(new ChatHistoryEntry(null, sender, buddyName, date, message));
+    return date;
+  }
+
+  @Override
+  public List<ChatHistoryEntry> getHistory(String buddyName, ChatHistoryEntry before, int maxRows) {
+    // permission validation
+    if (!ACCESS.check(new ReadChatHistoryPermission())) {
+      throw new VetoException(TEXTS.get("AuthorizationFailed"));
+    }
+
+    // input validation
+    if (!StringUtility.hasText(buddyName) || StringUtility.length(buddyName) > SharedUserUtility.MAX_USERNAME_LENGTH) {
+      throw new VetoException();
+    }
+    if (before != null && before.getDate() == null) {
+      throw new VetoException();
+    }
+
+    int rows = Math.max(1, Math.min(maxRows, INotificationProcessService.HISTORY_MAX_PAGE_SIZE));
+    return BEANS.get(MessageStore.class).getConversation(ServerSession.get().getUserId(), buddyName, before, rows);
   }
 
 }
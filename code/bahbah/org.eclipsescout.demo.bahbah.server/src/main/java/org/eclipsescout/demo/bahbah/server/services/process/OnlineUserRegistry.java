@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.server.services.process;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipsescout.demo.bahbah.shared.services.outline.OnlineUsersDelta;
+
+/**
+ * Registry of the users online on this server node.
+ * <p>
+ * The online users are published as immutable snapshots with a monotonically increasing version, so readers neither
+ * lock nor copy. Writers (login and logout) replace the snapshot copy-on-write. The most recent changes are kept to
+ * answer {@link #getChangesSince(long)} with the users that joined or left since a version. Versions start at the
+ * creation time of the registry in milliseconds, so versions of a restarted node are newer than the ones handed out
+ * before.
+ */
+@ApplicationScoped
+public class OnlineUserRegistry {
+
+  private static final int MAX_CHANGES = 1000;
+
+  private final NavigableMap<Long, String> m_changedUsers = new ConcurrentSkipListMap<>();
+  private volatile Snapshot m_snapshot = new Snapshot(System.currentTimeMillis(), Collections.<String> emptySet());
+
+  /**
+   * @return <code>true</code> if the user was not online before
+   */
+  public synchronized boolean register(String userId) {
+    if (m_snapshot.getUsers().contains(userId)) {
+      return false;
+    }
+    Set<String> users = new HashSet<>(m_snapshot.getUsers());
+    users.add(userId);
+    publish(userId, users);
+    return true;
+  }
+
+  /**
+   * @return <code>true</code> if the user was online before
+   */
+  public synchronized boolean unregister(String userId) {
+    if (!m_snapshot.getUsers().contains(userId)) {
+      return false;
+    }
+    Set<String> users = new HashSet<>(m_snapshot.getUsers());
+    users.remove(userId);
+    publish(userId, users);
+    return true;
+  }
+
+  private void publish(String changedUser, Set<String> users) {
+    long version = m_snapshot.getVersion() + 1;
+    // log the change before the snapshot is visible, readers of the snapshot find all changes up to its version
+    m_changedUsers.put(version, changedUser);
+    m_snapshot = new Snapshot(version, Collections.unmodifiableSet(users));
+    while (m_changedUsers.size() > MAX_CHANGES) {
+      m_changedUsers.pollFirstEntry();
+    }
+  }
+
+  public Snapshot getSnapshot() {
+    return m_snapshot;
+  }
+
+  /**
+   * @return the users that joined or left since the given version. If the changes since this version are no longer
+   *         known, a complete delta with all online users is returned.
+   */
+  public OnlineUsersDelta getChangesSince(long version) {
+    Snapshot snapshot = m_snapshot;
+    if (version == snapshot.getVersion()) {
+      return new OnlineUsersDelta(version, false, Collections.<String> emptySet(), Collections.<String> emptySet());
+    }
+
+    Map<Long, String> changes = version < snapshot.getVersion() ? m_changedUsers.subMap(version, false, snapshot.getVersion(), true) : null;
+    if (changes == null || changes.size() != snapshot.getVersion() - version) {
+      return new OnlineUsersDelta(snapshot.getVersion(), true, snapshot.getUsers(), Collections.<String> emptySet());
+    }
+
+    // a user may have changed several times, the snapshot tells the state at its version
+    Set<String> joinedUsers = new LinkedHashSet<>();
+    Set<String> leftUsers = new LinkedHashSet<>();
+    for (String userId : changes.values()) {
+      if (snapshot.getUsers().contains(userId)) {
+        joinedUsers.add(userId);
+      }
+      else {
+        leftUsers.add(userId);
+      }
+    }
+    return new OnlineUsersDelta(snapshot.getVersion(), false, joinedUsers, leftUsers);
+  }
+
+  /**
+   * Immutable set of the online users at a version of the registry.
+   */
+  public static class Snapshot {
+    private final long m_version;
+    private final Set<String> m_users;
+
+    public Snapshot(long version, Set<String> users) {
+      m_version = version;
+      m_users = users;
+    }
+
+    public long getVersion() {
+      return m_version;
+    }
+
+    public Set<String> getUsers() {
+      return m_users;
+    }
+  }
+}
@@ -10,8 +10,6 @@
  ******************************************************************************/
 package org.eclipsescout.demo.bahbah.server.services.process;
 
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -20,7 +18,6 @@ import org.eclipse.scout.rt.platform.exception.VetoException;
 import org.eclipse.scout.rt.platform.holders.IntegerHolder;
 import org.eclipse.scout.rt.platform.holders.NVPair;
 import org.eclipse.scout.rt.platform.text.TEXTS;
-import org.eclipse.scout.rt.server.clientnotification.ClientNotificationRegistry;
 import org.eclipse.scout.rt.server.jdbc.SQL;
 import org.eclipse.scout.rt.server.services.common.clustersync.IClusterSynchronizationService;
 import org.eclipse.scout.rt.shared.services.common.code.ICode;
@@ -28,8 +25,8 @@ import org.eclipse.scout.rt.shared.services.common.security.ACCESS;
 import org.eclipsescout.demo.bahbah.server.ServerSession;
 import org.eclipsescout.demo.bahbah.server.services.notification.RegisterUserNotification;
 import org.eclipsescout.demo.bahbah.server.services.notification.UnregisterUserNotification;
+import org.eclipsescout.demo.bahbah.server.util.AuthenticationCache;
 import org.eclipsescout.demo.bahbah.server.util.UserUtility;
-import org.eclipsescout.demo.bahbah.shared.notification.RefreshBuddiesNotification;
 import org.eclipsescout.demo.bahbah.shared.security.CreateUserPermission;
 import org.eclipsescout.demo.bahbah.shared.security.DeleteUserPermission;
 import org.eclipsescout.demo.bahbah.shared.security.ReadUsersPermission;
@@ -42,7 +39,6 @@ import org.eclipsescout.demo.bahbah.shared.services.process.IUserProcessService;
 import org.eclipsescout.demo.bahbah.shared.services.process.UserFormData;
 
 public class UserProcessService implements IUserProcessService {
-  private final Set<String> m_users = Collections.synchronizedSet(new HashSet<String>());
 
   @Override
   public void registerUser() {
@@ -60,9 +56,9 @@ public class UserProcessService implements IUserProcessService {
       throw new VetoException(TEXTS.get("AuthorizationFailed"));
     }
 
-    m_users.remove(ServerSession.get().getUserId());
-
-    BEANS.get(ClientNotificationRegistry.class).putForAllSessions(new RefreshBuddiesNotification());
+    if (BEANS.get(OnlineUserRegistry.class).unregister(ServerSession.get().getUserId())) {
+      BEANS.get(BuddyDeltaPublisher.class).registryChanged();
+    }
     BEANS.get(IClusterSynchronizationService.class).publishTransactional(new UnregisterUserNotification(ServerSession.get().getUserId()));
 
   }
@@ -93,6 +89,7 @@ public class UserProcessService implements IUserProcessService {
     }
 
     SQL.delete("DELETE FROM TABUSERS WHERE u_id = :ids", new NVPair("ids", u_id));
+    BEANS.get(AuthenticationCache.class).clear();
 
     //TODO [7.0] jbr: what to do if the deleted user is still logged in somewhere?
   }
@@ -104,9 +101,12 @@ public class UserProcessService implements IUserProcessService {
     }
     UserUtility.checkUsername(formData.getUsername().getValue());
     UserUtility.checkPermissionId(formData.getUserRole().getValue());
+    UserUtility.checkUsernameAvailable(formData.getUsername().getValue(), formData.getUserId());
 
-    SQL.update("UPDATE TABUSERS SET username = :newUsername, permission_id = :newPermId WHERE u_id = :uid",
-        new NVPair("newUsername", formData.getUsername().getValue()), new NVPair("newPermId", formData.getUserRole().getValue()), new NVPair("uid", formData.getUserId()));
+    SQL.update("UPDATE TABUSERS SET username = :newUsername, username_key = :newUsernameKey, permission_id = :newPermId WHERE u_id = :uid",
+        new NVPair("newUsername", formData.getUsername().getValue()), new NVPair("newUsernameKey", UserUtility.toUsernameKey(formData.getUsername().getValue())),
+        new NVPair("newPermId", formData.getUserRole().getValue()), new NVPair("uid", formData.getUserId()));
+    BEANS.get(AuthenticationCache.class).clear();
   }
 
   @Override
@@ -125,7 +125,7 @@ public class UserProcessService implements IUserProcessService {
       throw new VetoException(TEXTS.get("AuthorizationFailed"));
     }
 
-    return Collections.unmodifiableSet(m_users);
+    return BEANS.get(OnlineUserRegistry.class).getSnapshot().getUsers();
   }
 
   @Override
@@ -138,13 +138,15 @@ public class UserProcessService implements IUserProcessService {
 
   @Override
   public void registerUserInternal(String userId) {
-    m_users.add(userId);
-    BEANS.get(ClientNotificationRegistry.class).putForAllSessions(new RefreshBuddiesNotification());
+    if (BEANS.get(OnlineUserRegistry.class).register(userId)) {
+      BEANS.get(BuddyDeltaPublisher.class).registryChanged();
+    }
   }
 
   @Override
   public void unregisterUserInternal(String userName) {
-    m_users.remove(ServerSession.get().getUserId());
-    BEANS.get(ClientNotificationRegistry.class).putForAllSessions(new RefreshBuddiesNotification());
+    if (BEANS.get(OnlineUserRegistry.class).unregister(userName)) {
+      BEANS.get(BuddyDeltaPublisher.class).registryChanged();
+    }
   }
 }
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.server.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.security.SecurityUtility;
+import org.eclipse.scout.rt.platform.util.Base64Utility;
+import org.eclipse.scout.rt.server.services.common.clustersync.IClusterSynchronizationService;
+import org.eclipsescout.demo.bahbah.server.ConfigProperties.AuthenticationCacheSizeProperty;
+import org.eclipsescout.demo.bahbah.server.ConfigProperties.AuthenticationCacheTtlProperty;
+import org.eclipsescout.demo.bahbah.server.services.notification.ClearAuthenticationCacheNotification;
+
+/**
+ * Remembers successful verifications of a username and password for a short time, so that clients authenticating
+ * with every request do not cause a password hash computation each time.
+ * <p>
+ * Entries are keyed by an HMAC of username and password with a random key created at startup, so neither the
+ * passwords nor plain hashes of them are kept in memory. The cache is bounded in size and age and is cleared whenever
+ * a password or username changes, on all cluster nodes.
+ */
+@ApplicationScoped
+public class AuthenticationCache {
+
+  private static final String MAC_ALGORITHM = "HmacSHA256";
+
+  private final SecretKeySpec m_secret = new SecretKeySpec(SecurityUtility.createRandomBytes(32), MAC_ALGORITHM);
+  private final long m_ttlMillis = TimeUnit.SECONDS.toMillis(CONFIG.getPropertyValue(AuthenticationCacheTtlProperty.class));
+  private final int m_maxSize = CONFIG.getPropertyValue(AuthenticationCacheSizeProperty.class);
+
+  // verification time by key, in insertion order
+  private final LinkedHashMap<String, Long> m_verifications = new LinkedHashMap<String, Long>() {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+      return size() > m_maxSize;
+    }
+  };
+
+  public synchronized boolean isVerified(String username, String password) {
+    String key = createKey(username, password);
+    Long verifiedAt = m_verifications.get(key);
+    if (verifiedAt == null) {
+      return false;
+    }
+    if (System.currentTimeMillis() - verifiedAt >= m_ttlMillis) {
+      m_verifications.remove(key);
+      return false;
+    }
+    return true;
+  }
+
+  public synchronized void putVerified(String username, String password) {
+    String key = createKey(username, password);
+    m_verifications.remove(key);
+    m_verifications.put(key, System.currentTimeMillis());
+  }
+
+  /**
+   * Clears the cache of this node and, once the current transaction is committed, of the other cluster nodes.
+   */
+  public void clear() {
+    clearLocal();
+    BEANS.get(IClusterSynchronizationService.class).publishTransactional(new ClearAuthenticationCacheNotification());
+  }
+
+  public synchronized void clearLocal() {
+    m_verifications.clear();
+  }
+
+  protected synchronized int size() {
+    return m_verifications.size();
+  }
+
+  protected String createKey(String username, String password) {
+    try {
+      Mac mac = Mac.getInstance(MAC_ALGORITHM);
+      mac.init(m_secret);
+      mac.update(username.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+      mac.update((byte) 0);
+      return Base64Utility.encode(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+    }
+    catch (GeneralSecurityException e) {
+      throw new ProcessingException("Unable to create authentication cache key", e);
+    }
+  }
+}
@@ -10,16 +10,24 @@
  ******************************************************************************/
 package org.eclipsescout.demo.bahbah.server.util;
 
-import java.nio.charset.StandardCharsets;
-import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
-
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
 import org.eclipse.scout.rt.platform.exception.VetoException;
+import org.eclipse.scout.rt.platform.holders.IntegerHolder;
+import org.eclipse.scout.rt.platform.holders.LongHolder;
 import org.eclipse.scout.rt.platform.holders.NVPair;
 import org.eclipse.scout.rt.platform.holders.StringHolder;
 import org.eclipse.scout.rt.platform.security.SecurityUtility;
+import org.eclipse.scout.rt.platform.text.TEXTS;
 import org.eclipse.scout.rt.platform.util.Base64Utility;
 import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipsescout.demo.bahbah.server.ConfigProperties.PasswordHashIterationsProperty;
 import org.eclipsescout.demo.bahbah.server.ServerSession;
 import org.eclipsescout.demo.bahbah.shared.services.code.UserRoleCodeType.AdministratorCode;
 import org.eclipsescout.demo.bahbah.shared.services.code.UserRoleCodeType.UserCode;
@@ -27,8 +35,6 @@ import org.eclipsescout.demo.bahbah.shared.util.SharedUserUtility;
 
 public class UserUtility extends SharedUserUtility {
 
-  private static final int HASH_ITERATIONS = 20000;
-
   public static boolean createNewUser(String username, char[] password) {
     return createNewUser(username, password, UserCode.ID);
   }
@@ -37,17 +43,21 @@ public class UserUtility extends SharedUserUtility {
     checkUsername(username);
     checkPassword(password);
     checkPermissionId(permission);
+    checkUsernameAvailable(username, null);
 
+    int iterations = getHashIterations();
     byte[] bSalt = SecurityUtility.createRandomBytes();
-    byte[] bHash = SecurityUtility.hashPassword(password, bSalt, HASH_ITERATIONS);
+    byte[] bHash = SecurityUtility.hashPassword(password, bSalt, iterations);
 
     String salt = Base64Utility.encode(bSalt);
     String digest = Base64Utility.encode(bHash);
 
-    SQL.insert("INSERT INTO TABUSERS (username, pass, salt, permission_id) VALUES (:username, :pass, :salt, :permission)",
+    SQL.insert("INSERT INTO TABUSERS (username, username_key, pass, salt, hash_iterations, permission_id) VALUES (:username, :usernameKey, :pass, :salt, :iterations, :permission)",
         new NVPair("username", username),
+        new NVPair("usernameKey", toUsernameKey(username)),
         new NVPair("pass", digest),
         new NVPair("salt", salt),
+        new NVPair("iterations", iterations),
         new NVPair("permission", permission));
 
     return true;
@@ -63,33 +73,113 @@ public class UserUtility extends SharedUserUtility {
       }
     }
 
+    storePassword(u_Id, newPassword);
+    BEANS.get(AuthenticationCache.class).clear();
+  }
+
+  private static void storePassword(Long u_Id, char[] password) {
+    int iterations = getHashIterations();
     byte[] bSalt = SecurityUtility.createRandomBytes();
-    byte[] bHash = SecurityUtility.hashPassword(newPassword, bSalt, HASH_ITERATIONS);
+    byte[] bHash = SecurityUtility.hashPassword(password, bSalt, iterations);
 
     String salt = Base64Utility.encode(bSalt);
     String digest = Base64Utility.encode(bHash);
 
-    SQL.update("UPDATE TABUSERS SET pass = :newPass, salt = :newSalt WHERE u_id = :uid", new NVPair("newPass", digest), new NVPair("newSalt", salt), new NVPair("uid", u_Id));
+    SQL.update("UPDATE TABUSERS SET pass = :newPass, salt = :newSalt, hash_iterations = :iterations WHERE u_id = :uid",
+        new NVPair("newPass", digest), new NVPair("newSalt", salt), new NVPair("iterations", iterations), new NVPair("uid", u_Id));
+  }
+
+  /**
+   * Checks that no other user has the same username regardless of case.
+   *
+   * @param u_Id
+   *          the user that is renamed or <code>null</code> for a new user
+   * @throws VetoException
+   *           if the username is taken
+   */
+  public static void checkUsernameAvailable(String username, Long u_Id) {
+    LongHolder idHolder = new LongHolder();
+    SQL.selectInto("SELECT u_id FROM TABUSERS WHERE username_key = :usernameKey INTO :id",
+        new NVPair("usernameKey", toUsernameKey(username)),
+        new NVPair("id", idHolder));
+    if (idHolder.getValue() != null && !idHolder.getValue().equals(u_Id)) {
+      throw new VetoException(TEXTS.get("UsernameAlreadyExists", username));
+    }
+  }
+
+  /**
+   * Checks that the existing usernames are unique regardless of case before the unique index on the case folded
+   * username is created.
+   *
+   * @throws ProcessingException
+   *           listing the usernames that only differ in case
+   */
+  public static void checkUsernamesUniqueIgnoringCase() {
+    Object[][] rows = SQL.select("SELECT username FROM TABUSERS WHERE LOWER(username) IN (SELECT LOWER(username) FROM TABUSERS GROUP BY LOWER(username) HAVING COUNT(*) > 1) ORDER BY username");
+    if (rows.length == 0) {
+      return;
+    }
+    List<Object> usernames = new ArrayList<>(rows.length);
+    for (Object[] row : rows) {
+      usernames.add(row[0]);
+    }
+    throw new ProcessingException("Cannot add a case insensitive unique index to TABUSERS: the usernames {} only differ in case. Rename or delete these users and restart.", usernames);
   }
 
+  /**
+   * @return the case folded username used to look up users regardless of case
+   */
+  public static String toUsernameKey(String username) {
+    return username.toLowerCase(Locale.ROOT);
+  }
+
+  private static int getHashIterations() {
+    return CONFIG.getPropertyValue(PasswordHashIterationsProperty.class);
+  }
+
+  /**
+   * Checks the password of the user. Successful checks are remembered for a short time in the
+   * {@link AuthenticationCache}. A password hashed with a number of iterations other than the configured one is hashed
+   * again once it has been verified.
+   */
   public static boolean isValidUser(String username, String password) {
+    if (username == null || password == null) {
+      return false;
+    }
+    AuthenticationCache cache = BEANS.get(AuthenticationCache.class);
+    if (cache.isVerified(username, password)) {
+      return true;
+    }
+
+    LongHolder idHolder = new LongHolder();
     StringHolder passHolder = new StringHolder();
     StringHolder saltHolder = new StringHolder();
-    SQL.selectInto("SELECT pass, salt FROM TABUSERS WHERE UPPER(USERNAME) = UPPER(:username) INTO :pass, :salt",
-        new NVPair("username", username),
+    IntegerHolder iterationsHolder = new IntegerHolder();
+    SQL.selectInto("SELECT u_id, pass, salt, hash_iterations FROM TABUSERS WHERE username_key = :usernameKey INTO :id, :pass, :salt, :iterations",
+        new NVPair("usernameKey", toUsernameKey(username)),
+        new NVPair("id", idHolder),
         new NVPair("pass", passHolder),
-        new NVPair("salt", saltHolder));
+        new NVPair("salt", saltHolder),
+        new NVPair("iterations", iterationsHolder));
 
     String pass = passHolder.getValue();
     String salt = saltHolder.getValue();
-    if (pass == null || salt == null) {
+    Integer iterations = iterationsHolder.getValue();
+    if (pass == null || salt == null || iterations == null) {
       // user was not found: to prevent time attacks even though check the passwords
       // will always return false
-      pass = "c29tZXRoaW5n";
-      password = "dummy";
-      salt = "c29tZXNhbHQ=";
+      areEqual("c29tZXRoaW5n", "dummy", "c29tZXNhbHQ=", getHashIterations());
+      return false;
     }
-    return areEqual(pass, password, salt);
+    if (!areEqual(pass, password, salt, iterations)) {
+      return false;
+    }
+
+    if (iterations != getHashIterations()) {
+      storePassword(idHolder.getValue(), password.toCharArray());
+    }
+    cache.putVerified(username, password);
+    return true;
   }
 
   /**
@@ -101,14 +191,15 @@ public class UserUtility extends SharedUserUtility {
    *          String containing the clear text password to check.
    * @param salt
    *          The salt (Base64 encoded) to use for hashing.
+   * @param iterations
+   *          The number of iterations pass1 was hashed with.
    * @return True if the hash of pass2 is equal with pass1 using the given salt.
-   * @throws NoSuchAlgorithmException
    */
-  private static boolean areEqual(String pass1, String pass2, String salt) {
+  private static boolean areEqual(String pass1, String pass2, String salt, int iterations) {
     byte[] bPass = Base64Utility.decode(pass1);
     byte[] bSalt = Base64Utility.decode(salt);
-    byte[] bInput = SecurityUtility.hash(pass2.getBytes(StandardCharsets.UTF_8), bSalt);
+    byte[] bInput = SecurityUtility.hashPassword(pass2.toCharArray(), bSalt, iterations);
 
-    return Arrays.equals(bInput, bPass);
+    return MessageDigest.isEqual(bInput, bPass);
   }
 }
@@ -0,0 +1,84 @@
+package org.eclipsescout.demo.bahbah.server.services.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.server.clientnotification.ClientNotificationRegistry;
+import org.eclipse.scout.rt.testing.platform.mock.BeanMock;
+import org.eclipse.scout.rt.testing.platform.runner.PlatformTestRunner;
+import org.eclipsescout.demo.bahbah.shared.notification.BuddyDeltaNotification;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Tests for {@link BuddyDeltaPublisher}
+ */
+@RunWith(PlatformTestRunner.class)
+public class BuddyDeltaPublisherTest {
+
+  @BeanMock
+  private ClientNotificationRegistry m_notificationRegistry;
+
+  @After
+  public void tearDown() {
+    BEANS.get(OnlineUserRegistry.class).unregister("first");
+    BEANS.get(OnlineUserRegistry.class).unregister("second");
+  }
+
+  @Test
+  public void testFirstChangeIsPublished() {
+    BuddyDeltaPublisher publisher = new BuddyDeltaPublisher();
+    publisher.init();
+    long version = BEANS.get(OnlineUserRegistry.class).getSnapshot().getVersion();
+
+    BEANS.get(OnlineUserRegistry.class).register("first");
+    publisher.publish();
+
+    BuddyDeltaNotification notification = captureNotification();
+    assertEquals(version, notification.getPreviousVersion());
+    assertEquals(version + 1, notification.getVersion());
+    assertEquals(Collections.singleton("first"), notification.getJoinedUsers());
+  }
+
+  @Test
+  public void testChangesAreCoalesced() {
+    BuddyDeltaPublisher publisher = new BuddyDeltaPublisher();
+    publisher.init();
+    long version = BEANS.get(OnlineUserRegistry.class).getSnapshot().getVersion();
+
+    BEANS.get(OnlineUserRegistry.class).register("first");
+    BEANS.get(OnlineUserRegistry.class).register("second");
+    BEANS.get(OnlineUserRegistry.class).unregister("first");
+    publisher.publish();
+
+    BuddyDeltaNotification notification = captureNotification();
+    assertEquals(version, notification.getPreviousVersion());
+    assertEquals(version + 3, notification.getVersion());
+    assertEquals(Collections.singleton("second"), notification.getJoinedUsers());
+    assertEquals(Collections.singleton("first"), notification.getLeftUsers());
+  }
+
+  @Test
+  public void testNothingIsPublishedWithoutChanges() {
+    BuddyDeltaPublisher publisher = new BuddyDeltaPublisher();
+    publisher.init();
+    publisher.publish();
+
+    verify(m_notificationRegistry, never()).putForAllSessions(any(), anyBoolean());
+  }
+
+  private BuddyDeltaNotification captureNotification() {
+    ArgumentCaptor<BuddyDeltaNotification> captor = ArgumentCaptor.forClass(BuddyDeltaNotification.class);
+    verify(m_notificationRegistry).putForAllSessions(captor.capture(), eq(false));
+    return captor.getValue();
+  }
+}
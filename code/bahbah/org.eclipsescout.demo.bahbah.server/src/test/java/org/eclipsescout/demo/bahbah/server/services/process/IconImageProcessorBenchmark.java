@@ -0,0 +1,87 @@
+package org.eclipsescout.demo.bahbah.server.services.process;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.testing.platform.runner.PlatformTestRunner;
+import org.eclipsescout.demo.bahbah.shared.services.process.IIconProcessService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the time to create the icons of an uploaded image by scaling the full image to every icon size with bicubic
+ * interpolation against {@link IconImageProcessor}.
+ * <p>
+ * Not part of the regular test run. Start it manually.
+ */
+@RunWith(PlatformTestRunner.class)
+public class IconImageProcessorBenchmark {
+  private static final Logger LOG = LoggerFactory.getLogger(IconImageProcessorBenchmark.class);
+
+  private static final int[] SOURCE_SIZES = {256, 1024, 4096};
+  private static final int ROUNDS = 5;
+
+  @Test
+  public void benchmarkCreateIcons() throws IOException {
+    // warm up both variants
+    byte[] warmUp = IconImageProcessorTest.createImage(512, 512);
+    measureBicubic(warmUp);
+    measureProcessor(warmUp);
+
+    for (int sourceSize : SOURCE_SIZES) {
+      byte[] content = IconImageProcessorTest.createImage(sourceSize, sourceSize);
+      double bicubicMillis = measureBicubic(content);
+      double processorMillis = measureProcessor(content);
+      LOG.info("Creating the icons of a {}x{} image: bicubic {} ms/image, processor {} ms/image",
+          sourceSize, sourceSize, String.format("%.2f", bicubicMillis), String.format("%.2f", processorMillis));
+    }
+  }
+
+  private double measureBicubic(byte[] content) throws IOException {
+    IconImageProcessor processor = BEANS.get(IconImageProcessor.class);
+    long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      BufferedImage image = ImageIO.read(new ByteArrayInputStream(content));
+      for (int size : IIconProcessService.ICON_SIZES) {
+        processor.encode(drawBicubic(image, size, size));
+      }
+    }
+    return perImage(System.nanoTime() - start);
+  }
+
+  private double measureProcessor(byte[] content) {
+    IconImageProcessor processor = BEANS.get(IconImageProcessor.class);
+    long start = System.nanoTime();
+    for (int i = 0; i < ROUNDS; i++) {
+      processor.createIcons(content);
+    }
+    return perImage(System.nanoTime() - start);
+  }
+
+  private static BufferedImage drawBicubic(BufferedImage image, int w, int h) {
+    BufferedImage scaled = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D g = scaled.createGraphics();
+    try {
+      g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+      g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      g.drawImage(image, 0, 0, w, h, null);
+    }
+    finally {
+      g.dispose();
+    }
+    return scaled;
+  }
+
+  private static double perImage(long nanos) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0 / ROUNDS;
+  }
+}
@@ -0,0 +1,75 @@
+package org.eclipsescout.demo.bahbah.server.services.process;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.exception.VetoException;
+import org.eclipse.scout.rt.testing.platform.runner.PlatformTestRunner;
+import org.eclipsescout.demo.bahbah.shared.services.process.IIconProcessService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link IconImageProcessor}
+ */
+@RunWith(PlatformTestRunner.class)
+public class IconImageProcessorTest {
+
+  @Test
+  public void testIconsAreScaledToFitAndKeepAspectRatio() throws IOException {
+    Map<Integer, byte[]> icons = BEANS.get(IconImageProcessor.class).createIcons(createImage(300, 150));
+
+    assertEquals(new HashSet<>(IIconProcessService.ICON_SIZES), icons.keySet());
+    for (int size : IIconProcessService.ICON_SIZES) {
+      BufferedImage icon = decode(icons.get(size));
+      assertEquals(size, icon.getWidth());
+      assertEquals(size / 2, icon.getHeight());
+    }
+  }
+
+  @Test
+  public void testSmallImageIsNotEnlarged() throws IOException {
+    Map<Integer, byte[]> icons = BEANS.get(IconImageProcessor.class).createIcons(createImage(10, 20));
+
+    for (int size : IIconProcessService.ICON_SIZES) {
+      BufferedImage icon = decode(icons.get(size));
+      assertEquals(10, icon.getWidth());
+      assertEquals(20, icon.getHeight());
+    }
+  }
+
+  @Test(expected = VetoException.class)
+  public void testTooLargeImageIsRejected() throws IOException {
+    BEANS.get(IconImageProcessor.class).createIcons(createImage(IconImageProcessor.MAX_SOURCE_DIMENSION + 1, 1));
+  }
+
+  @Test(expected = VetoException.class)
+  public void testInvalidContentIsRejected() {
+    BEANS.get(IconImageProcessor.class).createIcons(new byte[]{1, 2, 3});
+  }
+
+  static byte[] createImage(int width, int height) throws IOException {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        image.setRGB(x, y, (x * 255 / width) << 16 | (y * 255 / height) << 8);
+      }
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(image, "png", out);
+    return out.toByteArray();
+  }
+
+  private static BufferedImage decode(byte[] content) throws IOException {
+    return ImageIO.read(new ByteArrayInputStream(content));
+  }
+}
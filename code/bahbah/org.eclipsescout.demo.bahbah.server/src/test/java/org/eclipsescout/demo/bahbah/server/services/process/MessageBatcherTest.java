@@ -0,0 +1,118 @@
+package org.eclipsescout.demo.bahbah.server.services.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scout.rt.platform.job.IFuture;
+import org.eclipse.scout.rt.platform.job.Jobs;
+import org.eclipse.scout.rt.testing.platform.runner.PlatformTestRunner;
+import org.eclipsescout.demo.bahbah.shared.notification.MessageNotification.ChatMessage;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link MessageBatcher}
+ */
+@RunWith(PlatformTestRunner.class)
+public class MessageBatcherTest {
+
+  private final List<List<ChatMessage>> m_batches = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  public void testFullBatchIsDeliveredImmediately() {
+    MessageBatcher batcher = new RecordingBatcher(null);
+    addMessages(batcher, 0, MessageBatcher.MAX_BATCH_SIZE);
+
+    assertEquals(1, m_batches.size());
+    assertEquals(MessageBatcher.MAX_BATCH_SIZE, m_batches.get(0).size());
+    assertEquals(0, batcher.getQueueCount());
+  }
+
+  @Test
+  public void testPartialBatchIsDeliveredAfterDelay() throws Exception {
+    MessageBatcher batcher = new RecordingBatcher(null);
+    addMessages(batcher, 0, 3);
+    assertEquals(1, batcher.getQueueCount());
+
+    waitForDelivery(batcher);
+    assertEquals(1, m_batches.size());
+    assertEquals(3, m_batches.get(0).size());
+  }
+
+  /**
+   * Messages added while a batch is delivered are queued up to the maximum length and delivered in order once the
+   * delivery completed.
+   */
+  @Test
+  public void testQueueIsCappedDuringSlowDelivery() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    MessageBatcher batcher = new RecordingBatcher(release);
+
+    IFuture<Void> firstBatch = Jobs.schedule(() -> addMessages(batcher, 0, MessageBatcher.MAX_BATCH_SIZE), Jobs.newInput());
+    while (m_batches.isEmpty()) {
+      Thread.sleep(10);
+    }
+
+    // the sender is not blocked by the delivery in progress
+    int dropped = 10;
+    addMessages(batcher, 1000, MessageBatcher.MAX_QUEUE_LENGTH + dropped);
+
+    release.countDown();
+    firstBatch.awaitDone(10, TimeUnit.SECONDS);
+    waitForDelivery(batcher);
+
+    List<String> delivered = new ArrayList<>();
+    for (List<ChatMessage> batch : m_batches) {
+      assertTrue(batch.size() <= MessageBatcher.MAX_BATCH_SIZE);
+      for (ChatMessage message : batch) {
+        delivered.add(message.getMessage());
+      }
+    }
+    assertEquals(MessageBatcher.MAX_BATCH_SIZE + MessageBatcher.MAX_QUEUE_LENGTH, delivered.size());
+    assertEquals("0", delivered.get(0));
+    assertEquals(String.valueOf(1000 + dropped), delivered.get(MessageBatcher.MAX_BATCH_SIZE));
+    assertEquals(String.valueOf(1000 + dropped + MessageBatcher.MAX_QUEUE_LENGTH - 1), delivered.get(delivered.size() - 1));
+  }
+
+  private static void addMessages(MessageBatcher batcher, int first, int count) {
+    for (int i = first; i < first + count; i++) {
+      batcher.add("buddy", new ChatMessage("sender", String.valueOf(i), new Date()));
+    }
+  }
+
+  private static void waitForDelivery(MessageBatcher batcher) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 10000;
+    while (batcher.getQueueCount() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(0, batcher.getQueueCount());
+  }
+
+  private class RecordingBatcher extends MessageBatcher {
+    private final CountDownLatch m_release;
+
+    RecordingBatcher(CountDownLatch release) {
+      m_release = release;
+    }
+
+    @Override
+    protected void deliver(String recipient, List<ChatMessage> messages) {
+      m_batches.add(messages);
+      if (m_release != null) {
+        try {
+          m_release.await(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+}
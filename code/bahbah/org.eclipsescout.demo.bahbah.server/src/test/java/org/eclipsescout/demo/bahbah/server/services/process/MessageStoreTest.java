@@ -0,0 +1,93 @@
+package org.eclipsescout.demo.bahbah.server.services.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.server.testenvironment.TestEnvironmentServerSession;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.eclipsescout.demo.bahbah.shared.services.process.ChatHistoryEntry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link MessageStore}
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(TestEnvironmentServerSession.class)
+@RunWithSubject("default")
+public class MessageStoreTest {
+
+  @Test
+  public void testFailedBatchIsStoredByNextFlush() {
+    RecordingStore store = new RecordingStore(1);
+    store.append(createEntry("1"));
+    store.append(createEntry("2"));
+
+    store.flush();
+    assertTrue(store.m_stored.isEmpty());
+
+    store.append(createEntry("3"));
+    store.flush();
+    assertEquals(1, store.m_stored.size());
+    assertEquals(3, store.m_stored.get(0).size());
+  }
+
+  @Test
+  public void testFailedBatchIsStoredBeforeNewerMessages() {
+    RecordingStore store = new RecordingStore(1);
+    store.append(createEntry("1"));
+    store.flush();
+    store.append(createEntry("2"));
+    store.flush();
+
+    List<ChatHistoryEntry> batch = store.m_stored.get(0);
+    assertEquals("1", batch.get(0).getMessage());
+    assertEquals("2", batch.get(1).getMessage());
+  }
+
+  @Test
+  public void testFlushSchedulesRetryOnFailure() {
+    RecordingStore store = new RecordingStore(1);
+    store.append(createEntry("1"));
+    int scheduled = store.m_scheduledFlushes;
+
+    store.flush();
+    assertEquals(scheduled + 1, store.m_scheduledFlushes);
+  }
+
+  private static ChatHistoryEntry createEntry(String message) {
+    return new ChatHistoryEntry(null, "sender", "receiver", new Date(), message);
+  }
+
+  private static class RecordingStore extends MessageStore {
+    private final List<List<ChatHistoryEntry>> m_stored = new ArrayList<>();
+    private int m_failures;
+    private int m_scheduledFlushes;
+
+    RecordingStore(int failures) {
+      m_failures = failures;
+    }
+
+    @Override
+    protected synchronized void scheduleFlush() {
+      // the test flushes explicitly
+      m_scheduledFlushes++;
+    }
+
+    @Override
+    protected void insert(List<ChatHistoryEntry> batch) {
+      if (m_failures > 0) {
+        m_failures--;
+        throw new ProcessingException("database not available");
+      }
+      m_stored.add(new ArrayList<>(batch));
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package org.eclipsescout.demo.bahbah.server.services.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipsescout.demo.bahbah.shared.services.outline.OnlineUsersDelta;
+import org.junit.Test;
+
+/**
+ * Tests for {@link OnlineUserRegistry}
+ */
+public class OnlineUserRegistryTest {
+
+  private static final int THREADS = 8;
+  private static final int ROUNDS = 500;
+
+  @Test
+  public void testChangesAreReportedInOrder() {
+    OnlineUserRegistry registry = new OnlineUserRegistry();
+    long version = registry.getSnapshot().getVersion();
+
+    registry.register("b");
+    registry.register("a");
+    registry.register("c");
+    registry.unregister("a");
+
+    OnlineUsersDelta delta = registry.getChangesSince(version);
+    assertFalse(delta.isComplete());
+    assertEquals(version + 4, delta.getVersion());
+    assertEquals(Arrays.asList("b", "c"), new ArrayList<>(delta.getJoinedUsers()));
+    assertEquals(Arrays.asList("a"), new ArrayList<>(delta.getLeftUsers()));
+  }
+
+  @Test
+  public void testChangesSinceIntermediateVersion() {
+    OnlineUserRegistry registry = new OnlineUserRegistry();
+    registry.register("a");
+    long version = registry.getSnapshot().getVersion();
+    registry.register("b");
+    registry.unregister("a");
+
+    OnlineUsersDelta delta = registry.getChangesSince(version);
+    assertEquals(Collections.singleton("b"), delta.getJoinedUsers());
+    assertEquals(Collections.singleton("a"), delta.getLeftUsers());
+  }
+
+  @Test
+  public void testUserChangedSeveralTimesIsReportedWithCurrentState() {
+    OnlineUserRegistry registry = new OnlineUserRegistry();
+    long version = registry.getSnapshot().getVersion();
+    registry.register("a");
+    registry.unregister("a");
+    registry.register("b");
+    registry.unregister("b");
+    registry.register("b");
+
+    OnlineUsersDelta delta = registry.getChangesSince(version);
+    assertEquals(Collections.singleton("b"), delta.getJoinedUsers());
+    assertEquals(Collections.singleton("a"), delta.getLeftUsers());
+  }
+
+  @Test
+  public void testUnchangedRegistryReturnsEmptyDelta() {
+    OnlineUserRegistry registry = new OnlineUserRegistry();
+    registry.register("a");
+    assertFalse(registry.register("a"));
+    assertFalse(registry.unregister("b"));
+
+    long version = registry.getSnapshot().getVersion();
+    OnlineUsersDelta delta = registry.getChangesSince(version);
+    assertEquals(version, delta.getVersion());
+    assertFalse(delta.isComplete());
+    assertTrue(delta.getJoinedUsers().isEmpty());
+    assertTrue(delta.getLeftUsers().isEmpty());
+  }
+
+  @Test
+  public void testUnknownVersionReturnsCompleteDelta() {
+    OnlineUserRegistry registry = new OnlineUserRegistry();
+    long version = registry.getSnapshot().getVersion();
+    for (int i = 0; i < 1100; i++) {
+      registry.register("user" + i);
+    }
+
+    OnlineUsersDelta delta = registry.getChangesSince(version);
+    assertTrue(delta.isComplete());
+    assertEquals(registry.getSnapshot().getUsers(), delta.getJoinedUsers());
+
+    delta = registry.getChangesSince(registry.getSnapshot().getVersion() + 1);
+    assertTrue(delta.isComplete());
+  }
+
+  /**
+   * Users log in and out concurrently while a reader follows the deltas. Applying the deltas must lead to the final
+   * online users.
+   */
+  @Test
+  public void testConcurrentRegistrationsAndDeltas() throws Exception {
+    OnlineUserRegistry registry = new OnlineUserRegistry();
+    long initialVersion = registry.getSnapshot().getVersion();
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      AtomicBoolean writing = new AtomicBoolean(true);
+
+      Future<Set<String>> reader = executor.submit(() -> {
+        Set<String> users = new HashSet<>();
+        long version = initialVersion;
+        start.await();
+        while (writing.get()) {
+          version = apply(registry.getChangesSince(version), users);
+        }
+        apply(registry.getChangesSince(version), users);
+        return users;
+      });
+
+      List<Future<Integer>> writers = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        String userId = "user" + t;
+        writers.add(executor.submit((Callable<Integer>) () -> {
+          start.await();
+          int changes = 0;
+          for (int i = 0; i < ROUNDS; i++) {
+            changes += registry.register(userId) ? 1 : 0;
+            changes += registry.register(userId) ? 1 : 0;
+            changes += registry.unregister(userId) ? 1 : 0;
+          }
+          // every second user stays online
+          if (userId.hashCode() % 2 == 0) {
+            changes += registry.register(userId) ? 1 : 0;
+          }
+          return changes;
+        }));
+      }
+
+      start.countDown();
+      int changes = 0;
+      for (Future<Integer> writer : writers) {
+        changes += writer.get(30, TimeUnit.SECONDS);
+      }
+      writing.set(false);
+
+      Set<String> expectedUsers = new HashSet<>();
+      for (int t = 0; t < THREADS; t++) {
+        if (("user" + t).hashCode() % 2 == 0) {
+          expectedUsers.add("user" + t);
+        }
+      }
+      assertEquals(expectedUsers, registry.getSnapshot().getUsers());
+      assertEquals(initialVersion + changes, registry.getSnapshot().getVersion());
+      assertEquals(expectedUsers, reader.get(30, TimeUnit.SECONDS));
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static long apply(OnlineUsersDelta delta, Set<String> users) {
+    if (delta.isComplete()) {
+      users.clear();
+    }
+    users.addAll(delta.getJoinedUsers());
+    users.removeAll(delta.getLeftUsers());
+    return delta.getVersion();
+  }
+}
@@ -0,0 +1,93 @@
+package org.eclipsescout.demo.bahbah.server.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.job.IFuture;
+import org.eclipse.scout.rt.platform.job.Jobs;
+import org.eclipse.scout.rt.server.context.ServerRunContexts;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipse.scout.rt.server.testenvironment.TestEnvironmentServerSession;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the logins per second of {@link UserUtility#isValidUser(String, String)} as called by the authentication
+ * servlet, with clients logging in concurrently, once with the {@link AuthenticationCache} cleared before every login
+ * and once with the cache in use.
+ * <p>
+ * Not part of the regular test run. Start it manually.
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(TestEnvironmentServerSession.class)
+@RunWithSubject("default")
+public class AuthenticationBenchmark {
+  private static final Logger LOG = LoggerFactory.getLogger(AuthenticationBenchmark.class);
+
+  private static final int[] CLIENTS = {1, 4, 16};
+  private static final int LOGINS_PER_CLIENT = 50;
+  private static final String USERNAME_PREFIX = "benchmark";
+  private static final String PASSWORD = "secret";
+
+  @After
+  public void tearDown() {
+    SQL.delete("DELETE FROM TABUSERS WHERE username_key LIKE :prefix", new NVPair("prefix", USERNAME_PREFIX + "%"));
+    BEANS.get(AuthenticationCache.class).clearLocal();
+  }
+
+  @Test
+  public void benchmarkLogins() {
+    for (int i = 0; i < CLIENTS[CLIENTS.length - 1]; i++) {
+      UserUtility.createNewUser(USERNAME_PREFIX + i, PASSWORD.toCharArray());
+    }
+    SQL.commit();
+
+    // warm up both variants
+    measure(1, false);
+    measure(1, true);
+
+    for (int clients : CLIENTS) {
+      double uncachedRate = measure(clients, false);
+      double cachedRate = measure(clients, true);
+      LOG.info("{} concurrent clients: uncached {} logins/s, cached {} logins/s",
+          clients, String.format("%.1f", uncachedRate), String.format("%.1f", cachedRate));
+    }
+  }
+
+  private double measure(int clients, boolean cached) {
+    BEANS.get(AuthenticationCache.class).clearLocal();
+    List<IFuture<Void>> futures = new ArrayList<>(clients);
+    long start = System.nanoTime();
+    for (int c = 0; c < clients; c++) {
+      String username = USERNAME_PREFIX + c;
+      futures.add(Jobs.schedule(() -> login(username, cached), Jobs.newInput()
+          .withName("Benchmark login")
+          .withRunContext(ServerRunContexts.copyCurrent())));
+    }
+    for (IFuture<Void> future : futures) {
+      future.awaitDoneAndGet(5, TimeUnit.MINUTES);
+    }
+    long nanos = System.nanoTime() - start;
+    return clients * LOGINS_PER_CLIENT / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+  }
+
+  private static void login(String username, boolean cached) {
+    for (int i = 0; i < LOGINS_PER_CLIENT; i++) {
+      if (!cached) {
+        BEANS.get(AuthenticationCache.class).clearLocal();
+      }
+      if (!UserUtility.isValidUser(username, PASSWORD)) {
+        throw new IllegalStateException("Login of " + username + " failed");
+      }
+    }
+  }
+}
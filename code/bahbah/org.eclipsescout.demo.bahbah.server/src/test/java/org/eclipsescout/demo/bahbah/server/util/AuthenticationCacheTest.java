@@ -0,0 +1,60 @@
+package org.eclipsescout.demo.bahbah.server.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.server.services.common.clustersync.IClusterSynchronizationService;
+import org.eclipse.scout.rt.testing.platform.mock.BeanMock;
+import org.eclipse.scout.rt.testing.platform.runner.PlatformTestRunner;
+import org.eclipsescout.demo.bahbah.server.ConfigProperties.AuthenticationCacheSizeProperty;
+import org.eclipsescout.demo.bahbah.server.services.notification.ClearAuthenticationCacheNotification;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link AuthenticationCache}
+ */
+@RunWith(PlatformTestRunner.class)
+public class AuthenticationCacheTest {
+
+  @BeanMock
+  private IClusterSynchronizationService m_clusterSynchronizationService;
+
+  @Test
+  public void testVerifiedCredentialsAreCached() {
+    AuthenticationCache cache = new AuthenticationCache();
+    cache.putVerified("Buddy", "secret");
+
+    assertTrue(cache.isVerified("Buddy", "secret"));
+    assertTrue(cache.isVerified("buddy", "secret"));
+    assertFalse(cache.isVerified("Buddy", "Secret"));
+    assertFalse(cache.isVerified("other", "secret"));
+  }
+
+  @Test
+  public void testCacheIsBounded() {
+    AuthenticationCache cache = new AuthenticationCache();
+    int maxSize = CONFIG.getPropertyValue(AuthenticationCacheSizeProperty.class);
+    for (int i = 0; i <= maxSize; i++) {
+      cache.putVerified("user" + i, "secret");
+    }
+
+    assertEquals(maxSize, cache.size());
+    assertFalse(cache.isVerified("user0", "secret"));
+    assertTrue(cache.isVerified("user" + maxSize, "secret"));
+  }
+
+  @Test
+  public void testClearIsPublishedToCluster() {
+    AuthenticationCache cache = new AuthenticationCache();
+    cache.putVerified("buddy", "secret");
+
+    cache.clear();
+    assertFalse(cache.isVerified("buddy", "secret"));
+    verify(m_clusterSynchronizationService).publishTransactional(any(ClearAuthenticationCacheNotification.class));
+  }
+}
@@ -0,0 +1,83 @@
+package org.eclipsescout.demo.bahbah.server.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.exception.VetoException;
+import org.eclipse.scout.rt.platform.holders.IntegerHolder;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.security.SecurityUtility;
+import org.eclipse.scout.rt.platform.util.Base64Utility;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipse.scout.rt.server.testenvironment.TestEnvironmentServerSession;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.eclipsescout.demo.bahbah.server.ConfigProperties.PasswordHashIterationsProperty;
+import org.eclipsescout.demo.bahbah.shared.services.code.UserRoleCodeType.UserCode;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link UserUtility}
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(TestEnvironmentServerSession.class)
+@RunWithSubject("default")
+public class UserUtilityTest {
+
+  private static final String USERNAME = "UtilityTest";
+  private static final String PASSWORD = "secret";
+
+  @After
+  public void tearDown() {
+    SQL.delete("DELETE FROM TABUSERS WHERE username_key = :usernameKey", new NVPair("usernameKey", UserUtility.toUsernameKey(USERNAME)));
+    BEANS.get(AuthenticationCache.class).clearLocal();
+  }
+
+  @Test
+  public void testPasswordIsRehashedOnLogin() {
+    int iterations = CONFIG.getPropertyValue(PasswordHashIterationsProperty.class) + 1;
+    byte[] salt = SecurityUtility.createRandomBytes();
+    SQL.insert("INSERT INTO TABUSERS (username, username_key, pass, salt, hash_iterations, permission_id) VALUES (:username, :usernameKey, :pass, :salt, :iterations, :permission)",
+        new NVPair("username", USERNAME),
+        new NVPair("usernameKey", UserUtility.toUsernameKey(USERNAME)),
+        new NVPair("pass", Base64Utility.encode(SecurityUtility.hashPassword(PASSWORD.toCharArray(), salt, iterations))),
+        new NVPair("salt", Base64Utility.encode(salt)),
+        new NVPair("iterations", iterations),
+        new NVPair("permission", UserCode.ID));
+
+    assertTrue(UserUtility.isValidUser(USERNAME, PASSWORD));
+    assertEquals(CONFIG.getPropertyValue(PasswordHashIterationsProperty.class), loadHashIterations());
+
+    // the new hash is verified without the cache
+    BEANS.get(AuthenticationCache.class).clearLocal();
+    assertTrue(UserUtility.isValidUser(USERNAME.toLowerCase(), PASSWORD));
+    assertFalse(UserUtility.isValidUser(USERNAME, "wrong"));
+  }
+
+  @Test(expected = VetoException.class)
+  public void testUsernameDifferingInCaseIsRejected() {
+    UserUtility.createNewUser(USERNAME, PASSWORD.toCharArray());
+    UserUtility.createNewUser(USERNAME.toUpperCase(), PASSWORD.toCharArray());
+  }
+
+  @Test
+  public void testUserCanKeepItsUsername() {
+    UserUtility.createNewUser(USERNAME, PASSWORD.toCharArray());
+    IntegerHolder idHolder = new IntegerHolder();
+    SQL.selectInto("SELECT u_id FROM TABUSERS WHERE username = :username INTO :id", new NVPair("username", USERNAME), new NVPair("id", idHolder));
+
+    UserUtility.checkUsernameAvailable(USERNAME, idHolder.getValue().longValue());
+  }
+
+  private Integer loadHashIterations() {
+    IntegerHolder iterationsHolder = new IntegerHolder();
+    SQL.selectInto("SELECT hash_iterations FROM TABUSERS WHERE username = :username INTO :iterations", new NVPair("username", USERNAME), new NVPair("iterations", iterationsHolder));
+    return iterationsHolder.getValue();
+  }
+}
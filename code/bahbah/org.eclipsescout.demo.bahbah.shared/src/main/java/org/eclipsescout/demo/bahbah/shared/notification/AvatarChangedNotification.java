@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.shared.notification;
+
+import java.io.Serializable;
+import java.util.zip.CRC32;
+
+/**
+ * Notifies the clients that the avatar icon of a user has changed.
+ */
+public class AvatarChangedNotification implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String m_userName;
+  private final long m_version;
+
+  public AvatarChangedNotification(String userName, long version) {
+    m_userName = userName;
+    m_version = version;
+  }
+
+  public String getUserName() {
+    return m_userName;
+  }
+
+  /**
+   * @return the version of the new icon, see {@link #versionOf(byte[])}
+   */
+  public long getVersion() {
+    return m_version;
+  }
+
+  /**
+   * @return a checksum of the icon content or 0 if there is no icon
+   */
+  public static long versionOf(byte[] icon) {
+    if (icon == null) {
+      return 0;
+    }
+    CRC32 crc = new CRC32();
+    crc.update(icon);
+    return crc.getValue();
+  }
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.shared.notification;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Users that came online or went offline between two versions of the online user registry of a server node. A client
+ * whose buddy list is at a version within this range can apply the delta directly, otherwise it has to fetch the
+ * changes since its version.
+ */
+public class BuddyDeltaNotification implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private final long m_previousVersion;
+  private final long m_version;
+  private final Set<String> m_joinedUsers;
+  private final Set<String> m_leftUsers;
+
+  public BuddyDeltaNotification(long previousVersion, long version, Set<String> joinedUsers, Set<String> leftUsers) {
+    m_previousVersion = previousVersion;
+    m_version = version;
+    m_joinedUsers = joinedUsers;
+    m_leftUsers = leftUsers;
+  }
+
+  public long getPreviousVersion() {
+    return m_previousVersion;
+  }
+
+  public long getVersion() {
+    return m_version;
+  }
+
+  public Set<String> getJoinedUsers() {
+    return m_joinedUsers;
+  }
+
+  public Set<String> getLeftUsers() {
+    return m_leftUsers;
+  }
+}
@@ -11,30 +11,56 @@
 package org.eclipsescout.demo.bahbah.shared.notification;
 
 import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
 
+/**
+ * Chat messages sent to a user, in the order they were sent. Messages sent in short succession are delivered together.
+ */
 public class MessageNotification implements Serializable {
 
   private static final long serialVersionUID = 1L;
 
-  private final String m_message;
-  private final String m_sender;
+  private final List<ChatMessage> m_messages;
   private final String m_originalServerNode;
 
-  public MessageNotification(String senderName, String message, String originalServerNode) {
-    m_sender = senderName;
-    m_message = message;
+  public MessageNotification(List<ChatMessage> messages, String originalServerNode) {
+    m_messages = messages;
     m_originalServerNode = originalServerNode;
   }
 
-  public String getMessage() {
-    return m_message;
-  }
-
-  public String getSenderName() {
-    return m_sender;
+  public List<ChatMessage> getMessages() {
+    return m_messages;
   }
 
   public String getOriginalServerNode() {
     return m_originalServerNode;
   }
+
+  public static class ChatMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String m_sender;
+    private final String m_message;
+    private final Date m_date;
+
+    public ChatMessage(String senderName, String message, Date date) {
+      m_sender = senderName;
+      m_message = message;
+      m_date = date;
+    }
+
+    public String getSenderName() {
+      return m_sender;
+    }
+
+    public String getMessage() {
+      return m_message;
+    }
+
+    public Date getDate() {
+      return m_date;
+    }
+  }
 }
@@ -8,26 +8,15 @@
  * Contributors:
  *     BSI Business Systems Integration AG - initial API and implementation
  ******************************************************************************/
-package org.eclipse.scout.contacts.events.server;
+package org.eclipsescout.demo.bahbah.shared.security;
 
-public class EventCountBean {
+import java.security.BasicPermission;
 
-  private String personId;
-  private Long eventCount;
+public class ReadChatHistoryPermission extends BasicPermission {
 
-  public Long getEventCount() {
-    return eventCount;
-  }
-
-  public void setEventCount(Long eventCount) {
-    this.eventCount = eventCount;
-  }
-
-  public String getPersonId() {
-    return personId;
-  }
+  private static final long serialVersionUID = 0L;
 
-  public void setPersonId(String personId) {
-    this.personId = personId;
+  public ReadChatHistoryPermission() {
+    super(ReadChatHistoryPermission.class.getName());
   }
 }
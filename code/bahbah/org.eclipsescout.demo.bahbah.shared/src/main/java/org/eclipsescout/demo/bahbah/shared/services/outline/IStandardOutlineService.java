@@ -17,4 +17,11 @@ import org.eclipse.scout.rt.shared.TunnelToServer;
 public interface IStandardOutlineService extends IService {
 
   String[] getOnlineUsers();
+
+  /**
+   * @param version
+   *          version of the last delta applied by the caller, <code>0</code> for the first request
+   * @return the other users that came online or went offline since the given version
+   */
+  OnlineUsersDelta getOnlineUserChanges(long version);
 }
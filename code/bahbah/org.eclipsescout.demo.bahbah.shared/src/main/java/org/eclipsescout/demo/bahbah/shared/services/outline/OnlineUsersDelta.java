@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.shared.services.outline;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Changes of the online users since a version of the online user registry of the server.
+ */
+public class OnlineUsersDelta implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private final long m_version;
+  private final boolean m_complete;
+  private final Set<String> m_joinedUsers;
+  private final Set<String> m_leftUsers;
+
+  public OnlineUsersDelta(long version, boolean complete, Set<String> joinedUsers, Set<String> leftUsers) {
+    m_version = version;
+    m_complete = complete;
+    m_joinedUsers = joinedUsers;
+    m_leftUsers = leftUsers;
+  }
+
+  /**
+   * @return the version of the registry this delta leads to, to be passed as version of the next request
+   */
+  public long getVersion() {
+    return m_version;
+  }
+
+  /**
+   * @return <code>true</code> if the requested version was unknown to the server (e.g. too old). The joined users are
+   *         then all online users and users not contained are offline.
+   */
+  public boolean isComplete() {
+    return m_complete;
+  }
+
+  public Set<String> getJoinedUsers() {
+    return m_joinedUsers;
+  }
+
+  public Set<String> getLeftUsers() {
+    return m_leftUsers;
+  }
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipsescout.demo.bahbah.shared.services.process;
+
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * A stored chat message. The id is <code>null</code> if the message has not been stored yet.
+ */
+public class ChatHistoryEntry implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Long m_messageId;
+  private final String m_sender;
+  private final String m_receiver;
+  private final Date m_date;
+  private final String m_message;
+
+  public ChatHistoryEntry(Long messageId, String sender, String receiver, Date date, String message) {
+    m_messageId = messageId;
+    m_sender = sender;
+    m_receiver = receiver;
+    m_date = date;
+    m_message = message;
+  }
+
+  public Long getMessageId() {
+    return m_messageId;
+  }
+
+  public String getSender() {
+    return m_sender;
+  }
+
+  public String getReceiver() {
+    return m_receiver;
+  }
+
+  public Date getDate() {
+    return m_date;
+  }
+
+  public String getMessage() {
+    return m_message;
+  }
+}
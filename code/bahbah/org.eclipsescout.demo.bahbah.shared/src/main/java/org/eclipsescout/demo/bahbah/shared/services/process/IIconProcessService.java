@@ -10,13 +10,41 @@
  ******************************************************************************/
 package org.eclipsescout.demo.bahbah.shared.services.process;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.scout.rt.platform.service.IService;
 import org.eclipse.scout.rt.shared.TunnelToServer;
 
 @TunnelToServer
 public interface IIconProcessService extends IService {
 
+  /**
+   * The size of the icons returned by {@link #loadIcon(String)} and {@link #loadIcons(Collection)}.
+   */
+  int DEFAULT_ICON_SIZE = 16;
+  /**
+   * The sizes of the icons stored for every user, in ascending order.
+   */
+  List<Integer> ICON_SIZES = Collections.unmodifiableList(Arrays.asList(16, 32, 64));
+
   byte[] loadIcon(String name);
 
+  /**
+   * @param size
+   *          one of {@link #ICON_SIZES}
+   */
+  byte[] loadIcon(String name, int size);
+
+  /**
+   * Loads the icons of several users in one call.
+   *
+   * @return the icons by user name. Users without an icon are mapped to <code>null</code>.
+   */
+  Map<String, byte[]> loadIcons(Collection<String> names);
+
   void saveIcon(byte[] icon);
 }
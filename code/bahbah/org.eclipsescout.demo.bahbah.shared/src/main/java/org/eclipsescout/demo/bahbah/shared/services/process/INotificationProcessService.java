@@ -10,6 +10,9 @@
  ******************************************************************************/
 package org.eclipsescout.demo.bahbah.shared.services.process;
 
+import java.util.Date;
+import java.util.List;
+
 import org.eclipse.scout.rt.platform.service.IService;
 import org.eclipse.scout.rt.shared.TunnelToServer;
 
@@ -17,6 +20,22 @@ import org.eclipse.scout.rt.shared.TunnelToServer;
 public interface INotificationProcessService extends IService {
 
   int MESSAGE_MAX_LENGTH = 5000;
+  int HISTORY_MAX_PAGE_SIZE = 200;
+
+  /**
+   * Sends the message to the buddy and stores it in the chat history.
+   *
+   * @return the time the message was sent at
+   */
+  Date sendMessage(String buddyName, String message);
 
-  void sendMessage(String buddyName, String message);
+  /**
+   * Returns the newest messages exchanged with the buddy that are older than the given entry, newest first.
+   *
+   * @param before
+   *          the oldest entry known to the caller or <code>null</code> to get the newest messages
+   * @param maxRows
+   *          the number of messages to return, at most {@link #HISTORY_MAX_PAGE_SIZE}
+   */
+  List<ChatHistoryEntry> getHistory(String buddyName, ChatHistoryEntry before, int maxRows);
 }
@@ -10,6 +10,10 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.client;
 
+import java.io.File;
+
+import org.eclipse.scout.rt.platform.config.AbstractPositiveIntegerConfigProperty;
+import org.eclipse.scout.rt.platform.config.AbstractPositiveLongConfigProperty;
 import org.eclipse.scout.rt.platform.config.AbstractStringConfigProperty;
 
 public final class ConfigProperties {
@@ -29,4 +33,112 @@ public final class ConfigProperties {
       return "User domain";
     }
   }
+
+  public static class PersonPageSizeProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 200;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.person.pageSize";
+    }
+
+    @Override
+    public String description() {
+      return "Number of persons loaded per window into the person table. The default value is 200.";
+    }
+  }
+
+  public static class ImageFetchTimeoutProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 5000;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.image.fetchTimeout";
+    }
+
+    @Override
+    public String description() {
+      return "Connect and read timeout in milliseconds when fetching images from URLs. The default value is 5000.";
+    }
+  }
+
+  public static class ImageCacheMaxAgeProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 600;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.image.cacheMaxAge";
+    }
+
+    @Override
+    public String description() {
+      return "Number of seconds a fetched image is used without revalidation (using its ETag) against its URL. The default value is 600.";
+    }
+  }
+
+  public static class ImageMemoryCacheSizeProperty extends AbstractPositiveLongConfigProperty {
+
+    @Override
+    public Long getDefaultValue() {
+      return 16L * 1024 * 1024;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.image.memoryCacheSize";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum number of bytes of fetched images kept in memory. The default value is 16 MB.";
+    }
+  }
+
+  public static class ImageDiskCacheSizeProperty extends AbstractPositiveLongConfigProperty {
+
+    @Override
+    public Long getDefaultValue() {
+      return 64L * 1024 * 1024;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.image.diskCacheSize";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum number of bytes of fetched images kept on disk. The default value is 64 MB.";
+    }
+  }
+
+  public static class ImageDiskCacheDirectoryProperty extends AbstractStringConfigProperty {
+
+    @Override
+    public String getDefaultValue() {
+      return new File(System.getProperty("java.io.tmpdir"), "contacts-image-cache").getPath();
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.image.diskCacheDirectory";
+    }
+
+    @Override
+    public String description() {
+      return "Directory of the disk cache for fetched images. The default is the folder 'contacts-image-cache' in the temp directory.";
+    }
+  }
 }
@@ -1,7 +1,6 @@
 package org.eclipse.scout.contacts.client.common;
 
 import java.net.MalformedURLException;
-import java.net.URL;
 import java.util.Set;
 
 import org.eclipse.scout.contacts.client.Icons;
@@ -13,12 +12,12 @@ import org.eclipse.scout.rt.client.ui.action.menu.AbstractMenu;
 import org.eclipse.scout.rt.client.ui.action.menu.IMenuType;
 import org.eclipse.scout.rt.client.ui.action.menu.ImageFieldMenuType;
 import org.eclipse.scout.rt.client.ui.form.fields.imagefield.AbstractImageField;
+import org.eclipse.scout.rt.platform.BEANS;
 import org.eclipse.scout.rt.platform.Order;
 import org.eclipse.scout.rt.platform.status.IStatus;
 import org.eclipse.scout.rt.platform.status.Status;
 import org.eclipse.scout.rt.platform.text.TEXTS;
 import org.eclipse.scout.rt.platform.util.CollectionUtility;
-import org.eclipse.scout.rt.platform.util.IOUtility;
 import org.eclipse.scout.rt.platform.util.StringUtility;
 
 // tag::template[]
@@ -101,22 +100,32 @@ public class AbstractUrlImageField extends AbstractImageField {
       setImage(null);
     }
     else {
-      try {
-        setImage(IOUtility.readFromUrl(new URL((String) url)));
-        setAutoFit(true);
-      }
-      // end::template[]
-      catch (MalformedURLException e) {
-        addErrorStatus(new Status(TEXTS.get("InvalidImageUrl"), IStatus.WARNING));
-      }
-      // tag::template[]
-      catch (Exception e) {
-        addErrorStatus(new Status(TEXTS.get("FailedToAccessImageFromUrl"), IStatus.WARNING));
-      }
+      String requestedUrl = url;
+      BEANS.get(ImageFetchService.class).fetchThumbnail(requestedUrl, image -> {
+        if (requestedUrl.equals(url)) { // the url may have changed while fetching
+          setImage(image);
+          setAutoFit(true);
+        }
+      }, e -> {
+        if (requestedUrl.equals(url)) {
+          handleImageFetchFailure(e);
+        }
+      });
     }
 
     getForm().touch();
   }
+  // end::template[]
+
+  protected void handleImageFetchFailure(Exception e) {
+    if (e instanceof MalformedURLException) {
+      addErrorStatus(new Status(TEXTS.get("InvalidImageUrl"), IStatus.WARNING));
+    }
+    else {
+      addErrorStatus(new Status(TEXTS.get("FailedToAccessImageFromUrl"), IStatus.WARNING));
+    }
+  }
+  // tag::template[]
 // tag::menu[]
 }
 // end::template[]
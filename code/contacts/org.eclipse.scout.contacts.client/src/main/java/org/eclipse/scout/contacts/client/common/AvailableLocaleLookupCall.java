@@ -11,34 +11,27 @@
 package org.eclipse.scout.contacts.client.common;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.eclipse.scout.rt.platform.nls.NlsLocale;
-import org.eclipse.scout.rt.platform.util.ObjectUtility;
 import org.eclipse.scout.rt.platform.util.StringUtility;
+import org.eclipse.scout.rt.shared.services.lookup.ILookupRow;
 import org.eclipse.scout.rt.shared.services.lookup.LocalLookupCall;
 import org.eclipse.scout.rt.shared.services.lookup.LookupRow;
 
 public class AvailableLocaleLookupCall extends LocalLookupCall<Locale> {
 
   private static final Locale[] AVAILABLE_LOCALES = {Locale.US, new Locale("de", "CH")};
+  private static final ConcurrentMap<Locale, LookupRowIndex<Locale>> ROWS_BY_LOCALE = new ConcurrentHashMap<>();
   private static final long serialVersionUID = 1L;
 
-  protected Locale[] sort(Locale[] locales) {
-    Arrays.sort(locales, (locale1, locale2) -> {
-      String name1 = locale1.getDisplayName(NlsLocale.get());
-      String name2 = locale2.getDisplayName(NlsLocale.get());
-      return ObjectUtility.compareTo(name1, name2);
-    });
-    return locales;
-  }
-
   @Override
   protected List<LookupRow<Locale>> execCreateLookupRows() {
     List<LookupRow<Locale>> rows = new ArrayList<>();
-    for (Locale locale : sort(AVAILABLE_LOCALES)) {
+    for (Locale locale : AVAILABLE_LOCALES) {
       String displayName = locale.getDisplayName(NlsLocale.get());
       if (StringUtility.hasText(displayName)) {
         rows.add(new LookupRow<>(locale, displayName));
@@ -46,4 +39,30 @@ public class AvailableLocaleLookupCall extends LocalLookupCall<Locale> {
     }
     return rows;
   }
+
+  @Override
+  public List<? extends ILookupRow<Locale>> getDataByKey() {
+    return getRowIndex().getRowsByKey(getKey());
+  }
+
+  @Override
+  public List<? extends ILookupRow<Locale>> getDataByText() {
+    String prefix = LookupRowIndex.toPrefix(getText(), getWildcard());
+    if (prefix == null) {
+      return super.getDataByText();
+    }
+    return getRowIndex().getRowsByPrefix(prefix);
+  }
+
+  @Override
+  public List<? extends ILookupRow<Locale>> getDataByAll() {
+    return getRowIndex().getRows();
+  }
+
+  /**
+   * The rows are sorted by display name in the current locale and created once per locale.
+   */
+  protected LookupRowIndex<Locale> getRowIndex() {
+    return ROWS_BY_LOCALE.computeIfAbsent(NlsLocale.get(), locale -> new LookupRowIndex<>(execCreateLookupRows(), locale));
+  }
 }
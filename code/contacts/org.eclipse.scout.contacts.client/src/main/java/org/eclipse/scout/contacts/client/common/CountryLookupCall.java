@@ -13,7 +13,11 @@ package org.eclipse.scout.contacts.client.common;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.eclipse.scout.rt.platform.nls.NlsLocale;
+import org.eclipse.scout.rt.shared.services.lookup.ILookupRow;
 import org.eclipse.scout.rt.shared.services.lookup.LocalLookupCall;
 import org.eclipse.scout.rt.shared.services.lookup.LookupRow;
 
@@ -21,6 +25,9 @@ import org.eclipse.scout.rt.shared.services.lookup.LookupRow;
 public class CountryLookupCall extends LocalLookupCall<String> { // <1>
 
   private static final long serialVersionUID = 1L;
+  //end::all[]
+  private static final ConcurrentMap<Locale, LookupRowIndex<String>> ROWS_BY_LOCALE = new ConcurrentHashMap<>();
+  //tag::all[]
 
   @Override
   protected List<LookupRow<String>> execCreateLookupRows() { // <2>
@@ -28,10 +35,38 @@ public class CountryLookupCall extends LocalLookupCall<String> { // <1>
 
     for (String countryCode : Locale.getISOCountries()) {
       Locale country = new Locale("", countryCode);
-      rows.add(new LookupRow<>(countryCode, country.getDisplayCountry())); // <3>
+      rows.add(new LookupRow<>(countryCode, country.getDisplayCountry(NlsLocale.get()))); // <3>
     }
 
     return rows;
   }
+  //end::all[]
+
+  @Override
+  public List<? extends ILookupRow<String>> getDataByKey() {
+    return getRowIndex().getRowsByKey(getKey());
+  }
+
+  @Override
+  public List<? extends ILookupRow<String>> getDataByText() {
+    String prefix = LookupRowIndex.toPrefix(getText(), getWildcard());
+    if (prefix == null) {
+      return super.getDataByText();
+    }
+    return getRowIndex().getRowsByPrefix(prefix);
+  }
+
+  @Override
+  public List<? extends ILookupRow<String>> getDataByAll() {
+    return getRowIndex().getRows();
+  }
+
+  /**
+   * The country rows only depend on the locale, so they are created once per locale and shared by all calls.
+   */
+  protected LookupRowIndex<String> getRowIndex() {
+    return ROWS_BY_LOCALE.computeIfAbsent(NlsLocale.get(), locale -> new LookupRowIndex<>(execCreateLookupRows(), locale));
+  }
+  //tag::all[]
 }
 //end::all[]
@@ -0,0 +1,319 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.client.common;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.scout.contacts.client.ConfigProperties.ImageCacheMaxAgeProperty;
+import org.eclipse.scout.contacts.client.ConfigProperties.ImageDiskCacheDirectoryProperty;
+import org.eclipse.scout.contacts.client.ConfigProperties.ImageDiskCacheSizeProperty;
+import org.eclipse.scout.contacts.client.ConfigProperties.ImageFetchTimeoutProperty;
+import org.eclipse.scout.contacts.client.ConfigProperties.ImageMemoryCacheSizeProperty;
+import org.eclipse.scout.contacts.shared.common.IThumbnailService;
+import org.eclipse.scout.rt.client.context.ClientRunContext;
+import org.eclipse.scout.rt.client.context.ClientRunContexts;
+import org.eclipse.scout.rt.client.job.ModelJobs;
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.job.Jobs;
+import org.eclipse.scout.rt.platform.resource.BinaryResource;
+import org.eclipse.scout.rt.platform.util.HexUtility;
+import org.eclipse.scout.rt.platform.util.IOUtility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fetches images from URLs without blocking the model thread.
+ * <p>
+ * Fetched images are kept in a size bounded in-memory and on-disk LRU cache keyed by URL. A cached image is used
+ * without a request for {@link ImageCacheMaxAgeProperty} seconds. Afterwards it is revalidated with a conditional
+ * request (<code>If-None-Match</code>) if the server provided an ETag, otherwise it is fetched again.
+ */
+@ApplicationScoped
+public class ImageFetchService {
+  private static final Logger LOG = LoggerFactory.getLogger(ImageFetchService.class);
+
+  private final MemoryCache memoryCache;
+  private final DiskCache diskCache;
+  private final int timeoutMillis;
+  private final long maxAgeMillis;
+
+  public ImageFetchService() {
+    this(new File(CONFIG.getPropertyValue(ImageDiskCacheDirectoryProperty.class)),
+        CONFIG.getPropertyValue(ImageMemoryCacheSizeProperty.class),
+        CONFIG.getPropertyValue(ImageDiskCacheSizeProperty.class),
+        CONFIG.getPropertyValue(ImageFetchTimeoutProperty.class),
+        TimeUnit.SECONDS.toMillis(CONFIG.getPropertyValue(ImageCacheMaxAgeProperty.class)));
+  }
+
+  protected ImageFetchService(File diskCacheDirectory, long memoryCacheSize, long diskCacheSize, int timeoutMillis, long maxAgeMillis) {
+    this.memoryCache = new MemoryCache(memoryCacheSize);
+    this.diskCache = new DiskCache(diskCacheDirectory, diskCacheSize);
+    this.timeoutMillis = timeoutMillis;
+    this.maxAgeMillis = maxAgeMillis;
+  }
+
+  /**
+   * Fetches the image in a worker thread and passes it (or the failure) to the given consumers in the model thread of
+   * the current client session. An image in the memory cache which does not need to be revalidated is passed
+   * immediately.
+   */
+  public void fetch(String url, Consumer<byte[]> onLoaded, Consumer<Exception> onFailed) {
+    CacheEntry entry = memoryCache.get(url);
+    if (entry != null && isFresh(entry)) {
+      onLoaded.accept(entry.getContent());
+      return;
+    }
+
+    schedule("Fetching image " + url, () -> load(url), onLoaded, onFailed);
+  }
+
+  /**
+   * Fetches the thumbnail of the image created by the server (see {@link IThumbnailService}) in a worker thread and
+   * passes it (or the failure) to the given consumers in the model thread of the current client session. The thumbnail
+   * is a cacheable resource named after its content, so browsers load it once.
+   */
+  public void fetchThumbnail(String url, Consumer<BinaryResource> onLoaded, Consumer<Exception> onFailed) {
+    schedule("Fetching thumbnail " + url, () -> {
+      new URL(url); // fail early on malformed URLs
+      return BEANS.get(IThumbnailService.class).getThumbnail(url);
+    }, onLoaded, onFailed);
+  }
+
+  protected <T> void schedule(String jobName, Callable<T> loader, Consumer<T> onLoaded, Consumer<Exception> onFailed) {
+    ClientRunContext modelContext = ClientRunContexts.copyCurrent();
+    Jobs.schedule(() -> {
+      try {
+        T result = loader.call();
+        ModelJobs.schedule(() -> onLoaded.accept(result), ModelJobs.newInput(modelContext.copy()));
+      }
+      catch (Exception e) {
+        LOG.debug("{} failed", jobName, e);
+        ModelJobs.schedule(() -> onFailed.accept(e), ModelJobs.newInput(modelContext.copy()));
+      }
+    }, Jobs.newInput()
+        .withName(jobName)
+        .withRunContext(modelContext.copy()));
+  }
+
+  /**
+   * Returns the image from the cache or fetches it from the URL, blocking the calling thread.
+   */
+  public byte[] load(String url) throws IOException {
+    CacheEntry entry = memoryCache.get(url);
+    if (entry == null) {
+      entry = diskCache.get(url);
+      if (entry != null) {
+        memoryCache.put(url, entry);
+      }
+    }
+    if (entry != null && isFresh(entry)) {
+      return entry.getContent();
+    }
+
+    entry = fetchFromUrl(url, entry);
+    memoryCache.put(url, entry);
+    diskCache.put(url, entry);
+    return entry.getContent();
+  }
+
+  protected boolean isFresh(CacheEntry entry) {
+    return System.currentTimeMillis() - entry.getFetchedAt() < maxAgeMillis;
+  }
+
+  protected CacheEntry fetchFromUrl(String url, CacheEntry cachedEntry) throws IOException {
+    URLConnection connection = new URL(url).openConnection();
+    connection.setConnectTimeout(timeoutMillis);
+    connection.setReadTimeout(timeoutMillis);
+    if (cachedEntry != null && cachedEntry.getETag() != null) {
+      connection.setRequestProperty("If-None-Match", cachedEntry.getETag());
+    }
+
+    if (connection instanceof HttpURLConnection) {
+      int responseCode = ((HttpURLConnection) connection).getResponseCode();
+      if (responseCode == HttpURLConnection.HTTP_NOT_MODIFIED && cachedEntry != null) {
+        return new CacheEntry(cachedEntry.getContent(), cachedEntry.getETag(), System.currentTimeMillis());
+      }
+      if (responseCode != HttpURLConnection.HTTP_OK) {
+        throw new IOException("Unexpected HTTP response code " + responseCode + " for " + url);
+      }
+    }
+
+    try (InputStream in = connection.getInputStream()) {
+      return new CacheEntry(IOUtility.readBytes(in), connection.getHeaderField("ETag"), System.currentTimeMillis());
+    }
+  }
+
+  protected static class CacheEntry {
+    private final byte[] content;
+    private final String eTag;
+    private final long fetchedAt;
+
+    public CacheEntry(byte[] content, String eTag, long fetchedAt) {
+      this.content = content;
+      this.eTag = eTag;
+      this.fetchedAt = fetchedAt;
+    }
+
+    public byte[] getContent() {
+      return content;
+    }
+
+    public String getETag() {
+      return eTag;
+    }
+
+    public long getFetchedAt() {
+      return fetchedAt;
+    }
+  }
+
+  /**
+   * LRU cache bounded by the total number of bytes of the cached images.
+   */
+  protected static class MemoryCache {
+    private final long maxSize;
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    public MemoryCache(long maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    public synchronized CacheEntry get(String url) {
+      return entries.get(url);
+    }
+
+    public synchronized void put(String url, CacheEntry entry) {
+      CacheEntry previous = entries.put(url, entry);
+      if (previous != null) {
+        size -= previous.getContent().length;
+      }
+      size += entry.getContent().length;
+
+      Iterator<Map.Entry<String, CacheEntry>> it = entries.entrySet().iterator();
+      while (size > maxSize && it.hasNext()) {
+        size -= it.next().getValue().getContent().length;
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * LRU cache on disk bounded by the total size of the cache files. A file contains the URL, the ETag, the time of
+   * fetch and the image. The last modified time of a file is its last access.
+   */
+  protected static class DiskCache {
+    private final File directory;
+    private final long maxSize;
+
+    public DiskCache(File directory, long maxSize) {
+      this.directory = directory;
+      this.maxSize = maxSize;
+    }
+
+    public synchronized CacheEntry get(String url) {
+      File file = getFile(url);
+      if (!file.isFile()) {
+        return null;
+      }
+
+      try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+        if (!url.equals(in.readUTF())) {
+          return null;
+        }
+        String eTag = in.readUTF();
+        long fetchedAt = in.readLong();
+        byte[] content = IOUtility.readBytes(in);
+        file.setLastModified(System.currentTimeMillis());
+        return new CacheEntry(content, eTag.isEmpty() ? null : eTag, fetchedAt);
+      }
+      catch (IOException e) {
+        LOG.warn("Could not read image cache file {}", file, e);
+        return null;
+      }
+    }
+
+    public synchronized void put(String url, CacheEntry entry) {
+      if (!directory.isDirectory() && !directory.mkdirs()) {
+        LOG.warn("Could not create image cache directory {}", directory);
+        return;
+      }
+
+      File file = getFile(url);
+      try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+        out.writeUTF(url);
+        out.writeUTF(entry.getETag() == null ? "" : entry.getETag());
+        out.writeLong(entry.getFetchedAt());
+        out.write(entry.getContent());
+      }
+      catch (IOException e) {
+        LOG.warn("Could not write image cache file {}", file, e);
+        return;
+      }
+      evict();
+    }
+
+    protected void evict() {
+      File[] files = directory.listFiles();
+      if (files == null) {
+        return;
+      }
+
+      long size = 0;
+      for (File file : files) {
+        size += file.length();
+      }
+      if (size <= maxSize) {
+        return;
+      }
+
+      Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+      for (int i = 0; i < files.length && size > maxSize; i++) {
+        long length = files[i].length();
+        if (files[i].delete()) {
+          size -= length;
+        }
+      }
+    }
+
+    protected File getFile(String url) {
+      try {
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+        return new File(directory, HexUtility.encode(hash) + ".img");
+      }
+      catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
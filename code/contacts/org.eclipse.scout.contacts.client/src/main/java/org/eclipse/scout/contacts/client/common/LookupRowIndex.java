@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.client.common;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.scout.rt.platform.util.StringUtility;
+import org.eclipse.scout.rt.shared.services.lookup.LookupRow;
+
+/**
+ * Unmodifiable set of lookup rows of a {@link org.eclipse.scout.rt.shared.services.lookup.LocalLookupCall} built once
+ * per locale.
+ * <p>
+ * The rows are sorted by their text for the locale. Rows are found by key with a hash lookup and by the start of their
+ * text (ignoring case) with a binary search over the lower case texts.
+ * <p>
+ * The index is shared by all sessions, so it returns copies of its rows: lookup rows are mutable and may be changed
+ * by their receivers.
+ */
+public class LookupRowIndex<T> {
+
+  private final List<LookupRow<T>> rows;
+  private final Map<T, LookupRow<T>> rowsByKey = new HashMap<>();
+  private final List<LookupRow<T>> rowsByLowerCaseText;
+  private final String[] lowerCaseTexts;
+
+  public LookupRowIndex(List<LookupRow<T>> rows, Locale locale) {
+    Collator collator = Collator.getInstance(locale);
+    List<LookupRow<T>> sortedRows = new ArrayList<>(rows);
+    sortedRows.sort(Comparator.comparing(row -> StringUtility.emptyIfNull(row.getText()), collator));
+    this.rows = Collections.unmodifiableList(sortedRows);
+
+    for (LookupRow<T> row : sortedRows) {
+      rowsByKey.putIfAbsent(row.getKey(), row);
+    }
+
+    List<LookupRow<T>> rowsByText = new ArrayList<>(sortedRows);
+    rowsByText.sort(Comparator.comparing(row -> toLowerCase(row.getText())));
+    this.rowsByLowerCaseText = Collections.unmodifiableList(rowsByText);
+    this.lowerCaseTexts = new String[rowsByText.size()];
+    for (int i = 0; i < lowerCaseTexts.length; i++) {
+      lowerCaseTexts[i] = toLowerCase(rowsByText.get(i).getText());
+    }
+  }
+
+  /**
+   * @return all rows sorted by text
+   */
+  public List<LookupRow<T>> getRows() {
+    return copy(rows);
+  }
+
+  /**
+   * @return the row with the given key or an empty list
+   */
+  public List<LookupRow<T>> getRowsByKey(T key) {
+    LookupRow<T> row = rowsByKey.get(key);
+    return row == null ? Collections.emptyList() : Collections.singletonList(copy(row));
+  }
+
+  /**
+   * @return the rows whose text starts with the given prefix, ignoring case
+   */
+  public List<LookupRow<T>> getRowsByPrefix(String prefix) {
+    String lowerCasePrefix = toLowerCase(prefix);
+    if (lowerCasePrefix.isEmpty()) {
+      return getRows();
+    }
+
+    int from = Arrays.binarySearch(lowerCaseTexts, lowerCasePrefix);
+    if (from < 0) {
+      from = -from - 1;
+    }
+    int to = from;
+    while (to < lowerCaseTexts.length && lowerCaseTexts[to].startsWith(lowerCasePrefix)) {
+      to++;
+    }
+    return copy(rowsByLowerCaseText.subList(from, to));
+  }
+
+  /**
+   * @return the prefix of a lookup call text whose only wildcards are at its end, or <code>null</code> if the text
+   *         contains other wildcards and must be matched as a pattern
+   */
+  public static String toPrefix(String text, String wildcard) {
+    String prefix = StringUtility.emptyIfNull(text);
+    while (prefix.endsWith(wildcard)) {
+      prefix = prefix.substring(0, prefix.length() - wildcard.length());
+    }
+    return prefix.contains(wildcard) ? null : prefix;
+  }
+
+  protected List<LookupRow<T>> copy(List<LookupRow<T>> source) {
+    List<LookupRow<T>> copies = new ArrayList<>(source.size());
+    for (LookupRow<T> row : source) {
+      copies.add(copy(row));
+    }
+    return copies;
+  }
+
+  protected LookupRow<T> copy(LookupRow<T> row) {
+    return new LookupRow<>(row.getKey(), row.getText())
+        .withIconId(row.getIconId())
+        .withTooltipText(row.getTooltipText())
+        .withBackgroundColor(row.getBackgroundColor())
+        .withForegroundColor(row.getForegroundColor())
+        .withFont(row.getFont())
+        .withCssClass(row.getCssClass())
+        .withEnabled(row.isEnabled())
+        .withActive(row.isActive())
+        .withParentKey(row.getParentKey());
+  }
+
+  protected static String toLowerCase(String text) {
+    return StringUtility.emptyIfNull(text).toLowerCase(Locale.ROOT);
+  }
+}
@@ -10,8 +10,6 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.client.common;
 
-import java.io.InputStream;
-import java.net.URL;
 import java.net.URLEncoder;
 import java.text.Normalizer;
 import java.text.Normalizer.Form;
@@ -24,10 +22,10 @@ import org.eclipse.scout.rt.client.ui.form.AbstractFormHandler;
 import org.eclipse.scout.rt.client.ui.form.fields.button.AbstractOkButton;
 import org.eclipse.scout.rt.client.ui.form.fields.groupbox.AbstractGroupBox;
 import org.eclipse.scout.rt.client.ui.form.fields.imagefield.AbstractImageField;
+import org.eclipse.scout.rt.platform.BEANS;
 import org.eclipse.scout.rt.platform.Order;
 import org.eclipse.scout.rt.platform.exception.ProcessingStatus;
 import org.eclipse.scout.rt.platform.text.TEXTS;
-import org.eclipse.scout.rt.platform.util.IOUtility;
 import org.eclipse.scout.rt.platform.util.StringUtility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -127,7 +125,6 @@ public class MapForm extends AbstractForm {
         String size = "" + (getConfiguredHeightInPixel() - 20) + "x" + (getConfiguredWidthInPixel() - 20);
         String address = (new Locale("", getCountry())).getDisplayCountry();
         String zoom = "7";
-        String url = null;
 
         if (StringUtility.hasText(getCity())) {
           address += "," + getCity();
@@ -142,17 +139,14 @@ public class MapForm extends AbstractForm {
         address = normalize(address);
         address = encode(address);
 
-        url = "http://maps.googleapis.com/maps/api/staticmap?center=" + address + "&zoom=" + zoom + "&size=" + size + "&maptype=roadmap&sensor=false";
+        String url = "http://maps.googleapis.com/maps/api/staticmap?center=" + address + "&zoom=" + zoom + "&size=" + size + "&maptype=roadmap&sensor=false";
         LOG.info("Map image URL: {}", url);
 
-        try (InputStream in = new URL(url).openStream()) {
-          setImage(IOUtility.readBytes(in));
-        }
-        catch (Exception e) {
+        BEANS.get(ImageFetchService.class).fetch(url, this::setImage, e -> {
           addErrorStatus(new ProcessingStatus("Bad Link: " + url + ", please check", ProcessingStatus.ERROR));
           LOG.error("Bad URL? URL is {}", url, e);
           setImage(null);
-        }
+        });
       }
 
       private String normalize(String s) {
@@ -10,10 +10,12 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.client.common;
 
+import java.util.List;
+
+import org.eclipse.scout.contacts.client.search.SearchResultTablePage;
 import org.eclipse.scout.rt.client.ui.desktop.outline.AbstractSearchOutline;
-import org.eclipse.scout.rt.client.ui.messagebox.MessageBoxes;
+import org.eclipse.scout.rt.client.ui.desktop.outline.pages.IPage;
 import org.eclipse.scout.rt.platform.Order;
-import org.eclipse.scout.rt.platform.text.TEXTS;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,12 +24,17 @@ public class SearchOutline extends AbstractSearchOutline {
 
   private static final Logger LOG = LoggerFactory.getLogger(SearchOutline.class);
 
+  @Override
+  protected void execCreateChildPages(List<IPage<?>> pageList) {
+    pageList.add(new SearchResultTablePage());
+  }
+
   @Override
   protected void execSearch(final String query) {
     LOG.info("Search started");
-    MessageBoxes.createOk()
-        .withHeader(TEXTS.get("Search"))
-        .withBody(TEXTS.get("ImplementSearch"))
-        .show();
+    SearchResultTablePage resultPage = findPage(SearchResultTablePage.class);
+    resultPage.setQuery(query);
+    resultPage.reloadPage();
+    selectNode(resultPage);
   }
 }
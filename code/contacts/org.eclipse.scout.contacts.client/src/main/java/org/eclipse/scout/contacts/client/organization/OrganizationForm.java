@@ -81,6 +81,19 @@ public class OrganizationForm extends AbstractForm {
   }
   // end::layout[]
 
+  // version of the loaded record, a store fails if the record was changed in the meantime
+  private Long rowVersion;
+
+  @FormData
+  public Long getRowVersion() {
+    return rowVersion;
+  }
+
+  @FormData
+  public void setRowVersion(Long rowVersion) {
+    this.rowVersion = rowVersion;
+  }
+
   public void startModify() {
     startInternalExclusive(new ModifyHandler());
   }
@@ -11,13 +11,13 @@
 package org.eclipse.scout.contacts.client.person;
 
 import java.net.MalformedURLException;
-import java.net.URL;
 import java.util.Date;
 import java.util.regex.Pattern;
 
 import org.eclipse.scout.contacts.client.Icons;
 import org.eclipse.scout.contacts.client.common.AbstractDirtyFormHandler;
 import org.eclipse.scout.contacts.client.common.CountryLookupCall;
+import org.eclipse.scout.contacts.client.common.ImageFetchService;
 import org.eclipse.scout.contacts.client.common.MapForm;
 import org.eclipse.scout.contacts.client.common.PictureUrlForm;
 import org.eclipse.scout.contacts.client.person.PersonForm.MainBox.CancelButton;
@@ -72,7 +72,6 @@ import org.eclipse.scout.rt.platform.exception.VetoException;
 import org.eclipse.scout.rt.platform.status.IStatus;
 import org.eclipse.scout.rt.platform.status.Status;
 import org.eclipse.scout.rt.platform.text.TEXTS;
-import org.eclipse.scout.rt.platform.util.IOUtility;
 import org.eclipse.scout.rt.platform.util.ObjectUtility;
 import org.eclipse.scout.rt.platform.util.StringUtility;
 import org.eclipse.scout.rt.shared.services.common.code.ICodeType;
@@ -115,6 +114,19 @@ public class PersonForm extends AbstractForm {
   }
   //end::init[]
 
+  // version of the loaded record, a store fails if the record was changed in the meantime
+  private Long rowVersion;
+
+  @FormData
+  public Long getRowVersion() {
+    return rowVersion;
+  }
+
+  @FormData
+  public void setRowVersion(Long rowVersion) {
+    this.rowVersion = rowVersion;
+  }
+
   public void startModify() {
     startInternalExclusive(new ModifyDirtyHandler());
   }
@@ -314,19 +326,21 @@ public class PersonForm extends AbstractForm {
             setImage(null);
           }
           else {
-            try {
-              setImage(IOUtility.readFromUrl(new URL((String) url)));
-              setAutoFit(true);
-            }
-            // end::pictureField[]
-            catch (MalformedURLException e) {
-              addErrorStatus(new Status(TEXTS.get("InvalidImageUrl"), IStatus.WARNING));
-            }
-            // tag::pictureField[]
-            catch (Exception e) { // <5>
+            BEANS.get(ImageFetchService.class).fetchThumbnail(url, image -> {
+              if (url.equals(getPictureUrlField().getValue())) { // the url may have changed while fetching
+                setImage(image);
+                setAutoFit(true);
+              }
+            }, e -> { // <5>
+              // end::pictureField[]
+              if (e instanceof MalformedURLException) {
+                addErrorStatus(new Status(TEXTS.get("InvalidImageUrl"), IStatus.WARNING));
+                return;
+              }
+              // tag::pictureField[]
               String message = TEXTS.get("FailedToAccessImageFromUrl");
               addErrorStatus(new Status(message, IStatus.WARNING));
-            }
+            });
           }
         }
       }
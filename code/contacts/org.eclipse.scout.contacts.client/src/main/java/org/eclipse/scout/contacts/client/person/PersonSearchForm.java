@@ -10,6 +10,7 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.client.person;
 
+import org.eclipse.scout.contacts.client.ConfigProperties.PersonPageSizeProperty;
 import org.eclipse.scout.contacts.client.common.AbstractAddressBox;
 import org.eclipse.scout.contacts.client.person.PersonSearchForm.MainBox.ResetButton;
 import org.eclipse.scout.contacts.client.person.PersonSearchForm.MainBox.SearchButton;
@@ -32,6 +33,7 @@ import org.eclipse.scout.rt.client.ui.form.fields.smartfield.AbstractSmartField;
 import org.eclipse.scout.rt.client.ui.form.fields.stringfield.AbstractStringField;
 import org.eclipse.scout.rt.client.ui.form.fields.tabbox.AbstractTabBox;
 import org.eclipse.scout.rt.platform.Order;
+import org.eclipse.scout.rt.platform.config.CONFIG;
 import org.eclipse.scout.rt.platform.text.TEXTS;
 import org.eclipse.scout.rt.shared.services.common.jdbc.SearchFilter;
 import org.eclipse.scout.rt.shared.services.lookup.ILookupCall;
@@ -39,6 +41,52 @@ import org.eclipse.scout.rt.shared.services.lookup.ILookupCall;
 @FormData(value = PersonSearchFormData.class, sdkCommand = SdkCommand.CREATE)
 public class PersonSearchForm extends AbstractSearchForm {
 
+  // continuation cursor of the next window, only set on exported form data (see PersonTablePage)
+  private String cursorLastName;
+  private String cursorFirstName;
+  private String cursorPersonId;
+  private Integer pageSize = CONFIG.getPropertyValue(PersonPageSizeProperty.class);
+
+  @FormData
+  public String getCursorLastName() {
+    return cursorLastName;
+  }
+
+  @FormData
+  public void setCursorLastName(String cursorLastName) {
+    this.cursorLastName = cursorLastName;
+  }
+
+  @FormData
+  public String getCursorFirstName() {
+    return cursorFirstName;
+  }
+
+  @FormData
+  public void setCursorFirstName(String cursorFirstName) {
+    this.cursorFirstName = cursorFirstName;
+  }
+
+  @FormData
+  public String getCursorPersonId() {
+    return cursorPersonId;
+  }
+
+  @FormData
+  public void setCursorPersonId(String cursorPersonId) {
+    this.cursorPersonId = cursorPersonId;
+  }
+
+  @FormData
+  public Integer getPageSize() {
+    return pageSize;
+  }
+
+  @FormData
+  public void setPageSize(Integer pageSize) {
+    this.pageSize = pageSize;
+  }
+
   @Override
   protected String getConfiguredTitle() {
     return TEXTS.get("Persons");
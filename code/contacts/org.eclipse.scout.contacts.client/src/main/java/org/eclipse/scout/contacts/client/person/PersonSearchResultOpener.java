@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.client.person;
+
+import org.eclipse.scout.contacts.client.search.ISearchResultOpener;
+
+public class PersonSearchResultOpener implements ISearchResultOpener {
+
+  @Override
+  public boolean accepts(String entityType) {
+    return "PERSON".equals(entityType);
+  }
+
+  @Override
+  public void open(String entityId) {
+    PersonForm form = new PersonForm();
+    form.setPersonId(entityId);
+    form.startModify();
+  }
+}
@@ -10,20 +10,27 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.client.person;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
+import org.eclipse.scout.contacts.client.ConfigProperties.PersonPageSizeProperty;
 import org.eclipse.scout.contacts.client.Icons;
 import org.eclipse.scout.contacts.client.common.CountryLookupCall;
 import org.eclipse.scout.contacts.client.person.PersonTablePage.Table;
 import org.eclipse.scout.contacts.shared.organization.OrganizationLookupCall;
 import org.eclipse.scout.contacts.shared.person.IPersonService;
+import org.eclipse.scout.contacts.shared.person.PersonSearchFormData;
 import org.eclipse.scout.contacts.shared.person.PersonTablePageData;
+import org.eclipse.scout.contacts.shared.person.PersonTablePageData.PersonTableRowData;
 import org.eclipse.scout.rt.client.dto.PageData;
 import org.eclipse.scout.rt.client.ui.action.menu.AbstractMenu;
 import org.eclipse.scout.rt.client.ui.action.menu.IMenu;
 import org.eclipse.scout.rt.client.ui.action.menu.IMenuType;
 import org.eclipse.scout.rt.client.ui.action.menu.TableMenuType;
 import org.eclipse.scout.rt.client.ui.basic.table.AbstractTable;
+import org.eclipse.scout.rt.client.ui.basic.table.ITableRow;
+import org.eclipse.scout.rt.client.ui.basic.table.ITableRowDataMapper;
 import org.eclipse.scout.rt.client.ui.basic.table.columns.AbstractSmartColumn;
 import org.eclipse.scout.rt.client.ui.basic.table.columns.AbstractStringColumn;
 import org.eclipse.scout.rt.client.ui.desktop.outline.pages.AbstractPageWithTable;
@@ -32,9 +39,11 @@ import org.eclipse.scout.rt.client.ui.form.FormEvent;
 import org.eclipse.scout.rt.client.ui.form.FormListener;
 import org.eclipse.scout.rt.platform.BEANS;
 import org.eclipse.scout.rt.platform.Order;
+import org.eclipse.scout.rt.platform.config.CONFIG;
 import org.eclipse.scout.rt.platform.text.TEXTS;
 import org.eclipse.scout.rt.platform.util.CollectionUtility;
 import org.eclipse.scout.rt.shared.AbstractIcons;
+import org.eclipse.scout.rt.shared.data.page.AbstractTablePageData;
 import org.eclipse.scout.rt.shared.services.common.jdbc.SearchFilter;
 import org.eclipse.scout.rt.shared.services.lookup.ILookupCall;
 
@@ -56,6 +65,9 @@ public class PersonTablePage extends AbstractPageWithTable<Table> {
     this.organizationId = organizationId;
   }
   // end::linkToOrganization[]
+
+  // last row of the most recently loaded window, null if all rows are loaded
+  private PersonTableRowData lastLoadedRow;
   // tag::PageInit[]
 
   @Override
@@ -71,6 +83,62 @@ public class PersonTablePage extends AbstractPageWithTable<Table> {
   }
   // end::linkToOrganization[]
 
+  @Override
+  protected void importPageData(AbstractTablePageData tablePageData) {
+    super.importPageData(tablePageData);
+    updateContinuation((PersonTablePageData) tablePageData);
+  }
+
+  /**
+   * Loads the window following the last loaded row and appends its rows to the table, the rows already loaded and the
+   * selection are kept. The rows are fetched using the continuation cursor of {@link PersonSearchFormData}, so the
+   * server never reads more than one window at a time.
+   */
+  public void loadNextWindow() {
+    if (lastLoadedRow == null) {
+      return;
+    }
+
+    PersonSearchFormData searchData = getSearchFilter().getFormData() != null
+        ? (PersonSearchFormData) getSearchFilter().getFormData().deepCopy()
+        : new PersonSearchFormData();
+    searchData.setPageSize(getPageSize());
+    searchData.setCursorLastName(lastLoadedRow.getLastName());
+    searchData.setCursorFirstName(lastLoadedRow.getFirstName());
+    searchData.setCursorPersonId(lastLoadedRow.getPersonId());
+
+    SearchFilter filter = new SearchFilter();
+    filter.setFormData(searchData);
+    PersonTablePageData window = BEANS.get(IPersonService.class).getPersonTableData(filter, getOrganizationId());
+
+    ITableRowDataMapper mapper = getTable().createTableRowDataMapper(PersonTableRowData.class);
+    List<ITableRow> rows = new ArrayList<>();
+    for (PersonTableRowData rowData : window.getRows()) {
+      ITableRow row = getTable().createRow();
+      mapper.importTableRowData(row, rowData);
+      rows.add(row);
+    }
+    getTable().addRows(rows);
+
+    updateContinuation(window);
+  }
+
+  /**
+   * Remembers the last row of the given window as continuation cursor. The server marks the window as limited result
+   * if further rows follow it.
+   */
+  protected void updateContinuation(PersonTablePageData window) {
+    PersonTableRowData[] rows = window.getRows();
+    boolean moreRows = rows.length > 0 && window.isLimitedResult();
+
+    lastLoadedRow = moreRows ? rows[rows.length - 1] : null;
+    getTable().getMenuByClass(Table.LoadMoreMenu.class).setVisible(moreRows);
+  }
+
+  protected int getPageSize() {
+    return CONFIG.getPropertyValue(PersonPageSizeProperty.class);
+  }
+
   @Override // <3>
   protected boolean getConfiguredLeaf() {
     return true;
@@ -212,6 +280,30 @@ public class PersonTablePage extends AbstractPageWithTable<Table> {
     }
     // end::menu[]
 
+    @Order(30)
+    public class LoadMoreMenu extends AbstractMenu {
+
+      @Override
+      protected String getConfiguredText() {
+        return TEXTS.get("LoadMore");
+      }
+
+      @Override
+      protected Set<? extends IMenuType> getConfiguredMenuTypes() {
+        return CollectionUtility.<IMenuType> hashSet(TableMenuType.EmptySpace);
+      }
+
+      @Override
+      protected boolean getConfiguredVisible() {
+        return false;
+      }
+
+      @Override
+      protected void execAction() {
+        loadNextWindow();
+      }
+    }
+
     //tag::PersonIdColumn[]
     @Order(1)
     public class PersonIdColumn extends AbstractStringColumn {
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.client.search;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+
+/**
+ * Opens the entities of one type found by the global search. All beans implementing this interface are asked.
+ */
+@ApplicationScoped
+public interface ISearchResultOpener {
+
+  /**
+   * @return <code>true</code> if this opener opens entities of the given type, e.g. <code>PERSON</code>
+   */
+  boolean accepts(String entityType);
+
+  void open(String entityId);
+}
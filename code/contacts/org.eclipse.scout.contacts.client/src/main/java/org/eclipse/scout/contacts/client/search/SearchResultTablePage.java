@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.client.search;
+
+import org.eclipse.scout.contacts.client.common.AbstractEditMenu;
+import org.eclipse.scout.contacts.client.search.SearchResultTablePage.Table;
+import org.eclipse.scout.contacts.shared.search.ISearchService;
+import org.eclipse.scout.contacts.shared.search.SearchResultTablePageData;
+import org.eclipse.scout.rt.client.dto.PageData;
+import org.eclipse.scout.rt.client.ui.basic.table.AbstractTable;
+import org.eclipse.scout.rt.client.ui.basic.table.ITableRow;
+import org.eclipse.scout.rt.client.ui.basic.table.columns.AbstractBigDecimalColumn;
+import org.eclipse.scout.rt.client.ui.basic.table.columns.AbstractStringColumn;
+import org.eclipse.scout.rt.client.ui.desktop.outline.pages.AbstractPageWithTable;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.Order;
+import org.eclipse.scout.rt.platform.text.TEXTS;
+import org.eclipse.scout.rt.platform.util.StringUtility;
+import org.eclipse.scout.rt.shared.services.common.jdbc.SearchFilter;
+
+@PageData(SearchResultTablePageData.class)
+public class SearchResultTablePage extends AbstractPageWithTable<Table> {
+
+  private String query;
+
+  public String getQuery() {
+    return query;
+  }
+
+  public void setQuery(String query) {
+    this.query = query;
+  }
+
+  @Override
+  protected String getConfiguredTitle() {
+    return TEXTS.get("SearchResults");
+  }
+
+  @Override
+  protected boolean getConfiguredLeaf() {
+    return true;
+  }
+
+  @Override
+  protected void execLoadData(SearchFilter filter) {
+    if (StringUtility.hasText(query)) {
+      importPageData(BEANS.get(ISearchService.class).search(query));
+    }
+  }
+
+  public class Table extends AbstractTable {
+
+    public EntityTypeColumn getEntityTypeColumn() {
+      return getColumnSet().getColumnByClass(EntityTypeColumn.class);
+    }
+
+    public EntityIdColumn getEntityIdColumn() {
+      return getColumnSet().getColumnByClass(EntityIdColumn.class);
+    }
+
+    public TypeColumn getTypeColumn() {
+      return getColumnSet().getColumnByClass(TypeColumn.class);
+    }
+
+    public TextColumn getTextColumn() {
+      return getColumnSet().getColumnByClass(TextColumn.class);
+    }
+
+    public ScoreColumn getScoreColumn() {
+      return getColumnSet().getColumnByClass(ScoreColumn.class);
+    }
+
+    @Override
+    protected void execRowAction(ITableRow row) {
+      open(row);
+    }
+
+    protected void open(ITableRow row) {
+      String entityType = getEntityTypeColumn().getValue(row);
+      for (ISearchResultOpener opener : BEANS.all(ISearchResultOpener.class)) {
+        if (opener.accepts(entityType)) {
+          opener.open(getEntityIdColumn().getValue(row));
+          return;
+        }
+      }
+    }
+
+    @Order(1000)
+    public class EntityTypeColumn extends AbstractStringColumn {
+
+      @Override
+      protected boolean getConfiguredDisplayable() {
+        return false;
+      }
+
+      @Override
+      protected boolean getConfiguredPrimaryKey() {
+        return true;
+      }
+    }
+
+    @Order(2000)
+    public class EntityIdColumn extends AbstractStringColumn {
+
+      @Override
+      protected boolean getConfiguredDisplayable() {
+        return false;
+      }
+
+      @Override
+      protected boolean getConfiguredPrimaryKey() {
+        return true;
+      }
+    }
+
+    @Order(3000)
+    public class TypeColumn extends AbstractStringColumn {
+
+      @Override
+      protected String getConfiguredHeaderText() {
+        return TEXTS.get("ResultType");
+      }
+
+      @Override
+      protected int getConfiguredWidth() {
+        return 120;
+      }
+    }
+
+    @Order(4000)
+    public class TextColumn extends AbstractStringColumn {
+
+      @Override
+      protected String getConfiguredHeaderText() {
+        return TEXTS.get("Name");
+      }
+
+      @Override
+      protected int getConfiguredWidth() {
+        return 300;
+      }
+    }
+
+    @Order(5000)
+    public class ScoreColumn extends AbstractBigDecimalColumn {
+
+      @Override
+      protected String getConfiguredHeaderText() {
+        return TEXTS.get("Relevance");
+      }
+
+      @Override
+      protected boolean getConfiguredVisible() {
+        return false;
+      }
+
+      @Override
+      protected int getConfiguredWidth() {
+        return 80;
+      }
+    }
+
+    @Order(1000)
+    public class EditMenu extends AbstractEditMenu {
+
+      @Override
+      protected void execAction() {
+        open(getSelectedRow());
+      }
+    }
+  }
+}
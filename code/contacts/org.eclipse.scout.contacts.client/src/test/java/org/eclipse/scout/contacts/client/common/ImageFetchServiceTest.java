@@ -0,0 +1,114 @@
+package org.eclipse.scout.contacts.client.common;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Test for {@link ImageFetchService}
+ */
+public class ImageFetchServiceTest {
+  private static final byte[] IMAGE = "image".getBytes(StandardCharsets.UTF_8);
+  private static final String ETAG = "\"v1\"";
+
+  @Rule
+  public TemporaryFolder diskCacheFolder = new TemporaryFolder();
+
+  private HttpServer server;
+  private ExecutorService executor;
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger notModifiedResponses = new AtomicInteger();
+
+  @Before
+  public void before() throws IOException {
+    executor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/image", this::handleImage);
+    server.createContext("/slow", exchange -> {
+      try {
+        Thread.sleep(2000);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      handleImage(exchange);
+    });
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  @After
+  public void after() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handleImage(HttpExchange exchange) throws IOException {
+    requests.incrementAndGet();
+    exchange.getResponseHeaders().add("ETag", ETAG);
+    if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+      notModifiedResponses.incrementAndGet();
+      exchange.sendResponseHeaders(304, -1);
+      exchange.close();
+      return;
+    }
+    exchange.sendResponseHeaders(200, IMAGE.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(IMAGE);
+    }
+  }
+
+  private String url(String path) {
+    return "http://localhost:" + server.getAddress().getPort() + path;
+  }
+
+  private ImageFetchService createService(long maxAgeMillis, int timeoutMillis) {
+    return new ImageFetchService(diskCacheFolder.getRoot(), 1024, 1024, timeoutMillis, maxAgeMillis) {
+    };
+  }
+
+  @Test
+  public void testFreshImageIsServedFromCache() throws IOException {
+    ImageFetchService service = createService(60000, 1000);
+    assertArrayEquals(IMAGE, service.load(url("/image")));
+    assertArrayEquals(IMAGE, service.load(url("/image")));
+    assertEquals(1, requests.get());
+  }
+
+  @Test
+  public void testStaleImageIsRevalidated() throws IOException {
+    ImageFetchService service = createService(0, 1000);
+    assertArrayEquals(IMAGE, service.load(url("/image")));
+    assertArrayEquals(IMAGE, service.load(url("/image")));
+    assertEquals(2, requests.get());
+    assertEquals(1, notModifiedResponses.get());
+  }
+
+  @Test
+  public void testImageIsServedFromDiskCache() throws IOException {
+    assertArrayEquals(IMAGE, createService(60000, 1000).load(url("/image")));
+    assertArrayEquals(IMAGE, createService(60000, 1000).load(url("/image")));
+    assertEquals(1, requests.get());
+  }
+
+  @Test(expected = IOException.class)
+  public void testTimeout() throws IOException {
+    createService(60000, 200).load(url("/slow"));
+  }
+}
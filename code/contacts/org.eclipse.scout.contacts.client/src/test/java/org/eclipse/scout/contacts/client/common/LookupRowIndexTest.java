@@ -0,0 +1,78 @@
+package org.eclipse.scout.contacts.client.common;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.scout.rt.shared.services.lookup.LookupRow;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test for {@link LookupRowIndex}
+ */
+public class LookupRowIndexTest {
+  private LookupRowIndex<String> index;
+
+  @Before
+  public void before() {
+    index = new LookupRowIndex<>(Arrays.asList(
+        new LookupRow<>("CH", "Schweiz"),
+        new LookupRow<>("AT", "Österreich"),
+        new LookupRow<>("SE", "Schweden"),
+        new LookupRow<>("DE", "Deutschland")), Locale.GERMAN);
+  }
+
+  @Test
+  public void testRowsAreSortedForLocale() {
+    assertEquals(Arrays.asList("DE", "AT", "SE", "CH"), keys(index.getRows()));
+  }
+
+  @Test
+  public void testRowsByKey() {
+    assertEquals(Arrays.asList("SE"), keys(index.getRowsByKey("SE")));
+    assertTrue(index.getRowsByKey("XX").isEmpty());
+  }
+
+  @Test
+  public void testRowsByPrefix() {
+    assertEquals(Arrays.asList("SE", "CH"), keys(index.getRowsByPrefix("sCHwe")));
+    assertEquals(Arrays.asList("CH"), keys(index.getRowsByPrefix("schwei")));
+    assertEquals(Arrays.asList("AT"), keys(index.getRowsByPrefix("ö")));
+    assertTrue(index.getRowsByPrefix("x").isEmpty());
+    assertEquals(4, index.getRowsByPrefix("").size());
+  }
+
+  @Test
+  public void testReturnedRowsAreCopies() {
+    LookupRow<String> row = index.getRowsByKey("CH").get(0);
+    row.withText("Suisse").withEnabled(false);
+
+    LookupRow<String> other = index.getRowsByPrefix("schwei").get(0);
+    assertEquals("Schweiz", other.getText());
+    assertTrue(other.isEnabled());
+    assertNotSame(row, other);
+    assertEquals("Schweiz", index.getRows().get(3).getText());
+  }
+
+  @Test
+  public void testToPrefix() {
+    assertEquals("sch", LookupRowIndex.toPrefix("sch*", "*"));
+    assertEquals("", LookupRowIndex.toPrefix(null, "*"));
+    assertNull(LookupRowIndex.toPrefix("s*weiz", "*"));
+  }
+
+  private static List<String> keys(List<LookupRow<String>> rows) {
+    List<String> keys = new ArrayList<>();
+    for (LookupRow<String> row : rows) {
+      keys.add(row.getKey());
+    }
+    return keys;
+  }
+}
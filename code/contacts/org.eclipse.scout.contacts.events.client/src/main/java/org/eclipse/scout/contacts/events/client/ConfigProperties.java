@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.events.client;
+
+import org.eclipse.scout.rt.platform.config.AbstractPositiveIntegerConfigProperty;
+
+public final class ConfigProperties {
+
+  private ConfigProperties() {
+  }
+
+  public static class ParticipantChunkSizeProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 200;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.events.participantChunkSize";
+    }
+
+    @Override
+    public String description() {
+      return "Number of participants loaded per request into the participant table of the event form. The default value is 200.";
+    }
+  }
+}
@@ -10,6 +10,9 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.events.client.event;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.scout.contacts.client.Icons;
@@ -19,6 +22,7 @@ import org.eclipse.scout.contacts.client.common.AbstractEmailField;
 import org.eclipse.scout.contacts.client.common.AbstractNotesBox;
 import org.eclipse.scout.contacts.client.common.AbstractNotesBox.NotesField;
 import org.eclipse.scout.contacts.client.person.PersonForm;
+import org.eclipse.scout.contacts.events.client.ConfigProperties.ParticipantChunkSizeProperty;
 import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.CancelButton;
 import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.DetailsBox;
 import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.DetailsBox.ContactInfoBox;
@@ -27,6 +31,7 @@ import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.DetailsB
 import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.DetailsBox.ContactInfoBox.PhoneField;
 import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.DetailsBox.NotesBox;
 import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.DetailsBox.ParticipantsBox;
+import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.DetailsBox.ParticipantsBox.ParticipantFilterField;
 import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.DetailsBox.ParticipantsBox.ParticipantTableFieldField;
 import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.DetailsBox.ParticipantsBox.ParticipantTableFieldField.Table;
 import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.GeneralBox;
@@ -37,13 +42,19 @@ import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.GeneralB
 import org.eclipse.scout.contacts.events.client.event.EventForm.MainBox.OkButton;
 import org.eclipse.scout.contacts.events.client.person.PersonChooserForm;
 import org.eclipse.scout.contacts.events.shared.event.EventFormData;
+import org.eclipse.scout.contacts.events.shared.event.EventFormData.ParticipantTableField;
+import org.eclipse.scout.contacts.events.shared.event.EventFormData.ParticipantTableField.ParticipantTableFieldRowData;
 import org.eclipse.scout.contacts.events.shared.event.IEventService;
+import org.eclipse.scout.contacts.events.shared.event.ParticipantChunk;
 import org.eclipse.scout.contacts.events.shared.event.UpdateEventPermission;
 import org.eclipse.scout.contacts.shared.organization.OrganizationLookupCall;
 import org.eclipse.scout.contacts.shared.person.IPersonService;
 import org.eclipse.scout.contacts.shared.person.PersonFormData;
+import org.eclipse.scout.rt.client.context.ClientRunContext;
+import org.eclipse.scout.rt.client.context.ClientRunContexts;
 import org.eclipse.scout.rt.client.dto.FormData;
 import org.eclipse.scout.rt.client.dto.FormData.SdkCommand;
+import org.eclipse.scout.rt.client.job.ModelJobs;
 import org.eclipse.scout.rt.client.ui.action.menu.AbstractMenu;
 import org.eclipse.scout.rt.client.ui.action.menu.IMenu;
 import org.eclipse.scout.rt.client.ui.action.menu.IMenuType;
@@ -68,6 +79,9 @@ import org.eclipse.scout.rt.client.ui.form.fields.tabbox.AbstractTabBox;
 import org.eclipse.scout.rt.client.ui.form.fields.tablefield.AbstractTableField;
 import org.eclipse.scout.rt.platform.BEANS;
 import org.eclipse.scout.rt.platform.Order;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.exception.ExceptionHandler;
+import org.eclipse.scout.rt.platform.job.Jobs;
 import org.eclipse.scout.rt.platform.text.TEXTS;
 import org.eclipse.scout.rt.platform.util.CollectionUtility;
 import org.eclipse.scout.rt.shared.services.lookup.ILookupCall;
@@ -77,6 +91,9 @@ public class EventForm extends AbstractForm {
 
   private String eventId;
 
+  // incremented whenever the participants are reloaded, chunks of an earlier load are dropped
+  private int participantLoad;
+
   @FormData
   public String getEventId() {
     return eventId;
@@ -87,6 +104,19 @@ public class EventForm extends AbstractForm {
     this.eventId = eventId;
   }
 
+  // version of the loaded record, a store fails if the record was changed in the meantime
+  private Long rowVersion;
+
+  @FormData
+  public Long getRowVersion() {
+    return rowVersion;
+  }
+
+  @FormData
+  public void setRowVersion(Long rowVersion) {
+    this.rowVersion = rowVersion;
+  }
+
   @Override
   protected String getConfiguredTitle() {
     return TEXTS.get("Event");
@@ -157,6 +187,10 @@ public class EventForm extends AbstractForm {
     return getFieldByClass(ParticipantsBox.class);
   }
 
+  public ParticipantFilterField getParticipantFilterField() {
+    return getFieldByClass(ParticipantFilterField.class);
+  }
+
   public ParticipantTableFieldField getParticipantTableField() {
     return getFieldByClass(ParticipantTableFieldField.class);
   }
@@ -178,6 +212,73 @@ public class EventForm extends AbstractForm {
     return getEventId();
   }
 
+  /**
+   * Replaces the loaded participants by the ones matching the participant filter. The participants are loaded in
+   * chunks in the background, so the form stays responsive for large events. Participants added or removed in the
+   * form are kept.
+   */
+  public void reloadParticipants() {
+    Table table = getParticipantTableField().getTable();
+    List<ITableRow> unchangedRows = new ArrayList<>();
+    for (ITableRow row : table.getRows()) {
+      if (row.getStatus() == ITableRow.STATUS_NON_CHANGED) {
+        unchangedRows.add(row);
+      }
+    }
+    table.discardRows(unchangedRows);
+
+    participantLoad++;
+    if (getEventId() != null) {
+      loadParticipants(participantLoad, getParticipantFilterField().getValue(), null);
+    }
+  }
+
+  protected void loadParticipants(int load, String filter, String cursorPersonId) {
+    String id = getEventId();
+    int chunkSize = CONFIG.getPropertyValue(ParticipantChunkSizeProperty.class);
+    ClientRunContext modelContext = ClientRunContexts.copyCurrent();
+    Jobs.schedule(() -> {
+      try {
+        ParticipantChunk chunk = BEANS.get(IEventService.class).loadParticipants(id, filter, cursorPersonId, chunkSize);
+        ModelJobs.schedule(() -> appendParticipants(load, filter, chunk), ModelJobs.newInput(modelContext.copy()));
+      }
+      catch (RuntimeException e) {
+        ModelJobs.schedule(() -> BEANS.get(ExceptionHandler.class).handle(e), ModelJobs.newInput(modelContext.copy()));
+      }
+    }, Jobs.newInput()
+        .withName("Loading participants of event " + id)
+        .withRunContext(modelContext.copy()));
+  }
+
+  /**
+   * Adds the participants of the chunk which are not in the table yet (or removed from it) and requests the next chunk
+   * if the server reported further participants.
+   */
+  protected void appendParticipants(int load, String filter, ParticipantChunk chunk) {
+    if (load != participantLoad || isFormClosed()) {
+      return;
+    }
+
+    Table table = getParticipantTableField().getTable();
+    Set<String> knownPersonIds = new HashSet<>(table.getPersonIdColumn().getValues(false));
+    for (ITableRow row : table.getDeletedRows()) {
+      knownPersonIds.add(table.getPersonIdColumn().getValue(row));
+    }
+
+    ParticipantTableField participants = chunk.getParticipants();
+    List<Object[]> newRows = new ArrayList<>();
+    for (ParticipantTableFieldRowData participant : participants.getRows()) {
+      if (!knownPersonIds.contains(participant.getPersonId())) {
+        newRows.add(new Object[]{participant.getPersonId(), participant.getFirstName(), participant.getLastName(), participant.getOrganization()});
+      }
+    }
+    table.addRows(table.createRowsByMatrix(newRows.toArray(new Object[0][])), false);
+
+    if (chunk.isLimitedResult() && participants.getRowCount() > 0) {
+      loadParticipants(load, filter, participants.rowAt(participants.getRowCount() - 1).getPersonId());
+    }
+  }
+
   @Order(1)
   public class MainBox extends AbstractGroupBox {
 
@@ -297,6 +398,30 @@ public class EventForm extends AbstractForm {
           return TEXTS.get("Participants");
         }
 
+        /**
+         * Filters once the text is accepted (enter or leaving the field), not on every keystroke: every filter reloads
+         * the participants from the server.
+         */
+        @Order(5)
+        @FormData(sdkCommand = SdkCommand.IGNORE)
+        public class ParticipantFilterField extends AbstractStringField {
+
+          @Override
+          protected String getConfiguredLabel() {
+            return TEXTS.get("FilterParticipants");
+          }
+
+          @Override
+          protected boolean execIsSaveNeeded() {
+            return false;
+          }
+
+          @Override
+          protected void execChangedValue() {
+            reloadParticipants();
+          }
+        }
+
         @Order(10)
         public class ParticipantTableFieldField extends AbstractTableField<Table> {
 
@@ -514,6 +639,7 @@ public class EventForm extends AbstractForm {
       setEnabledPermission(new UpdateEventPermission());
 
       getForm().setSubTitle(getTitleField().getValue());
+      reloadParticipants();
     }
 
     @Override
@@ -0,0 +1,106 @@
+package org.eclipse.scout.contacts.events.client.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.scout.contacts.events.shared.event.EventFormData;
+import org.eclipse.scout.contacts.events.shared.event.EventFormData.ParticipantTableField;
+import org.eclipse.scout.contacts.events.shared.event.EventFormData.ParticipantTableField.ParticipantTableFieldRowData;
+import org.eclipse.scout.contacts.events.shared.event.IEventService;
+import org.eclipse.scout.contacts.events.shared.event.ParticipantChunk;
+import org.eclipse.scout.rt.client.testenvironment.TestEnvironmentClientSession;
+import org.eclipse.scout.rt.testing.client.runner.ClientTestRunner;
+import org.eclipse.scout.rt.testing.client.runner.RunWithClientSession;
+import org.eclipse.scout.rt.testing.platform.mock.BeanMock;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link EventForm}
+ */
+@RunWith(ClientTestRunner.class)
+@RunWithClientSession(TestEnvironmentClientSession.class)
+@RunWithSubject("default")
+public class EventFormTest {
+
+  @BeanMock
+  private IEventService mockService;
+
+  private final List<String> requestedCursors = new ArrayList<>();
+  private EventForm form;
+
+  @Before
+  public void setup() {
+    when(mockService.prepareCreate(any(EventFormData.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    form = new EventForm() {
+      @Override
+      protected void loadParticipants(int load, String filter, String cursorPersonId) {
+        requestedCursors.add(cursorPersonId);
+      }
+    };
+    form.startNew();
+  }
+
+  @After
+  public void tearDown() {
+    form.doClose();
+  }
+
+  @Test
+  public void testLastChunkDoesNotRequestFurtherParticipants() {
+    form.appendParticipants(0, null, createChunk(false, "1", "2"));
+
+    assertEquals(2, form.getParticipantTableField().getTable().getRowCount());
+    assertTrue(requestedCursors.isEmpty());
+  }
+
+  @Test
+  public void testLimitedChunkRequestsNextChunk() {
+    form.appendParticipants(0, null, createChunk(true, "1", "2"));
+
+    assertEquals(2, form.getParticipantTableField().getTable().getRowCount());
+    assertEquals(1, requestedCursors.size());
+    assertEquals("2", requestedCursors.get(0));
+  }
+
+  @Test
+  public void testKnownParticipantsAreNotAddedAgain() {
+    form.appendParticipants(0, null, createChunk(false, "1"));
+    form.appendParticipants(0, null, createChunk(false, "1", "2"));
+
+    assertEquals(2, form.getParticipantTableField().getTable().getRowCount());
+  }
+
+  @Test
+  public void testChunksOfEarlierLoadAreDropped() {
+    form.appendParticipants(-1, null, createChunk(true, "1"));
+
+    assertEquals(0, form.getParticipantTableField().getTable().getRowCount());
+    assertTrue(requestedCursors.isEmpty());
+  }
+
+  @Test
+  public void testFilterIsAppliedOnAcceptedText() {
+    assertFalse(form.getParticipantFilterField().isUpdateDisplayTextOnModify());
+  }
+
+  private static ParticipantChunk createChunk(boolean limitedResult, String... personIds) {
+    ParticipantTableField participants = new ParticipantTableField();
+    for (String personId : personIds) {
+      ParticipantTableFieldRowData row = participants.addRow();
+      row.setPersonId(personId);
+      row.setLastName("Person " + personId);
+    }
+    return new ParticipantChunk(participants, limitedResult);
+  }
+}
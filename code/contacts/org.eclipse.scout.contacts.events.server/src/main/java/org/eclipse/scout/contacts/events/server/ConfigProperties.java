@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.events.server;
+
+import org.eclipse.scout.rt.platform.config.AbstractPositiveIntegerConfigProperty;
+
+public class ConfigProperties {
+
+  public static class ParticipationCheckIntervalProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 60;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.events.participationCheckInterval";
+    }
+
+    @Override
+    public String description() {
+      return "Interval in minutes in which the materialized participant counts of events are checked against the participants and repaired if necessary. The default value is 60.";
+    }
+  }
+
+  public static class ParticipantBatchSizeProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 500;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.events.participantBatchSize";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum number of participants added to an event in one JDBC batch and removed from an event with one DELETE statement. The default value is 500.";
+    }
+  }
+
+  public static class EventCalendarCacheSizeProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 1000;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.events.calendarCacheSize";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum number of months (per organization) for which the events are kept in the calendar cache of the server. The default value is 1000.";
+    }
+  }
+}
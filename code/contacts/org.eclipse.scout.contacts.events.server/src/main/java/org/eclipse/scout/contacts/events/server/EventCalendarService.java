@@ -0,0 +1,332 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.events.server;
+
+import java.io.Serializable;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+
+import org.eclipse.scout.contacts.events.server.ConfigProperties.EventCalendarCacheSizeProperty;
+import org.eclipse.scout.contacts.events.server.sql.SQLs;
+import org.eclipse.scout.contacts.events.shared.event.EventTablePageData;
+import org.eclipse.scout.contacts.events.shared.event.EventTablePageData.EventTableRowData;
+import org.eclipse.scout.contacts.server.common.AfterCommitTransactionMember;
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.cache.AllCacheEntryFilter;
+import org.eclipse.scout.rt.platform.cache.ICache;
+import org.eclipse.scout.rt.platform.cache.ICacheBuilder;
+import org.eclipse.scout.rt.platform.cache.ICacheEntryFilter;
+import org.eclipse.scout.rt.platform.cache.ICacheValueResolver;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.util.StringUtility;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+
+/**
+ * Loads the events overlapping a time window, e.g. the visible range of a calendar or timeline.
+ * <p>
+ * The events are cached in buckets of one calendar month (per organization). A window is answered from the buckets of
+ * the months it touches, missing buckets are loaded with one range query on the indexed time columns. The buckets of
+ * the months of an event (of all organizations) are invalidated whenever the {@link ParticipationSummaryService}
+ * refreshes its summaries, which it does for every stored event and changed participation. The buckets are invalidated
+ * after the commit of the change, so a concurrent transaction cannot fill them again with the old data, and the
+ * invalidation is propagated to the other cluster nodes.
+ */
+@ApplicationScoped
+public class EventCalendarService {
+
+  private static final String CACHE_ID = EventCalendarService.class.getName();
+
+  private static final int EVENT_ID = 0;
+  private static final int TITLE = 1;
+  private static final int STARTS = 2;
+  private static final int ENDS = 3;
+  private static final int CITY = 4;
+  private static final int COUNTRY = 5;
+  private static final int HOMEPAGE = 6;
+  private static final int PARTICIPANTS = 7;
+
+  private ICache<MonthKey, List<Object[]>> cache;
+
+  @PostConstruct
+  protected void initCache() {
+    cache = createCache();
+  }
+
+  protected ICache<MonthKey, List<Object[]>> createCache() {
+    @SuppressWarnings("unchecked")
+    ICacheBuilder<MonthKey, List<Object[]>> cacheBuilder = BEANS.get(ICacheBuilder.class);
+    return cacheBuilder
+        .withCacheId(CACHE_ID)
+        .withValueResolver(new MonthResolver())
+        .withSizeBound(CONFIG.getPropertyValue(EventCalendarCacheSizeProperty.class))
+        .withClusterEnabled(true)
+        .build();
+  }
+
+  /**
+   * @param from
+   *          start of the window (inclusive)
+   * @param to
+   *          end of the window (exclusive)
+   * @param organizationId
+   *          if set, only events with participants of this organization are returned
+   * @param limit
+   *          maximum number of events, no limit if <code>0</code>
+   * @return the events overlapping the window ordered by their start
+   */
+  public EventTablePageData getEvents(Date from, Date to, String organizationId, int limit) {
+    if (from == null || to == null || !from.before(to)) {
+      throw new ProcessingException("Invalid time window [{}, {})", from, to);
+    }
+
+    List<MonthKey> keys = new ArrayList<>();
+    for (YearMonth month = toYearMonth(from); toDate(month).before(to); month = month.plusMonths(1)) {
+      keys.add(new MonthKey(StringUtility.emptyIfNull(organizationId), month));
+    }
+
+    Map<String, Object[]> eventsById = new LinkedHashMap<>();
+    for (List<Object[]> bucket : cache.getAll(keys).values()) {
+      for (Object[] event : bucket) {
+        if (overlaps(event, from, to)) {
+          eventsById.put((String) event[EVENT_ID], event);
+        }
+      }
+    }
+
+    List<Object[]> events = new ArrayList<>(eventsById.values());
+    events.sort(Comparator.comparing((Object[] event) -> (Date) event[STARTS]).thenComparing(event -> (String) event[EVENT_ID]));
+
+    EventTablePageData pageData = new EventTablePageData();
+    for (Object[] event : limit > 0 && events.size() > limit ? events.subList(0, limit) : events) {
+      EventTableRowData row = pageData.addRow();
+      row.setEventId((String) event[EVENT_ID]);
+      row.setTitle((String) event[TITLE]);
+      row.setStarts((Date) event[STARTS]);
+      row.setEnds((Date) event[ENDS]);
+      row.setCity((String) event[CITY]);
+      row.setCountry((String) event[COUNTRY]);
+      row.setHomepage((String) event[HOMEPAGE]);
+      row.setParticipants(event[PARTICIPANTS] == null ? null : ((Number) event[PARTICIPANTS]).intValue());
+    }
+    return pageData;
+  }
+
+  /**
+   * Removes all buckets once the current transaction is committed.
+   */
+  public void invalidate() {
+    AfterCommitTransactionMember.runAfterCommit(() -> cache.invalidate(new AllCacheEntryFilter<>(), true));
+  }
+
+  /**
+   * Removes the buckets of the given months once the current transaction is committed. The buckets of an organization
+   * depend on the participants of the events, so the buckets of all organizations are removed.
+   */
+  public void invalidate(List<MonthRange> months) {
+    if (!months.isEmpty()) {
+      AfterCommitTransactionMember.runAfterCommit(() -> cache.invalidate(new MonthCacheEntryFilter(months), true));
+    }
+  }
+
+  /**
+   * @param restriction
+   *          restriction of the events, e.g. {@link SQLs#AND_EVENT_RESTRICTION}
+   * @return the months overlapped by the restricted events as currently stored
+   */
+  public List<MonthRange> getMonths(String restriction, Object... bindBases) {
+    List<MonthRange> months = new ArrayList<>();
+    for (Object[] event : SQL.select(String.format(SQLs.EVENT_DATES_SELECT, restriction), bindBases)) {
+      YearMonth start = toYearMonth((Date) event[0]);
+      months.add(new MonthRange(start, event[1] == null ? start : toYearMonth((Date) event[1])));
+    }
+    return months;
+  }
+
+  protected boolean overlaps(Object[] event, Date from, Date to) {
+    Date starts = (Date) event[STARTS];
+    Date ends = (Date) event[ENDS];
+    return starts.before(to) && !(ends == null ? starts : ends).before(from);
+  }
+
+  /**
+   * Loads the events of a contiguous range of months of an organization with one statement and distributes them to the
+   * buckets of the months they overlap.
+   */
+  protected Map<MonthKey, List<Object[]>> loadMonths(String organizationId, YearMonth first, YearMonth last) {
+    Map<MonthKey, List<Object[]>> buckets = new HashMap<>();
+    for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+      buckets.put(new MonthKey(organizationId, month), new ArrayList<>());
+    }
+
+    String restriction = StringUtility.hasText(organizationId) ? SQLs.EVENT_PAGE_DATA_WHERE_CLAUSE : "";
+    Object[][] events = SQL.select(String.format(SQLs.EVENT_CALENDAR_SELECT, restriction),
+        new NVPair("from", toDate(first)),
+        new NVPair("to", toDate(last.plusMonths(1))),
+        new NVPair("organizationId", organizationId));
+
+    for (Object[] event : events) {
+      YearMonth start = max(toYearMonth((Date) event[STARTS]), first);
+      YearMonth end = event[ENDS] == null ? start : min(toYearMonth((Date) event[ENDS]), last);
+      for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+        buckets.get(new MonthKey(organizationId, month)).add(event);
+      }
+    }
+    return buckets;
+  }
+
+  protected static YearMonth toYearMonth(Date date) {
+    return YearMonth.from(date.toInstant().atZone(ZoneId.systemDefault()));
+  }
+
+  protected static Date toDate(YearMonth month) {
+    return Date.from(month.atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
+  }
+
+  private static YearMonth max(YearMonth a, YearMonth b) {
+    return a.isAfter(b) ? a : b;
+  }
+
+  private static YearMonth min(YearMonth a, YearMonth b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  protected class MonthResolver implements ICacheValueResolver<MonthKey, List<Object[]>> {
+
+    @Override
+    public List<Object[]> resolve(MonthKey key) {
+      return loadMonths(key.getOrganizationId(), key.getMonth(), key.getMonth()).get(key);
+    }
+
+    @Override
+    public Map<MonthKey, List<Object[]>> resolveAll(Set<MonthKey> keys) {
+      Map<String, List<YearMonth>> monthsByOrganization = new HashMap<>();
+      for (MonthKey key : keys) {
+        monthsByOrganization.computeIfAbsent(key.getOrganizationId(), k -> new ArrayList<>()).add(key.getMonth());
+      }
+
+      Map<MonthKey, List<Object[]>> buckets = new HashMap<>();
+      for (Map.Entry<String, List<YearMonth>> entry : monthsByOrganization.entrySet()) {
+        List<YearMonth> months = entry.getValue();
+        Collections.sort(months);
+        buckets.putAll(loadMonths(entry.getKey(), months.get(0), months.get(months.size() - 1)));
+      }
+      buckets.keySet().retainAll(keys);
+      return buckets;
+    }
+  }
+
+  /**
+   * Contiguous range of months, both inclusive.
+   */
+  public static class MonthRange implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final YearMonth first;
+    private final YearMonth last;
+
+    public MonthRange(YearMonth first, YearMonth last) {
+      this.first = first;
+      this.last = last;
+    }
+
+    public boolean contains(YearMonth month) {
+      return !month.isBefore(first) && !month.isAfter(last);
+    }
+  }
+
+  /**
+   * Accepts the buckets of all organizations whose month lies in one of the ranges.
+   */
+  public static class MonthCacheEntryFilter implements ICacheEntryFilter<MonthKey, List<Object[]>> {
+    private static final long serialVersionUID = 1L;
+
+    private final List<MonthRange> months;
+
+    public MonthCacheEntryFilter(List<MonthRange> months) {
+      this.months = new ArrayList<>(months);
+    }
+
+    @Override
+    public boolean accept(MonthKey key, List<Object[]> value) {
+      for (MonthRange range : months) {
+        if (range.contains(key.getMonth())) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public ICacheEntryFilter<MonthKey, List<Object[]>> coalesce(ICacheEntryFilter<MonthKey, List<Object[]>> other) {
+      if (other instanceof MonthCacheEntryFilter) {
+        List<MonthRange> coalesced = new ArrayList<>(months);
+        coalesced.addAll(((MonthCacheEntryFilter) other).months);
+        return new MonthCacheEntryFilter(coalesced);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Key of a bucket. The organization id is empty for the buckets of all events.
+   */
+  public static class MonthKey implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String organizationId;
+    private final YearMonth month;
+
+    public MonthKey(String organizationId, YearMonth month) {
+      this.organizationId = organizationId;
+      this.month = month;
+    }
+
+    public String getOrganizationId() {
+      return organizationId;
+    }
+
+    public YearMonth getMonth() {
+      return month;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(organizationId, month);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null || getClass() != obj.getClass()) {
+        return false;
+      }
+      MonthKey other = (MonthKey) obj;
+      return Objects.equals(organizationId, other.organizationId) && Objects.equals(month, other.month);
+    }
+  }
+}
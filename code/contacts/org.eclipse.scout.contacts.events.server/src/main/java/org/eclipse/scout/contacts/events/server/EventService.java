@@ -10,19 +10,30 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.events.server;
 
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 
 import org.eclipse.scout.contacts.events.server.sql.SQLs;
 import org.eclipse.scout.contacts.events.shared.event.CreateEventPermission;
 import org.eclipse.scout.contacts.events.shared.event.EventFormData;
+import org.eclipse.scout.contacts.events.shared.event.EventFormData.ParticipantTableField;
+import org.eclipse.scout.contacts.events.shared.event.EventFormData.ParticipantTableField.ParticipantTableFieldRowData;
 import org.eclipse.scout.contacts.events.shared.event.EventTablePageData;
 import org.eclipse.scout.contacts.events.shared.event.IEventService;
+import org.eclipse.scout.contacts.events.shared.event.ParticipantChunk;
 import org.eclipse.scout.contacts.events.shared.event.ReadEventPermission;
 import org.eclipse.scout.contacts.events.shared.event.UpdateEventPermission;
+import org.eclipse.scout.contacts.server.search.SearchIndex;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.MaxPageSizeProperty;
+import org.eclipse.scout.contacts.server.sql.SearchTextUtility;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.config.CONFIG;
 import org.eclipse.scout.rt.platform.exception.VetoException;
 import org.eclipse.scout.rt.platform.holders.ITableBeanRowHolder;
 import org.eclipse.scout.rt.platform.holders.NVPair;
-import org.eclipse.scout.rt.platform.holders.TableBeanHolderFilter;
 import org.eclipse.scout.rt.platform.text.TEXTS;
 import org.eclipse.scout.rt.platform.util.StringUtility;
 import org.eclipse.scout.rt.server.jdbc.SQL;
@@ -49,6 +60,11 @@ public class EventService implements IEventService {
     return pageData;
   }
 
+  @Override
+  public EventTablePageData getEvents(Date from, Date to, String organizationId, int limit) {
+    return BEANS.get(EventCalendarService.class).getEvents(from, to, organizationId, limit);
+  }
+
   @Override
   public EventFormData create(EventFormData formData) {
     if (!ACCESS.check(new CreateEventPermission())) {
@@ -60,6 +76,7 @@ public class EventService implements IEventService {
     }
 
     SQL.insert(SQLs.EVENT_INSERT, formData);
+    formData.setRowVersion(0L);
 
     return store(formData);
   }
@@ -71,11 +88,51 @@ public class EventService implements IEventService {
     }
 
     SQL.selectInto(SQLs.EVENT_SELECT, formData);
-    SQL.selectInto(SQLs.EVENT_PARTICIPANTS_SELECT, formData);
 
     return formData;
   }
 
+  @Override
+  public ParticipantChunk loadParticipants(String eventId, String filter, String cursorPersonId, int maxRows) {
+    if (!ACCESS.check(new ReadEventPermission())) {
+      throw new VetoException(TEXTS.get("InsufficientPrivileges"));
+    }
+
+    StringBuilder sql = new StringBuilder(SQLs.EVENT_PARTICIPANTS_SELECT);
+    if (StringUtility.hasText(filter)) {
+      sql.append(SQLs.AND_PARTICIPANT_NAME_LIKE);
+    }
+    if (StringUtility.hasText(cursorPersonId)) {
+      sql.append(SQLs.AND_PARTICIPANT_AFTER_CURSOR);
+    }
+    // one more row than requested tells whether further participants follow
+    int pageSize = getPageSize(maxRows);
+    sql.append(SQLs.EVENT_PARTICIPANTS_ORDER_BY);
+    sql.append(String.format(SQLs.FETCH_FIRST_ROWS, pageSize + 1));
+    sql.append(SQLs.EVENT_PARTICIPANTS_INTO);
+
+    EventFormData formData = new EventFormData();
+    SQL.selectInto(sql.toString(), formData,
+        new NVPair("eventId", eventId),
+        new NVPair("filter", SearchTextUtility.toPrefixPattern(StringUtility.trim(filter), "%")),
+        new NVPair("cursorPersonId", cursorPersonId));
+
+    ParticipantTableField participants = formData.getParticipantTableField();
+    boolean limitedResult = participants.getRowCount() > pageSize;
+    if (limitedResult) {
+      participants.setRows(Arrays.copyOf(participants.getRows(), pageSize));
+    }
+    return new ParticipantChunk(participants, limitedResult);
+  }
+
+  /**
+   * @return the requested number of participants, but at most {@link MaxPageSizeProperty}
+   */
+  protected int getPageSize(int maxRows) {
+    int maxPageSize = CONFIG.getPropertyValue(MaxPageSizeProperty.class);
+    return maxRows <= 0 ? maxPageSize : Math.min(maxRows, maxPageSize);
+  }
+
   @Override
   public EventFormData prepareCreate(EventFormData formData) {
     if (!ACCESS.check(new CreateEventPermission())) {
@@ -91,15 +148,36 @@ public class EventService implements IEventService {
       throw new VetoException(TEXTS.get("InsufficientPrivileges"));
     }
 
-    SQL.update(SQLs.EVENT_UPDATE, formData);
+    Long rowVersion = formData.getRowVersion();
+    if (rowVersion == null) {
+      throw new VetoException(TEXTS.get("RowVersionMissing"));
+    }
+
+    // the refresh of the summaries only invalidates the calendar months of the event as stored now
+    EventCalendarService calendar = BEANS.get(EventCalendarService.class);
+    calendar.invalidate(calendar.getMonths(SQLs.AND_EVENT_RESTRICTION, new NVPair("eventId", formData.getEventId())));
 
-    TableBeanHolderFilter deletedParticipants = new TableBeanHolderFilter(formData.getParticipantTableField(), ITableBeanRowHolder.STATUS_DELETED);
-    TableBeanHolderFilter insertedParticipants = new TableBeanHolderFilter(formData.getParticipantTableField(), ITableBeanRowHolder.STATUS_INSERTED);
-    NVPair eventId = new NVPair("eventId", formData.getEventId());
+    if (SQL.update(SQLs.EVENT_UPDATE, formData) == 0) {
+      throw new VetoException(TEXTS.get("ConcurrentChange"));
+    }
+    formData.setRowVersion(rowVersion + 1);
 
-    SQL.delete(SQLs.EVENT_PARTICIPANTS_DELETE, deletedParticipants, eventId);
-    SQL.insert(SQLs.EVENT_PARTICIPANTS_INSERT, insertedParticipants, eventId);
+    ParticipantBatchService participants = BEANS.get(ParticipantBatchService.class);
+    participants.deleteParticipants(formData.getEventId(), getPersonIds(formData, ITableBeanRowHolder.STATUS_DELETED));
+    participants.insertParticipants(formData.getEventId(), getPersonIds(formData, ITableBeanRowHolder.STATUS_INSERTED));
+    BEANS.get(ParticipationSummaryService.class).refreshEvent(formData.getEventId());
+    BEANS.get(SearchIndex.class).update(EventSearchDocumentProvider.ENTITY_TYPE, formData.getEventId());
 
     return formData;
   }
+
+  protected Set<String> getPersonIds(EventFormData formData, int rowState) {
+    Set<String> personIds = new LinkedHashSet<>();
+    for (ParticipantTableFieldRowData row : formData.getParticipantTableField().getRows()) {
+      if (row.getRowState() == rowState && row.getPersonId() != null) {
+        personIds.add(row.getPersonId());
+      }
+    }
+    return personIds;
+  }
 }
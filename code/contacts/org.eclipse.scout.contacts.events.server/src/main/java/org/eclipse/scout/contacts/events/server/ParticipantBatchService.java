@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.events.server;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.scout.contacts.events.server.ConfigProperties.ParticipantBatchSizeProperty;
+import org.eclipse.scout.contacts.events.server.sql.SQLs;
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.exception.PlatformExceptionTranslator;
+import org.eclipse.scout.rt.platform.exception.VetoException;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.text.TEXTS;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+
+/**
+ * Adds and removes the participants of an event with a constant number of statements per
+ * {@link ParticipantBatchSizeProperty} participants instead of one statement per participant.
+ * <p>
+ * Removed participants are deleted with one <code>DELETE ... WHERE person_id IN (...)</code> per chunk, added
+ * participants are inserted with a single prepared statement executed as JDBC batch per chunk.
+ */
+@ApplicationScoped
+public class ParticipantBatchService {
+
+  /**
+   * Persons already participating are rejected with a {@link VetoException}. The form loads the participants in chunks,
+   * so a person may be added to an event before the row of its existing participation has been loaded.
+   */
+  public void insertParticipants(String eventId, Collection<String> personIds) {
+    if (personIds.isEmpty()) {
+      return;
+    }
+
+    if (!getExistingParticipants(eventId, personIds).isEmpty()) {
+      throw new VetoException(TEXTS.get("PersonAlreadyParticipates"));
+    }
+
+    int batchSize = getBatchSize();
+    try (PreparedStatement statement = SQL.getConnection().prepareStatement(SQLs.EVENT_PARTICIPANTS_INSERT)) {
+      int rowCount = 0;
+      for (String personId : personIds) {
+        statement.setString(1, eventId);
+        statement.setString(2, personId);
+        statement.addBatch();
+        rowCount++;
+
+        if (rowCount % batchSize == 0) {
+          statement.executeBatch();
+        }
+      }
+      if (rowCount % batchSize != 0) {
+        statement.executeBatch();
+      }
+    }
+    catch (SQLException e) {
+      throw BEANS.get(PlatformExceptionTranslator.class).translate(e);
+    }
+  }
+
+  protected Set<String> getExistingParticipants(String eventId, Collection<String> personIds) {
+    int batchSize = getBatchSize();
+    List<String> ids = new ArrayList<>(personIds);
+    Set<String> existingPersonIds = new HashSet<>();
+    for (int from = 0; from < ids.size(); from += batchSize) {
+      List<String> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+      Object[][] rows = SQL.select(SQLs.EVENT_PARTICIPANTS_EXISTING_SELECT,
+          new NVPair("eventId", eventId),
+          new NVPair("personIds", chunk.toArray(new String[0])));
+      for (Object[] row : rows) {
+        existingPersonIds.add((String) row[0]);
+      }
+    }
+    return existingPersonIds;
+  }
+
+  public void deleteParticipants(String eventId, Collection<String> personIds) {
+    if (personIds.isEmpty()) {
+      return;
+    }
+
+    int batchSize = getBatchSize();
+    List<String> ids = new ArrayList<>(personIds);
+    try {
+      for (int from = 0; from < ids.size(); from += batchSize) {
+        deleteChunk(eventId, ids.subList(from, Math.min(from + batchSize, ids.size())));
+      }
+    }
+    catch (SQLException e) {
+      throw BEANS.get(PlatformExceptionTranslator.class).translate(e);
+    }
+  }
+
+  /**
+   * All chunks but the last have the same size, so the statement text varies little and the database can reuse its
+   * compiled statements.
+   */
+  protected void deleteChunk(String eventId, List<String> personIds) throws SQLException {
+    try (PreparedStatement statement = SQL.getConnection().prepareStatement(String.format(SQLs.EVENT_PARTICIPANTS_DELETE, createParameters(personIds.size())))) {
+      statement.setString(1, eventId);
+      for (int i = 0; i < personIds.size(); i++) {
+        statement.setString(i + 2, personIds.get(i));
+      }
+      statement.executeUpdate();
+    }
+  }
+
+  protected String createParameters(int count) {
+    StringBuilder parameters = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      parameters.append(i == 0 ? "?" : ", ?");
+    }
+    return parameters.toString();
+  }
+
+  protected int getBatchSize() {
+    return CONFIG.getPropertyValue(ParticipantBatchSizeProperty.class);
+  }
+}
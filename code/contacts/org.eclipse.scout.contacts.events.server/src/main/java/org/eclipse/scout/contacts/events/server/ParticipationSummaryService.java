@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.events.server;
+
+import org.eclipse.scout.contacts.events.server.sql.SQLs;
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.holders.IntegerHolder;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maintains the materialized participation of events: the number of participants of each event
+ * (<code>EVENT.participant_count</code>) and the number of participants per organization and event (table
+ * <code>EVENT_ORGANIZATION</code>).
+ * <p>
+ * The summaries of an event are recomputed from its participants in the transaction that changes them, which only reads
+ * the participant rows of that event. {@link #checkAndRepair()} compares all summaries with the participants and
+ * rebuilds them if they differ.
+ */
+@ApplicationScoped
+public class ParticipationSummaryService {
+  private static final Logger LOG = LoggerFactory.getLogger(ParticipationSummaryService.class);
+
+  /**
+   * Recomputes the summaries of the given event, e.g. after participants have been added or removed.
+   */
+  public void refreshEvent(String eventId) {
+    refresh(SQLs.AND_EVENT_RESTRICTION, new NVPair("eventId", eventId));
+  }
+
+  /**
+   * Recomputes the summaries of all events the given person participates in, e.g. after the person changed the
+   * organization.
+   */
+  public void refreshPersonEvents(String personId) {
+    refresh(SQLs.AND_PERSON_EVENTS_RESTRICTION, new NVPair("personId", personId));
+  }
+
+  /**
+   * Recomputes the summaries of all events.
+   */
+  public void rebuild() {
+    refresh("");
+  }
+
+  protected void refresh(String restriction, Object... bindBases) {
+    SQL.update(String.format(SQLs.EVENT_PARTICIPANT_COUNT_UPDATE, restriction), bindBases);
+    SQL.delete(String.format(SQLs.EVENT_ORGANIZATION_DELETE, restriction), bindBases);
+    SQL.insert(String.format(SQLs.EVENT_ORGANIZATION_INSERT, restriction), bindBases);
+
+    // the cached calendar contains the participant counts and is restricted by the organization participation
+    EventCalendarService calendar = BEANS.get(EventCalendarService.class);
+    if (restriction.isEmpty()) {
+      calendar.invalidate();
+    }
+    else {
+      calendar.invalidate(calendar.getMonths(restriction, bindBases));
+    }
+  }
+
+  /**
+   * @return the number of event participant counts and organization participation rows that do not match the
+   *         participants
+   */
+  public int countInconsistencies() {
+    return countMismatches(SQLs.EVENT_PARTICIPANT_COUNT_MISMATCHES)
+        + countMismatches(SQLs.EVENT_ORGANIZATION_MISSING_ROWS)
+        + countMismatches(SQLs.EVENT_ORGANIZATION_STALE_ROWS);
+  }
+
+  protected int countMismatches(String sql) {
+    IntegerHolder mismatches = new IntegerHolder();
+    SQL.selectInto(sql, new NVPair("mismatches", mismatches));
+    return mismatches.getValue() == null ? 0 : mismatches.getValue();
+  }
+
+  /**
+   * Rebuilds all summaries if any of them does not match the participants.
+   *
+   * @return the number of inconsistencies found
+   */
+  public int checkAndRepair() {
+    int inconsistencies = countInconsistencies();
+    if (inconsistencies > 0) {
+      LOG.warn("Found {} inconsistent participation summaries, rebuilding them", inconsistencies);
+      rebuild();
+    }
+    return inconsistencies;
+  }
+}
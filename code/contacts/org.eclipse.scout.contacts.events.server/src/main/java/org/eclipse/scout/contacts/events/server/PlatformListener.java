@@ -10,15 +10,22 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.events.server;
 
-import java.util.Set;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.scout.contacts.events.server.ConfigProperties.ParticipationCheckIntervalProperty;
 import org.eclipse.scout.contacts.events.server.sql.SQLs;
 import org.eclipse.scout.contacts.events.shared.person.PersonFormTabExtensionData;
 import org.eclipse.scout.contacts.events.shared.person.PersonTablePageDataExtension;
+import org.eclipse.scout.contacts.server.sql.BulkLoadService;
 import org.eclipse.scout.contacts.server.sql.DatabaseProperties.DatabaseAutoCreateProperty;
 import org.eclipse.scout.contacts.server.sql.DatabaseProperties.DatabaseAutoPopulateProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseSetupService;
 import org.eclipse.scout.contacts.server.sql.IDataStoreService;
+import org.eclipse.scout.contacts.server.sql.SchemaMetadataService;
 import org.eclipse.scout.contacts.server.sql.SuperUserRunContextProducer;
+import org.eclipse.scout.contacts.server.sql.TableDefinition;
 import org.eclipse.scout.rt.platform.BEANS;
 import org.eclipse.scout.rt.platform.IPlatform.State;
 import org.eclipse.scout.rt.platform.IPlatformListener;
@@ -27,11 +34,9 @@ import org.eclipse.scout.rt.platform.PlatformEvent;
 import org.eclipse.scout.rt.platform.config.CONFIG;
 import org.eclipse.scout.rt.platform.context.RunContext;
 import org.eclipse.scout.rt.platform.exception.ExceptionHandler;
-import org.eclipse.scout.rt.platform.holders.NVPair;
-import org.eclipse.scout.rt.platform.holders.StringArrayHolder;
-import org.eclipse.scout.rt.platform.util.CollectionUtility;
+import org.eclipse.scout.rt.platform.job.FixedDelayScheduleBuilder;
+import org.eclipse.scout.rt.platform.job.Jobs;
 import org.eclipse.scout.rt.platform.util.concurrent.IRunnable;
-import org.eclipse.scout.rt.server.jdbc.SQL;
 import org.eclipse.scout.rt.shared.extension.IExtensionRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,16 +51,17 @@ public class PlatformListener implements IPlatformListener, IDataStoreService {
       autoCreateDatabase();
       registerExtensions();
     }
+    else if (event.getState() == State.PlatformStarted) {
+      repairParticipationSummaries();
+      scheduleParticipationCheck();
+    }
   }
 
   public void autoCreateDatabase() {
     if (CONFIG.getPropertyValue(DatabaseAutoCreateProperty.class)) {
       try {
         RunContext context = BEANS.get(SuperUserRunContextProducer.class).produce();
-        IRunnable runnable = () -> {
-          createEventTable();
-          createParticipantTable();
-        };
+        IRunnable runnable = () -> BEANS.get(SchemaMetadataService.class).createTablesInParallel(getTableDefinitions());
 
         context.run(runnable);
       }
@@ -65,6 +71,36 @@ public class PlatformListener implements IPlatformListener, IDataStoreService {
     }
   }
 
+  /**
+   * The sample participants are loaded without their summaries, and the persons are only available once the platform
+   * is started.
+   */
+  protected void repairParticipationSummaries() {
+    if (CONFIG.getPropertyValue(DatabaseAutoCreateProperty.class)) {
+      try {
+        BEANS.get(SuperUserRunContextProducer.class).produce()
+            .run(() -> BEANS.get(ParticipationSummaryService.class).checkAndRepair());
+      }
+      catch (RuntimeException e) {
+        BEANS.get(ExceptionHandler.class).handle(e);
+      }
+    }
+  }
+
+  protected void scheduleParticipationCheck() {
+    if (!CONFIG.getPropertyValue(DatabaseAutoCreateProperty.class)) {
+      return;
+    }
+
+    int interval = CONFIG.getPropertyValue(ParticipationCheckIntervalProperty.class);
+    Jobs.schedule(() -> BEANS.get(ParticipationSummaryService.class).checkAndRepair(), Jobs.newInput()
+        .withName("Checking participation summaries")
+        .withRunContext(BEANS.get(SuperUserRunContextProducer.class).produce())
+        .withExecutionTrigger(Jobs.newExecutionTrigger()
+            .withStartIn(interval, TimeUnit.MINUTES)
+            .withSchedule(FixedDelayScheduleBuilder.repeatForever(interval, TimeUnit.MINUTES))));
+  }
+
   private void registerExtensions() {
     IExtensionRegistry extensionRegistry = BEANS.get(IExtensionRegistry.class);
 
@@ -74,47 +110,80 @@ public class PlatformListener implements IPlatformListener, IDataStoreService {
   }
 
   public void createEventTable() {
-    if (!getExistingTables().contains("EVENT")) {
-      SQL.insert(SQLs.EVENT_CREATE_TABLE);
+    if (!BEANS.get(SchemaMetadataService.class).existsTable("EVENT")) {
+      BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.EVENT_CREATE_TABLE);
       LOG.info("Database table 'EVENT' created");
 
       if (CONFIG.getPropertyValue(DatabaseAutoPopulateProperty.class)) {
-        SQL.insert(SQLs.EVENT_INSERT_SAMPLE + SQLs.EVENT_INSERT_VALUES_01);
-        SQL.insert(SQLs.EVENT_INSERT_SAMPLE + SQLs.EVENT_INSERT_VALUES_02);
+        BEANS.get(BulkLoadService.class).loadResource("EVENT", SQLs.class.getResource("event-sample.csv"));
         LOG.info("Database table 'EVENT' populated with sample data");
       }
     }
   }
 
+  /**
+   * Schema migration steps of the EVENT table, run once all event tables are created.
+   */
+  public void migrateEventTable() {
+    addParticipantCountColumn();
+    BEANS.get(DatabaseSetupService.class).addRowVersionColumn("EVENT", SQLs.EVENT_ADD_ROW_VERSION_COLUMN);
+    BEANS.get(DatabaseSetupService.class).addIndex("EVENT_DATE_START_IX", SQLs.EVENT_CREATE_DATE_START_INDEX);
+    BEANS.get(DatabaseSetupService.class).addIndex("EVENT_DATE_END_IX", SQLs.EVENT_CREATE_DATE_END_INDEX);
+  }
+
+  /**
+   * Schema migration step adding the materialized participant count to the EVENT table. The counts of the existing
+   * events are filled in by the check of the participation summaries when the platform is started.
+   */
+  protected void addParticipantCountColumn() {
+    SchemaMetadataService schema = BEANS.get(SchemaMetadataService.class);
+    if (!schema.existsColumn("EVENT", "PARTICIPANT_COUNT")) {
+      schema.executeDdl(SQLs.EVENT_ADD_PARTICIPANT_COUNT_COLUMN);
+      LOG.info("Participant count column added to database table 'EVENT'");
+    }
+  }
+
   protected void createParticipantTable() {
-    if (!getExistingTables().contains("PARTICIPANT")) {
-      SQL.insert(SQLs.PARTICIPANT_CREATE_TABLE);
+    if (!BEANS.get(SchemaMetadataService.class).existsTable("PARTICIPANT")) {
+      BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.PARTICIPANT_CREATE_TABLE);
+      BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.PARTICIPANT_CREATE_PERSON_INDEX);
       LOG.info("Database table 'PARTICIPANT' created");
 
       if (CONFIG.getPropertyValue(DatabaseAutoPopulateProperty.class)) {
-        SQL.insert(SQLs.PARTICIPANT_INSERT_SAMPLE + SQLs.PARTICIPANT_INSERT_VALUES_01);
-        SQL.insert(SQLs.PARTICIPANT_INSERT_SAMPLE + SQLs.PARTICIPANT_INSERT_VALUES_02);
-        SQL.insert(SQLs.PARTICIPANT_INSERT_SAMPLE + SQLs.PARTICIPANT_INSERT_VALUES_03);
+        BEANS.get(BulkLoadService.class).loadResource("PARTICIPANT", SQLs.class.getResource("participant-sample.csv"));
         LOG.info("Database table 'PARTICIPANT' populated with sample data");
       }
     }
   }
 
-  private Set<String> getExistingTables() {
-    StringArrayHolder tables = new StringArrayHolder();
-    SQL.selectInto(SQLs.SELECT_TABLE_NAMES, new NVPair("result", tables));
-    return CollectionUtility.hashSet(tables.getValue());
+  protected void createEventOrganizationTable() {
+    if (!BEANS.get(SchemaMetadataService.class).existsTable("EVENT_ORGANIZATION")) {
+      BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.EVENT_ORGANIZATION_CREATE_TABLE);
+      BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.EVENT_ORGANIZATION_CREATE_ORGANIZATION_INDEX);
+      LOG.info("Database table 'EVENT_ORGANIZATION' created");
+    }
+  }
+
+  /**
+   * The event tables have no foreign key constraints, so all of them can be created at the same time.
+   */
+  protected List<TableDefinition> getTableDefinitions() {
+    return Arrays.asList(
+        new TableDefinition("EVENT", this::createEventTable).withMigration(this::migrateEventTable),
+        new TableDefinition("PARTICIPANT", this::createParticipantTable),
+        new TableDefinition("EVENT_ORGANIZATION", this::createEventOrganizationTable));
   }
 
   @Override
   public void dropDataStore() {
-    SQL.update(SQLs.PARTICIPANT_DROP_TABLE);
-    SQL.update(SQLs.EVENT_DROP_TABLE);
+    BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.EVENT_ORGANIZATION_DROP_TABLE);
+    BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.PARTICIPANT_DROP_TABLE);
+    BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.EVENT_DROP_TABLE);
   }
 
   @Override
   public void createDataStore() {
-    createEventTable();
-    createParticipantTable();
+    BEANS.get(SchemaMetadataService.class).createTables(getTableDefinitions());
+    BEANS.get(ParticipationSummaryService.class).rebuild();
   }
 }
@@ -10,57 +10,63 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.events.server.person;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import org.eclipse.scout.contacts.events.server.EventCountBean;
+import org.eclipse.scout.contacts.events.server.ParticipationSummaryService;
 import org.eclipse.scout.contacts.events.server.sql.SQLs;
 import org.eclipse.scout.contacts.events.shared.person.PersonFormTabExtensionData;
 import org.eclipse.scout.contacts.events.shared.person.PersonTablePageDataExtension;
 import org.eclipse.scout.contacts.server.person.PersonService;
+import org.eclipse.scout.contacts.server.sql.SelectContribution;
 import org.eclipse.scout.contacts.shared.person.PersonFormData;
 import org.eclipse.scout.contacts.shared.person.PersonTablePageData;
 import org.eclipse.scout.contacts.shared.person.PersonTablePageData.PersonTableRowData;
+import org.eclipse.scout.rt.platform.BEANS;
 import org.eclipse.scout.rt.platform.Replace;
-import org.eclipse.scout.rt.platform.holders.BeanArrayHolder;
-import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.holders.LongArrayHolder;
 import org.eclipse.scout.rt.platform.util.NumberUtility;
 import org.eclipse.scout.rt.server.jdbc.SQL;
-import org.eclipse.scout.rt.shared.services.common.jdbc.SearchFilter;
 
 @Replace
 public class PersonServiceExtension extends PersonService {
 
-  @Override
-  public PersonTablePageData getPersonTableData(SearchFilter filter, String organizationId) {
-    PersonTablePageData pageData = super.getPersonTableData(filter, organizationId);
+  private static final String EVENT_COUNT_BIND = "eventCounts";
 
-    // Add number of events to persons
-    BeanArrayHolder<EventCountBean> arrayHolder = new BeanArrayHolder<>(EventCountBean.class);
-    SQL.selectInto(SQLs.EVENT_COUNT_BY_PERSON, new NVPair("bean", arrayHolder));
+  @Override
+  protected void contributePageColumns(SelectContribution contribution) {
+    super.contributePageColumns(contribution);
+    contribution.addColumn(SQLs.PERSON_EVENT_COUNT_COLUMN, EVENT_COUNT_BIND, new LongArrayHolder());
+  }
 
-    // Create a map to access event count by person
-    Map<String, Long> eventCounts = new HashMap<>();
-    for (EventCountBean counter : arrayHolder.getBeans()) {
-      eventCounts.put(counter.getPersonId(), counter.getEventCount());
-    }
+  @Override
+  protected void importPageColumns(PersonTablePageData pageData, SelectContribution contribution) {
+    super.importPageColumns(pageData, contribution);
 
-    // Add event count to persons
-    for (PersonTableRowData personRow : pageData.getRows()) {
-      long eventCount = NumberUtility.nvl(eventCounts.get(personRow.getPersonId()), 0L);
-      personRow.getContribution(PersonTablePageDataExtension.class).setEvents(eventCount);
+    // Add number of events to persons
+    Long[] eventCounts = contribution.<LongArrayHolder> getHolder(EVENT_COUNT_BIND).getValue();
+    PersonTableRowData[] rows = pageData.getRows();
+    for (int i = 0; i < rows.length; i++) {
+      long eventCount = NumberUtility.nvl(eventCounts[i], 0L);
+      rows[i].getContribution(PersonTablePageDataExtension.class).setEvents(eventCount);
     }
-
-    return pageData;
   }
 
   @Override
   public PersonFormData load(PersonFormData formData) {
     formData = super.load(formData);
 
+    // the events are not part of the cached person, they change with the events and participations
     PersonFormTabExtensionData extensionData = formData.getContribution(PersonFormTabExtensionData.class);
     SQL.selectInto(SQLs.PERSON_EVENT_SELECT, extensionData, formData);
 
     return formData;
   }
+
+  @Override
+  public PersonFormData store(PersonFormData formData) {
+    formData = super.store(formData);
+
+    // the organization of the person may have changed
+    BEANS.get(ParticipationSummaryService.class).refreshPersonEvents(formData.getPersonId());
+
+    return formData;
+  }
 }
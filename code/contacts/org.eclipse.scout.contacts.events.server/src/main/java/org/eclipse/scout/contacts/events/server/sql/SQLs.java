@@ -12,11 +12,6 @@ package org.eclipse.scout.contacts.events.server.sql;
 
 public interface SQLs {
 
-  String SELECT_TABLE_NAMES = ""
-      + "SELECT       UPPER(tablename) "
-      + "FROM         sys.systables "
-      + "INTO         :result";
-
   String EVENT_CREATE_TABLE = ""
       + "CREATE       "
       + "TABLE        EVENT "
@@ -29,36 +24,20 @@ public interface SQLs {
       + "             phone VARCHAR(20), "
       + "             email VARCHAR(64), "
       + "             url VARCHAR(64), "
-      + "             notes VARCHAR(1024))";
+      + "             notes VARCHAR(1024), "
+      + "             participant_count INTEGER DEFAULT 0 NOT NULL)";
 
-  String EVENT_INSERT_SAMPLE = ""
-      + "INSERT       "
-      + "INTO         EVENT "
-      + "            (event_id, "
-      + "             title, "
-      + "             date_start, "
-      + "             date_end, "
-      + "             city, "
-      + "             country, "
-      + "             url) ";
-
-  String EVENT_INSERT_VALUES_01 = ""
-      + "VALUES      ('evt01', "
-      + "             'JavaLand 2017', "
-      + "             '2017-03-28 09:00:00', "
-      + "             '2017-03-30 17:00:00', "
-      + "             'Bruehl', "
-      + "             'DE', "
-      + "             'https://www.javaland.eu/de/javaland-2017/')";
-
-  String EVENT_INSERT_VALUES_02 = ""
-      + "VALUES      ('evt02', "
-      + "             'EclipseCon Europe 2017', "
-      + "             '2016-10-24 09:00:00', "
-      + "             '2016-10-26 17:00:00', "
-      + "             'Ludwigsburg', "
-      + "             'DE', "
-      + "             'https://www.eclipsecon.org/europe2017/')";
+  String EVENT_CREATE_DATE_START_INDEX = "CREATE INDEX EVENT_DATE_START_IX ON EVENT (date_start, date_end)";
+
+  String EVENT_CREATE_DATE_END_INDEX = "CREATE INDEX EVENT_DATE_END_IX ON EVENT (date_end, date_start)";
+
+  String EVENT_ADD_ROW_VERSION_COLUMN = ""
+      + "ALTER        TABLE EVENT "
+      + "ADD          COLUMN row_version INTEGER DEFAULT 0 NOT NULL";
+
+  String EVENT_ADD_PARTICIPANT_COUNT_COLUMN = ""
+      + "ALTER        TABLE EVENT "
+      + "ADD          COLUMN participant_count INTEGER DEFAULT 0 NOT NULL";
 
   String PARTICIPANT_CREATE_TABLE = ""
       + "CREATE       "
@@ -67,15 +46,17 @@ public interface SQLs {
       + "              person_id VARCHAR(64) NOT NULL, "
       + "PRIMARY KEY  (event_id, person_id))";
 
-  String PARTICIPANT_INSERT_SAMPLE = ""
-      + "INSERT       "
-      + "INTO         PARTICIPANT "
-      + "            (event_id, "
-      + "             person_id) ";
+  String PARTICIPANT_CREATE_PERSON_INDEX = "CREATE INDEX PARTICIPANT_PERSON_IX ON PARTICIPANT (person_id)";
+
+  String EVENT_ORGANIZATION_CREATE_TABLE = ""
+      + "CREATE       "
+      + "TABLE        EVENT_ORGANIZATION "
+      + "             (event_id VARCHAR(64) NOT NULL, "
+      + "              organization_id VARCHAR(64) NOT NULL, "
+      + "              participant_count INTEGER NOT NULL, "
+      + "PRIMARY KEY  (event_id, organization_id))";
 
-  String PARTICIPANT_INSERT_VALUES_01 = "VALUES ('evt01', 'prs01')";
-  String PARTICIPANT_INSERT_VALUES_02 = "VALUES ('evt02', 'prs01')";
-  String PARTICIPANT_INSERT_VALUES_03 = "VALUES ('evt01', 'prs02')";
+  String EVENT_ORGANIZATION_CREATE_ORGANIZATION_INDEX = "CREATE INDEX EVENT_ORGANIZATION_ORGANIZATION_IX ON EVENT_ORGANIZATION (organization_id)";
 
   String PERSON_EVENT_SELECT = ""
       + "SELECT       e.event_id, "
@@ -101,17 +82,13 @@ public interface SQLs {
       + "             e.city, "
       + "             e.country, "
       + "             e.url, "
-      + "             (SELECT   COUNT(1) "
-      + "             FROM     PARTICIPANT p "
-      + "             WHERE    P.event_id = e.event_id) "
+      + "             e.participant_count "
       + "FROM         EVENT e";
 
   String EVENT_PAGE_DATA_WHERE_CLAUSE = ""
-      + "AND          e.event_id in (SELECT DISTINCT p.event_id "
-      + "                            FROM    PARTICIPANT p, "
-      + "                                    PERSON c "
-      + "                            WHERE   p.person_id = c.person_id "
-      + "                            AND     organization_id = :organizationId)";
+      + "AND          e.event_id IN (SELECT  eo.event_id "
+      + "                            FROM    EVENT_ORGANIZATION eo "
+      + "                            WHERE   eo.organization_id = :organizationId)";
 
   String EVENT_PAGE_DATA_INTO = ""
       + "INTO         :{page.eventId}, "
@@ -123,6 +100,42 @@ public interface SQLs {
       + "             :{page.homepage}, "
       + "             :{page.participants}";
 
+  /**
+   * Events overlapping the interval [:from, :to). Events without end overlap it if they start within it. The two
+   * branches use the indexes on the time columns and do not read events outside of the interval.
+   */
+  String EVENT_CALENDAR_SELECT = ""
+      + "SELECT       e.event_id, "
+      + "             e.title, "
+      + "             e.date_start, "
+      + "             e.date_end, "
+      + "             e.city, "
+      + "             e.country, "
+      + "             e.url, "
+      + "             e.participant_count "
+      + "FROM         EVENT e "
+      + "WHERE        e.date_start < :to "
+      + "AND          e.date_end >= :from %1$s "
+      + "UNION ALL "
+      + "SELECT       e.event_id, "
+      + "             e.title, "
+      + "             e.date_start, "
+      + "             e.date_end, "
+      + "             e.city, "
+      + "             e.country, "
+      + "             e.url, "
+      + "             e.participant_count "
+      + "FROM         EVENT e "
+      + "WHERE        e.date_start >= :from "
+      + "AND          e.date_start < :to "
+      + "AND          e.date_end IS NULL %1$s";
+
+  String EVENT_DATES_SELECT = ""
+      + "SELECT       date_start, "
+      + "             date_end "
+      + "FROM         EVENT "
+      + "WHERE        date_start IS NOT NULL %s";
+
   String EVENT_INSERT = ""
       + "INSERT     INTO "
       + "EVENT      (event_id) "
@@ -137,7 +150,8 @@ public interface SQLs {
       + "             phone, "
       + "             email, "
       + "             url, "
-      + "             notes "
+      + "             notes, "
+      + "             row_version "
       + "FROM         EVENT "
       + "WHERE        event_id = :eventId "
       + "INTO         :title, "
@@ -148,7 +162,8 @@ public interface SQLs {
       + "             :phone, "
       + "             :email, "
       + "             :homepage, "
-      + "             :notesBox.notes";
+      + "             :notesBox.notes, "
+      + "             :rowVersion";
 
   String EVENT_UPDATE = ""
       + "UPDATE       EVENT "
@@ -160,42 +175,136 @@ public interface SQLs {
       + "             country = :locationBox.country, "
       + "             phone = :phone, "
       + "             email = :email, "
-      + "             notes = :notesBox.notes "
-      + "WHERE        event_id = :eventId";
+      + "             notes = :notesBox.notes, "
+      + "             row_version = row_version + 1 "
+      + "WHERE        event_id = :eventId "
+      + "AND          row_version = :rowVersion";
 
   String EVENT_PARTICIPANTS_SELECT = ""
-      + "SELECT       c.person_id, "
+      + "SELECT       p.person_id, "
       + "             c.first_name, "
       + "             c.last_name, "
       + "             c.organization_id "
       + "FROM         PARTICIPANT p "
       + "LEFT JOIN    PERSON c "
       + "ON           c.person_id = p.person_id "
-      + "WHERE        p.event_id = :eventId "
+      + "WHERE        p.event_id = :eventId ";
+
+  String AND_PARTICIPANT_NAME_LIKE = ""
+      + "AND          (c.first_name_search LIKE :filter "
+      + "             OR c.last_name_search LIKE :filter) ";
+
+  String AND_PARTICIPANT_AFTER_CURSOR = "AND p.person_id > :cursorPersonId ";
+
+  String EVENT_PARTICIPANTS_ORDER_BY = "ORDER BY p.person_id ";
+
+  String FETCH_FIRST_ROWS = "FETCH FIRST %d ROWS ONLY ";
+
+  String EVENT_PARTICIPANTS_INTO = ""
       + "INTO         :{participantTableField.personId}, "
       + "             :{participantTableField.firstName}, "
       + "             :{participantTableField.lastName}, "
       + "             :{participantTableField.organization}";
 
+  String EVENT_PARTICIPANTS_EXISTING_SELECT = ""
+      + "SELECT       person_id "
+      + "FROM         PARTICIPANT "
+      + "WHERE        event_id = :eventId "
+      + "AND          person_id = :personIds";
+
   String EVENT_PARTICIPANTS_DELETE = ""
       + "DELETE       FROM PARTICIPANT "
-      + "WHERE        event_id = :eventId "
-      + "AND          person_id = :{personId}";
+      + "WHERE        event_id = ? "
+      + "AND          person_id IN (%s)";
 
   String EVENT_PARTICIPANTS_INSERT = ""
       + "INSERT       INTO "
       + "PARTICIPANT  (event_id, "
       + "              person_id) "
-      + "VALUES       (:eventId, "
-      + "              :{personId})";
+      + "VALUES       (?, "
+      + "              ?)";
 
-  String EVENT_COUNT_BY_PERSON = ""
-      + "SELECT       person_id, "
-      + "             COUNT(event_id) "
-      + "FROM         PARTICIPANT "
-      + "GROUP BY     person_id "
-      + "INTO         :{bean.personId}, "
-      + "             :{bean.eventCount}";
+  String EVENT_PARTICIPANT_COUNT_UPDATE = ""
+      + "UPDATE       EVENT "
+      + "SET          participant_count = (SELECT  COUNT(1) "
+      + "                                  FROM    PARTICIPANT p "
+      + "                                  WHERE   p.event_id = EVENT.event_id) "
+      + "WHERE        1 = 1 %s";
+
+  String EVENT_ORGANIZATION_DELETE = ""
+      + "DELETE       FROM EVENT_ORGANIZATION "
+      + "WHERE        1 = 1 %s";
+
+  String EVENT_ORGANIZATION_INSERT = ""
+      + "INSERT       INTO "
+      + "EVENT_ORGANIZATION (event_id, "
+      + "              organization_id, "
+      + "              participant_count) "
+      + "SELECT       p.event_id, "
+      + "             c.organization_id, "
+      + "             COUNT(1) "
+      + "FROM         PARTICIPANT p "
+      + "JOIN         PERSON c "
+      + "ON           c.person_id = p.person_id "
+      + "WHERE        c.organization_id IS NOT NULL %s "
+      + "GROUP BY     p.event_id, "
+      + "             c.organization_id";
+
+  String AND_EVENT_RESTRICTION = "AND event_id = :eventId ";
+
+  String AND_PERSON_EVENTS_RESTRICTION = "AND event_id IN (SELECT pp.event_id FROM PARTICIPANT pp WHERE pp.person_id = :personId) ";
+
+  String EVENT_PARTICIPANT_COUNT_MISMATCHES = ""
+      + "SELECT       COUNT(1) "
+      + "FROM         EVENT e "
+      + "WHERE        e.participant_count <> (SELECT  COUNT(1) "
+      + "                                     FROM    PARTICIPANT p "
+      + "                                     WHERE   p.event_id = e.event_id) "
+      + "INTO         :mismatches";
+
+  String EVENT_ORGANIZATION_MISSING_ROWS = ""
+      + "SELECT       COUNT(1) "
+      + "FROM         (SELECT    p.event_id, "
+      + "                        c.organization_id, "
+      + "                        COUNT(1) AS participant_count "
+      + "              FROM      PARTICIPANT p "
+      + "              JOIN      PERSON c "
+      + "              ON        c.person_id = p.person_id "
+      + "              WHERE     c.organization_id IS NOT NULL "
+      + "              GROUP BY  p.event_id, "
+      + "                        c.organization_id) x "
+      + "LEFT JOIN    EVENT_ORGANIZATION eo "
+      + "ON           eo.event_id = x.event_id "
+      + "AND          eo.organization_id = x.organization_id "
+      + "WHERE        eo.participant_count IS NULL "
+      + "OR           eo.participant_count <> x.participant_count "
+      + "INTO         :mismatches";
+
+  String EVENT_ORGANIZATION_STALE_ROWS = ""
+      + "SELECT       COUNT(1) "
+      + "FROM         EVENT_ORGANIZATION eo "
+      + "WHERE        eo.participant_count <> (SELECT  COUNT(1) "
+      + "                                      FROM    PARTICIPANT p "
+      + "                                      JOIN    PERSON c "
+      + "                                      ON      c.person_id = p.person_id "
+      + "                                      WHERE   p.event_id = eo.event_id "
+      + "                                      AND     c.organization_id = eo.organization_id) "
+      + "INTO         :mismatches";
+
+  String PERSON_EVENT_COUNT_COLUMN = ""
+      + "(SELECT      COUNT(1) "
+      + " FROM        PARTICIPANT pa "
+      + " WHERE       pa.person_id = p.person_id)";
+
+  String EVENT_SEARCH_DOCUMENTS = ""
+      + "SELECT   event_id, "
+      + "         title, "
+      + "         city "
+      + "FROM     EVENT ";
+
+  String EVENT_SEARCH_DOCUMENT_WHERE = "WHERE    event_id = :eventId";
+
+  String EVENT_ORGANIZATION_DROP_TABLE = "DROP TABLE EVENT_ORGANIZATION";
 
   String PARTICIPANT_DROP_TABLE = "DROP TABLE PARTICIPANT";
 
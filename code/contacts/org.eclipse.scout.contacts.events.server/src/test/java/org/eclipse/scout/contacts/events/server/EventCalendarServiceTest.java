@@ -0,0 +1,126 @@
+package org.eclipse.scout.contacts.events.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.scout.contacts.events.server.EventCalendarService.MonthCacheEntryFilter;
+import org.eclipse.scout.contacts.events.server.EventCalendarService.MonthKey;
+import org.eclipse.scout.contacts.events.server.EventCalendarService.MonthRange;
+import org.eclipse.scout.contacts.events.server.sql.SQLs;
+import org.eclipse.scout.contacts.events.shared.event.EventFormData;
+import org.eclipse.scout.contacts.events.shared.event.EventTablePageData.EventTableRowData;
+import org.eclipse.scout.contacts.server.ServerSession;
+import org.eclipse.scout.contacts.server.sql.DatabaseSetupService;
+import org.eclipse.scout.contacts.server.sql.DerbySqlService;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.cache.ICacheEntryFilter;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.transaction.TransactionScope;
+import org.eclipse.scout.rt.server.context.ServerRunContexts;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link EventCalendarService}
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(ServerSession.class)
+@RunWithSubject("default")
+public class EventCalendarServiceTest {
+
+  private static final YearMonth JANUARY = YearMonth.of(2031, 1);
+  private static final YearMonth MARCH = YearMonth.of(2031, 3);
+
+  @BeforeClass
+  public static void setupDatabase() {
+    BEANS.get(DatabaseSetupService.class).createOrganizationTable();
+    BEANS.get(DatabaseSetupService.class).createPersonTable();
+    BEANS.get(PlatformListener.class).createDataStore();
+  }
+
+  @AfterClass
+  public static void destroyDBConnections() {
+    BEANS.get(DerbySqlService.class).dropDB();
+    BEANS.get(DerbySqlService.class).destroySqlConnectionPool();
+  }
+
+  @Test
+  public void testMovedEventLeavesCachedMonth() {
+    String eventId = createEvent(JANUARY);
+    assertTrue(getEventIds(JANUARY).contains(eventId));
+    assertFalse(getEventIds(MARCH).contains(eventId));
+
+    ServerRunContexts.copyCurrent().withTransactionScope(TransactionScope.REQUIRES_NEW).run(() -> {
+      EventFormData formData = new EventFormData();
+      formData.setEventId(eventId);
+      formData = new EventService().load(formData);
+      formData.getStarts().setValue(EventCalendarService.toDate(MARCH));
+      formData.getEnds().setValue(EventCalendarService.toDate(MARCH));
+      new EventService().store(formData);
+    });
+
+    assertFalse(getEventIds(JANUARY).contains(eventId));
+    assertTrue(getEventIds(MARCH).contains(eventId));
+  }
+
+  @Test
+  public void testMonthsOfStoredEvent() {
+    String eventId = createEvent(JANUARY);
+    List<MonthRange> months = BEANS.get(EventCalendarService.class).getMonths(SQLs.AND_EVENT_RESTRICTION, new NVPair("eventId", eventId));
+    assertEquals(1, months.size());
+    assertTrue(months.get(0).contains(JANUARY));
+    assertFalse(months.get(0).contains(JANUARY.plusMonths(1)));
+  }
+
+  @Test
+  public void testFilterAcceptsMonthsOfAllOrganizations() {
+    MonthCacheEntryFilter filter = new MonthCacheEntryFilter(Collections.singletonList(new MonthRange(JANUARY, MARCH)));
+    assertTrue(filter.accept(new MonthKey("", JANUARY), null));
+    assertTrue(filter.accept(new MonthKey("organization", MARCH), null));
+    assertFalse(filter.accept(new MonthKey("", JANUARY.minusMonths(1)), null));
+    assertFalse(filter.accept(new MonthKey("organization", MARCH.plusMonths(1)), null));
+  }
+
+  @Test
+  public void testFiltersAreCoalesced() {
+    MonthCacheEntryFilter january = new MonthCacheEntryFilter(Collections.singletonList(new MonthRange(JANUARY, JANUARY)));
+    MonthCacheEntryFilter march = new MonthCacheEntryFilter(Collections.singletonList(new MonthRange(MARCH, MARCH)));
+
+    ICacheEntryFilter<MonthKey, List<Object[]>> coalesced = january.coalesce(march);
+    assertTrue(coalesced.accept(new MonthKey("", JANUARY), null));
+    assertTrue(coalesced.accept(new MonthKey("", MARCH), null));
+    assertFalse(coalesced.accept(new MonthKey("", JANUARY.plusMonths(1)), null));
+  }
+
+  private static String createEvent(YearMonth month) {
+    return ServerRunContexts.copyCurrent().withTransactionScope(TransactionScope.REQUIRES_NEW).call(() -> {
+      EventFormData formData = new EventFormData();
+      formData.getTitle().setValue("Calendar Test");
+      formData.getStarts().setValue(EventCalendarService.toDate(month));
+      formData.getEnds().setValue(EventCalendarService.toDate(month));
+      return new EventService().create(formData).getEventId();
+    });
+  }
+
+  private static List<String> getEventIds(YearMonth month) {
+    Date from = EventCalendarService.toDate(month);
+    Date to = EventCalendarService.toDate(month.plusMonths(1));
+    List<String> eventIds = new ArrayList<>();
+    for (EventTableRowData row : BEANS.get(EventCalendarService.class).getEvents(from, to, null, 0).getRows()) {
+      eventIds.add(row.getEventId());
+    }
+    return eventIds;
+  }
+}
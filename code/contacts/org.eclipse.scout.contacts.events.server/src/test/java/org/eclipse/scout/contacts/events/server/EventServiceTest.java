@@ -0,0 +1,88 @@
+package org.eclipse.scout.contacts.events.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.scout.contacts.events.server.sql.SQLs;
+import org.eclipse.scout.contacts.events.shared.event.ParticipantChunk;
+import org.eclipse.scout.contacts.server.ServerSession;
+import org.eclipse.scout.contacts.server.person.PersonService;
+import org.eclipse.scout.contacts.server.sql.DatabaseSetupService;
+import org.eclipse.scout.contacts.server.sql.DerbySqlService;
+import org.eclipse.scout.contacts.shared.person.PersonFormData;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.exception.VetoException;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link EventService}
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(ServerSession.class)
+@RunWithSubject("default")
+public class EventServiceTest {
+
+  private static final String EVENT_ID = "participants-test";
+
+  private static final List<String> PERSON_IDS = new ArrayList<>();
+
+  @BeforeClass
+  public static void setupDatabase() {
+    BEANS.get(DatabaseSetupService.class).createOrganizationTable();
+    BEANS.get(DatabaseSetupService.class).createPersonTable();
+    BEANS.get(PlatformListener.class).createDataStore();
+
+    for (int i = 0; i < 3; i++) {
+      PersonFormData formData = new PersonFormData();
+      formData.getLastName().setValue("Participant " + i);
+      PERSON_IDS.add(new PersonService().create(formData).getPersonId());
+    }
+    Collections.sort(PERSON_IDS);
+
+    SQL.insert(SQLs.EVENT_INSERT, new NVPair("eventId", EVENT_ID));
+    BEANS.get(ParticipantBatchService.class).insertParticipants(EVENT_ID, PERSON_IDS);
+  }
+
+  @AfterClass
+  public static void destroyDBConnections() {
+    BEANS.get(DerbySqlService.class).dropDB();
+    BEANS.get(DerbySqlService.class).destroySqlConnectionPool();
+  }
+
+  @Test
+  public void testChunkIsLimitedIfMoreParticipantsFollow() {
+    ParticipantChunk chunk = new EventService().loadParticipants(EVENT_ID, null, null, 2);
+    assertEquals(2, chunk.getParticipants().getRowCount());
+    assertTrue(chunk.isLimitedResult());
+
+    ParticipantChunk next = new EventService().loadParticipants(EVENT_ID, null, chunk.getParticipants().rowAt(1).getPersonId(), 2);
+    assertEquals(1, next.getParticipants().getRowCount());
+    assertEquals(PERSON_IDS.get(2), next.getParticipants().rowAt(0).getPersonId());
+    assertFalse(next.isLimitedResult());
+  }
+
+  @Test
+  public void testFullChunkIsNotLimitedWithoutFurtherParticipants() {
+    ParticipantChunk chunk = new EventService().loadParticipants(EVENT_ID, null, null, PERSON_IDS.size());
+    assertEquals(PERSON_IDS.size(), chunk.getParticipants().getRowCount());
+    assertFalse(chunk.isLimitedResult());
+  }
+
+  @Test(expected = VetoException.class)
+  public void testExistingParticipantIsRejected() {
+    BEANS.get(ParticipantBatchService.class).insertParticipants(EVENT_ID, Collections.singletonList(PERSON_IDS.get(0)));
+  }
+}
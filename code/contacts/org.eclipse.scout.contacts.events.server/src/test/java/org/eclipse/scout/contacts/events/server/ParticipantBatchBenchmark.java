@@ -0,0 +1,105 @@
+package org.eclipse.scout.contacts.events.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scout.contacts.server.ServerSession;
+import org.eclipse.scout.contacts.server.sql.DatabaseSetupService;
+import org.eclipse.scout.contacts.server.sql.DerbySqlService;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the cost per participant of adding and removing the participants of an event with one statement per row
+ * (as bound by a <code>TableBeanHolderFilter</code>) against {@link ParticipantBatchService}.
+ * <p>
+ * Not part of the regular test run. Start it manually.
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(ServerSession.class)
+@RunWithSubject("default")
+public class ParticipantBatchBenchmark {
+  private static final Logger LOG = LoggerFactory.getLogger(ParticipantBatchBenchmark.class);
+
+  private static final int[] PARTICIPANTS = {10, 1000, 50000};
+  private static final String EVENT_ID = "benchmark";
+
+  private static final String INSERT_PER_ROW = ""
+      + "INSERT   INTO PARTICIPANT (event_id, person_id) "
+      + "VALUES   (:eventId, :{personIds})";
+
+  private static final String DELETE_PER_ROW = ""
+      + "DELETE   FROM PARTICIPANT "
+      + "WHERE    event_id = :eventId "
+      + "AND      person_id = :{personIds}";
+
+  @BeforeClass
+  public static void setupDatabase() {
+    BEANS.get(DatabaseSetupService.class).createOrganizationTable();
+    BEANS.get(DatabaseSetupService.class).createPersonTable();
+    BEANS.get(PlatformListener.class).createDataStore();
+  }
+
+  @AfterClass
+  public static void destroyDBConnections() {
+    BEANS.get(DerbySqlService.class).dropDB();
+    BEANS.get(DerbySqlService.class).destroySqlConnectionPool();
+  }
+
+  @Test
+  public void benchmarkParticipantDiff() {
+    // warm up both variants
+    measurePerRow(createPersonIds(100));
+    measureBatched(createPersonIds(100));
+
+    for (int participants : PARTICIPANTS) {
+      List<String> personIds = createPersonIds(participants);
+      double perRowMicros = measurePerRow(personIds);
+      double batchedMicros = measureBatched(personIds);
+      LOG.info("Adding and removing {} participants: per row {} us/participant, batched {} us/participant",
+          participants, String.format("%.2f", perRowMicros), String.format("%.2f", batchedMicros));
+    }
+  }
+
+  private double measurePerRow(List<String> personIds) {
+    NVPair eventId = new NVPair("eventId", EVENT_ID);
+    NVPair ids = new NVPair("personIds", personIds.toArray(new String[0]));
+    long start = System.nanoTime();
+    SQL.insert(INSERT_PER_ROW, eventId, ids);
+    SQL.delete(DELETE_PER_ROW, eventId, ids);
+    SQL.commit();
+    return perParticipant(System.nanoTime() - start, personIds.size());
+  }
+
+  private double measureBatched(List<String> personIds) {
+    ParticipantBatchService service = BEANS.get(ParticipantBatchService.class);
+    long start = System.nanoTime();
+    service.insertParticipants(EVENT_ID, personIds);
+    service.deleteParticipants(EVENT_ID, personIds);
+    SQL.commit();
+    return perParticipant(System.nanoTime() - start, personIds.size());
+  }
+
+  private static double perParticipant(long nanos, int participants) {
+    return TimeUnit.NANOSECONDS.toMicros(nanos) / (double) participants;
+  }
+
+  private static List<String> createPersonIds(int count) {
+    List<String> personIds = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      personIds.add("bm" + i);
+    }
+    return personIds;
+  }
+}
@@ -0,0 +1,131 @@
+package org.eclipse.scout.contacts.events.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.scout.contacts.events.server.sql.SQLs;
+import org.eclipse.scout.contacts.server.ServerSession;
+import org.eclipse.scout.contacts.server.organization.OrganizationService;
+import org.eclipse.scout.contacts.server.person.PersonService;
+import org.eclipse.scout.contacts.server.sql.DatabaseSetupService;
+import org.eclipse.scout.contacts.server.sql.DerbySqlService;
+import org.eclipse.scout.contacts.shared.organization.OrganizationFormData;
+import org.eclipse.scout.contacts.shared.person.PersonFormData;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.holders.IntegerHolder;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link ParticipationSummaryService}
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(ServerSession.class)
+@RunWithSubject("default")
+public class ParticipationSummaryServiceTest {
+
+  private static final String EVENT_ID = "summary-test";
+
+  private static String organizationId;
+  private static String personId;
+  private static String otherPersonId;
+
+  @BeforeClass
+  public static void setupDatabase() {
+    BEANS.get(DatabaseSetupService.class).createOrganizationTable();
+    BEANS.get(DatabaseSetupService.class).createPersonTable();
+    BEANS.get(PlatformListener.class).createDataStore();
+
+    OrganizationFormData organization = new OrganizationFormData();
+    organization.getName().setValue("Summary Test");
+    organizationId = new OrganizationService().create(organization).getOrganizationId();
+    personId = createPerson("Muster", organizationId);
+    otherPersonId = createPerson("Meier", organizationId);
+
+    SQL.insert(SQLs.EVENT_INSERT, new NVPair("eventId", EVENT_ID));
+  }
+
+  @AfterClass
+  public static void destroyDBConnections() {
+    BEANS.get(DerbySqlService.class).dropDB();
+    BEANS.get(DerbySqlService.class).destroySqlConnectionPool();
+  }
+
+  @Before
+  public void removeParticipants() {
+    BEANS.get(ParticipantBatchService.class).deleteParticipants(EVENT_ID, Arrays.asList(personId, otherPersonId));
+    BEANS.get(ParticipationSummaryService.class).rebuild();
+  }
+
+  @Test
+  public void testRefreshEventUpdatesSummaries() {
+    BEANS.get(ParticipantBatchService.class).insertParticipants(EVENT_ID, Arrays.asList(personId, otherPersonId));
+    assertTrue(BEANS.get(ParticipationSummaryService.class).countInconsistencies() > 0);
+
+    BEANS.get(ParticipationSummaryService.class).refreshEvent(EVENT_ID);
+    assertEquals(0, BEANS.get(ParticipationSummaryService.class).countInconsistencies());
+    assertEquals(2, getParticipantCount());
+    assertEquals(2, getOrganizationParticipantCount());
+  }
+
+  @Test
+  public void testRefreshEventRemovesOrganizationRows() {
+    BEANS.get(ParticipantBatchService.class).insertParticipants(EVENT_ID, Collections.singletonList(personId));
+    BEANS.get(ParticipationSummaryService.class).refreshEvent(EVENT_ID);
+    assertEquals(1, getOrganizationParticipantCount());
+
+    BEANS.get(ParticipantBatchService.class).deleteParticipants(EVENT_ID, Collections.singletonList(personId));
+    BEANS.get(ParticipationSummaryService.class).refreshEvent(EVENT_ID);
+    assertEquals(0, BEANS.get(ParticipationSummaryService.class).countInconsistencies());
+    assertEquals(0, getParticipantCount());
+    assertEquals(0, getOrganizationParticipantCount());
+  }
+
+  @Test
+  public void testCheckAndRepairWithoutInconsistencies() {
+    assertEquals(0, BEANS.get(ParticipationSummaryService.class).checkAndRepair());
+  }
+
+  @Test
+  public void testCheckAndRepairRebuildsSummaries() {
+    BEANS.get(ParticipantBatchService.class).insertParticipants(EVENT_ID, Collections.singletonList(personId));
+    SQL.update("UPDATE EVENT SET participant_count = 5 WHERE event_id = :eventId", new NVPair("eventId", EVENT_ID));
+
+    assertTrue(BEANS.get(ParticipationSummaryService.class).checkAndRepair() > 0);
+    assertEquals(0, BEANS.get(ParticipationSummaryService.class).countInconsistencies());
+    assertEquals(1, getParticipantCount());
+    assertEquals(1, getOrganizationParticipantCount());
+  }
+
+  private static int getParticipantCount() {
+    IntegerHolder count = new IntegerHolder();
+    SQL.selectInto("SELECT participant_count FROM EVENT WHERE event_id = :eventId INTO :count",
+        new NVPair("eventId", EVENT_ID), new NVPair("count", count));
+    return count.getValue();
+  }
+
+  private static int getOrganizationParticipantCount() {
+    IntegerHolder count = new IntegerHolder();
+    SQL.selectInto("SELECT SUM(participant_count) FROM EVENT_ORGANIZATION WHERE event_id = :eventId AND organization_id = :organizationId INTO :count",
+        new NVPair("eventId", EVENT_ID), new NVPair("organizationId", organizationId), new NVPair("count", count));
+    return count.getValue() == null ? 0 : count.getValue();
+  }
+
+  private static String createPerson(String lastName, String organization) {
+    PersonFormData formData = new PersonFormData();
+    formData.getLastName().setValue(lastName);
+    formData.getOrganization().setValue(organization);
+    return new PersonService().create(formData).getPersonId();
+  }
+}
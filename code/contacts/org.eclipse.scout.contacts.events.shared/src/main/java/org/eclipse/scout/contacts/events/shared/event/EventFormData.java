@@ -77,6 +77,24 @@ public class EventFormData extends AbstractFormData {
     return getFieldByClass(Phone.class);
   }
 
+  /**
+   * access method for property RowVersion.
+   */
+  public Long getRowVersion() {
+    return getRowVersionProperty().getValue();
+  }
+
+  /**
+   * access method for property RowVersion.
+   */
+  public void setRowVersion(Long rowVersion) {
+    getRowVersionProperty().setValue(rowVersion);
+  }
+
+  public RowVersionProperty getRowVersionProperty() {
+    return getPropertyByClass(RowVersionProperty.class);
+  }
+
   public Starts getStarts() {
     return getFieldByClass(Starts.class);
   }
@@ -204,6 +222,11 @@ public class EventFormData extends AbstractFormData {
     private static final long serialVersionUID = 1L;
   }
 
+  public static class RowVersionProperty extends AbstractPropertyData<Long> {
+
+    private static final long serialVersionUID = 1L;
+  }
+
   public static class Starts extends AbstractValueFieldData<Date> {
 
     private static final long serialVersionUID = 1L;
@@ -10,6 +10,8 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.events.shared.event;
 
+import java.util.Date;
+
 import org.eclipse.scout.rt.platform.ApplicationScoped;
 import org.eclipse.scout.rt.shared.TunnelToServer;
 import org.eclipse.scout.rt.shared.services.common.jdbc.SearchFilter;
@@ -20,10 +22,32 @@ public interface IEventService {
 
   EventTablePageData getTableData(SearchFilter filter, String organizationId);
 
+  /**
+   * Returns the events overlapping the time window [from, to) ordered by their start, e.g. for a calendar or timeline.
+   * If an organization id is set, only events with participants of this organization are returned. A limit of
+   * <code>0</code> returns all events of the window.
+   */
+  EventTablePageData getEvents(Date from, Date to, String organizationId, int limit);
+
   EventFormData create(EventFormData formData);
 
+  /**
+   * Loads the event without its participants, see {@link #loadParticipants(String, String, String, int)}.
+   */
   EventFormData load(EventFormData formData);
 
+  /**
+   * Returns a chunk of the participants of the event ordered by person id.
+   *
+   * @param filter
+   *          if set, only participants with a first or last name starting with the filter are returned
+   * @param cursorPersonId
+   *          person id of the last participant of the previous chunk, <code>null</code> for the first chunk
+   * @param maxRows
+   *          maximum number of participants in the chunk, capped by the server
+   */
+  ParticipantChunk loadParticipants(String eventId, String filter, String cursorPersonId, int maxRows);
+
   EventFormData prepareCreate(EventFormData formData);
 
   EventFormData store(EventFormData formData);
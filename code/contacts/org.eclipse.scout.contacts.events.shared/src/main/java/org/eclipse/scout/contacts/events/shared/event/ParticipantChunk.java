@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.events.shared.event;
+
+import java.io.Serializable;
+
+import org.eclipse.scout.contacts.events.shared.event.EventFormData.ParticipantTableField;
+
+/**
+ * Chunk of the participants of an event, see {@link IEventService#loadParticipants(String, String, String, int)}.
+ */
+public class ParticipantChunk implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private final ParticipantTableField participants;
+  private final boolean limitedResult;
+
+  public ParticipantChunk(ParticipantTableField participants, boolean limitedResult) {
+    this.participants = participants;
+    this.limitedResult = limitedResult;
+  }
+
+  public ParticipantTableField getParticipants() {
+    return participants;
+  }
+
+  /**
+   * @return <code>true</code> if further participants follow the ones of this chunk
+   */
+  public boolean isLimitedResult() {
+    return limitedResult;
+  }
+}
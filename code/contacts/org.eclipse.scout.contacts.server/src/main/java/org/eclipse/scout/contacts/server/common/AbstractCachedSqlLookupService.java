@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.PostConstruct;
+
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.LookupCacheSizeProperty;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.cache.AllCacheEntryFilter;
+import org.eclipse.scout.rt.platform.cache.ICache;
+import org.eclipse.scout.rt.platform.cache.ICacheBuilder;
+import org.eclipse.scout.rt.platform.cache.ICacheValueResolver;
+import org.eclipse.scout.rt.platform.cache.KeyCacheEntryFilter;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.util.CollectionUtility;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipse.scout.rt.server.jdbc.lookup.AbstractSqlLookupService;
+import org.eclipse.scout.rt.shared.services.lookup.ILookupCall;
+import org.eclipse.scout.rt.shared.services.lookup.ILookupRow;
+import org.eclipse.scout.rt.shared.services.lookup.LookupRow;
+
+/**
+ * SQL lookup service with a bounded cache of the lookup rows by key.
+ * <p>
+ * Key lookups (e.g. resolving the display texts of smart columns) are answered from the cache. Missing keys are loaded
+ * with {@link #getConfiguredSqlSelectByKeys()}, one statement for a whole batch of keys. The services changing the
+ * looked up data must call {@link #invalidate(Collection)}, the invalidation is done once the current transaction is
+ * committed and propagated to the other cluster nodes. Text and all lookups are not cached.
+ */
+public abstract class AbstractCachedSqlLookupService extends AbstractSqlLookupService<String> {
+
+  private static final int MAX_KEYS_PER_STATEMENT = 1000;
+
+  private ICache<String, ILookupRow<String>> cache;
+
+  @PostConstruct
+  protected void initCache() {
+    cache = createCache();
+  }
+
+  protected ICache<String, ILookupRow<String>> createCache() {
+    @SuppressWarnings("unchecked")
+    ICacheBuilder<String, ILookupRow<String>> cacheBuilder = BEANS.get(ICacheBuilder.class);
+    return cacheBuilder
+        .withCacheId(getConfiguredCacheId())
+        .withValueResolver(new LookupRowResolver())
+        .withSizeBound(CONFIG.getPropertyValue(LookupCacheSizeProperty.class))
+        .withClusterEnabled(true)
+        .build();
+  }
+
+  /**
+   * @return unique id of the cache, the same on all cluster nodes
+   */
+  protected abstract String getConfiguredCacheId();
+
+  /**
+   * @return select of the key and text of the rows with the keys bound as array <code>:keys</code>, e.g.
+   *         <code>WHERE id = :keys</code>
+   */
+  protected abstract String getConfiguredSqlSelectByKeys();
+
+  @Override
+  public List<ILookupRow<String>> getDataByKey(ILookupCall<String> call) {
+    if (call.getKey() == null) {
+      return new ArrayList<>();
+    }
+    ILookupRow<String> row = cache.get(call.getKey());
+    return row == null ? new ArrayList<>() : CollectionUtility.arrayList(row);
+  }
+
+  /**
+   * @return the lookup rows of the given keys in the order of the keys. Unknown keys are skipped.
+   */
+  public List<ILookupRow<String>> getDataByKeys(Collection<String> keys) {
+    List<String> nonNullKeys = CollectionUtility.arrayListWithoutNullElements(keys);
+    Map<String, ILookupRow<String>> rowsByKey = cache.getAll(nonNullKeys);
+
+    List<ILookupRow<String>> rows = new ArrayList<>(nonNullKeys.size());
+    for (String key : nonNullKeys) {
+      ILookupRow<String> row = rowsByKey.get(key);
+      if (row != null) {
+        rows.add(row);
+      }
+    }
+    return rows;
+  }
+
+  public void invalidate(String key) {
+    invalidate(Collections.singleton(key));
+  }
+
+  public void invalidate(Collection<String> keys) {
+    Set<String> invalidatedKeys = CollectionUtility.hashSet(keys);
+    AfterCommitTransactionMember.runAfterCommit(() -> cache.invalidate(new KeyCacheEntryFilter<>(invalidatedKeys), true));
+  }
+
+  /**
+   * Invalidates all lookup rows once the current transaction is committed, e.g. after the data store is reset.
+   */
+  public void invalidateAll() {
+    AfterCommitTransactionMember.runAfterCommit(() -> cache.invalidate(new AllCacheEntryFilter<>(), true));
+  }
+
+  protected Map<String, ILookupRow<String>> loadRows(Collection<String> keys) {
+    Map<String, ILookupRow<String>> rows = new HashMap<>();
+    List<String> keyList = new ArrayList<>(keys);
+    for (int from = 0; from < keyList.size(); from += MAX_KEYS_PER_STATEMENT) {
+      List<String> chunk = keyList.subList(from, Math.min(from + MAX_KEYS_PER_STATEMENT, keyList.size()));
+      Object[][] data = SQL.select(getConfiguredSqlSelectByKeys(), new NVPair("keys", chunk.toArray(new String[0])));
+      for (Object[] row : data) {
+        String key = (String) row[0];
+        rows.put(key, new LookupRow<>(key, (String) row[1]));
+      }
+    }
+    return rows;
+  }
+
+  protected class LookupRowResolver implements ICacheValueResolver<String, ILookupRow<String>> {
+
+    @Override
+    public ILookupRow<String> resolve(String key) {
+      return loadRows(Collections.singleton(key)).get(key);
+    }
+
+    @Override
+    public Map<String, ILookupRow<String>> resolveAll(Set<String> keys) {
+      return loadRows(keys);
+    }
+  }
+}
@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.common;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PostConstruct;
+
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.FormDataCacheSizeProperty;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.cache.AllCacheEntryFilter;
+import org.eclipse.scout.rt.platform.cache.ICache;
+import org.eclipse.scout.rt.platform.cache.ICacheBuilder;
+import org.eclipse.scout.rt.platform.cache.ICacheValueResolver;
+import org.eclipse.scout.rt.platform.cache.KeyCacheEntryFilter;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.serialization.SerializationUtility;
+import org.eclipse.scout.rt.platform.transaction.AbstractTransactionMember;
+import org.eclipse.scout.rt.platform.transaction.ITransaction;
+import org.eclipse.scout.rt.shared.data.form.AbstractFormData;
+
+/**
+ * Bounded read-through cache of the form data of an entity by its id.
+ * <p>
+ * Missing entries are loaded with {@link #loadFormData(String)}. The entries are kept serialized, every call of
+ * {@link #get(String)} returns a new copy, so callers may change the returned form data. The services changing the
+ * entity must call {@link #invalidate(String)}, the invalidation is propagated to the other cluster nodes. It is
+ * repeated once the current transaction is committed, since a concurrent transaction may have cached the old data in
+ * the meantime.
+ * <p>
+ * Within the transaction changing an entity, its form data is loaded without caching it: the changes are not committed
+ * yet and would stay in the cache if the transaction is rolled back.
+ * <p>
+ * Every entry carries the version of the cache at the time its loading started, an invalidation increments the
+ * version. An entry loaded before the last invalidation of its entity (i.e. concurrently to a change) is not used but
+ * loaded again.
+ */
+public abstract class AbstractFormDataCache<F extends AbstractFormData> {
+
+  private final AtomicLong version = new AtomicLong();
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private volatile long invalidationVersionOfAll;
+  private Map<String, Long> invalidationVersions;
+  private ICache<String, CachedFormData> cache;
+
+  @PostConstruct
+  protected void initCache() {
+    int sizeBound = CONFIG.getPropertyValue(FormDataCacheSizeProperty.class);
+    invalidationVersions = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Entry<String, Long> eldest) {
+        return size() > sizeBound;
+      }
+    };
+    cache = createCache(sizeBound);
+  }
+
+  protected ICache<String, CachedFormData> createCache(int sizeBound) {
+    @SuppressWarnings("unchecked")
+    ICacheBuilder<String, CachedFormData> cacheBuilder = BEANS.get(ICacheBuilder.class);
+    return cacheBuilder
+        .withCacheId(getConfiguredCacheId())
+        .withValueResolver(new FormDataResolver())
+        .withSizeBound(sizeBound)
+        .withClusterEnabled(true)
+        .build();
+  }
+
+  /**
+   * @return unique id of the cache, the same on all cluster nodes
+   */
+  protected abstract String getConfiguredCacheId();
+
+  /**
+   * @return the type of the cached form data
+   */
+  protected abstract Class<F> getFormDataClass();
+
+  /**
+   * Loads the form data of the entity with the given id from the database, bypassing the cache.
+   */
+  protected abstract F loadFormData(String id);
+
+  /**
+   * @return a copy of the form data of the entity with the given id, loaded if not cached, or <code>null</code> if
+   *         the id is <code>null</code>
+   */
+  public F get(String id) {
+    if (id == null) {
+      return null;
+    }
+    requests.incrementAndGet();
+    if (isInvalidatedByCurrentTransaction(id)) {
+      misses.incrementAndGet();
+      return loadFormData(id);
+    }
+    CachedFormData entry = cache.get(id);
+    if (entry != null && isOutdated(id, entry)) {
+      cache.invalidate(new KeyCacheEntryFilter<>(Collections.singleton(id)), false);
+      entry = cache.get(id);
+    }
+    return entry == null ? null : entry.toFormData();
+  }
+
+  /**
+   * Invalidates the entry of the entity now and once the current transaction is committed.
+   */
+  public void invalidate(String id) {
+    PendingInvalidations pending = getPendingInvalidations(true);
+    if (pending != null) {
+      pending.add(id);
+    }
+    invalidateNow(id);
+    AfterCommitTransactionMember.runAfterCommit(() -> invalidateNow(id));
+  }
+
+  /**
+   * Invalidates all entries now and once the current transaction is committed.
+   */
+  public void invalidateAll() {
+    PendingInvalidations pending = getPendingInvalidations(true);
+    if (pending != null) {
+      pending.addAll();
+    }
+    invalidateAllNow();
+    AfterCommitTransactionMember.runAfterCommit(this::invalidateAllNow);
+  }
+
+  protected void invalidateNow(String id) {
+    long invalidationVersion = version.incrementAndGet();
+    synchronized (invalidationVersions) {
+      invalidationVersions.put(id, invalidationVersion);
+    }
+    cache.invalidate(new KeyCacheEntryFilter<>(Collections.singleton(id)), true);
+  }
+
+  protected void invalidateAllNow() {
+    long invalidationVersion = version.incrementAndGet();
+    synchronized (invalidationVersions) {
+      invalidationVersionOfAll = invalidationVersion;
+      invalidationVersions.clear();
+    }
+    cache.invalidate(new AllCacheEntryFilter<>(), true);
+  }
+
+  protected boolean isOutdated(String id, CachedFormData entry) {
+    if (entry.getVersion() < invalidationVersionOfAll) {
+      return true;
+    }
+    synchronized (invalidationVersions) {
+      Long invalidationVersion = invalidationVersions.get(id);
+      return invalidationVersion != null && entry.getVersion() < invalidationVersion;
+    }
+  }
+
+  protected boolean isInvalidatedByCurrentTransaction(String id) {
+    PendingInvalidations pending = getPendingInvalidations(false);
+    return pending != null && pending.contains(id);
+  }
+
+  /**
+   * @return the invalidations of the current transaction, <code>null</code> if there is no current transaction or if
+   *         it did not invalidate anything and <code>create</code> is <code>false</code>
+   */
+  protected PendingInvalidations getPendingInvalidations(boolean create) {
+    ITransaction transaction = ITransaction.CURRENT.get();
+    if (transaction == null) {
+      return null;
+    }
+    String memberId = getPendingInvalidationsMemberId();
+    PendingInvalidations pending = (PendingInvalidations) transaction.getMember(memberId);
+    if (pending == null && create) {
+      pending = new PendingInvalidations(memberId);
+      transaction.registerMember(pending);
+    }
+    return pending;
+  }
+
+  protected String getPendingInvalidationsMemberId() {
+    return PendingInvalidations.class.getName() + "." + getConfiguredCacheId();
+  }
+
+  public String getCacheId() {
+    return getConfiguredCacheId();
+  }
+
+  /**
+   * @return number of calls of {@link #get(String)} answered without loading the form data
+   */
+  public long getHits() {
+    return Math.max(0, requests.get() - misses.get());
+  }
+
+  /**
+   * @return number of times form data was loaded from the database
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * Transaction member remembering the ids invalidated by the transaction until it is committed or rolled back.
+   */
+  protected static class PendingInvalidations extends AbstractTransactionMember {
+    private final Set<String> ids = new HashSet<>();
+    private boolean all;
+
+    public PendingInvalidations(String memberId) {
+      super(memberId);
+    }
+
+    public synchronized void add(String id) {
+      ids.add(id);
+    }
+
+    public synchronized void addAll() {
+      all = true;
+    }
+
+    public synchronized boolean contains(String id) {
+      return all || ids.contains(id);
+    }
+
+    @Override
+    public boolean needsCommit() {
+      return false;
+    }
+
+    @Override
+    public boolean commitPhase1() {
+      return true;
+    }
+
+    @Override
+    public void commitPhase2() {
+      // nop
+    }
+
+    @Override
+    public void rollback() {
+      // nop
+    }
+  }
+
+  protected class CachedFormData {
+    private final byte[] data;
+    private final long version;
+
+    public CachedFormData(F formData, long version) {
+      try {
+        this.data = SerializationUtility.createObjectSerializer().serialize(formData);
+      }
+      catch (IOException e) {
+        throw new ProcessingException("Could not serialize {}", formData.getClass().getName(), e);
+      }
+      this.version = version;
+    }
+
+    public long getVersion() {
+      return version;
+    }
+
+    public F toFormData() {
+      try {
+        return SerializationUtility.createObjectSerializer().deserialize(data, getFormDataClass());
+      }
+      catch (IOException | ClassNotFoundException e) {
+        throw new ProcessingException("Could not deserialize {}", getFormDataClass().getName(), e);
+      }
+    }
+  }
+
+  protected class FormDataResolver implements ICacheValueResolver<String, CachedFormData> {
+
+    @Override
+    public CachedFormData resolve(String id) {
+      long loadVersion = version.get();
+      misses.incrementAndGet();
+      F formData = loadFormData(id);
+      return formData == null ? null : new CachedFormData(formData, loadVersion);
+    }
+
+    @Override
+    public Map<String, CachedFormData> resolveAll(Set<String> ids) {
+      Map<String, CachedFormData> entries = new HashMap<>();
+      for (String id : ids) {
+        CachedFormData entry = resolve(id);
+        if (entry != null) {
+          entries.put(id, entry);
+        }
+      }
+      return entries;
+    }
+  }
+}
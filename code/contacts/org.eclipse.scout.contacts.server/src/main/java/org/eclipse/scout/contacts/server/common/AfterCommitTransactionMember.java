@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.exception.ExceptionHandler;
+import org.eclipse.scout.rt.platform.transaction.AbstractTransactionMember;
+import org.eclipse.scout.rt.platform.transaction.ITransaction;
+
+/**
+ * Transaction member running actions once the current transaction is committed, e.g. the invalidation of caches of
+ * the changed data. Invalidated before the commit, a cache may be filled again with the old data by a concurrent
+ * transaction.
+ * <p>
+ * The actions are run in the order they were added, after all members of the transaction are committed. They are
+ * discarded if the transaction is rolled back.
+ */
+public class AfterCommitTransactionMember extends AbstractTransactionMember {
+
+  public static final String TRANSACTION_MEMBER_ID = AfterCommitTransactionMember.class.getName();
+
+  private final List<Runnable> actions = new ArrayList<>();
+  private boolean committed;
+
+  public AfterCommitTransactionMember() {
+    super(TRANSACTION_MEMBER_ID);
+  }
+
+  /**
+   * Runs the given action once the current transaction is committed, or immediately if there is no current
+   * transaction.
+   */
+  public static void runAfterCommit(Runnable action) {
+    ITransaction transaction = ITransaction.CURRENT.get();
+    if (transaction == null) {
+      action.run();
+      return;
+    }
+
+    AfterCommitTransactionMember member = (AfterCommitTransactionMember) transaction.getMember(TRANSACTION_MEMBER_ID);
+    if (member == null) {
+      member = new AfterCommitTransactionMember();
+      transaction.registerMember(member);
+    }
+    member.actions.add(action);
+  }
+
+  @Override
+  public boolean needsCommit() {
+    return !actions.isEmpty();
+  }
+
+  @Override
+  public boolean commitPhase1() {
+    return true;
+  }
+
+  @Override
+  public void commitPhase2() {
+    committed = true;
+  }
+
+  @Override
+  public void rollback() {
+    actions.clear();
+  }
+
+  /**
+   * Called after all members are committed (or rolled back), so the actions see the committed data.
+   */
+  @Override
+  public void release() {
+    if (committed) {
+      for (Runnable action : actions) {
+        try {
+          action.run();
+        }
+        catch (RuntimeException e) {
+          BEANS.get(ExceptionHandler.class).handle(e);
+        }
+      }
+    }
+    actions.clear();
+  }
+}
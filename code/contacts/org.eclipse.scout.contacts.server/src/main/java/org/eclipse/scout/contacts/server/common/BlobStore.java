@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.util.HexUtility;
+
+/**
+ * Content addressed store for binary data in a local directory.
+ * <p>
+ * A blob is stored under the SHA-256 hash of its content, so equal contents are stored once and a stored blob never
+ * changes. Named references map an arbitrary name (e.g. a source URL) to the hash of a blob. Files are written to a
+ * temporary file first and then moved into place, so concurrent readers never see partially written content.
+ * <p>
+ * Blobs and references not written for some time can be removed with {@link #removeOlderThan(long)}, storing an
+ * existing blob again counts as writing it.
+ */
+public class BlobStore {
+  private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+  private final Path blobDirectory;
+  private final Path referenceDirectory;
+
+  public BlobStore(File directory) {
+    this.blobDirectory = directory.toPath().resolve("blobs");
+    this.referenceDirectory = directory.toPath().resolve("refs");
+  }
+
+  /**
+   * Stores the content if it is not stored yet.
+   *
+   * @return the hash of the content
+   */
+  public String put(byte[] content) {
+    String hash = hash(content);
+    Path file = getBlobFile(hash);
+    if (!Files.exists(file)) {
+      write(file, content);
+    }
+    else {
+      touch(file);
+    }
+    return hash;
+  }
+
+  /**
+   * @return the content with the given hash or <code>null</code> if there is no such blob
+   */
+  public byte[] get(String hash) {
+    if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+      return null;
+    }
+    return read(getBlobFile(hash));
+  }
+
+  /**
+   * Lets the reference with the given name point to the blob with the given hash.
+   */
+  public void putReference(String name, String hash) {
+    write(getReferenceFile(name), hash.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /**
+   * @return the hash the reference with the given name points to or <code>null</code> if there is no such reference
+   */
+  public String getReference(String name) {
+    byte[] hash = read(getReferenceFile(name));
+    return hash == null ? null : new String(hash, StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Removes the reference with the given name. The blob it points to is kept.
+   */
+  public void removeReference(String name) {
+    try {
+      Files.deleteIfExists(getReferenceFile(name));
+    }
+    catch (IOException e) {
+      throw new ProcessingException("Could not remove blob store reference '{}'", name, e);
+    }
+  }
+
+  /**
+   * Removes the blobs and references last written before the given time.
+   *
+   * @return the number of removed files
+   */
+  public int removeOlderThan(long timeMillis) {
+    return removeOlderThan(blobDirectory, timeMillis) + removeOlderThan(referenceDirectory, timeMillis);
+  }
+
+  protected int removeOlderThan(Path directory, long timeMillis) {
+    if (!Files.isDirectory(directory)) {
+      return 0;
+    }
+    int removed = 0;
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+        try {
+          if (Files.getLastModifiedTime(file).toMillis() < timeMillis && Files.deleteIfExists(file)) {
+            removed++;
+          }
+        }
+        catch (NoSuchFileException e) {
+          // removed concurrently
+        }
+      }
+    }
+    catch (IOException | UncheckedIOException e) {
+      throw new ProcessingException("Could not remove outdated files of blob store directory '{}'", directory, e);
+    }
+    return removed;
+  }
+
+  protected void touch(Path file) {
+    try {
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+    }
+    catch (IOException e) {
+      // the blob was removed concurrently, it is written again on the next put
+    }
+  }
+
+  protected Path getBlobFile(String hash) {
+    return blobDirectory.resolve(hash.substring(0, 2)).resolve(hash);
+  }
+
+  protected Path getReferenceFile(String name) {
+    String nameHash = hash(name.getBytes(StandardCharsets.UTF_8));
+    return referenceDirectory.resolve(nameHash.substring(0, 2)).resolve(nameHash);
+  }
+
+  protected byte[] read(Path file) {
+    try {
+      return Files.readAllBytes(file);
+    }
+    catch (NoSuchFileException e) {
+      return null;
+    }
+    catch (IOException e) {
+      throw new ProcessingException("Could not read blob store file '{}'", file, e);
+    }
+  }
+
+  protected void write(Path file, byte[] content) {
+    Path tempFile = null;
+    try {
+      Files.createDirectories(file.getParent());
+      tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+      Files.write(tempFile, content);
+      try {
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      }
+      catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+    catch (IOException e) {
+      throw new ProcessingException("Could not write blob store file '{}'", file, e);
+    }
+    finally {
+      deleteQuietly(tempFile);
+    }
+  }
+
+  protected void deleteQuietly(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    }
+    catch (IOException e) {
+      // only a leftover temporary file
+    }
+  }
+
+  protected static String hash(byte[] content) {
+    try {
+      return HexUtility.encode(MessageDigest.getInstance("SHA-256").digest(content)).toLowerCase();
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new ProcessingException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -10,6 +10,7 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.server.common;
 
+import org.eclipse.scout.contacts.server.search.SearchIndex;
 import org.eclipse.scout.contacts.server.sql.IDataStoreService;
 import org.eclipse.scout.contacts.shared.common.IResetDataStoreService;
 import org.eclipse.scout.rt.platform.BEANS;
@@ -22,5 +23,12 @@ public class ResetDataStoreService implements IResetDataStoreService {
       service.dropDataStore();
       service.createDataStore();
     }
+    BEANS.get(SearchIndex.class).invalidate();
+    for (AbstractFormDataCache<?> cache : BEANS.all(AbstractFormDataCache.class)) {
+      cache.invalidateAll();
+    }
+    for (AbstractCachedSqlLookupService lookupService : BEANS.all(AbstractCachedSqlLookupService.class)) {
+      lookupService.invalidateAll();
+    }
   }
 }
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scout.contacts.server.sql.SuperUserRunContextProducer;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.IPlatform.State;
+import org.eclipse.scout.rt.platform.IPlatformListener;
+import org.eclipse.scout.rt.platform.Order;
+import org.eclipse.scout.rt.platform.PlatformEvent;
+import org.eclipse.scout.rt.platform.job.FixedDelayScheduleBuilder;
+import org.eclipse.scout.rt.platform.job.Jobs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Removes the expired thumbnails from the blob store of the {@link ThumbnailService} once an hour.
+ */
+@Order(100)
+public class ThumbnailCleanupPlatformListener implements IPlatformListener {
+  private static final Logger LOG = LoggerFactory.getLogger(ThumbnailCleanupPlatformListener.class);
+
+  private static final int CLEANUP_INTERVAL_MINUTES = 60;
+
+  @Override
+  public void stateChanged(PlatformEvent event) {
+    if (event.getState() == State.PlatformStarted) {
+      Jobs.schedule(this::removeExpiredThumbnails, Jobs.newInput()
+          .withName("Removing expired thumbnails")
+          .withRunContext(BEANS.get(SuperUserRunContextProducer.class).produce())
+          .withExecutionTrigger(Jobs.newExecutionTrigger()
+              .withStartIn(CLEANUP_INTERVAL_MINUTES, TimeUnit.MINUTES)
+              .withSchedule(FixedDelayScheduleBuilder.repeatForever(CLEANUP_INTERVAL_MINUTES, TimeUnit.MINUTES))));
+    }
+  }
+
+  protected void removeExpiredThumbnails() {
+    int removed = BEANS.get(ThumbnailService.class).removeExpiredThumbnails();
+    LOG.debug("Removed {} expired thumbnail files", removed);
+  }
+}
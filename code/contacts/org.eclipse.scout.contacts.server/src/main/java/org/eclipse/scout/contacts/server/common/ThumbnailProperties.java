@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.common;
+
+import java.io.File;
+
+import org.eclipse.scout.rt.platform.config.AbstractPositiveIntegerConfigProperty;
+import org.eclipse.scout.rt.platform.config.AbstractPositiveLongConfigProperty;
+import org.eclipse.scout.rt.platform.config.AbstractStringConfigProperty;
+
+public class ThumbnailProperties {
+
+  public static class ThumbnailDirectoryProperty extends AbstractStringConfigProperty {
+
+    @Override
+    public String getDefaultValue() {
+      return new File(System.getProperty("java.io.tmpdir"), "contacts-thumbnails").getAbsolutePath();
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.thumbnail.directory";
+    }
+
+    @Override
+    public String description() {
+      return "Directory of the blob store holding the thumbnails of person pictures and organization logos. The default value is 'contacts-thumbnails' in the temporary directory.";
+    }
+  }
+
+  public static class ThumbnailSizeProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 200;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.thumbnail.size";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum width and height of a thumbnail in pixels. Smaller images are not enlarged. The default value is 200.";
+    }
+  }
+
+  public static class ThumbnailFetchTimeoutProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 10000;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.thumbnail.fetchTimeout";
+    }
+
+    @Override
+    public String description() {
+      return "Connect and read timeout in milliseconds to fetch the original image of a thumbnail. The default value is 10000.";
+    }
+  }
+
+  public static class ThumbnailMaxSourceSizeProperty extends AbstractPositiveLongConfigProperty {
+
+    @Override
+    public Long getDefaultValue() {
+      return 20L * 1024 * 1024;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.thumbnail.maxSourceSize";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum size in bytes of an original image a thumbnail is created for. The default value is 20 MB.";
+    }
+  }
+
+  public static class ThumbnailCacheMaxAgeProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 86400;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.thumbnail.cacheMaxAge";
+    }
+
+    @Override
+    public String description() {
+      return "Number of seconds browsers may cache a thumbnail. Thumbnails are addressed by their content, so they never change. The default value is 86400 (one day).";
+    }
+  }
+
+  public static class ThumbnailMaxSourcePixelsProperty extends AbstractPositiveLongConfigProperty {
+
+    @Override
+    public Long getDefaultValue() {
+      return 25L * 1000 * 1000;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.thumbnail.maxSourcePixels";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum number of pixels (width times height) of an original image a thumbnail is created for. The dimensions are read from the image header before the image is decoded. The default value is 25 million.";
+    }
+  }
+
+  public static class ThumbnailAllowedHostsProperty extends AbstractStringConfigProperty {
+
+    @Override
+    public String getDefaultValue() {
+      return "wiki.eclipse.org,upload.wikimedia.org";
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.thumbnail.allowedHosts";
+    }
+
+    @Override
+    public String description() {
+      return "Comma separated list of the hosts original images may be fetched from, a leading '.' allows all sub domains (e.g. '.wikimedia.org'). "
+          + "If empty, no images are fetched. The default value allows the hosts of the sample data: 'wiki.eclipse.org,upload.wikimedia.org'.";
+    }
+  }
+
+  public static class ThumbnailMaxAgeProperty extends AbstractPositiveIntegerConfigProperty {
+
+    @Override
+    public Integer getDefaultValue() {
+      return 7 * 24 * 3600;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.thumbnail.maxAge";
+    }
+
+    @Override
+    public String description() {
+      return "Number of seconds a thumbnail is kept in the blob store. Older thumbnails are removed and created again from the original image on the next request. The default value is 604800 (one week).";
+    }
+  }
+}
@@ -0,0 +1,341 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.common;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.eclipse.scout.contacts.server.common.ThumbnailProperties.ThumbnailAllowedHostsProperty;
+import org.eclipse.scout.contacts.server.common.ThumbnailProperties.ThumbnailCacheMaxAgeProperty;
+import org.eclipse.scout.contacts.server.common.ThumbnailProperties.ThumbnailDirectoryProperty;
+import org.eclipse.scout.contacts.server.common.ThumbnailProperties.ThumbnailFetchTimeoutProperty;
+import org.eclipse.scout.contacts.server.common.ThumbnailProperties.ThumbnailMaxAgeProperty;
+import org.eclipse.scout.contacts.server.common.ThumbnailProperties.ThumbnailMaxSourcePixelsProperty;
+import org.eclipse.scout.contacts.server.common.ThumbnailProperties.ThumbnailMaxSourceSizeProperty;
+import org.eclipse.scout.contacts.server.common.ThumbnailProperties.ThumbnailSizeProperty;
+import org.eclipse.scout.contacts.shared.common.IThumbnailService;
+import org.eclipse.scout.contacts.shared.common.ReadThumbnailPermission;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.exception.VetoException;
+import org.eclipse.scout.rt.platform.resource.BinaryResource;
+import org.eclipse.scout.rt.platform.resource.BinaryResources;
+import org.eclipse.scout.rt.platform.text.TEXTS;
+import org.eclipse.scout.rt.platform.util.StringUtility;
+import org.eclipse.scout.rt.shared.services.common.security.ACCESS;
+
+/**
+ * Creates thumbnails of person pictures and organization logos.
+ * <p>
+ * The original image of a URL is fetched once. Its thumbnail is stored in a {@link BlobStore} together with a reference
+ * from the URL and thumbnail size to the thumbnail's content hash. Concurrent requests for the same URL wait for the
+ * thumbnail being created instead of fetching the original again. Images with transparency are encoded as PNG, all
+ * others as JPEG.
+ * <p>
+ * As any client may ask for the thumbnail of any URL, only http(s) URLs of the allowed hosts are fetched (without an
+ * allow list, none), redirects are not followed, and the size and dimensions of the original are checked before it is
+ * decoded. Thumbnails are removed from the store after {@link ThumbnailMaxAgeProperty} (see
+ * {@link #removeExpiredThumbnails()}).
+ */
+public class ThumbnailService implements IThumbnailService {
+
+  private final BlobStore blobStore;
+  private final int size;
+  private final int timeoutMillis;
+  private final long maxSourceSize;
+  private final long maxSourcePixels;
+  private final Set<String> allowedHosts;
+  private final int cacheMaxAgeSeconds;
+  private final int maxAgeSeconds;
+  private final ConcurrentMap<String, CompletableFuture<String>> pendingThumbnails = new ConcurrentHashMap<>();
+
+  public ThumbnailService() {
+    this(new BlobStore(new File(CONFIG.getPropertyValue(ThumbnailDirectoryProperty.class))),
+        CONFIG.getPropertyValue(ThumbnailSizeProperty.class),
+        CONFIG.getPropertyValue(ThumbnailFetchTimeoutProperty.class),
+        CONFIG.getPropertyValue(ThumbnailMaxSourceSizeProperty.class),
+        CONFIG.getPropertyValue(ThumbnailMaxSourcePixelsProperty.class),
+        parseHosts(CONFIG.getPropertyValue(ThumbnailAllowedHostsProperty.class)),
+        CONFIG.getPropertyValue(ThumbnailCacheMaxAgeProperty.class),
+        CONFIG.getPropertyValue(ThumbnailMaxAgeProperty.class));
+  }
+
+  /**
+   * @param allowedHosts
+   *          lower case host names images may be fetched from, a leading '.' allows all sub domains. If empty, no
+   *          images are fetched.
+   */
+  protected ThumbnailService(BlobStore blobStore, int size, int timeoutMillis, long maxSourceSize, long maxSourcePixels, Set<String> allowedHosts,
+      int cacheMaxAgeSeconds, int maxAgeSeconds) {
+    this.blobStore = blobStore;
+    this.size = size;
+    this.timeoutMillis = timeoutMillis;
+    this.maxSourceSize = maxSourceSize;
+    this.maxSourcePixels = maxSourcePixels;
+    this.allowedHosts = allowedHosts;
+    this.cacheMaxAgeSeconds = cacheMaxAgeSeconds;
+    this.maxAgeSeconds = maxAgeSeconds;
+  }
+
+  protected static Set<String> parseHosts(String hosts) {
+    Set<String> result = new HashSet<>();
+    for (String host : StringUtility.split(hosts, ",")) {
+      if (StringUtility.hasText(host)) {
+        result.add(host.trim().toLowerCase());
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public BinaryResource getThumbnail(String imageUrl) {
+    checkAccess();
+    if (!StringUtility.hasText(imageUrl)) {
+      return null;
+    }
+
+    String hash = getOrCreateThumbnail(imageUrl);
+    byte[] content = blobStore.get(hash);
+    if (content == null) {
+      // the blob was removed from the store, create it again
+      blobStore.removeReference(getReferenceName(imageUrl));
+      hash = getOrCreateThumbnail(imageUrl);
+      content = blobStore.get(hash);
+      if (content == null) {
+        throw new ProcessingException("Thumbnail of image URL '{}' was removed while it was created", imageUrl);
+      }
+    }
+
+    String format = getFormat(content);
+    return BinaryResources.create()
+        .withFilename(hash + "." + format)
+        .withContentType("image/" + format)
+        .withContent(content)
+        .withCachingAllowed(true)
+        .withCacheMaxAge(cacheMaxAgeSeconds)
+        .build();
+  }
+
+  protected void checkAccess() {
+    if (!ACCESS.check(new ReadThumbnailPermission())) {
+      throw new VetoException(TEXTS.get("InsufficientPrivileges"));
+    }
+  }
+
+  /**
+   * Removes the thumbnails (and their references) created before {@link ThumbnailMaxAgeProperty}.
+   *
+   * @return the number of removed files
+   */
+  public int removeExpiredThumbnails() {
+    return blobStore.removeOlderThan(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(maxAgeSeconds));
+  }
+
+  protected String getOrCreateThumbnail(String imageUrl) {
+    String referenceName = getReferenceName(imageUrl);
+    String hash = blobStore.getReference(referenceName);
+    if (hash != null) {
+      return hash;
+    }
+
+    CompletableFuture<String> thumbnail = new CompletableFuture<>();
+    CompletableFuture<String> pendingThumbnail = pendingThumbnails.putIfAbsent(referenceName, thumbnail);
+    if (pendingThumbnail != null) {
+      return await(pendingThumbnail);
+    }
+
+    try {
+      hash = blobStore.put(createThumbnail(fetchImage(imageUrl)));
+      blobStore.putReference(referenceName, hash);
+      thumbnail.complete(hash);
+      return hash;
+    }
+    catch (RuntimeException e) {
+      thumbnail.completeExceptionally(e);
+      throw e;
+    }
+    finally {
+      pendingThumbnails.remove(referenceName);
+    }
+  }
+
+  protected String await(CompletableFuture<String> pendingThumbnail) {
+    try {
+      return pendingThumbnail.join();
+    }
+    catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  protected String getReferenceName(String imageUrl) {
+    return size + ":" + imageUrl;
+  }
+
+  protected byte[] fetchImage(String imageUrl) {
+    try {
+      URL url = new URL(imageUrl);
+      if (!"http".equalsIgnoreCase(url.getProtocol()) && !"https".equalsIgnoreCase(url.getProtocol())) {
+        throw new ProcessingException("Unsupported image URL '{}'", imageUrl);
+      }
+      checkHost(url);
+
+      // redirects are not followed, as they could lead to a host not allowed
+      HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+      connection.setInstanceFollowRedirects(false);
+      connection.setConnectTimeout(timeoutMillis);
+      connection.setReadTimeout(timeoutMillis);
+      if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+        throw new ProcessingException("Unexpected HTTP response code {} for image URL '{}'", connection.getResponseCode(), imageUrl);
+      }
+      if (connection.getContentLengthLong() > maxSourceSize) {
+        throw new ProcessingException("Image at '{}' exceeds the maximum size of {} bytes", imageUrl, maxSourceSize);
+      }
+
+      try (InputStream in = connection.getInputStream()) {
+        return readLimited(in, imageUrl);
+      }
+    }
+    catch (IOException e) {
+      throw new ProcessingException("Could not fetch image from '{}'", imageUrl, e);
+    }
+  }
+
+  /**
+   * Only the allowed hosts are accepted, so clients cannot make the server access internal services. The addresses of a
+   * host are not checked instead: the connection resolves the host again, which may then return another address (DNS
+   * rebinding).
+   */
+  protected void checkHost(URL url) {
+    String host = url.getHost().toLowerCase();
+    for (String allowedHost : allowedHosts) {
+      if (allowedHost.equals(host) || (allowedHost.startsWith(".") && host.endsWith(allowedHost))) {
+        return;
+      }
+    }
+    throw new ProcessingException("Host of image URL '{}' is not allowed", url);
+  }
+
+  protected byte[] readLimited(InputStream in, String imageUrl) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    int n;
+    while ((n = in.read(buffer)) != -1) {
+      if (out.size() + n > maxSourceSize) {
+        throw new ProcessingException("Image at '{}' exceeds the maximum size of {} bytes", imageUrl, maxSourceSize);
+      }
+      out.write(buffer, 0, n);
+    }
+    return out.toByteArray();
+  }
+
+  protected byte[] createThumbnail(byte[] image) {
+    try {
+      BufferedImage original = readImage(image);
+      BufferedImage thumbnail = scale(original);
+      String format = thumbnail.getColorModel().hasAlpha() ? "png" : "jpeg";
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ImageIO.write(thumbnail, format, out);
+      return out.toByteArray();
+    }
+    catch (IOException e) {
+      throw new ProcessingException("Could not create thumbnail", e);
+    }
+  }
+
+  /**
+   * Decodes the image once its dimensions are known to be within {@link ThumbnailMaxSourcePixelsProperty}, as a small
+   * compressed image may decode to a huge bitmap.
+   */
+  protected BufferedImage readImage(byte[] image) throws IOException {
+    try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(image))) {
+      Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+      if (!readers.hasNext()) {
+        throw new ProcessingException("Unsupported image format");
+      }
+
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, true, true);
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        if ((long) width * height > maxSourcePixels) {
+          throw new ProcessingException("Image of {} x {} pixels exceeds the maximum of {} pixels", width, height, maxSourcePixels);
+        }
+        return reader.read(0);
+      }
+      finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Scales the image to fit into the thumbnail size. The size is halved in several steps for a smooth result with
+   * bilinear interpolation.
+   */
+  protected BufferedImage scale(BufferedImage image) {
+    double factor = Math.min(1d, (double) size / Math.max(image.getWidth(), image.getHeight()));
+    int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * factor));
+    int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * factor));
+    int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+    BufferedImage result = image;
+    int width = image.getWidth();
+    int height = image.getHeight();
+    do {
+      width = Math.max(targetWidth, width / 2);
+      height = Math.max(targetHeight, height / 2);
+
+      BufferedImage step = new BufferedImage(width, height, type);
+      Graphics2D g = step.createGraphics();
+      try {
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(result, 0, 0, width, height, null);
+      }
+      finally {
+        g.dispose();
+      }
+      result = step;
+    }
+    while (width != targetWidth || height != targetHeight);
+    return result;
+  }
+
+  protected String getFormat(byte[] thumbnail) {
+    // PNG signature starts with 0x89 'P'
+    return thumbnail.length > 1 && (thumbnail[0] & 0xff) == 0x89 && thumbnail[1] == 'P' ? "png" : "jpeg";
+  }
+}
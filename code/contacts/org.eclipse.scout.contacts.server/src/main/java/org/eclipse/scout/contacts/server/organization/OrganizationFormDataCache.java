@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.organization;
+
+import org.eclipse.scout.contacts.server.common.AbstractFormDataCache;
+import org.eclipse.scout.contacts.shared.organization.OrganizationFormData;
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+
+/**
+ * Cache of the organizations loaded by {@link OrganizationService#load(OrganizationFormData)}.
+ */
+@ApplicationScoped
+public class OrganizationFormDataCache extends AbstractFormDataCache<OrganizationFormData> {
+
+  public static final String CACHE_ID = OrganizationFormDataCache.class.getName();
+
+  @Override
+  protected String getConfiguredCacheId() {
+    return CACHE_ID;
+  }
+
+  @Override
+  protected Class<OrganizationFormData> getFormDataClass() {
+    return OrganizationFormData.class;
+  }
+
+  @Override
+  protected OrganizationFormData loadFormData(String organizationId) {
+    OrganizationFormData formData = new OrganizationFormData();
+    formData.setOrganizationId(organizationId);
+    return BEANS.get(OrganizationService.class).loadFromDatabase(formData);
+  }
+}
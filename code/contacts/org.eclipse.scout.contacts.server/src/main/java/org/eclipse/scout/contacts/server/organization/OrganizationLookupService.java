@@ -10,18 +10,44 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.server.organization;
 
+import java.util.List;
+
+import org.eclipse.scout.contacts.server.common.AbstractCachedSqlLookupService;
 import org.eclipse.scout.contacts.server.sql.SQLs;
+import org.eclipse.scout.contacts.server.sql.SearchTextUtility;
 import org.eclipse.scout.contacts.shared.organization.IOrganizationLookupService;
-import org.eclipse.scout.rt.server.jdbc.lookup.AbstractSqlLookupService;
+import org.eclipse.scout.rt.shared.services.lookup.ILookupCall;
+import org.eclipse.scout.rt.shared.services.lookup.ILookupRow;
 
 //tag::all[]
 public class OrganizationLookupService
-    extends AbstractSqlLookupService<String>
+    extends AbstractCachedSqlLookupService
     implements IOrganizationLookupService {
 
   @Override
   protected String getConfiguredSqlSelect() {
     return SQLs.ORGANIZATION_LOOKUP; // <1>
   }
+  //end::all[]
+
+  public static final String CACHE_ID = OrganizationLookupService.class.getName();
+
+  @Override
+  protected String getConfiguredSqlSelectByKeys() {
+    return SQLs.ORGANIZATION_LOOKUP_BY_KEYS;
+  }
+
+  @Override
+  protected String getConfiguredCacheId() {
+    return CACHE_ID;
+  }
+
+  @Override
+  public List<ILookupRow<String>> getDataByText(ILookupCall<String> call) {
+    // match the normalized search column by prefix
+    call.setText(SearchTextUtility.toPrefixPattern(call.getText(), call.getWildcard()));
+    return super.getDataByText(call);
+  }
+  //tag::all[]
 }
 //end::all[]
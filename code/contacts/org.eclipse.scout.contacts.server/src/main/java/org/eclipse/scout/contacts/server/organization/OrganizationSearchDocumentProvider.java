@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.organization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.scout.contacts.server.search.ISearchDocumentProvider;
+import org.eclipse.scout.contacts.server.search.SearchDocument;
+import org.eclipse.scout.contacts.server.sql.SQLs;
+import org.eclipse.scout.contacts.shared.organization.ReadOrganizationPermission;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.text.TEXTS;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipse.scout.rt.shared.services.common.security.ACCESS;
+
+public class OrganizationSearchDocumentProvider implements ISearchDocumentProvider {
+
+  public static final String ENTITY_TYPE = "ORGANIZATION";
+
+  @Override
+  public String getEntityType() {
+    return ENTITY_TYPE;
+  }
+
+  @Override
+  public String getEntityTypeText() {
+    return TEXTS.get("Organization");
+  }
+
+  @Override
+  public boolean isReadable() {
+    return ACCESS.check(new ReadOrganizationPermission());
+  }
+
+  @Override
+  public List<SearchDocument> loadAll() {
+    return toDocuments(SQL.select(SQLs.ORGANIZATION_SEARCH_DOCUMENTS));
+  }
+
+  @Override
+  public SearchDocument load(String entityId) {
+    List<SearchDocument> documents = toDocuments(SQL.select(SQLs.ORGANIZATION_SEARCH_DOCUMENTS + SQLs.ORGANIZATION_SEARCH_DOCUMENT_WHERE, new NVPair("organizationId", entityId)));
+    return documents.isEmpty() ? null : documents.get(0);
+  }
+
+  protected List<SearchDocument> toDocuments(Object[][] rows) {
+    List<SearchDocument> documents = new ArrayList<>(rows.length);
+    for (Object[] row : rows) {
+      documents.add(new SearchDocument(ENTITY_TYPE, (String) row[0], (String) row[1])
+          .withField(row[1], SearchDocument.PRIMARY_FIELD_WEIGHT)
+          .withField(row[2], SearchDocument.SECONDARY_FIELD_WEIGHT));
+    }
+    return documents;
+  }
+}
@@ -12,6 +12,7 @@ package org.eclipse.scout.contacts.server.organization;
 
 import java.util.UUID;
 
+import org.eclipse.scout.contacts.server.search.SearchIndex;
 import org.eclipse.scout.contacts.server.sql.SQLs;
 import org.eclipse.scout.contacts.shared.organization.CreateOrganizationPermission;
 import org.eclipse.scout.contacts.shared.organization.IOrganizationService;
@@ -19,6 +20,7 @@ import org.eclipse.scout.contacts.shared.organization.OrganizationFormData;
 import org.eclipse.scout.contacts.shared.organization.OrganizationTablePageData;
 import org.eclipse.scout.contacts.shared.organization.ReadOrganizationPermission;
 import org.eclipse.scout.contacts.shared.organization.UpdateOrganizationPermission;
+import org.eclipse.scout.rt.platform.BEANS;
 import org.eclipse.scout.rt.platform.exception.VetoException;
 import org.eclipse.scout.rt.platform.holders.NVPair;
 import org.eclipse.scout.rt.platform.text.TEXTS;
@@ -59,6 +61,9 @@ public class OrganizationService implements IOrganizationService {
     }
 
     SQL.insert(SQLs.ORGANIZATION_INSERT, formData);
+    // end::all[]
+    formData.setRowVersion(0L);
+    // tag::all[]
 
     return store(formData);
   }
@@ -69,10 +74,27 @@ public class OrganizationService implements IOrganizationService {
       throw new VetoException(TEXTS.get("InsufficientPrivileges"));
     }
 
+    // end::all[]
+    // the cache returns a copy, the caller's form data is only filled if the organization is not cached
+    OrganizationFormData cached = BEANS.get(OrganizationFormDataCache.class).get(formData.getOrganizationId());
+    if (cached != null) {
+      return cached;
+    }
+    // tag::all[]
     SQL.selectInto(SQLs.ORGANIZATION_SELECT, formData);
 
     return formData;
   }
+  // end::all[]
+
+  /**
+   * Loads the organization from the database, bypassing the {@link OrganizationFormDataCache}.
+   */
+  public OrganizationFormData loadFromDatabase(OrganizationFormData formData) {
+    SQL.selectInto(SQLs.ORGANIZATION_SELECT, formData);
+    return formData;
+  }
+  // tag::all[]
 
   @Override
   public OrganizationFormData store(OrganizationFormData formData) {
@@ -80,7 +102,25 @@ public class OrganizationService implements IOrganizationService {
       throw new VetoException(TEXTS.get("InsufficientPrivileges"));
     }
 
-    SQL.update(SQLs.ORGANIZATION_UPDATE, formData);
+    // end::all[]
+    Long rowVersion = formData.getRowVersion();
+    if (rowVersion == null) {
+      throw new VetoException(TEXTS.get("RowVersionMissing"));
+    }
+
+    // tag::all[]
+    int rowCount = SQL.update(SQLs.ORGANIZATION_UPDATE, formData);
+    // end::all[]
+    if (rowCount == 0) {
+      // the cached organization may have the outdated version, the form must load the current one when it is reopened
+      BEANS.get(OrganizationFormDataCache.class).invalidate(formData.getOrganizationId());
+      throw new VetoException(TEXTS.get("ConcurrentChange"));
+    }
+    formData.setRowVersion(rowVersion + 1);
+    BEANS.get(OrganizationLookupService.class).invalidate(formData.getOrganizationId());
+    BEANS.get(OrganizationFormDataCache.class).invalidate(formData.getOrganizationId());
+    BEANS.get(SearchIndex.class).update(OrganizationSearchDocumentProvider.ENTITY_TYPE, formData.getOrganizationId());
+    // tag::all[]
 
     return formData;
   }
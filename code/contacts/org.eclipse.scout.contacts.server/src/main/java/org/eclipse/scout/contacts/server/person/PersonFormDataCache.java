@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.person;
+
+import org.eclipse.scout.contacts.server.common.AbstractFormDataCache;
+import org.eclipse.scout.contacts.shared.person.PersonFormData;
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+
+/**
+ * Cache of the persons loaded by {@link PersonService#load(PersonFormData)}.
+ */
+@ApplicationScoped
+public class PersonFormDataCache extends AbstractFormDataCache<PersonFormData> {
+
+  public static final String CACHE_ID = PersonFormDataCache.class.getName();
+
+  @Override
+  protected String getConfiguredCacheId() {
+    return CACHE_ID;
+  }
+
+  @Override
+  protected Class<PersonFormData> getFormDataClass() {
+    return PersonFormData.class;
+  }
+
+  @Override
+  protected PersonFormData loadFormData(String personId) {
+    PersonFormData formData = new PersonFormData();
+    formData.setPersonId(personId);
+    return BEANS.get(PersonService.class).loadFromDatabase(formData);
+  }
+}
@@ -10,14 +10,38 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.server.person;
 
+import java.util.List;
+
+import org.eclipse.scout.contacts.server.common.AbstractCachedSqlLookupService;
 import org.eclipse.scout.contacts.server.sql.SQLs;
+import org.eclipse.scout.contacts.server.sql.SearchTextUtility;
 import org.eclipse.scout.contacts.shared.person.IPersonLookupService;
-import org.eclipse.scout.rt.server.jdbc.lookup.AbstractSqlLookupService;
+import org.eclipse.scout.rt.shared.services.lookup.ILookupCall;
+import org.eclipse.scout.rt.shared.services.lookup.ILookupRow;
+
+public class PersonLookupService extends AbstractCachedSqlLookupService implements IPersonLookupService {
 
-public class PersonLookupService extends AbstractSqlLookupService<String> implements IPersonLookupService {
+  public static final String CACHE_ID = PersonLookupService.class.getName();
 
   @Override
   protected String getConfiguredSqlSelect() {
     return SQLs.PERSON_LOOKUP;
   }
+
+  @Override
+  protected String getConfiguredSqlSelectByKeys() {
+    return SQLs.PERSON_LOOKUP_BY_KEYS;
+  }
+
+  @Override
+  protected String getConfiguredCacheId() {
+    return CACHE_ID;
+  }
+
+  @Override
+  public List<ILookupRow<String>> getDataByText(ILookupCall<String> call) {
+    // match the normalized search columns by prefix
+    call.setText(SearchTextUtility.toPrefixPattern(call.getText(), call.getWildcard()));
+    return super.getDataByText(call);
+  }
 }
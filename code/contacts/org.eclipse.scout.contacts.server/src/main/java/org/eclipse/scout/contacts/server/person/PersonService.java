@@ -10,9 +10,17 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.server.person;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 
+import org.eclipse.scout.contacts.server.search.SearchIndex;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.MaxPageSizeProperty;
+import org.eclipse.scout.contacts.server.sql.PartialUpdateStatement;
 import org.eclipse.scout.contacts.server.sql.SQLs;
+import org.eclipse.scout.contacts.server.sql.SearchTextUtility;
+import org.eclipse.scout.contacts.server.sql.SelectContribution;
 import org.eclipse.scout.contacts.shared.person.CreatePersonPermission;
 import org.eclipse.scout.contacts.shared.person.IPersonService;
 import org.eclipse.scout.contacts.shared.person.PersonFormData;
@@ -20,6 +28,8 @@ import org.eclipse.scout.contacts.shared.person.PersonSearchFormData;
 import org.eclipse.scout.contacts.shared.person.PersonTablePageData;
 import org.eclipse.scout.contacts.shared.person.ReadPersonPermission;
 import org.eclipse.scout.contacts.shared.person.UpdatePersonPermission;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.config.CONFIG;
 import org.eclipse.scout.rt.platform.exception.VetoException;
 import org.eclipse.scout.rt.platform.holders.NVPair;
 import org.eclipse.scout.rt.platform.text.TEXTS;
@@ -33,6 +43,26 @@ import org.eclipse.scout.rt.shared.services.common.security.ACCESS;
 public class PersonService implements IPersonService {
 
   //end::all[]
+  // end::getTableData[]
+  private final PartialUpdateStatement<PersonFormData> updateStatement = new PartialUpdateStatement<PersonFormData>(SQLs.PERSON_UPDATE)
+      .withColumn("first_name = :firstName", PersonFormData::getFirstName)
+      .withColumn("last_name = :lastName", PersonFormData::getLastName)
+      .withColumn("picture_url = :pictureUrl", PersonFormData::getPictureUrl)
+      .withColumn("date_of_birth = :dateOfBirth", PersonFormData::getDateOfBirth)
+      .withColumn("gender = :genderGroup", PersonFormData::getGenderGroup)
+      .withColumn("phone = :phone", PersonFormData::getPhone)
+      .withColumn("mobile = :mobile", PersonFormData::getMobile)
+      .withColumn("email = :email", PersonFormData::getEmail)
+      .withColumn("street = :street", PersonFormData::getStreet)
+      .withColumn("city = :city", PersonFormData::getCity)
+      .withColumn("country = :country", PersonFormData::getCountry)
+      .withColumn("position = :position", PersonFormData::getPosition)
+      .withColumn("organization_id = :organization", PersonFormData::getOrganization)
+      .withColumn("phone_work = :phoneWork", PersonFormData::getPhoneWork)
+      .withColumn("email_work = :emailWork", PersonFormData::getEmailWork)
+      .withColumn("notes = :notes", PersonFormData::getNotes);
+
+  // tag::getTableData[]
   @Override
   public PersonTablePageData getPersonTableData(SearchFilter filter, String organizationId) {
     PersonTablePageData pageData = new PersonTablePageData();
@@ -46,31 +76,151 @@ public class PersonService implements IPersonService {
     addToWhere(sql, organizationId, "organization_id", "organizationId");
     // end::addOrganizationCriteria[]
 
+    List<Object> binds = new ArrayList<>();
     if (searchData != null) {
-      addToWhere(sql, searchData.getFirstName().getValue(), "first_name", "firstName");
-      addToWhere(sql, searchData.getLastName().getValue(), "last_name", "lastName");
-      addToWhere(sql, searchData.getLocation().getCity().getValue(), "city", "location.city");
+      addPrefixToWhere(sql, binds, searchData.getFirstName().getValue(), "first_name", "firstNamePrefix");
+      addPrefixToWhere(sql, binds, searchData.getLastName().getValue(), "last_name", "lastNamePrefix");
+      addPrefixToWhere(sql, binds, searchData.getLocation().getCity().getValue(), "city", "cityPrefix");
       addToWhere(sql, searchData.getLocation().getCountry().getValue(), "country", "location.country");
       addToWhere(sql, searchData.getOrganization().getValue(), "organization_id", "organization");
+      addContinuationCursor(sql, searchData);
     }
 
+    // one row more than the window to find out whether further rows follow
+    int pageSize = getPageSize(searchData);
+    sql.append(SQLs.PERSON_PAGE_ORDER_BY);
+    sql.append(String.format(SQLs.FETCH_FIRST_ROWS, pageSize + 1));
+
+    SelectContribution contribution = new SelectContribution();
+    contributePageColumns(contribution);
+    addContributedColumns(sql, contribution);
+    binds.addAll(contribution.getBinds());
+
     // tag::getTableData[]
     sql.append(SQLs.PERSON_PAGE_DATA_SELECT_INTO);
+    // end::getTableData[]
+    sql.append(contribution.getInto());
+    // tag::getTableData[]
 
-    SQL.selectInto(sql.toString(), searchData, new NVPair("organizationId", organizationId), new NVPair("page", pageData));
+    binds.add(searchData);
+    binds.add(new NVPair("organizationId", organizationId));
+    binds.add(new NVPair("page", pageData));
+    SQL.selectInto(sql.toString(), binds.toArray());
+    // end::getTableData[]
+
+    importPageColumns(pageData, contribution);
+    if (pageData.getRowCount() > pageSize) {
+      pageData.setRows(Arrays.copyOf(pageData.getRows(), pageSize));
+      pageData.setLimitedResult(true);
+    }
+    // tag::getTableData[]
 
     return pageData;
   }
   // end::getTableData[]
+
+  /**
+   * Hook to select additional columns together with the persons of a window, e.g. by a service extension. The
+   * contributed column expressions are evaluated for the persons of the window only, which are available as table
+   * <code>p</code> (e.g. <code>p.person_id</code>).
+   */
+  protected void contributePageColumns(SelectContribution contribution) {
+  }
+
+  /**
+   * Hook to import the values of the columns added by {@link #contributePageColumns(SelectContribution)} into the page
+   * data. The values in the holders of the contribution are in the order of the page data rows.
+   */
+  protected void importPageColumns(PersonTablePageData pageData, SelectContribution contribution) {
+  }
+
+  /**
+   * Wraps the window select into a select of the contributed columns, so that these are not evaluated for persons
+   * outside of the window.
+   */
+  protected void addContributedColumns(StringBuilder sql, SelectContribution contribution) {
+    if (contribution.isEmpty()) {
+      return;
+    }
+    String windowSelect = sql.toString();
+    sql.setLength(0);
+    sql.append(String.format(SQLs.PERSON_PAGE_CONTRIBUTION_SELECT, contribution.getColumns(), windowSelect));
+    sql.append(SQLs.PERSON_PAGE_ORDER_BY);
+  }
   // tag::addOrganizationCriteria[]
 
   protected void addToWhere(StringBuilder sqlWhere, String fieldValue, String sqlAttribute, String searchAttribute) {
     if (StringUtility.hasText(fieldValue)) {
-      sqlWhere.append(String.format(SQLs.AND_LIKE_CAUSE, sqlAttribute, searchAttribute));
+      sqlWhere.append(String.format(SQLs.AND_EQUALS_CAUSE, sqlAttribute, searchAttribute));
     }
   }
   // end::addOrganizationCriteria[]
 
+  /**
+   * Adds a prefix search on the normalized search column of the given attribute (see {@link SearchTextUtility}). The
+   * normalized pattern is bound as it is, so that the database can use the index on the search column.
+   */
+  protected void addPrefixToWhere(StringBuilder sqlWhere, List<Object> binds, String fieldValue, String sqlAttribute, String bindName) {
+    if (StringUtility.hasText(fieldValue)) {
+      sqlWhere.append(String.format(SQLs.AND_LIKE_CAUSE, sqlAttribute, bindName));
+      binds.add(new NVPair(bindName, SearchTextUtility.toPrefixPattern(fieldValue, "%")));
+    }
+  }
+
+  /**
+   * Restricts the result to the rows following the continuation cursor of the given search data (keyset pagination on
+   * last name, first name and person id). Without a cursor the first window is returned.
+   * <p>
+   * The columns are compared as they are (null values are handled by separate conditions), so that the database can
+   * use the index on the sort order of the windows.
+   */
+  protected void addContinuationCursor(StringBuilder sqlWhere, PersonSearchFormData searchData) {
+    if (StringUtility.hasText(searchData.getCursorPersonId())) {
+      String firstNameClause = createKeysetClause("first_name", "cursorFirstName", searchData.getCursorFirstName(), SQLs.PERSON_PAGE_KEYSET_PERSON_ID_CLAUSE);
+      String lastNameClause = createKeysetClause("last_name", "cursorLastName", searchData.getCursorLastName(), firstNameClause);
+      sqlWhere.append(String.format(SQLs.PERSON_PAGE_KEYSET_CLAUSE, lastNameClause));
+    }
+  }
+
+  /**
+   * @return condition for the rows following the cursor value of the given column, rows with the same value are
+   *         restricted by the condition of the next column
+   */
+  protected String createKeysetClause(String sqlAttribute, String bindName, String cursorValue, String nextColumnClause) {
+    String format = cursorValue == null ? SQLs.PERSON_PAGE_KEYSET_NULL_CLAUSE : SQLs.PERSON_PAGE_KEYSET_VALUE_CLAUSE;
+    return String.format(format, sqlAttribute, bindName, nextColumnClause);
+  }
+
+  /**
+   * @return update of the columns set in the form data which differ from the stored person. The client exports all
+   *         fields of a form, so the values are compared with the person as stored with the row version of the form
+   *         data. It is taken from the {@link PersonFormDataCache}, which only holds committed persons, and is used only
+   *         if it has that row version: every change of a person increments the row version and the update is
+   *         restricted to it. Otherwise (e.g. for a new person) all set columns are updated.
+   */
+  protected String createUpdateStatement(PersonFormData formData) {
+    PersonFormData stored = null;
+    if (formData.getRowVersion() > 0) {
+      stored = BEANS.get(PersonFormDataCache.class).get(formData.getPersonId());
+      if (stored != null && !formData.getRowVersion().equals(stored.getRowVersion())) {
+        stored = null;
+      }
+    }
+    return updateStatement.create(formData, stored);
+  }
+
+  /**
+   * @return the number of rows to return in one window: the page size requested by the search data, but at most
+   *         {@link MaxPageSizeProperty}. If further rows follow the window, the page data is marked as limited result.
+   */
+  protected int getPageSize(PersonSearchFormData searchData) {
+    int maxPageSize = CONFIG.getPropertyValue(MaxPageSizeProperty.class);
+    if (searchData == null || searchData.getPageSize() == null || searchData.getPageSize() <= 0) {
+      return maxPageSize;
+    }
+    return Math.min(searchData.getPageSize(), maxPageSize);
+  }
+
   //tag::all[]
   @Override
   public PersonFormData create(PersonFormData formData) {
@@ -84,6 +234,9 @@ public class PersonService implements IPersonService {
     }
 
     SQL.insert(SQLs.PERSON_INSERT, formData); // <1>
+    // end::all[]
+    formData.setRowVersion(0L);
+    // tag::all[]
 
     return store(formData); // <2>
   }
@@ -94,10 +247,27 @@ public class PersonService implements IPersonService {
       throw new VetoException(TEXTS.get("InsufficientPrivileges"));
     }
 
+    // end::all[]
+    // the cache returns a copy, the caller's form data is only filled if the person is not cached
+    PersonFormData cached = BEANS.get(PersonFormDataCache.class).get(formData.getPersonId());
+    if (cached != null) {
+      return cached;
+    }
+    // tag::all[]
     SQL.selectInto(SQLs.PERSON_SELECT, formData); // <3>
 
     return formData;
   }
+  // end::all[]
+
+  /**
+   * Loads the person from the database, bypassing the {@link PersonFormDataCache}.
+   */
+  public PersonFormData loadFromDatabase(PersonFormData formData) {
+    SQL.selectInto(SQLs.PERSON_SELECT, formData);
+    return formData;
+  }
+  // tag::all[]
 
   @Override
   public PersonFormData store(PersonFormData formData) {
@@ -105,7 +275,25 @@ public class PersonService implements IPersonService {
       throw new VetoException(TEXTS.get("InsufficientPrivileges"));
     }
 
-    SQL.update(SQLs.PERSON_UPDATE, formData); // <4>
+    // end::all[]
+    Long rowVersion = formData.getRowVersion();
+    if (rowVersion == null) {
+      throw new VetoException(TEXTS.get("RowVersionMissing"));
+    }
+
+    // tag::all[]
+    int rowCount = SQL.update(createUpdateStatement(formData), formData); // <4>
+    // end::all[]
+    if (rowCount == 0) {
+      // the cached person may have the outdated version, the form must load the current one when it is reopened
+      BEANS.get(PersonFormDataCache.class).invalidate(formData.getPersonId());
+      throw new VetoException(TEXTS.get("ConcurrentChange"));
+    }
+    formData.setRowVersion(rowVersion + 1);
+    BEANS.get(PersonLookupService.class).invalidate(formData.getPersonId());
+    BEANS.get(PersonFormDataCache.class).invalidate(formData.getPersonId());
+    BEANS.get(SearchIndex.class).update(PersonSearchDocumentProvider.ENTITY_TYPE, formData.getPersonId());
+    // tag::all[]
 
     return formData;
   }
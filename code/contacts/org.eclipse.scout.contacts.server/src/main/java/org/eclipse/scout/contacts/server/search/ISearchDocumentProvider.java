@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.search;
+
+import java.util.List;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+
+/**
+ * Provides the documents of one entity type to the {@link SearchIndex}. All beans implementing this interface are
+ * indexed.
+ */
+@ApplicationScoped
+public interface ISearchDocumentProvider {
+
+  /**
+   * @return the entity type, e.g. <code>PERSON</code>
+   */
+  String getEntityType();
+
+  /**
+   * @return the display text of the entity type
+   */
+  String getEntityTypeText();
+
+  /**
+   * @return <code>true</code> if the current user may see entities of this type in search results
+   */
+  boolean isReadable();
+
+  /**
+   * @return the documents of all entities of this type
+   */
+  List<SearchDocument> loadAll();
+
+  /**
+   * @return the document of the given entity or <code>null</code> if it does not exist
+   */
+  SearchDocument load(String entityId);
+}
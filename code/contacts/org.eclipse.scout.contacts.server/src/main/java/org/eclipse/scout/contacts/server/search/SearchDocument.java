@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.search;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.scout.contacts.server.sql.SearchTextUtility;
+
+/**
+ * An entity as seen by the {@link SearchIndex}: the words of its fields, each with the weight of the most important
+ * field it occurs in, and the text shown in search results.
+ */
+public class SearchDocument {
+
+  public static final double PRIMARY_FIELD_WEIGHT = 2d;
+  public static final double SECONDARY_FIELD_WEIGHT = 1d;
+
+  private final String entityType;
+  private final String entityId;
+  private final String text;
+  private final Map<String, Double> termWeights = new HashMap<>();
+
+  public SearchDocument(String entityType, String entityId, String text) {
+    this.entityType = entityType;
+    this.entityId = entityId;
+    this.text = text;
+  }
+
+  /**
+   * Adds the words of a field value with the given weight. <code>null</code> values are ignored.
+   */
+  public SearchDocument withField(Object value, double weight) {
+    if (value != null) {
+      for (String term : SearchTextUtility.tokenize(value.toString())) {
+        termWeights.merge(term, weight, Math::max);
+      }
+    }
+    return this;
+  }
+
+  public String getEntityType() {
+    return entityType;
+  }
+
+  public String getEntityId() {
+    return entityId;
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  public Map<String, Double> getTermWeights() {
+    return Collections.unmodifiableMap(termWeights);
+  }
+
+  String getKey() {
+    return toKey(entityType, entityId);
+  }
+
+  static String toKey(String entityType, String entityId) {
+    return entityType + ":" + entityId;
+  }
+}
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import org.eclipse.scout.contacts.server.common.AfterCommitTransactionMember;
+import org.eclipse.scout.contacts.server.sql.SearchTextUtility;
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.transaction.TransactionScope;
+import org.eclipse.scout.rt.server.context.ServerRunContexts;
+import org.eclipse.scout.rt.server.services.common.clustersync.IClusterSynchronizationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-memory inverted index over the documents of all {@link ISearchDocumentProvider}s.
+ * <p>
+ * The index maps each normalized word (see {@link SearchTextUtility#tokenize(String)}) to the documents containing it.
+ * Words are kept sorted, so all words starting with a query word are a range of the index. The index is built on first
+ * use (or by {@link SearchIndexPlatformListener} at startup) and the services update single documents when they write
+ * an entity, once their transaction is committed.
+ * <p>
+ * Every cluster node holds an index of its own. Updates and invalidations are propagated to the other nodes with a
+ * {@link SearchIndexNotification}.
+ */
+@ApplicationScoped
+public class SearchIndex {
+  private static final Logger LOG = LoggerFactory.getLogger(SearchIndex.class);
+
+  private static final double PREFIX_MATCH_FACTOR = 0.5d;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<String, SearchDocument> documents = new HashMap<>();
+  private final NavigableMap<String, Map<String, Double>> postings = new TreeMap<>();
+  private volatile boolean built;
+
+  /**
+   * Builds the index from all documents of all providers if it is not built yet.
+   */
+  public void ensureBuilt() {
+    if (built) {
+      return;
+    }
+    lock.writeLock().lock();
+    try {
+      if (!built) {
+        rebuildLocked();
+      }
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Discards the index on all cluster nodes. It is built again on next use, e.g. after the data store has been reset.
+   */
+  public void invalidate() {
+    invalidateNow();
+    BEANS.get(IClusterSynchronizationService.class).publishTransactional(new SearchIndexNotification(null, null));
+  }
+
+  /**
+   * Discards the index of this node.
+   */
+  protected void invalidateNow() {
+    lock.writeLock().lock();
+    try {
+      documents.clear();
+      postings.clear();
+      built = false;
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  protected void rebuildLocked() {
+    long start = System.currentTimeMillis();
+    documents.clear();
+    postings.clear();
+    for (ISearchDocumentProvider provider : BEANS.all(ISearchDocumentProvider.class)) {
+      for (SearchDocument document : provider.loadAll()) {
+        addLocked(document);
+      }
+    }
+    built = true;
+    LOG.info("Search index with {} documents and {} words built in {} ms", documents.size(), postings.size(), System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Reads the given entity again from its provider and replaces its document on all cluster nodes, once the current
+   * transaction is committed. The entity is read in a new transaction, so the index never contains changes that are
+   * rolled back.
+   */
+  public void update(String entityType, String entityId) {
+    AfterCommitTransactionMember.runAfterCommit(() -> ServerRunContexts.copyCurrent()
+        .withTransactionScope(TransactionScope.REQUIRES_NEW)
+        .run(() -> updateNow(entityType, entityId)));
+    BEANS.get(IClusterSynchronizationService.class).publishTransactional(new SearchIndexNotification(entityType, entityId));
+  }
+
+  /**
+   * Replaces the document of the given entity in the index of this node. Called after the write is committed, the
+   * entity is read before the lock is acquired and replaces the older state a build running meanwhile may have read. If
+   * the index is not built yet, nothing is done: a build starting later reads the committed entity.
+   */
+  protected void updateNow(String entityType, String entityId) {
+    ISearchDocumentProvider provider = getProvider(entityType);
+    if (provider == null) {
+      return;
+    }
+
+    SearchDocument document = provider.load(entityId);
+    lock.writeLock().lock();
+    try {
+      if (!built) {
+        // not built or invalidated meanwhile, the entity is read when the index is built
+        return;
+      }
+      removeLocked(SearchDocument.toKey(entityType, entityId));
+      if (document != null) {
+        addLocked(document);
+      }
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the documents containing all words of the query, either as a whole word or as start of a word. A document
+   * scores the weight of the field a query word occurs in, halved for prefix matches and reduced by the part of the
+   * word not matched, summed up over all query words.
+   *
+   * @param entityTypeFilter
+   *          accepts the entity types to search
+   * @return at most maxHits hits, best scores first
+   */
+  public List<SearchHit> search(String query, int maxHits, Predicate<String> entityTypeFilter) {
+    List<String> queryTerms = SearchTextUtility.tokenize(query);
+    if (queryTerms.isEmpty()) {
+      return new ArrayList<>();
+    }
+    ensureBuilt();
+
+    List<SearchHit> hits = new ArrayList<>();
+    lock.readLock().lock();
+    try {
+      Map<String, Double> scores = null;
+      for (String queryTerm : queryTerms) {
+        scores = scoreTerm(queryTerm, scores);
+        if (scores.isEmpty()) {
+          break;
+        }
+      }
+
+      for (Entry<String, Double> score : scores.entrySet()) {
+        SearchDocument document = documents.get(score.getKey());
+        if (entityTypeFilter.test(document.getEntityType())) {
+          hits.add(new SearchHit(document, score.getValue()));
+        }
+      }
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+
+    hits.sort(Comparator.comparingDouble(SearchHit::getScore).reversed()
+        .thenComparing(hit -> hit.getDocument().getText(), Comparator.nullsLast(Comparator.naturalOrder())));
+    return hits.size() > maxHits ? new ArrayList<>(hits.subList(0, maxHits)) : hits;
+  }
+
+  /**
+   * @param previousScores
+   *          the scores of the documents matching the previous query words or <code>null</code> for the first word.
+   *          Only these documents are scored.
+   */
+  protected Map<String, Double> scoreTerm(String queryTerm, Map<String, Double> previousScores) {
+    Map<String, Double> termScores = new HashMap<>();
+    for (Entry<String, Map<String, Double>> posting : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+      String term = posting.getKey();
+      double matchFactor = term.length() == queryTerm.length() ? 1d : PREFIX_MATCH_FACTOR * queryTerm.length() / term.length();
+      for (Entry<String, Double> occurrence : posting.getValue().entrySet()) {
+        if (previousScores == null || previousScores.containsKey(occurrence.getKey())) {
+          termScores.merge(occurrence.getKey(), occurrence.getValue() * matchFactor, Math::max);
+        }
+      }
+    }
+    if (previousScores != null) {
+      termScores.replaceAll((key, score) -> score + previousScores.get(key));
+    }
+    return termScores;
+  }
+
+  protected void addLocked(SearchDocument document) {
+    String key = document.getKey();
+    documents.put(key, document);
+    for (Entry<String, Double> termWeight : document.getTermWeights().entrySet()) {
+      postings.computeIfAbsent(termWeight.getKey(), term -> new HashMap<>()).put(key, termWeight.getValue());
+    }
+  }
+
+  protected void removeLocked(String key) {
+    SearchDocument document = documents.remove(key);
+    if (document == null) {
+      return;
+    }
+    for (String term : document.getTermWeights().keySet()) {
+      Map<String, Double> occurrences = postings.get(term);
+      if (occurrences != null) {
+        occurrences.remove(key);
+        if (occurrences.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    }
+  }
+
+  protected ISearchDocumentProvider getProvider(String entityType) {
+    for (ISearchDocumentProvider provider : BEANS.all(ISearchDocumentProvider.class)) {
+      if (provider.getEntityType().equals(entityType)) {
+        return provider;
+      }
+    }
+    return null;
+  }
+
+  public static class SearchHit {
+    private final SearchDocument document;
+    private final double score;
+
+    public SearchHit(SearchDocument document, double score) {
+      this.document = document;
+      this.score = score;
+    }
+
+    public SearchDocument getDocument() {
+      return document;
+    }
+
+    public double getScore() {
+      return score;
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.search;
+
+import java.io.Serializable;
+
+/**
+ * Updates the {@link SearchIndex} of the other cluster nodes after an entity was written, or discards it if no entity
+ * is given (e.g. after the data store has been reset).
+ */
+public class SearchIndexNotification implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String entityType;
+  private final String entityId;
+
+  public SearchIndexNotification(String entityType, String entityId) {
+    this.entityType = entityType;
+    this.entityId = entityId;
+  }
+
+  public String getEntityType() {
+    return entityType;
+  }
+
+  public String getEntityId() {
+    return entityId;
+  }
+
+  public boolean isInvalidateAll() {
+    return entityType == null;
+  }
+}
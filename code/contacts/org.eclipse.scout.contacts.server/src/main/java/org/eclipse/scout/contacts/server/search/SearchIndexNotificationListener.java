@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.search;
+
+import org.eclipse.scout.contacts.server.sql.SuperUserRunContextProducer;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.exception.ExceptionHandler;
+import org.eclipse.scout.rt.platform.transaction.TransactionScope;
+import org.eclipse.scout.rt.server.services.common.clustersync.IClusterNotificationListener;
+import org.eclipse.scout.rt.server.services.common.clustersync.IClusterNotificationMessage;
+
+/**
+ * Applies the {@link SearchIndexNotification}s of the other cluster nodes to the {@link SearchIndex} of this node. The
+ * written entity is read in a new transaction with super user rights.
+ */
+public class SearchIndexNotificationListener implements IClusterNotificationListener {
+
+  @Override
+  public void onNotification(IClusterNotificationMessage message) {
+    if (!(message.getNotification() instanceof SearchIndexNotification)) {
+      return;
+    }
+
+    SearchIndexNotification notification = (SearchIndexNotification) message.getNotification();
+    SearchIndex index = BEANS.get(SearchIndex.class);
+    if (notification.isInvalidateAll()) {
+      index.invalidateNow();
+      return;
+    }
+
+    try {
+      BEANS.get(SuperUserRunContextProducer.class).produce()
+          .withTransactionScope(TransactionScope.REQUIRES_NEW)
+          .run(() -> index.updateNow(notification.getEntityType(), notification.getEntityId()));
+    }
+    catch (RuntimeException e) {
+      BEANS.get(ExceptionHandler.class).handle(e);
+    }
+  }
+}
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.search;
+
+import org.eclipse.scout.contacts.server.sql.SuperUserRunContextProducer;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.IPlatform.State;
+import org.eclipse.scout.rt.platform.IPlatformListener;
+import org.eclipse.scout.rt.platform.Order;
+import org.eclipse.scout.rt.platform.PlatformEvent;
+import org.eclipse.scout.rt.platform.job.Jobs;
+
+/**
+ * Builds the {@link SearchIndex} in the background once the platform (and with it the database) is started, so the
+ * first search does not have to wait for it.
+ */
+@Order(100)
+public class SearchIndexPlatformListener implements IPlatformListener {
+
+  @Override
+  public void stateChanged(PlatformEvent event) {
+    if (event.getState() == State.PlatformStarted) {
+      Jobs.schedule(() -> BEANS.get(SearchIndex.class).ensureBuilt(), Jobs.newInput()
+          .withName("Building search index")
+          .withRunContext(BEANS.get(SuperUserRunContextProducer.class).produce()));
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.search;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.scout.contacts.server.search.SearchIndex.SearchHit;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.SearchMaxHitsProperty;
+import org.eclipse.scout.contacts.shared.search.ISearchService;
+import org.eclipse.scout.contacts.shared.search.SearchResultTablePageData;
+import org.eclipse.scout.contacts.shared.search.SearchResultTablePageData.SearchResultTableRowData;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+
+public class SearchService implements ISearchService {
+
+  @Override
+  public SearchResultTablePageData search(String query) {
+    Map<String, ISearchDocumentProvider> readableProviders = new HashMap<>();
+    for (ISearchDocumentProvider provider : BEANS.all(ISearchDocumentProvider.class)) {
+      if (provider.isReadable()) {
+        readableProviders.put(provider.getEntityType(), provider);
+      }
+    }
+
+    SearchResultTablePageData pageData = new SearchResultTablePageData();
+    int maxHits = CONFIG.getPropertyValue(SearchMaxHitsProperty.class);
+    for (SearchHit hit : BEANS.get(SearchIndex.class).search(query, maxHits, readableProviders::containsKey)) {
+      SearchDocument document = hit.getDocument();
+      SearchResultTableRowData row = pageData.addRow();
+      row.setEntityType(document.getEntityType());
+      row.setEntityId(document.getEntityId());
+      row.setType(readableProviders.get(document.getEntityType()).getEntityTypeText());
+      row.setText(document.getText());
+      row.setScore(BigDecimal.valueOf(hit.getScore()).setScale(2, RoundingMode.HALF_UP));
+    }
+    return pageData;
+  }
+}
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics of a {@link BulkLoadService} run.
+ */
+public class BulkLoadResult {
+
+  private final String tableName;
+  private final long rowCount;
+  private final long durationNanos;
+
+  public BulkLoadResult(String tableName, long rowCount, long durationNanos) {
+    this.tableName = tableName;
+    this.rowCount = rowCount;
+    this.durationNanos = durationNanos;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  public long getDurationMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+  }
+
+  public long getRowsPerSecond() {
+    if (durationNanos <= 0) {
+      return rowCount;
+    }
+    return rowCount * TimeUnit.SECONDS.toNanos(1) / durationNanos;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[tableName=" + tableName + ", rowCount=" + rowCount + ", durationMillis=" + getDurationMillis() + ", rowsPerSecond=" + getRowsPerSecond() + "]";
+  }
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.BulkLoadBatchSizeProperty;
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.exception.PlatformExceptionTranslator;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.util.StringUtility;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads large amounts of rows into a table of the contacts database.
+ * <p>
+ * The rows are streamed from CSV or JSON input and inserted with a single prepared statement using JDBC batches of
+ * {@link BulkLoadBatchSizeProperty} rows.
+ * <p>
+ * The rows are inserted in the transaction of the caller, which commits or rolls them back together with its other
+ * work (e.g. the creation of the table). The loader never commits itself, so if a row fails, the rollback of the
+ * caller discards all rows loaded so far.
+ */
+@ApplicationScoped
+public class BulkLoadService {
+  private static final Logger LOG = LoggerFactory.getLogger(BulkLoadService.class);
+
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+  /**
+   * Loads a CSV or JSON classpath resource (depending on the file extension) encoded in UTF-8.
+   */
+  public BulkLoadResult loadResource(String tableName, URL resource) {
+    try (Reader reader = new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8)) {
+      return resource.getPath().endsWith(".json") ? loadJson(tableName, reader) : loadCsv(tableName, reader);
+    }
+    catch (IOException e) {
+      throw BEANS.get(PlatformExceptionTranslator.class).translate(e);
+    }
+  }
+
+  /**
+   * @see CsvRowReader
+   */
+  public BulkLoadResult loadCsv(String tableName, Reader reader) {
+    return load(tableName, new CsvRowReader(reader));
+  }
+
+  /**
+   * @see JsonRowReader
+   */
+  public BulkLoadResult loadJson(String tableName, Reader reader) {
+    return load(tableName, new JsonRowReader(reader));
+  }
+
+  public BulkLoadResult load(String tableName, IRowReader rowReader) {
+    int batchSize = CONFIG.getPropertyValue(BulkLoadBatchSizeProperty.class);
+    long start = System.nanoTime();
+    long rowCount = 0;
+
+    try {
+      List<String> columns = rowReader.getColumns();
+      try (PreparedStatement statement = SQL.getConnection().prepareStatement(createInsertStatement(tableName, columns))) {
+        int[] parameterTypes = getParameterTypes(statement.getParameterMetaData(), columns.size());
+
+        List<String> row = rowReader.nextRow();
+        while (row != null) {
+          bind(statement, parameterTypes, row);
+          statement.addBatch();
+          rowCount++;
+
+          if (rowCount % batchSize == 0) {
+            statement.executeBatch();
+          }
+          row = rowReader.nextRow();
+        }
+        statement.executeBatch();
+      }
+    }
+    catch (IOException | SQLException e) {
+      throw BEANS.get(PlatformExceptionTranslator.class).translate(e);
+    }
+
+    BulkLoadResult result = new BulkLoadResult(tableName, rowCount, System.nanoTime() - start);
+    LOG.info("Loaded {} rows into database table '{}' in {} ms ({} rows/s)", result.getRowCount(), tableName, result.getDurationMillis(), result.getRowsPerSecond());
+    return result;
+  }
+
+  protected String createInsertStatement(String tableName, List<String> columns) {
+    assertIdentifier(tableName);
+    if (columns.isEmpty()) {
+      throw new ProcessingException("No columns to load into database table '{}'", tableName);
+    }
+
+    StringBuilder parameters = new StringBuilder();
+    for (String column : columns) {
+      assertIdentifier(column);
+      parameters.append(parameters.length() == 0 ? "?" : ", ?");
+    }
+    return "INSERT INTO " + tableName + " (" + StringUtility.join(", ", columns) + ") VALUES (" + parameters + ")";
+  }
+
+  protected int[] getParameterTypes(ParameterMetaData metaData, int parameterCount) throws SQLException {
+    int[] types = new int[parameterCount];
+    for (int i = 0; i < parameterCount; i++) {
+      types[i] = metaData.getParameterType(i + 1);
+    }
+    return types;
+  }
+
+  /**
+   * Binds the values as strings and lets the database convert them to the column types (e.g. dates as
+   * <code>yyyy-mm-dd</code>, timestamps as <code>yyyy-mm-dd hh:mm:ss</code>).
+   */
+  protected void bind(PreparedStatement statement, int[] parameterTypes, List<String> row) throws SQLException {
+    for (int i = 0; i < parameterTypes.length; i++) {
+      String value = row.get(i);
+      if (value == null) {
+        statement.setNull(i + 1, parameterTypes[i]);
+      }
+      else {
+        statement.setString(i + 1, value);
+      }
+    }
+  }
+
+  protected void assertIdentifier(String name) {
+    if (name == null || !IDENTIFIER.matcher(name).matches()) {
+      throw new ProcessingException("Invalid table or column name '{}'", name);
+    }
+  }
+}
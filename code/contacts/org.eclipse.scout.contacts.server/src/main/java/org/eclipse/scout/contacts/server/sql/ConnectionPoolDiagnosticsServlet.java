@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map.Entry;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.scout.contacts.server.common.AbstractFormDataCache;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.ConnectionPoolLifetimeProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.ConnectionPoolSizeProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.DatabaseModeProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.StatementCacheSizeProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.TransactionIsolationProperty;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+
+/**
+ * Exports the configuration and the {@link ConnectionPoolMetrics} of the database connection pool as plain text
+ * <code>name=value</code> lines, followed by the hit and miss counts of the {@link AbstractFormDataCache}s.
+ */
+public class ConnectionPoolDiagnosticsServlet extends HttpServlet {
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+    resp.setContentType("text/plain");
+    resp.setCharacterEncoding("UTF-8");
+    resp.setHeader("Cache-Control", "no-store");
+
+    PrintWriter out = resp.getWriter();
+    out.println("mode=" + CONFIG.getPropertyValue(DatabaseModeProperty.class));
+    out.println("maxSize=" + CONFIG.getPropertyValue(ConnectionPoolSizeProperty.class));
+    out.println("connectionLifetimeSeconds=" + CONFIG.getPropertyValue(ConnectionPoolLifetimeProperty.class));
+    out.println("statementCacheSize=" + CONFIG.getPropertyValue(StatementCacheSizeProperty.class));
+    out.println("transactionIsolation=" + CONFIG.getPropertyValue(TransactionIsolationProperty.class));
+    for (Entry<String, Long> value : BEANS.get(ConnectionPoolMetrics.class).getValues().entrySet()) {
+      out.println(value.getKey() + "=" + value.getValue());
+    }
+    for (AbstractFormDataCache<?> cache : BEANS.all(AbstractFormDataCache.class)) {
+      out.println(cache.getCacheId() + ".hits=" + cache.getHits());
+      out.println(cache.getCacheId() + ".misses=" + cache.getMisses());
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+
+/**
+ * Usage of the database connection pool, recorded by {@link DerbySqlService} and exported by
+ * {@link ConnectionPoolDiagnosticsServlet}.
+ */
+@ApplicationScoped
+public class ConnectionPoolMetrics {
+
+  /**
+   * Upper bounds in milliseconds of the buckets of the acquire latency histogram. The last bucket counts all slower
+   * acquisitions.
+   */
+  private static final long[] LATENCY_BUCKETS = {1, 5, 10, 50, 100, 500, 1000};
+
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final AtomicLong acquired = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS.length + 1);
+
+  /**
+   * Called before a connection is requested from the pool.
+   *
+   * @return the start time to pass to {@link #acquireEnded(long, boolean)}
+   */
+  public long acquireStarted() {
+    waiting.incrementAndGet();
+    return System.nanoTime();
+  }
+
+  public void acquireEnded(long startTime, boolean success) {
+    waiting.decrementAndGet();
+    if (!success) {
+      failed.incrementAndGet();
+      return;
+    }
+    active.incrementAndGet();
+    acquired.incrementAndGet();
+    latencyHistogram.incrementAndGet(getBucket(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+  }
+
+  public void released() {
+    active.decrementAndGet();
+  }
+
+  protected int getBucket(long latencyMillis) {
+    for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+      if (latencyMillis <= LATENCY_BUCKETS[i]) {
+        return i;
+      }
+    }
+    return LATENCY_BUCKETS.length;
+  }
+
+  /**
+   * @return the current values by name, in a stable order
+   */
+  public Map<String, Long> getValues() {
+    Map<String, Long> values = new LinkedHashMap<>();
+    values.put("active", (long) active.get());
+    values.put("waiting", (long) waiting.get());
+    values.put("acquired", acquired.get());
+    values.put("failed", failed.get());
+    for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+      values.put("acquireLatency.le." + LATENCY_BUCKETS[i] + "ms", latencyHistogram.get(i));
+    }
+    values.put("acquireLatency.gt." + LATENCY_BUCKETS[LATENCY_BUCKETS.length - 1] + "ms", latencyHistogram.get(LATENCY_BUCKETS.length));
+    return values;
+  }
+}
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+
+/**
+ * Reads comma separated values (RFC 4180). The first record contains the column names.
+ * <p>
+ * Values may be enclosed in double quotes to contain commas, line breaks or (doubled) double quotes. An empty unquoted
+ * value is read as <code>null</code>, an empty quoted value (<code>""</code>) as empty string.
+ */
+public class CsvRowReader implements IRowReader {
+
+  private static final int EOF = -1;
+
+  private final Reader reader;
+  private List<String> columns;
+  private int next;
+
+  public CsvRowReader(Reader reader) {
+    this.reader = new BufferedReader(reader);
+  }
+
+  @Override
+  public List<String> getColumns() throws IOException {
+    if (columns == null) {
+      next = reader.read();
+      columns = readRecord();
+      if (columns == null) {
+        throw new ProcessingException("CSV input has no header");
+      }
+    }
+    return columns;
+  }
+
+  @Override
+  public List<String> nextRow() throws IOException {
+    int columnCount = getColumns().size();
+    List<String> row = readRecord();
+    if (row != null && row.size() != columnCount) {
+      throw new ProcessingException("CSV record {} has {} values, but {} columns are defined", row, row.size(), columnCount);
+    }
+    return row;
+  }
+
+  /**
+   * Reads the record starting at the next character. Empty lines are skipped.
+   */
+  protected List<String> readRecord() throws IOException {
+    while (next == '\r' || next == '\n') {
+      next = reader.read();
+    }
+    if (next == EOF) {
+      return null;
+    }
+
+    List<String> values = new ArrayList<>();
+    while (true) {
+      values.add(readValue());
+      if (next == ',') {
+        next = reader.read();
+      }
+      else {
+        return values;
+      }
+    }
+  }
+
+  protected String readValue() throws IOException {
+    if (next != '"') {
+      StringBuilder value = new StringBuilder();
+      while (next != ',' && next != '\r' && next != '\n' && next != EOF) {
+        value.append((char) next);
+        next = reader.read();
+      }
+      return value.length() == 0 ? null : value.toString();
+    }
+
+    StringBuilder value = new StringBuilder();
+    while (true) {
+      next = reader.read();
+      if (next == EOF) {
+        throw new ProcessingException("Unterminated quoted CSV value '{}'", value);
+      }
+      if (next == '"') {
+        next = reader.read();
+        if (next != '"') {
+          return value.toString();
+        }
+      }
+      value.append((char) next);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -13,6 +13,7 @@ package org.eclipse.scout.contacts.server.sql;
 import javax.security.auth.Subject;
 
 import org.eclipse.scout.rt.platform.config.AbstractBooleanConfigProperty;
+import org.eclipse.scout.rt.platform.config.AbstractPositiveIntegerConfigProperty;
 import org.eclipse.scout.rt.platform.config.AbstractStringConfigProperty;
 import org.eclipse.scout.rt.platform.config.AbstractSubjectConfigProperty;
 
@@ -80,6 +81,279 @@ public class DatabaseProperties {
     // tag::structure[]
   }
 
+  public static class DatabaseModeProperty extends AbstractStringConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public String getDefaultValue() {
+      return DerbySqlService.MODE_MEMORY;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.database.mode";
+    }
+
+    @Override
+    public String description() {
+      return "Where the Derby database is kept: 'memory' uses the JDBC mapping name (contacts.database.jdbc.mappingName), 'file' an embedded database in the directory contacts.database.file.directory and 'network' the database contacts.database.network.databaseName of a Derby network server at contacts.database.network.server. The default value is 'memory'.";
+    }
+    // tag::structure[]
+  }
+
+  public static class DatabaseDirectoryProperty extends AbstractStringConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public String getDefaultValue() {
+      return "contacts-database";
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.database.file.directory";
+    }
+
+    @Override
+    public String description() {
+      return "Directory of the embedded Derby database if contacts.database.mode is 'file'. Relative paths are resolved against the Derby system home. The default value is 'contacts-database'.";
+    }
+    // tag::structure[]
+  }
+
+  public static class DatabaseNetworkServerProperty extends AbstractStringConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public String getDefaultValue() {
+      return "localhost:1527";
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.database.network.server";
+    }
+
+    @Override
+    public String description() {
+      return "Host and port of the Derby network server if contacts.database.mode is 'network'. The default value is 'localhost:1527'.";
+    }
+    // tag::structure[]
+  }
+
+  public static class DatabaseNetworkNameProperty extends AbstractStringConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public String getDefaultValue() {
+      return "contacts-database";
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.database.network.databaseName";
+    }
+
+    @Override
+    public String description() {
+      return "Name of the database on the Derby network server if contacts.database.mode is 'network'. The default value is 'contacts-database'.";
+    }
+    // tag::structure[]
+  }
+
+  public static class ConnectionPoolSizeProperty extends AbstractPositiveIntegerConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public Integer getDefaultValue() {
+      return 25;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.database.pool.maxSize";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum number of pooled database connections. Sessions wait for a free connection if all of them are in use. The default value is 25.";
+    }
+    // tag::structure[]
+  }
+
+  public static class ConnectionPoolLifetimeProperty extends AbstractPositiveIntegerConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public Integer getDefaultValue() {
+      return 300;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.database.pool.connectionLifetime";
+    }
+
+    @Override
+    public String description() {
+      return "Time in seconds after which a pooled connection is closed and replaced by a new one, whether it is used or idle. A connection in use is closed when it is released. The default value is 300.";
+    }
+    // tag::structure[]
+  }
+
+  public static class StatementCacheSizeProperty extends AbstractPositiveIntegerConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public Integer getDefaultValue() {
+      return 100;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.database.statementCacheSize";
+    }
+
+    @Override
+    public String description() {
+      return "Number of prepared statements cached per connection. The default value is 100.";
+    }
+    // tag::structure[]
+  }
+
+  public static class TransactionIsolationProperty extends AbstractStringConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public String getDefaultValue() {
+      return "READ_COMMITTED";
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.database.transactionIsolation";
+    }
+
+    @Override
+    public String description() {
+      return "Transaction isolation level of the database connections: READ_UNCOMMITTED, READ_COMMITTED, REPEATABLE_READ or SERIALIZABLE. The default value is 'READ_COMMITTED'.";
+    }
+    // tag::structure[]
+  }
+
+  public static class MaxPageSizeProperty extends AbstractPositiveIntegerConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public Integer getDefaultValue() {
+      return 1000;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.database.maxPageSize";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum number of rows a table page service returns per window. Larger requested page sizes are capped to this value. The default value is 1000.";
+    }
+    // tag::structure[]
+  }
+
+  public static class BulkLoadBatchSizeProperty extends AbstractPositiveIntegerConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public Integer getDefaultValue() {
+      return 500;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.database.bulkload.batchSize";
+    }
+
+    @Override
+    public String description() {
+      return "Number of rows the bulk loader sends to the database in one JDBC batch. The default value is 500.";
+    }
+    // tag::structure[]
+  }
+
+  public static class LookupCacheSizeProperty extends AbstractPositiveIntegerConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public Integer getDefaultValue() {
+      return 10000;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.lookup.cacheSize";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum number of lookup rows cached per lookup service (e.g. persons and organizations by key). The default value is 10000.";
+    }
+    // tag::structure[]
+  }
+
+  public static class FormDataCacheSizeProperty extends AbstractPositiveIntegerConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public Integer getDefaultValue() {
+      return 1000;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.formData.cacheSize";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum number of loaded forms cached per entity type (e.g. persons and organizations). The default value is 1000.";
+    }
+    // tag::structure[]
+  }
+
+  public static class SearchMaxHitsProperty extends AbstractPositiveIntegerConfigProperty {
+    // defines default value and key
+    // end::structure[]
+
+    @Override
+    public Integer getDefaultValue() {
+      return 100;
+    }
+
+    @Override
+    public String getKey() {
+      return "contacts.search.maxHits";
+    }
+
+    @Override
+    public String description() {
+      return "Maximum number of hits the global search returns. The default value is 100.";
+    }
+    // tag::structure[]
+  }
+
   public static class SuperUserSubjectProperty extends AbstractSubjectConfigProperty {
     // defines default value and key
     // end::structure[]
@@ -1,6 +1,7 @@
 package org.eclipse.scout.contacts.server.sql;
 
-import java.util.Set;
+import java.util.Arrays;
+import java.util.List;
 
 import javax.annotation.PostConstruct;
 
@@ -12,11 +13,7 @@ import org.eclipse.scout.rt.platform.CreateImmediately;
 import org.eclipse.scout.rt.platform.config.CONFIG;
 import org.eclipse.scout.rt.platform.context.RunContext;
 import org.eclipse.scout.rt.platform.exception.ExceptionHandler;
-import org.eclipse.scout.rt.platform.holders.NVPair;
-import org.eclipse.scout.rt.platform.holders.StringArrayHolder;
-import org.eclipse.scout.rt.platform.util.CollectionUtility;
 import org.eclipse.scout.rt.platform.util.concurrent.IRunnable;
-import org.eclipse.scout.rt.server.jdbc.SQL;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,10 +28,7 @@ public class DatabaseSetupService implements IDataStoreService {
     if (CONFIG.getPropertyValue(DatabaseAutoCreateProperty.class)) {
       try {
         RunContext context = BEANS.get(SuperUserRunContextProducer.class).produce();
-        IRunnable runnable = () -> {
-          createOrganizationTable();
-          createPersonTable();
-        };
+        IRunnable runnable = () -> BEANS.get(SchemaMetadataService.class).createTablesInParallel(getTableDefinitions());
 
         context.run(runnable);
       }
@@ -45,77 +39,121 @@ public class DatabaseSetupService implements IDataStoreService {
   }
 
   public void createOrganizationTable() {
-    if (!getExistingTables().contains("ORGANIZATION")) {
-      SQL.insert(SQLs.ORGANIZATION_CREATE_TABLE);
+    if (!BEANS.get(SchemaMetadataService.class).existsTable("ORGANIZATION")) { // <1>
+      BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.ORGANIZATION_CREATE_TABLE);
       LOG.info("Database table 'ORGANIZATION' created");
 
       if (CONFIG.getPropertyValue(DatabaseAutoPopulateProperty.class)) {
-        SQL.insert(SQLs.ORGANIZATION_INSERT_SAMPLE + SQLs.ORGANIZATION_VALUES_01);
-        SQL.insert(SQLs.ORGANIZATION_INSERT_SAMPLE + SQLs.ORGANIZATION_VALUES_02);
+        BEANS.get(BulkLoadService.class).loadResource("ORGANIZATION", DatabaseSetupService.class.getResource("organization-sample.csv"));
         LOG.info("Database table 'ORGANIZATION' populated with sample data");
       }
     }
+    // end::service[]
+
+    addOrganizationSearchColumns();
+    addRowVersionColumn("ORGANIZATION", SQLs.ORGANIZATION_ADD_ROW_VERSION_COLUMN);
+    // tag::service[]
   }
 
   public void createPersonTable() {
-    if (!getExistingTables().contains("PERSON")) {
-      SQL.insert(SQLs.PERSON_CREATE_TABLE);
+    if (!BEANS.get(SchemaMetadataService.class).existsTable("PERSON")) {
+      BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.PERSON_CREATE_TABLE);
       LOG.info("Database table 'PERSON' created");
 
       if (CONFIG.getPropertyValue(DatabaseAutoPopulateProperty.class)) {
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_01);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_02);
-        // end::service[]
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_03);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_04);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_05);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_06);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_07);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_08);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_09);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_10);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_11);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_12);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_13);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_14);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_15);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_16);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_17);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_18);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_19);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_20);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_21);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_22);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_23);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_24);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_25);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_26);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_27);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_28);
-        SQL.insert(SQLs.PERSON_INSERT_SAMPLE + SQLs.PERSON_VALUES_29);
-        // tag::service[]
+        BEANS.get(BulkLoadService.class).loadResource("PERSON", DatabaseSetupService.class.getResource("person-sample.csv"));
         LOG.info("Database table 'PERSON' populated with sample data");
       }
     }
-  }
+    // end::service[]
 
-  private Set<String> getExistingTables() {
-    StringArrayHolder tables = new StringArrayHolder();
-    SQL.selectInto(SQLs.SELECT_TABLE_NAMES, new NVPair("result", tables)); // <1>
-    return CollectionUtility.hashSet(tables.getValue());
+    addPersonSearchColumns();
+    addIndex("PERSON_PAGE_IX", SQLs.PERSON_CREATE_PAGE_INDEX);
+    addRowVersionColumn("PERSON", SQLs.PERSON_ADD_ROW_VERSION_COLUMN);
+    // tag::service[]
   }
+
   // end::service[]
 
+  protected List<TableDefinition> getTableDefinitions() {
+    return Arrays.asList(
+        new TableDefinition("ORGANIZATION", this::createOrganizationTable),
+        new TableDefinition("PERSON", this::createPersonTable, "ORGANIZATION"));
+  }
+
+  /**
+   * Schema migration step adding the normalized search column (lower case, without accents) and its index to the
+   * ORGANIZATION table. Prefix searches on this column are index range scans instead of a scan over all rows.
+   */
+  protected void addOrganizationSearchColumns() {
+    SchemaMetadataService schema = BEANS.get(SchemaMetadataService.class);
+    if (!schema.existsColumn("ORGANIZATION", "NAME_SEARCH")) {
+      createSearchTextFunction();
+      schema.executeDdl(SQLs.ORGANIZATION_ADD_NAME_SEARCH_COLUMN);
+      schema.executeDdl(SQLs.ORGANIZATION_CREATE_NAME_SEARCH_INDEX);
+      LOG.info("Search columns added to database table 'ORGANIZATION'");
+    }
+  }
+
+  /**
+   * Schema migration step adding the normalized search columns (lower case, without accents) and their indexes to the
+   * PERSON table.
+   */
+  protected void addPersonSearchColumns() {
+    SchemaMetadataService schema = BEANS.get(SchemaMetadataService.class);
+    if (!schema.existsColumn("PERSON", "LAST_NAME_SEARCH")) {
+      createSearchTextFunction();
+      schema.executeDdl(SQLs.PERSON_ADD_FIRST_NAME_SEARCH_COLUMN);
+      schema.executeDdl(SQLs.PERSON_ADD_LAST_NAME_SEARCH_COLUMN);
+      schema.executeDdl(SQLs.PERSON_ADD_CITY_SEARCH_COLUMN);
+      schema.executeDdl(SQLs.PERSON_CREATE_FIRST_NAME_SEARCH_INDEX);
+      schema.executeDdl(SQLs.PERSON_CREATE_LAST_NAME_SEARCH_INDEX);
+      schema.executeDdl(SQLs.PERSON_CREATE_CITY_SEARCH_INDEX);
+      LOG.info("Search columns added to database table 'PERSON'");
+    }
+  }
+
+  /**
+   * Schema migration step adding the version column used for optimistic locking: an update of a row must name the
+   * version it was loaded with and increments it, so concurrent changes are detected instead of overwritten.
+   */
+  public void addRowVersionColumn(String tableName, String ddl) {
+    SchemaMetadataService schema = BEANS.get(SchemaMetadataService.class);
+    if (!schema.existsColumn(tableName, "ROW_VERSION")) {
+      schema.executeDdl(ddl);
+      LOG.info("Row version column added to database table '{}'", tableName);
+    }
+  }
+
+  /**
+   * Schema migration step creating the given index unless it exists, e.g. the index on the sort order of the person
+   * windows (see {@link SQLs#PERSON_PAGE_ORDER_BY}).
+   */
+  public void addIndex(String indexName, String ddl) {
+    SchemaMetadataService schema = BEANS.get(SchemaMetadataService.class);
+    if (!schema.existsIndex(indexName)) {
+      schema.executeDdl(ddl);
+      LOG.info("Database index '{}' created", indexName);
+    }
+  }
+
+  protected void createSearchTextFunction() {
+    SchemaMetadataService schema = BEANS.get(SchemaMetadataService.class);
+    if (!schema.existsFunction("SEARCH_TEXT")) {
+      schema.executeDdl(SQLs.SEARCH_TEXT_FUNCTION_CREATE);
+      LOG.info("Database function 'SEARCH_TEXT' created");
+    }
+  }
+
   @Override
   public void dropDataStore() {
-    SQL.update(SQLs.PERSON_DROP_TABLE);
-    SQL.update(SQLs.ORGANIZATION_DROP_TABLE);
+    BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.PERSON_DROP_TABLE);
+    BEANS.get(SchemaMetadataService.class).executeDdl(SQLs.ORGANIZATION_DROP_TABLE);
   }
 
   @Override
   public void createDataStore() {
-    createOrganizationTable();
-    createPersonTable();
+    BEANS.get(SchemaMetadataService.class).createTables(getTableDefinitions());
   }
   // tag::service[]
 }
@@ -10,24 +10,42 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.server.sql;
 
+import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
 
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.ConnectionPoolLifetimeProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.ConnectionPoolSizeProperty;
 import org.eclipse.scout.contacts.server.sql.DatabaseProperties.DatabaseAutoCreateProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.DatabaseDirectoryProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.DatabaseModeProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.DatabaseNetworkNameProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.DatabaseNetworkServerProperty;
 import org.eclipse.scout.contacts.server.sql.DatabaseProperties.JdbcMappingNameProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.StatementCacheSizeProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.TransactionIsolationProperty;
 import org.eclipse.scout.rt.platform.BEANS;
 import org.eclipse.scout.rt.platform.Order;
 import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.exception.PlatformException;
 import org.eclipse.scout.rt.platform.exception.PlatformExceptionTranslator;
 import org.eclipse.scout.rt.server.jdbc.derby.AbstractDerbySqlService;
 
 @Order(1950)
 // tag::service[]
 public class DerbySqlService extends AbstractDerbySqlService {
+  // end::service[]
+  public static final String MODE_MEMORY = "memory";
+  public static final String MODE_FILE = "file";
+  public static final String MODE_NETWORK = "network";
+
+  private static final String NETWORK_DRIVER_NAME = "org.apache.derby.jdbc.ClientDriver";
+  // tag::service[]
 
   @Override
   protected String getConfiguredJdbcMappingName() {
-    String mappingName = CONFIG.getPropertyValue(JdbcMappingNameProperty.class);
+    String mappingName = getJdbcMappingName();
 
     // add create attribute if we need to autocreate the db
     if (CONFIG.getPropertyValue(DatabaseAutoCreateProperty.class)) {
@@ -38,10 +56,99 @@ public class DerbySqlService extends AbstractDerbySqlService {
   }
   // end::service[]
 
+  /**
+   * @return the JDBC mapping name of the database selected by {@link DatabaseModeProperty}
+   */
+  protected String getJdbcMappingName() {
+    String mode = CONFIG.getPropertyValue(DatabaseModeProperty.class);
+    switch (mode) {
+      case MODE_MEMORY:
+        return CONFIG.getPropertyValue(JdbcMappingNameProperty.class);
+      case MODE_FILE:
+        return "jdbc:derby:directory:" + CONFIG.getPropertyValue(DatabaseDirectoryProperty.class);
+      case MODE_NETWORK:
+        return "jdbc:derby://" + CONFIG.getPropertyValue(DatabaseNetworkServerProperty.class) + "/" + CONFIG.getPropertyValue(DatabaseNetworkNameProperty.class);
+      default:
+        throw new PlatformException("Unknown database mode '{}'", mode);
+    }
+  }
+
+  @Override
+  protected String getConfiguredJdbcDriverName() {
+    if (MODE_NETWORK.equals(CONFIG.getPropertyValue(DatabaseModeProperty.class))) {
+      return NETWORK_DRIVER_NAME;
+    }
+    return super.getConfiguredJdbcDriverName();
+  }
+
+  @Override
+  protected int getConfiguredJdbcPoolSize() {
+    return CONFIG.getPropertyValue(ConnectionPoolSizeProperty.class);
+  }
+
+  @Override
+  protected long getConfiguredJdbcPoolConnectionLifetime() {
+    return TimeUnit.SECONDS.toMillis(CONFIG.getPropertyValue(ConnectionPoolLifetimeProperty.class));
+  }
+
+  @Override
+  protected int getConfiguredJdbcStatementCacheSize() {
+    return CONFIG.getPropertyValue(StatementCacheSizeProperty.class);
+  }
+
+  @Override
+  protected Connection leaseConnection() throws Exception {
+    ConnectionPoolMetrics metrics = BEANS.get(ConnectionPoolMetrics.class);
+    long start = metrics.acquireStarted();
+    boolean success = false;
+    try {
+      Connection connection = super.leaseConnection();
+      success = true;
+      return connection;
+    }
+    finally {
+      metrics.acquireEnded(start, success);
+    }
+  }
+
+  @Override
+  protected void releaseConnection(Connection conn) {
+    BEANS.get(ConnectionPoolMetrics.class).released();
+    super.releaseConnection(conn);
+  }
+
+  @Override
+  protected void execAfterConnectionCreated(Connection conn) {
+    int isolation = getTransactionIsolation();
+    try {
+      if (conn.getTransactionIsolation() != isolation) {
+        conn.setTransactionIsolation(isolation);
+      }
+    }
+    catch (SQLException e) {
+      throw BEANS.get(PlatformExceptionTranslator.class).translate(e);
+    }
+  }
+
+  protected int getTransactionIsolation() {
+    String isolation = CONFIG.getPropertyValue(TransactionIsolationProperty.class);
+    switch (isolation) {
+      case "READ_UNCOMMITTED":
+        return Connection.TRANSACTION_READ_UNCOMMITTED;
+      case "READ_COMMITTED":
+        return Connection.TRANSACTION_READ_COMMITTED;
+      case "REPEATABLE_READ":
+        return Connection.TRANSACTION_REPEATABLE_READ;
+      case "SERIALIZABLE":
+        return Connection.TRANSACTION_SERIALIZABLE;
+      default:
+        throw new PlatformException("Unknown transaction isolation '{}'", isolation);
+    }
+  }
+
   public void dropDB() {
     try {
-      String jdbcMappingName = CONFIG.getPropertyValue(JdbcMappingNameProperty.class);
-      DriverManager.getConnection(jdbcMappingName + ";drop=true");
+      DriverManager.getConnection(getJdbcMappingName() + ";drop=true");
     }
     catch (SQLException e) {
       BEANS.get(PlatformExceptionTranslator.class).translate(e);
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Streaming source of rows for the {@link BulkLoadService}. Rows are read one at a time, the whole input is never held
+ * in memory.
+ */
+public interface IRowReader extends Closeable {
+
+  /**
+   * @return the column names of the rows, in the order of the values returned by {@link #nextRow()}.
+   */
+  List<String> getColumns() throws IOException;
+
+  /**
+   * @return the values of the next row (<code>null</code> for SQL NULL), or <code>null</code> if there are no more
+   *         rows.
+   */
+  List<String> nextRow() throws IOException;
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+
+/**
+ * Reads a JSON array of flat objects, e.g. <code>[{"person_id": "prs01", "first_name": "Alice"}, ...]</code>.
+ * <p>
+ * The keys of the first object define the columns. Values must be strings, numbers, booleans or <code>null</code>;
+ * numbers and booleans are returned as their literal text. Keys missing in an object are read as <code>null</code>, a
+ * key not contained in the first object is rejected (instead of dropping its values), so the first object must name all
+ * columns, if necessary with a <code>null</code> value.
+ */
+public class JsonRowReader implements IRowReader {
+
+  private static final int EOF = -1;
+
+  private final Reader reader;
+  private List<String> columns;
+  private Map<String, String> firstObject;
+  private boolean endOfArray;
+  private int next;
+
+  public JsonRowReader(Reader reader) {
+    this.reader = new BufferedReader(reader);
+  }
+
+  @Override
+  public List<String> getColumns() throws IOException {
+    if (columns == null) {
+      next = reader.read();
+      skipWhitespace();
+      consume('[');
+      skipWhitespace();
+      if (next == ']') {
+        endOfArray = true;
+        columns = Collections.emptyList();
+      }
+      else {
+        firstObject = readObject();
+        columns = new ArrayList<>(firstObject.keySet());
+      }
+    }
+    return columns;
+  }
+
+  @Override
+  public List<String> nextRow() throws IOException {
+    getColumns();
+    Map<String, String> object;
+    if (firstObject != null) {
+      object = firstObject;
+      firstObject = null;
+    }
+    else if (endOfArray) {
+      return null;
+    }
+    else {
+      skipWhitespace();
+      if (next == ']') {
+        endOfArray = true;
+        return null;
+      }
+      consume(',');
+      skipWhitespace();
+      object = readObject();
+    }
+
+    for (String key : object.keySet()) {
+      if (!columns.contains(key)) {
+        throw new ProcessingException("JSON key '{}' is not contained in the first object, which defines the columns {}", key, columns);
+      }
+    }
+
+    List<String> row = new ArrayList<>(columns.size());
+    for (String column : columns) {
+      row.add(object.get(column));
+    }
+    return row;
+  }
+
+  protected Map<String, String> readObject() throws IOException {
+    Map<String, String> object = new LinkedHashMap<>();
+    consume('{');
+    skipWhitespace();
+    if (next == '}') {
+      next = reader.read();
+      return object;
+    }
+
+    while (true) {
+      skipWhitespace();
+      String key = readString();
+      skipWhitespace();
+      consume(':');
+      skipWhitespace();
+      object.put(key, next == '"' ? readString() : readLiteral());
+      skipWhitespace();
+      if (next == '}') {
+        next = reader.read();
+        return object;
+      }
+      consume(',');
+    }
+  }
+
+  protected String readString() throws IOException {
+    consume('"');
+    StringBuilder value = new StringBuilder();
+    while (next != '"') {
+      if (next == EOF) {
+        throw new ProcessingException("Unterminated JSON string '{}'", value);
+      }
+      if (next == '\\') {
+        next = reader.read();
+        switch (next) {
+          case 'b':
+            value.append('\b');
+            break;
+          case 'f':
+            value.append('\f');
+            break;
+          case 'n':
+            value.append('\n');
+            break;
+          case 'r':
+            value.append('\r');
+            break;
+          case 't':
+            value.append('\t');
+            break;
+          case 'u':
+            char[] hex = new char[4];
+            for (int i = 0; i < hex.length; i++) {
+              hex[i] = (char) reader.read();
+            }
+            value.append((char) Integer.parseInt(new String(hex), 16));
+            break;
+          default:
+            value.append((char) next);
+        }
+      }
+      else {
+        value.append((char) next);
+      }
+      next = reader.read();
+    }
+    next = reader.read();
+    return value.toString();
+  }
+
+  /**
+   * Reads a number, <code>true</code>, <code>false</code> or <code>null</code>.
+   */
+  protected String readLiteral() throws IOException {
+    StringBuilder literal = new StringBuilder();
+    while (next != ',' && next != '}' && next != EOF && !Character.isWhitespace(next)) {
+      if (next == '{' || next == '[') {
+        throw new ProcessingException("Nested JSON values are not supported");
+      }
+      literal.append((char) next);
+      next = reader.read();
+    }
+    if (literal.length() == 0) {
+      throw new ProcessingException("Missing JSON value");
+    }
+    String value = literal.toString();
+    return "null".equals(value) ? null : value;
+  }
+
+  protected void skipWhitespace() throws IOException {
+    while (next != EOF && Character.isWhitespace(next)) {
+      next = reader.read();
+    }
+  }
+
+  protected void consume(char expected) throws IOException {
+    if (next != expected) {
+      throw new ProcessingException("Invalid JSON: expected '{}' but found '{}'", expected, next == EOF ? "end of input" : String.valueOf((char) next));
+    }
+    next = reader.read();
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
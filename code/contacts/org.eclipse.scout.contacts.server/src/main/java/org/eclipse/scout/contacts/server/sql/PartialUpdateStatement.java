@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.eclipse.scout.rt.shared.data.form.AbstractFormData;
+import org.eclipse.scout.rt.shared.data.form.fields.AbstractValueFieldData;
+
+/**
+ * UPDATE statement of a form data that only assigns the changed columns.
+ * <p>
+ * A column is assigned if its field is set in the form data (see {@link AbstractValueFieldData#isValueSet()}) and its
+ * value differs from the stored form data, if one is known. The statements are created once per combination of
+ * assigned columns (a bitmask of the column indexes) and reused, so the database and the statement cache of the
+ * connection pool only see a few distinct statements.
+ */
+public class PartialUpdateStatement<F extends AbstractFormData> {
+
+  private final String statementFormat;
+  private final List<String> assignments = new ArrayList<>();
+  private final List<Function<F, ? extends AbstractValueFieldData<?>>> fields = new ArrayList<>();
+  private final ConcurrentMap<Long, String> statements = new ConcurrentHashMap<>();
+
+  /**
+   * @param statementFormat
+   *          UPDATE statement with a <code>%s</code> placeholder for the assignments of the changed columns, each of
+   *          them is followed by a comma. The placeholder must be followed by at least one further assignment, e.g.
+   *          the increment of a row version.
+   */
+  public PartialUpdateStatement(String statementFormat) {
+    this.statementFormat = statementFormat;
+  }
+
+  /**
+   * @param assignment
+   *          assignment of the column, e.g. <code>first_name = :firstName</code>
+   * @param field
+   *          field of the form data bound by the assignment
+   */
+  public PartialUpdateStatement<F> withColumn(String assignment, Function<F, ? extends AbstractValueFieldData<?>> field) {
+    if (assignments.size() == Long.SIZE) {
+      throw new IllegalStateException("A partial update supports at most " + Long.SIZE + " columns");
+    }
+    assignments.add(assignment);
+    fields.add(field);
+    return this;
+  }
+
+  /**
+   * @param stored
+   *          the form data as currently stored, <code>null</code> if not known
+   * @return the UPDATE statement of the columns changed by the form data
+   */
+  public String create(F formData, F stored) {
+    return statements.computeIfAbsent(getChangedColumns(formData, stored), this::createStatement);
+  }
+
+  /**
+   * @return bitmask of the indexes of the changed columns
+   */
+  protected long getChangedColumns(F formData, F stored) {
+    long changedColumns = 0;
+    for (int i = 0; i < fields.size(); i++) {
+      AbstractValueFieldData<?> field = fields.get(i).apply(formData);
+      if (field.isValueSet() && (stored == null || !isEqual(field.getValue(), fields.get(i).apply(stored).getValue()))) {
+        changedColumns |= 1L << i;
+      }
+    }
+    return changedColumns;
+  }
+
+  /**
+   * Dates are compared by their time, as the database returns subclasses of {@link Date} which are not equal to a
+   * plain {@link Date} of the same time.
+   */
+  protected boolean isEqual(Object value, Object storedValue) {
+    if (value instanceof Date && storedValue instanceof Date) {
+      return ((Date) value).getTime() == ((Date) storedValue).getTime();
+    }
+    return Objects.equals(value, storedValue);
+  }
+
+  protected String createStatement(long changedColumns) {
+    StringBuilder sql = new StringBuilder();
+    for (int i = 0; i < assignments.size(); i++) {
+      if ((changedColumns & (1L << i)) != 0) {
+        sql.append(assignments.get(i)).append(", ");
+      }
+    }
+    return String.format(statementFormat, sql);
+  }
+}
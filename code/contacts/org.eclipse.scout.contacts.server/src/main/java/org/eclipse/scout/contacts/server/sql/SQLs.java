@@ -19,6 +19,70 @@ public interface SQLs {
       + "SELECT   UPPER(tablename) "
       + "FROM     sys.systables "
       + "INTO     :result"; // <1>
+  //end::createDB[]
+
+  String SELECT_COLUMN_NAMES = ""
+      + "SELECT   UPPER(t.tablename), "
+      + "         UPPER(c.columnname) "
+      + "FROM     sys.syscolumns c, "
+      + "         sys.systables t "
+      + "WHERE    c.referenceid = t.tableid "
+      + "AND      t.tabletype = 'T' "
+      + "INTO     :tableNames, "
+      + "         :columnNames";
+
+  String SELECT_FUNCTION_NAMES = ""
+      + "SELECT   UPPER(alias) "
+      + "FROM     sys.sysaliases "
+      + "WHERE    aliastype = 'F' "
+      + "INTO     :result";
+
+  String SELECT_INDEX_NAMES = ""
+      + "SELECT   UPPER(conglomeratename) "
+      + "FROM     sys.sysconglomerates "
+      + "WHERE    isindex = TRUE "
+      + "INTO     :result";
+
+  String SEARCH_TEXT_FUNCTION_CREATE = ""
+      + "CREATE   FUNCTION SEARCH_TEXT(text VARCHAR(1024)) "
+      + "RETURNS  VARCHAR(1024) "
+      + "LANGUAGE JAVA "
+      + "PARAMETER STYLE JAVA "
+      + "DETERMINISTIC "
+      + "NO SQL "
+      + "EXTERNAL NAME 'org.eclipse.scout.contacts.server.sql.SearchTextUtility.normalize'";
+
+  String ORGANIZATION_ADD_NAME_SEARCH_COLUMN = ""
+      + "ALTER    TABLE ORGANIZATION "
+      + "ADD      COLUMN name_search VARCHAR(64) GENERATED ALWAYS AS (SEARCH_TEXT(name))";
+
+  String ORGANIZATION_CREATE_NAME_SEARCH_INDEX = "CREATE INDEX ORGANIZATION_NAME_SEARCH_IX ON ORGANIZATION (name_search)";
+
+  String PERSON_ADD_FIRST_NAME_SEARCH_COLUMN = ""
+      + "ALTER    TABLE PERSON "
+      + "ADD      COLUMN first_name_search VARCHAR(64) GENERATED ALWAYS AS (SEARCH_TEXT(first_name))";
+
+  String PERSON_ADD_LAST_NAME_SEARCH_COLUMN = ""
+      + "ALTER    TABLE PERSON "
+      + "ADD      COLUMN last_name_search VARCHAR(64) GENERATED ALWAYS AS (SEARCH_TEXT(last_name))";
+
+  String PERSON_ADD_CITY_SEARCH_COLUMN = ""
+      + "ALTER    TABLE PERSON "
+      + "ADD      COLUMN city_search VARCHAR(64) GENERATED ALWAYS AS (SEARCH_TEXT(city))";
+
+  String ORGANIZATION_ADD_ROW_VERSION_COLUMN = ""
+      + "ALTER    TABLE ORGANIZATION "
+      + "ADD      COLUMN row_version INTEGER DEFAULT 0 NOT NULL";
+
+  String PERSON_ADD_ROW_VERSION_COLUMN = ""
+      + "ALTER    TABLE PERSON "
+      + "ADD      COLUMN row_version INTEGER DEFAULT 0 NOT NULL";
+
+  String PERSON_CREATE_FIRST_NAME_SEARCH_INDEX = "CREATE INDEX PERSON_FIRST_NAME_SEARCH_IX ON PERSON (first_name_search)";
+  String PERSON_CREATE_LAST_NAME_SEARCH_INDEX = "CREATE INDEX PERSON_LAST_NAME_SEARCH_IX ON PERSON (last_name_search)";
+  String PERSON_CREATE_CITY_SEARCH_INDEX = "CREATE INDEX PERSON_CITY_SEARCH_IX ON PERSON (city_search)";
+  String PERSON_CREATE_PAGE_INDEX = "CREATE INDEX PERSON_PAGE_IX ON PERSON (last_name, first_name, person_id)";
+  //tag::createDB[]
 
   String ORGANIZATION_CREATE_TABLE = ""
       + "CREATE   TABLE ORGANIZATION "
@@ -70,8 +134,8 @@ public interface SQLs {
       + "FROM     PERSON "
       + "WHERE    1 = 1 "
       + "<key>    AND person_id = :key</key> "
-      + "<text>   AND (UPPER(first_name) LIKE UPPER('%'||:text||'%') "
-      + "         OR UPPER(last_name) LIKE UPPER('%'||:text||'%')) "
+      + "<text>   AND (first_name_search LIKE :text "
+      + "         OR last_name_search LIKE :text) "
       + "</text>"
       + "<all> </all>";
 
@@ -82,11 +146,50 @@ public interface SQLs {
       + "FROM     ORGANIZATION "
       + "WHERE    1 = 1 "
       + "<key>    AND organization_id = :key</key> " // <1>
-      + "<text>   AND UPPER(name) LIKE UPPER(:text||'%') </text> " // <2>
+      + "<text>   AND name_search LIKE :text </text> " // <2>
       + "<all></all>"; // <3>
   //end::lookupService[]
 
-  String AND_LIKE_CAUSE = "AND LOWER(%s) LIKE LOWER(:%s || '%%') ";
+  String PERSON_LOOKUP_BY_KEYS = ""
+      + "SELECT   person_id, "
+      + "         CASE "
+      + "           WHEN first_name IS null "
+      + "            THEN last_name "
+      + "           WHEN last_name IS null "
+      + "            THEN first_name "
+      + "           ELSE "
+      + "            first_name || ' ' || last_name "
+      + "         END "
+      + "FROM     PERSON "
+      + "WHERE    person_id = :keys";
+
+  String ORGANIZATION_LOOKUP_BY_KEYS = ""
+      + "SELECT   organization_id, "
+      + "         name "
+      + "FROM     ORGANIZATION "
+      + "WHERE    organization_id = :keys";
+
+  String PERSON_SEARCH_DOCUMENTS = ""
+      + "SELECT   person_id, "
+      + "         first_name, "
+      + "         last_name, "
+      + "         email, "
+      + "         city "
+      + "FROM     PERSON ";
+
+  String PERSON_SEARCH_DOCUMENT_WHERE = "WHERE    person_id = :personId";
+
+  String ORGANIZATION_SEARCH_DOCUMENTS = ""
+      + "SELECT   organization_id, "
+      + "         name, "
+      + "         city "
+      + "FROM     ORGANIZATION ";
+
+  String ORGANIZATION_SEARCH_DOCUMENT_WHERE = "WHERE    organization_id = :organizationId";
+
+  String AND_LIKE_CAUSE = "AND %s_search LIKE :%s ";
+
+  String AND_EQUALS_CAUSE = "AND %s = :%s ";
 
   //tag::organizationListing[]
   String ORGANIZATION_PAGE_SELECT = ""
@@ -119,7 +222,8 @@ public interface SQLs {
       + "         street, "
       + "         city, "
       + "         country, "
-      + "         notes "
+      + "         notes, "
+      + "         row_version "
       + "FROM     ORGANIZATION "
       + "WHERE    organization_id = :organizationId "
       + "INTO     :name, "
@@ -130,7 +234,8 @@ public interface SQLs {
       + "         :addressBox.street, "
       + "         :addressBox.city, "
       + "         :addressBox.country, "
-      + "         :notesBox.notes";
+      + "         :notesBox.notes, "
+      + "         :rowVersion";
 
   String ORGANIZATION_UPDATE = ""
       + "UPDATE   ORGANIZATION "
@@ -142,8 +247,10 @@ public interface SQLs {
       + "         street = :addressBox.street, "
       + "         city = :addressBox.city, "
       + "         country = :addressBox.country, "
-      + "         notes = :notesBox.notes "
-      + "WHERE    organization_id = :organizationId";
+      + "         notes = :notesBox.notes, "
+      + "         row_version = row_version + 1 "
+      + "WHERE    organization_id = :organizationId "
+      + "AND      row_version = :rowVersion";
 
   String PERSON_PAGE_SELECT = ""
       + "SELECT   person_id, "
@@ -157,6 +264,26 @@ public interface SQLs {
       + "         organization_id "
       + "FROM     PERSON ";
 
+  String PERSON_PAGE_KEYSET_CLAUSE = "AND      (%s) ";
+
+  // rows following a non-null cursor value: null values sort after all other values (Derby default)
+  String PERSON_PAGE_KEYSET_VALUE_CLAUSE = "%1$s > :%2$s OR %1$s IS NULL OR (%1$s = :%2$s AND (%3$s))";
+
+  String PERSON_PAGE_KEYSET_NULL_CLAUSE = "%1$s IS NULL AND (%3$s)";
+
+  String PERSON_PAGE_KEYSET_PERSON_ID_CLAUSE = "person_id > :cursorPersonId";
+
+  String PERSON_PAGE_ORDER_BY = ""
+      + "ORDER BY last_name, "
+      + "         first_name, "
+      + "         person_id ";
+
+  String FETCH_FIRST_ROWS = "FETCH FIRST %d ROWS ONLY ";
+
+  String PERSON_PAGE_CONTRIBUTION_SELECT = ""
+      + "SELECT   p.*%s "
+      + "FROM     (%s) p ";
+
   String PERSON_PAGE_DATA_SELECT_INTO = ""
       + "INTO     :{page.personId}, "
       + "         :{page.firstName}, "
@@ -189,7 +316,8 @@ public interface SQLs {
       + "         organization_id, "
       + "         phone_work, "
       + "         email_work, "
-      + "         notes "
+      + "         notes, "
+      + "         row_version "
       + "FROM     PERSON "
       + "WHERE    person_id = :personId "
       + "INTO     :firstName, "
@@ -207,443 +335,18 @@ public interface SQLs {
       + "         :organization, "
       + "         :phoneWork, "
       + "         :emailWork, "
-      + "         :notes";
+      + "         :notes, "
+      + "         :rowVersion";
 
+  /**
+   * Format of the update of the changed columns, see {@link PartialUpdateStatement}
+   */
   String PERSON_UPDATE = ""
       + "UPDATE   PERSON "
-      + "SET      first_name = :firstName, "
-      + "         last_name = :lastName, "
-      + "         picture_url = :pictureUrl, "
-      + "         date_of_birth = :dateOfBirth, "
-      + "         gender = :genderGroup, "
-      + "         phone  = :phone, "
-      + "         mobile = :mobile, "
-      + "         email = :email, "
-      + "         street = :street, "
-      + "         city = :city, "
-      + "         country = :country, "
-      + "         position = :position, "
-      + "         organization_id = :organization, "
-      + "         phone_work = :phoneWork, "
-      + "         email_work = :emailWork, "
-      + "         notes = :notes "
-      + "WHERE    person_id = :personId";
-
-  String ORGANIZATION_INSERT_SAMPLE = ""
-      + "INSERT   INTO ORGANIZATION "
-      + "        (organization_id, "
-      + "         name, "
-      + "         city, "
-      + "         country, "
-      + "         url, "
-      + "         logo_url) ";
-
-  String ORGANIZATION_VALUES_01 = ""
-      + "VALUES  ('org01', "
-      + "         'Alice''s Adventures in Wonderland', "
-      + "         'London', "
-      + "         'GB', "
-      + "         'http://en.wikipedia.org/wiki/Alice%27s_Adventures_in_Wonderland', "
-      + "         'https://upload.wikimedia.org/wikipedia/en/3/3f/Alice_in_Wonderland%2C_cover_1865.jpg')";
-
-  String ORGANIZATION_VALUES_02 = ""
-      + "VALUES  ('org02', "
-      + "         'BSI Business Systems Integration AG', "
-      + "         'Daettwil, Baden', "
-      + "         'CH', "
-      + "         'https://www.bsi-software.com', "
-      + "         'https://wiki.eclipse.org/images/4/4f/Bsiag.png')";
-
-  String PERSON_INSERT_SAMPLE = ""
-      + "INSERT   INTO PERSON "
-      + "         (person_id, "
-      + "          first_name, "
-      + "          last_name, "
-      + "          picture_url, "
-      + "          date_of_birth, "
-      + "          gender, "
-      + "          street, "
-      + "          city, "
-      + "          country, "
-      + "          position, "
-      + "          organization_id) ";
-
-  String PERSON_VALUES_01 = ""
-      + "VALUES   ('prs01', "
-      + "          'Alice', "
-      + "          null, "
-      + "          'https://upload.wikimedia.org/wikipedia/commons/e/e2/John_Tenniel-_Alice%27s_mad_tea_party%2C_colour.jpg', "
-      + "          '26.11.1865', "
-      + "          'F', "
-      + "          null, "
-      + "          'Daresbury, Cheshire', "
-      + "          'GB', "
-      + "          'The curious girl', "
-      + "          'org01')";
-
-  String PERSON_VALUES_02 = ""
-      + "VALUES   ('prs02', "
-      + "          'Rabbit', "
-      + "          'White', "
-      + "          'https://upload.wikimedia.org/wikipedia/commons/4/42/The_White_Rabbit_%28Tenniel%29_-_The_Nursery_Alice_%281890%29_-_BL.jpg', "
-      + "          '26.11.1865', "
-      + "          'M', "
-      + "          null, "
-      + "          'Daresbury, Cheshire', "
-      + "          'GB', "
-      + "          null, "
-      + "          'org01')";
-
-  String PERSON_VALUES_03 = ""
-      + "VALUES   ('prs03', "
-      + "          'Gegor', "
-      + "          'Bauer', "
-      + "          'https://wiki.eclipse.org/images/5/54/Scout_contacts_112.png', "
-      + "          null, "
-      + "          'M', "
-      + "          null, "
-      + "          'Aarau', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_04 = ""
-      + "VALUES   ('prs04', "
-      + "          'Alexandre', "
-      + "          'Schroder', "
-      + "          'https://wiki.eclipse.org/images/5/54/Scout_contacts_105.png', "
-      + "          '30.05.1976', "
-      + "          'M', "
-      + "          'Hausbergweg 54', "
-      + "          'Zürich', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_05 = ""
-      + "VALUES   ('prs05', "
-      + "          'André', "
-      + "          'Wegmüller', "
-      + "          'https://wiki.eclipse.org/images/f/ff/Scout_contacts_103.png', "
-      + "          '04.11.1975', "
-      + "          'M', "
-      + "          'Somanderweg 14', "
-      + "          'Walkringen', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_06 = ""
-      + "VALUES   ('prs06', "
-      + "          'Catherine', "
-      + "          'Crowden', "
-      + "          'https://wiki.eclipse.org/images/9/96/Scout_contacts_111.png', "
-      + "          '01.01.2000', "
-      + "          'F', "
-      + "          'Baeckerweg 44', "
-      + "          'Schoenried', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_07 = ""
-      + "VALUES   ('prs07', "
-      + "          'Cédric', "
-      + "          'Amstalden', "
-      + "          'https://wiki.eclipse.org/images/f/ff/Scout_contacts_118.png', "
-      + "          null, "
-      + "          'M', "
-      + "          'Grottenweg 4', "
-      + "          'Stands', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_08 = ""
-      + "VALUES   ('prs08', "
-      + "          'Christian', "
-      + "          'Braun', "
-      + "          'https://wiki.eclipse.org/images/a/ab/Scout_contacts_108.png', "
-      + "          '04.11.1975', "
-      + "          'M', "
-      + "          'Waldstrasse 5', "
-      + "          'Kloten', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_09 = ""
-      + "VALUES   ('prs09', "
-      + "          'Christoph', "
-      + "          'Bräunlich', "
-      + "          'https://wiki.eclipse.org/images/0/0e/Scout_contacts_122.png', "
-      + "          null, "
-      + "          'M', "
-      + "          null, "
-      + "          'Genf', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_10 = ""
-      + "VALUES   ('prs10', "
-      + "          'Fabian', "
-      + "          'Laubacher', "
-      + "          'https://wiki.eclipse.org/images/1/16/Scout_contacts_115.png', "
-      + "          '23.07.1977', "
-      + "          'M', "
-      + "          'Holzerweg 8b', "
-      + "          'Sursee', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_11 = ""
-      + "VALUES   ('prs11', "
-      + "          'Glen', "
-      + "          'Reif', "
-      + "          'https://wiki.eclipse.org/images/0/00/Scout_contacts_101.png', "
-      + "          '04.11.1975', "
-      + "          'M', "
-      + "          'Marktplatz 1', "
-      + "          'München', "
-      + "          'DE', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_12 = ""
-      + "VALUES   ('prs12', "
-      + "          'Ivan', "
-      + "          'Motsch', "
-      + "          'https://wiki.eclipse.org/images/a/ab/Scout_contacts_124.png', "
-      + "          null, "
-      + "          'M', "
-      + "          null, "
-      + "          'Luzern', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_13 = ""
-      + "VALUES   ('prs13', "
-      + "          'Christian', "
-      + "          'Frey', "
-      + "          'https://wiki.eclipse.org/images/0/0f/Scout_contacts_126.png', "
-      + "          null, "
-      + "          'M', "
-      + "          null, "
-      + "          'Thun', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_14 = ""
-      + "VALUES   ('prs14', "
-      + "          'Jens', "
-      + "          'Thuesen', "
-      + "          'https://wiki.eclipse.org/images/0/02/Scout_contacts_121.png', "
-      + "          '14.01.1964', "
-      + "          'M', "
-      + "          'Hauptstrasse 7a', "
-      + "          'Staufen', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_15 = ""
-      + "VALUES   ('prs15', "
-      + "          'Patrick', "
-      + "          'Gerber', "
-      + "          'https://wiki.eclipse.org/images/c/c1/Scout_contacts_117.png', "
-      + "          null, "
-      + "          'M', "
-      + "          null, "
-      + "          'Neuenburg', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_16 = ""
-      + "VALUES   ('prs16', "
-      + "          'Jürg', "
-      + "          'Perner', "
-      + "          'https://wiki.eclipse.org/images/f/f8/Scout_contacts_107.png', "
-      + "          '27.05.1966', "
-      + "          'M', "
-      + "          'Badstrasse 88', "
-      + "          'Gelterkinden', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_17 = ""
-      + "VALUES   ('prs17', "
-      + "          'Luc', "
-      + "          'Hansen', "
-      + "          'https://wiki.eclipse.org/images/8/89/Scout_contacts_119.png', "
-      + "          null, "
-      + "          'M', "
-      + "          'Via Curatsch', "
-      + "          'Scuol', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_18 = ""
-      + "VALUES   ('prs18', "
-      + "          'Markus', "
-      + "          'Brunold', "
-      + "          'https://wiki.eclipse.org/images/f/f1/Scout_contacts_113.png', "
-      + "          '12.06.1976', "
-      + "          'M', "
-      + "          'Haferweg 58', "
-      + "          'Baden', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_19 = ""
-      + "VALUES   ('prs19', "
-      + "          'Martin', "
-      + "          'Grunder', "
-      + "          'https://wiki.eclipse.org/images/3/33/Scout_contacts_110.png', "
-      + "          null, "
-      + "          'M', "
-      + "          null, "
-      + "          'St. Gallen', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_20 = ""
-      + "VALUES   ('prs20', "
-      + "          'Matthias', "
-      + "          'Zimmermann', "
-      + "          'https://wiki.eclipse.org/images/2/28/Scout_contacts_125.png', "
-      + "          null, "
-      + "          'M', "
-      + "          'Bahnhofstrasse', "
-      + "          'Bern', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_21 = ""
-      + "VALUES   ('prs21', "
-      + "          'Nicolas', "
-      + "          'Born', "
-      + "          'https://wiki.eclipse.org/images/f/f6/Scout_contacts_102.png', "
-      + "          '25.05.1986', "
-      + "          'M', "
-      + "          'Herbertsgarten 5', "
-      + "          'Bern', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_22 = ""
-      + "VALUES   ('prs22', "
-      + "          'Oliver', "
-      + "          'Schmid', "
-      + "          'https://wiki.eclipse.org/images/1/1d/Scout_contacts_116.png', "
-      + "          null, "
-      + "          'M', "
-      + "          null, "
-      + "          'Winterthur', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_23 = ""
-      + "VALUES   ('prs23', "
-      + "          'Adrian', "
-      + "          'Meier', "
-      + "          'https://wiki.eclipse.org/images/1/13/Scout_contacts_123.png', "
-      + "          null, "
-      + "          'M', "
-      + "          null, "
-      + "          'Basel', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_24 = ""
-      + "VALUES   ('prs24', "
-      + "          'Peter', "
-      + "          'Seitel', "
-      + "          'https://wiki.eclipse.org/images/f/f1/Scout_contacts_127.png', "
-      + "          null, "
-      + "          'M', "
-      + "          null, "
-      + "          'München', "
-      + "          'DE', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_25 = ""
-      + "VALUES   ('prs25', "
-      + "          'Robert', "
-      + "          'Echelmeyer', "
-      + "          'https://wiki.eclipse.org/images/b/b6/Scout_contacts_120.png', "
-      + "          '27.07.1989', "
-      + "          'M', "
-      + "          'Ringstrasse 116', "
-      + "          'Düsseldorf', "
-      + "          'DE', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_26 = ""
-      + "VALUES   ('prs26', "
-      + "          'Michael', "
-      + "          'Richter', "
-      + "          'https://wiki.eclipse.org/images/e/ea/Scout_contacts_104.png', "
-      + "          null, "
-      + "          'M', "
-      + "          null, "
-      + "          'Frankfurt', "
-      + "          'DE', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_27 = ""
-      + "VALUES   ('prs27', "
-      + "          'Sion', "
-      + "          'Huws', "
-      + "          'https://wiki.eclipse.org/images/0/03/Scout_contacts_114.png', "
-      + "          '11.05.1978', "
-      + "          'M', "
-      + "          'Nebenweg 6', "
-      + "          'Affoltern a. A.', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
-
-  String PERSON_VALUES_28 = ""
-      + "VALUES   ('prs28', "
-      + "          'Stefan', "
-      + "          'Leicht Vogt', "
-      + "          'https://wiki.eclipse.org/images/0/05/Scout_contacts_106.png', "
-      + "          '19.04.1987', "
-      + "          'M', "
-      + "          'Teilabschnitt', "
-      + "          'Fislisbach', "
-      + "          'CH', "
-      + "          null, "
-      + "          null)";
-
-  String PERSON_VALUES_29 = ""
-      + "VALUES   ('prs29', "
-      + "          'Zeno', "
-      + "          'Hug', "
-      + "          'https://wiki.eclipse.org/images/c/c6/Scout_contacts_109.png', "
-      + "          '14.06.1972', "
-      + "          'M', "
-      + "          'Heimatweg 44', "
-      + "          'Baden', "
-      + "          'CH', "
-      + "          null, "
-      + "          'org02')";
+      + "SET      %s"
+      + "row_version = row_version + 1 "
+      + "WHERE    person_id = :personId "
+      + "AND      row_version = :rowVersion";
 
   String PERSON_DROP_TABLE = "DROP TABLE PERSON";
   String ORGANIZATION_DROP_TABLE = "DROP TABLE ORGANIZATION";
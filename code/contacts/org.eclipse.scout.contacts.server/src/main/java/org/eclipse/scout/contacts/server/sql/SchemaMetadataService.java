@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.holders.StringArrayHolder;
+import org.eclipse.scout.rt.platform.job.IFuture;
+import org.eclipse.scout.rt.platform.job.Jobs;
+import org.eclipse.scout.rt.platform.transaction.TransactionScope;
+import org.eclipse.scout.rt.platform.util.CollectionUtility;
+import org.eclipse.scout.rt.server.context.ServerRunContexts;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Metadata of the database schema shared by all {@link IDataStoreService}s.
+ * <p>
+ * The tables, columns, indexes and functions are read from the database catalog once and cached until the next DDL statement
+ * is executed with {@link #executeDdl(String)} (or {@link #invalidate()} is called).
+ */
+@ApplicationScoped
+public class SchemaMetadataService {
+  private static final Logger LOG = LoggerFactory.getLogger(SchemaMetadataService.class);
+
+  private final AtomicLong version = new AtomicLong();
+  private final ThreadLocal<Boolean> invalidationDeferred = new ThreadLocal<>();
+  private volatile SchemaSnapshot snapshot;
+
+  public boolean existsTable(String tableName) {
+    return getSnapshot().tables.contains(tableName);
+  }
+
+  public boolean existsColumn(String tableName, String columnName) {
+    return getSnapshot().columns.getOrDefault(tableName, Collections.emptySet()).contains(columnName);
+  }
+
+  public boolean existsIndex(String indexName) {
+    return getSnapshot().indexes.contains(indexName);
+  }
+
+  public boolean existsFunction(String functionName) {
+    return getSnapshot().functions.contains(functionName);
+  }
+
+  /**
+   * Executes a DDL statement and invalidates the cached metadata (when creating tables in parallel, once all tables of
+   * the level are created).
+   */
+  public void executeDdl(String statement) {
+    try {
+      SQL.update(statement);
+    }
+    finally {
+      if (invalidationDeferred.get() == null) {
+        invalidate();
+      }
+    }
+  }
+
+  public void invalidate() {
+    version.incrementAndGet();
+  }
+
+  /**
+   * Creates the tables in the current transaction, referenced tables first, and migrates them afterwards.
+   */
+  public void createTables(Collection<TableDefinition> tables) {
+    for (List<TableDefinition> level : getCreationLevels(tables)) {
+      for (TableDefinition table : level) {
+        table.getCreator().run();
+      }
+    }
+    migrateTables(tables);
+  }
+
+  /**
+   * Creates the tables concurrently: all tables whose referenced tables exist are created at the same time, each in its
+   * own transaction. Must not be used within a transaction that changed the schema of these tables (e.g. dropped
+   * them), as the concurrent transactions would wait for its locks.
+   * <p>
+   * The concurrent transactions must not read the catalog while the others hold the locks of their uncommitted DDL.
+   * Hence the creators see the metadata as read before the level is created, and the tables are migrated sequentially
+   * in the current transaction once all of them are created.
+   */
+  public void createTablesInParallel(Collection<TableDefinition> tables) {
+    for (List<TableDefinition> level : getCreationLevels(tables)) {
+      if (level.size() == 1) {
+        level.get(0).getCreator().run();
+        continue;
+      }
+
+      // read by the current transaction, the creators use this snapshot
+      getSnapshot();
+      List<IFuture<Void>> futures = new ArrayList<>();
+      for (TableDefinition table : level) {
+        futures.add(Jobs.schedule(() -> createWithDeferredInvalidation(table), Jobs.newInput()
+            .withName("Creating database table '{}'", table.getTableName())
+            .withRunContext(ServerRunContexts.copyCurrent()
+                .withTransactionScope(TransactionScope.REQUIRES_NEW))));
+      }
+      try {
+        for (IFuture<Void> future : futures) {
+          future.awaitDoneAndGet();
+        }
+      }
+      finally {
+        // DDL of the other transactions is only visible after their commit
+        invalidate();
+      }
+    }
+    migrateTables(tables);
+  }
+
+  protected void createWithDeferredInvalidation(TableDefinition table) {
+    invalidationDeferred.set(Boolean.TRUE);
+    try {
+      table.getCreator().run();
+    }
+    finally {
+      invalidationDeferred.remove();
+    }
+  }
+
+  protected void migrateTables(Collection<TableDefinition> tables) {
+    for (TableDefinition table : tables) {
+      if (table.getMigration() != null) {
+        table.getMigration().run();
+      }
+    }
+  }
+
+  /**
+   * Groups the tables into levels: the tables of a level only reference tables of previous levels or tables not
+   * contained in the given collection.
+   */
+  protected List<List<TableDefinition>> getCreationLevels(Collection<TableDefinition> tables) {
+    Map<String, TableDefinition> remaining = new LinkedHashMap<>();
+    for (TableDefinition table : tables) {
+      remaining.put(table.getTableName(), table);
+    }
+
+    List<List<TableDefinition>> levels = new ArrayList<>();
+    while (!remaining.isEmpty()) {
+      List<TableDefinition> level = new ArrayList<>();
+      for (TableDefinition table : remaining.values()) {
+        if (Collections.disjoint(table.getReferencedTables(), remaining.keySet())) {
+          level.add(table);
+        }
+      }
+      if (level.isEmpty()) {
+        throw new ProcessingException("Cyclic foreign key references between database tables {}", remaining.keySet());
+      }
+      for (TableDefinition table : level) {
+        remaining.remove(table.getTableName());
+      }
+      levels.add(level);
+    }
+    return levels;
+  }
+
+  protected SchemaSnapshot getSnapshot() {
+    // a snapshot read while the schema was changed is outdated by the new version and read again on the next call
+    long currentVersion = version.get();
+    SchemaSnapshot current = snapshot;
+    if (current == null || current.version != currentVersion) {
+      current = readSnapshot(currentVersion);
+      snapshot = current;
+    }
+    return current;
+  }
+
+  protected SchemaSnapshot readSnapshot(long snapshotVersion) {
+    StringArrayHolder tables = new StringArrayHolder();
+    SQL.selectInto(SQLs.SELECT_TABLE_NAMES, new NVPair("result", tables));
+
+    StringArrayHolder tableNames = new StringArrayHolder();
+    StringArrayHolder columnNames = new StringArrayHolder();
+    SQL.selectInto(SQLs.SELECT_COLUMN_NAMES, new NVPair("tableNames", tableNames), new NVPair("columnNames", columnNames));
+
+    Map<String, Set<String>> columns = new HashMap<>();
+    String[] columnTables = tableNames.getValue();
+    for (int i = 0; i < columnTables.length; i++) {
+      columns.computeIfAbsent(columnTables[i], k -> new HashSet<>()).add(columnNames.getValue()[i]);
+    }
+
+    StringArrayHolder indexes = new StringArrayHolder();
+    SQL.selectInto(SQLs.SELECT_INDEX_NAMES, new NVPair("result", indexes));
+
+    StringArrayHolder functions = new StringArrayHolder();
+    SQL.selectInto(SQLs.SELECT_FUNCTION_NAMES, new NVPair("result", functions));
+
+    LOG.debug("Read schema metadata of {} tables", tables.getValue().length);
+    return new SchemaSnapshot(snapshotVersion, CollectionUtility.hashSet(tables.getValue()), columns, CollectionUtility.hashSet(indexes.getValue()),
+        CollectionUtility.hashSet(functions.getValue()));
+  }
+
+  protected static class SchemaSnapshot {
+    private final long version;
+    private final Set<String> tables;
+    private final Map<String, Set<String>> columns;
+    private final Set<String> indexes;
+    private final Set<String> functions;
+
+    protected SchemaSnapshot(long version, Set<String> tables, Map<String, Set<String>> columns, Set<String> indexes, Set<String> functions) {
+      this.version = version;
+      this.tables = tables;
+      this.columns = columns;
+      this.indexes = indexes;
+      this.functions = functions;
+    }
+  }
+}
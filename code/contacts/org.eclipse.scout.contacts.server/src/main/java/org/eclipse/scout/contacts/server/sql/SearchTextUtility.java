@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalization of texts for searching: lower case and without accents, e.g. 'Wegmüller' becomes 'wegmuller'.
+ * <p>
+ * {@link #normalize(String)} is registered as the deterministic database function <code>SEARCH_TEXT</code> (see
+ * {@link SQLs#SEARCH_TEXT_FUNCTION_CREATE}) which computes the persisted search columns. Search values must be
+ * normalized with the same method to match these columns.
+ */
+public final class SearchTextUtility {
+
+  private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+  private SearchTextUtility() {
+  }
+
+  /**
+   * @return the lower case text without accents, or <code>null</code> if the text is <code>null</code>.
+   */
+  public static String normalize(String text) {
+    if (text == null) {
+      return null;
+    }
+    String decomposed = Normalizer.normalize(text, Form.NFD);
+    return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * @return the normalized text followed by the given wildcard, to be used as <code>LIKE</code> pattern on a search
+   *         column. A trailing wildcard is not repeated. Returns <code>null</code> if the text is <code>null</code>.
+   */
+  public static String toPrefixPattern(String text, String wildcard) {
+    String normalized = normalize(text);
+    if (normalized == null || normalized.endsWith(wildcard)) {
+      return normalized;
+    }
+    return normalized + wildcard;
+  }
+
+  /**
+   * @return the normalized words of the text, e.g. 'Jean-Luc Müller' becomes [jean, luc, muller]. Returns an empty list
+   *         if the text is <code>null</code>.
+   */
+  public static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    String normalized = normalize(text);
+    if (normalized == null) {
+      return tokens;
+    }
+    for (String token : TOKEN_SEPARATORS.split(normalized)) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.scout.rt.platform.holders.IHolder;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+
+/**
+ * Additional columns contributed to a select statement of a service, typically by a service extension. Each column is
+ * selected into its own holder, e.g. an array holder if the statement returns multiple rows.
+ */
+public class SelectContribution {
+
+  private final List<String> columns = new ArrayList<>();
+  private final Map<String, IHolder<?>> holders = new LinkedHashMap<>();
+
+  /**
+   * @param expression
+   *          column expression, e.g. a correlated sub select
+   * @param bindName
+   *          name of the INTO bind receiving the column values
+   * @param holder
+   *          holder receiving the column values
+   */
+  public SelectContribution addColumn(String expression, String bindName, IHolder<?> holder) {
+    columns.add(expression);
+    holders.put(bindName, holder);
+    return this;
+  }
+
+  public boolean isEmpty() {
+    return columns.isEmpty();
+  }
+
+  /**
+   * @return the contributed columns, each preceded by a comma to be appended to a select list
+   */
+  public String getColumns() {
+    StringBuilder sql = new StringBuilder();
+    for (String column : columns) {
+      sql.append(", ").append(column);
+    }
+    return sql.toString();
+  }
+
+  /**
+   * @return the contributed INTO binds, each preceded by a comma to be appended to an INTO clause
+   */
+  public String getInto() {
+    StringBuilder sql = new StringBuilder();
+    for (String bindName : holders.keySet()) {
+      sql.append(", :").append(bindName);
+    }
+    return sql.toString();
+  }
+
+  public List<Object> getBinds() {
+    List<Object> binds = new ArrayList<>();
+    for (Map.Entry<String, IHolder<?>> entry : holders.entrySet()) {
+      binds.add(new NVPair(entry.getKey(), entry.getValue()));
+    }
+    return binds;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <H extends IHolder<?>> H getHolder(String bindName) {
+    return (H) holders.get(bindName);
+  }
+}
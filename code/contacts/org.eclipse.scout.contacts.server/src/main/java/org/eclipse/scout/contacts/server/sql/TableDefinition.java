@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.server.sql;
+
+import java.util.Set;
+
+import org.eclipse.scout.rt.platform.util.CollectionUtility;
+
+/**
+ * A database table together with the code creating it and the tables it references by foreign keys.
+ *
+ * @see SchemaMetadataService#createTables(java.util.Collection)
+ */
+public class TableDefinition {
+
+  private final String tableName;
+  private final Runnable creator;
+  private final Set<String> referencedTables;
+  private Runnable migration;
+
+  /**
+   * @param tableName
+   *          upper case name of the table
+   * @param creator
+   *          creates the table (and its sample data) if it does not exist yet
+   * @param referencedTables
+   *          upper case names of the tables referenced by foreign keys, these are created first
+   */
+  public TableDefinition(String tableName, Runnable creator, String... referencedTables) {
+    this.tableName = tableName;
+    this.creator = creator;
+    this.referencedTables = CollectionUtility.hashSet(referencedTables);
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public Runnable getCreator() {
+    return creator;
+  }
+
+  public Set<String> getReferencedTables() {
+    return referencedTables;
+  }
+
+  /**
+   * @param migration
+   *          migrates the schema of the table if necessary (e.g. adds columns), run after all tables are created
+   */
+  public TableDefinition withMigration(Runnable migration) {
+    this.migration = migration;
+    return this;
+  }
+
+  public Runnable getMigration() {
+    return migration;
+  }
+}
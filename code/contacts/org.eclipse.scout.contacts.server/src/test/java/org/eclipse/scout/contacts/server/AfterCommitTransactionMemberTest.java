@@ -0,0 +1,54 @@
+package org.eclipse.scout.contacts.server;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.scout.contacts.server.common.AfterCommitTransactionMember;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.transaction.TransactionScope;
+import org.eclipse.scout.rt.server.context.ServerRunContexts;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link AfterCommitTransactionMember}
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(ServerSession.class)
+@RunWithSubject("default")
+public class AfterCommitTransactionMemberTest {
+
+  @Test
+  public void testActionsRunAfterCommit() {
+    List<String> steps = new ArrayList<>();
+    ServerRunContexts.copyCurrent().withTransactionScope(TransactionScope.REQUIRES_NEW).run(() -> {
+      AfterCommitTransactionMember.runAfterCommit(() -> steps.add("first"));
+      AfterCommitTransactionMember.runAfterCommit(() -> steps.add("second"));
+      steps.add("transaction");
+    });
+
+    assertEquals(Arrays.asList("transaction", "first", "second"), steps);
+  }
+
+  @Test
+  public void testActionsAreDiscardedOnRollback() {
+    List<String> steps = new ArrayList<>();
+    try {
+      ServerRunContexts.copyCurrent().withTransactionScope(TransactionScope.REQUIRES_NEW).run(() -> {
+        AfterCommitTransactionMember.runAfterCommit(() -> steps.add("action"));
+        throw new ProcessingException("rollback");
+      });
+    }
+    catch (ProcessingException e) {
+      steps.add("rolled back");
+    }
+
+    assertEquals(Arrays.asList("rolled back"), steps);
+  }
+}
@@ -0,0 +1,122 @@
+package org.eclipse.scout.contacts.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+
+import org.eclipse.scout.contacts.server.sql.BulkLoadResult;
+import org.eclipse.scout.contacts.server.sql.BulkLoadService;
+import org.eclipse.scout.contacts.server.sql.DatabaseSetupService;
+import org.eclipse.scout.contacts.server.sql.DerbySqlService;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.holders.LongHolder;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.holders.StringHolder;
+import org.eclipse.scout.rt.platform.transaction.TransactionScope;
+import org.eclipse.scout.rt.server.context.ServerRunContexts;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link BulkLoadService}
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(ServerSession.class)
+@RunWithSubject("default")
+public class BulkLoadServiceTest {
+
+  @BeforeClass
+  public static void setupDatabase() {
+    BEANS.get(DatabaseSetupService.class).createOrganizationTable();
+  }
+
+  @AfterClass
+  public static void destroyDBConnections() {
+    BEANS.get(DerbySqlService.class).dropDB();
+    BEANS.get(DerbySqlService.class).destroySqlConnectionPool();
+  }
+
+  @Test
+  public void testLoadCsv() {
+    String csv = ""
+        + "organization_id,name,city,country\n"
+        + "csv01,\"Doe, Inc.\",,CH\n"
+        + "csv02,\"The \"\"Quoted\"\" Company\",Bern,CH\n";
+
+    BulkLoadResult result = BEANS.get(BulkLoadService.class).loadCsv("ORGANIZATION", new StringReader(csv));
+
+    assertEquals(2, result.getRowCount());
+    assertEquals(2, countOrganizations("csv%"));
+    assertEquals("Doe, Inc.", selectName("csv01"));
+    assertEquals("The \"Quoted\" Company", selectName("csv02"));
+  }
+
+  @Test
+  public void testLoadJson() {
+    String json = ""
+        + "[{\"organization_id\": \"json01\", \"name\": \"Alpha\", \"city\": null},"
+        + " {\"organization_id\": \"json02\", \"name\": \"Beta\"},"
+        + " {\"organization_id\": \"json03\", \"name\": \"Gamma \\u00e4\", \"city\": \"Basel\"}]";
+
+    BulkLoadResult result = BEANS.get(BulkLoadService.class).loadJson("ORGANIZATION", new StringReader(json));
+
+    assertEquals(3, result.getRowCount());
+    assertEquals(3, countOrganizations("json%"));
+    assertEquals("Gamma \u00e4", selectName("json03"));
+  }
+
+  @Test(expected = ProcessingException.class)
+  public void testJsonKeyMissingInFirstObject() {
+    String json = ""
+        + "[{\"organization_id\": \"json11\", \"name\": \"Alpha\"},"
+        + " {\"organization_id\": \"json12\", \"name\": \"Beta\", \"city\": \"Basel\"}]";
+
+    BEANS.get(BulkLoadService.class).loadJson("ORGANIZATION", new StringReader(json));
+  }
+
+  @Test
+  public void testFailingRowRollsBackLoadedRows() {
+    String csv = ""
+        + "organization_id,name\n"
+        + "rb01,Alpha\n"
+        + "rb02,Beta\n"
+        + "rb01,Duplicate\n";
+
+    try {
+      ServerRunContexts.copyCurrent().withTransactionScope(TransactionScope.REQUIRES_NEW).run(() -> BEANS.get(BulkLoadService.class).loadCsv("ORGANIZATION", new StringReader(csv)));
+      fail("duplicate organization id must fail");
+    }
+    catch (RuntimeException expected) {
+      // the transaction of the caller is rolled back
+    }
+
+    assertEquals(0, countOrganizations("rb%"));
+  }
+
+  @Test(expected = ProcessingException.class)
+  public void testInvalidColumnName() {
+    BEANS.get(BulkLoadService.class).loadCsv("ORGANIZATION", new StringReader("organization_id,name; DROP TABLE PERSON\nx,y\n"));
+  }
+
+  private long countOrganizations(String idPattern) {
+    LongHolder count = new LongHolder();
+    SQL.selectInto("SELECT COUNT(1) FROM ORGANIZATION WHERE organization_id LIKE :idPattern INTO :count",
+        new NVPair("idPattern", idPattern), new NVPair("count", count));
+    return count.getValue();
+  }
+
+  private String selectName(String organizationId) {
+    StringHolder name = new StringHolder();
+    SQL.selectInto("SELECT name FROM ORGANIZATION WHERE organization_id = :organizationId INTO :name",
+        new NVPair("organizationId", organizationId), new NVPair("name", name));
+    return name.getValue();
+  }
+}
@@ -0,0 +1,45 @@
+package org.eclipse.scout.contacts.server;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Map;
+
+import org.eclipse.scout.contacts.server.sql.ConnectionPoolMetrics;
+import org.junit.Test;
+
+/**
+ * Tests for {@link ConnectionPoolMetrics}
+ */
+public class ConnectionPoolMetricsTest {
+
+  @Test
+  public void testActiveAndWaitingConnections() {
+    ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+    long first = metrics.acquireStarted();
+    long second = metrics.acquireStarted();
+    assertEquals(Long.valueOf(2), metrics.getValues().get("waiting"));
+
+    metrics.acquireEnded(first, true);
+    metrics.acquireEnded(second, false);
+    Map<String, Long> values = metrics.getValues();
+    assertEquals(Long.valueOf(0), values.get("waiting"));
+    assertEquals(Long.valueOf(1), values.get("active"));
+    assertEquals(Long.valueOf(1), values.get("acquired"));
+    assertEquals(Long.valueOf(1), values.get("failed"));
+
+    metrics.released();
+    assertEquals(Long.valueOf(0), metrics.getValues().get("active"));
+  }
+
+  @Test
+  public void testAcquireLatencyHistogram() {
+    ConnectionPoolMetrics metrics = new ConnectionPoolMetrics();
+    metrics.acquireEnded(metrics.acquireStarted(), true);
+    long start = metrics.acquireStarted() - 2_000_000_000L;
+    metrics.acquireEnded(start, true);
+
+    Map<String, Long> values = metrics.getValues();
+    assertEquals(Long.valueOf(1), values.get("acquireLatency.le.1ms"));
+    assertEquals(Long.valueOf(1), values.get("acquireLatency.gt.1000ms"));
+  }
+}
@@ -2,12 +2,26 @@ package org.eclipse.scout.contacts.server;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.scout.contacts.server.organization.OrganizationFormDataCache;
+import org.eclipse.scout.contacts.server.organization.OrganizationLookupService;
 import org.eclipse.scout.contacts.server.organization.OrganizationService;
 import org.eclipse.scout.contacts.server.sql.DatabaseSetupService;
 import org.eclipse.scout.contacts.server.sql.DerbySqlService;
 import org.eclipse.scout.contacts.shared.organization.OrganizationFormData;
+import org.eclipse.scout.contacts.shared.organization.OrganizationLookupCall;
 import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.exception.VetoException;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.transaction.TransactionScope;
+import org.eclipse.scout.rt.server.context.ServerRunContexts;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipse.scout.rt.shared.services.lookup.ILookupRow;
 import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
 import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
 import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
@@ -74,6 +88,157 @@ public class OrganizationServiceTest {
     assertEquals("newName", res.getName().getValue());
   }
 
+  @Test
+  public void testStoreInvalidatesLookupRow() {
+    testOrg.setOrganizationId("testId3");
+    createCommitted(testOrg);
+    assertEquals("test", lookupText("testId3"));
+
+    // the lookup row is invalidated once the store is committed
+    testOrg.getName().setValue("renamed");
+    ServerRunContexts.copyCurrent().withTransactionScope(TransactionScope.REQUIRES_NEW).run(() -> new OrganizationService().store(testOrg));
+    assertEquals("renamed", lookupText("testId3"));
+  }
+
+  @Test
+  public void testLoadIsCachedUntilStore() {
+    OrganizationService svc = new OrganizationService();
+    OrganizationFormDataCache cache = BEANS.get(OrganizationFormDataCache.class);
+    testOrg.setOrganizationId("testId4");
+    createCommitted(testOrg);
+    long misses = cache.getMisses();
+
+    svc.load(createOrganization("testId4")).getName().setValue("not stored");
+    assertEquals("test", svc.load(createOrganization("testId4")).getName().getValue());
+    assertEquals(misses + 1, cache.getMisses());
+
+    testOrg.getName().setValue("renamed");
+    svc.store(testOrg);
+    assertEquals("renamed", svc.load(createOrganization("testId4")).getName().getValue());
+    assertEquals(misses + 2, cache.getMisses());
+  }
+
+  @Test
+  public void testEntryCachedBeforeCommitIsInvalidatedAfterCommit() {
+    OrganizationService svc = new OrganizationService();
+    OrganizationFormDataCache cache = BEANS.get(OrganizationFormDataCache.class);
+    testOrg.setOrganizationId("testId6");
+    createCommitted(testOrg);
+    svc.load(createOrganization("testId6"));
+    long misses = cache.getMisses();
+
+    ServerRunContexts.copyCurrent().withTransactionScope(TransactionScope.REQUIRES_NEW).run(() -> {
+      cache.invalidate("testId6");
+      // loaded again before the commit by a concurrent transaction
+      ServerRunContexts.copyCurrent().withTransactionScope(TransactionScope.REQUIRES_NEW).run(() -> cache.get("testId6"));
+    });
+    assertEquals(misses + 1, cache.getMisses());
+
+    cache.get("testId6");
+    assertEquals(misses + 2, cache.getMisses());
+  }
+
+  @Test
+  public void testChangesOfRolledBackTransactionAreNotCached() {
+    OrganizationService svc = new OrganizationService();
+    testOrg.setOrganizationId("testId9");
+    createCommitted(testOrg);
+
+    try {
+      ServerRunContexts.copyCurrent().withTransactionScope(TransactionScope.REQUIRES_NEW).run(() -> {
+        OrganizationFormData changed = svc.load(createOrganization("testId9"));
+        changed.getName().setValue("rolled back");
+        svc.store(changed);
+        assertEquals("rolled back", svc.load(createOrganization("testId9")).getName().getValue());
+        throw new ProcessingException("rollback");
+      });
+      fail("transaction must be rolled back");
+    }
+    catch (ProcessingException expected) {
+      // the stored name is discarded
+    }
+
+    assertEquals("test", svc.load(createOrganization("testId9")).getName().getValue());
+  }
+
+  @Test(expected = VetoException.class)
+  public void testStoreOfOutdatedVersionIsVetoed() {
+    OrganizationService svc = new OrganizationService();
+    testOrg.setOrganizationId("testId5");
+    svc.create(testOrg);
+    OrganizationFormData first = svc.load(createOrganization("testId5"));
+    OrganizationFormData second = svc.load(createOrganization("testId5"));
+
+    first.getName().setValue("first");
+    svc.store(first);
+    assertEquals(Long.valueOf(second.getRowVersion() + 1), first.getRowVersion());
+
+    second.getName().setValue("second");
+    svc.store(second);
+  }
+
+  @Test
+  public void testConflictEvictsOutdatedCacheEntry() {
+    OrganizationService svc = new OrganizationService();
+    testOrg.setOrganizationId("testId7");
+    createCommitted(testOrg);
+    svc.load(createOrganization("testId7"));
+    // changed without invalidating the cache of this node
+    SQL.update("UPDATE ORGANIZATION SET row_version = row_version + 1 WHERE organization_id = :organizationId", new NVPair("organizationId", "testId7"));
+
+    OrganizationFormData outdated = svc.load(createOrganization("testId7"));
+    try {
+      svc.store(outdated);
+      fail("outdated version must be vetoed");
+    }
+    catch (VetoException expected) {
+      // the next load returns the current version
+    }
+
+    OrganizationFormData current = svc.load(createOrganization("testId7"));
+    assertEquals(Long.valueOf(outdated.getRowVersion() + 1), current.getRowVersion());
+    current.getName().setValue("stored");
+    svc.store(current);
+  }
+
+  @Test(expected = VetoException.class)
+  public void testStoreWithoutRowVersionIsVetoed() {
+    OrganizationService svc = new OrganizationService();
+    testOrg.setOrganizationId("testId8");
+    svc.create(testOrg);
+    svc.store(createOrganization("testId8"));
+  }
+
+  @Test
+  public void testLookupByKeys() {
+    List<ILookupRow<String>> rows = BEANS.get(OrganizationLookupService.class).getDataByKeys(Arrays.asList("org02", "unknown", "org01"));
+    assertEquals(2, rows.size());
+    assertEquals("org02", rows.get(0).getKey());
+    assertEquals("org01", rows.get(1).getKey());
+  }
+
+  /**
+   * Creates the organization in a transaction of its own, so the current transaction has no pending invalidation of
+   * it and its form data is cached.
+   */
+  private void createCommitted(OrganizationFormData formData) {
+    ServerRunContexts.copyCurrent().withTransactionScope(TransactionScope.REQUIRES_NEW).run(() -> new OrganizationService().create(formData));
+  }
+
+  private OrganizationFormData createOrganization(String organizationId) {
+    OrganizationFormData formData = new OrganizationFormData();
+    formData.setOrganizationId(organizationId);
+    return formData;
+  }
+
+  private String lookupText(String organizationId) {
+    OrganizationLookupCall call = new OrganizationLookupCall();
+    call.setKey(organizationId);
+    List<ILookupRow<String>> rows = BEANS.get(OrganizationLookupService.class).getDataByKey(call);
+    assertEquals(1, rows.size());
+    return rows.get(0).getText();
+  }
+
   private void assertTestOrg(OrganizationFormData inputOrg) {
     assertNotNull(inputOrg);
     assertEquals("test", inputOrg.getName().getValue());
@@ -0,0 +1,61 @@
+package org.eclipse.scout.contacts.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.sql.Timestamp;
+import java.util.Date;
+
+import org.eclipse.scout.contacts.server.sql.PartialUpdateStatement;
+import org.eclipse.scout.contacts.shared.person.PersonFormData;
+import org.eclipse.scout.rt.testing.platform.runner.PlatformTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link PartialUpdateStatement}
+ */
+@RunWith(PlatformTestRunner.class)
+public class PartialUpdateStatementTest {
+
+  private final PartialUpdateStatement<PersonFormData> statement = new PartialUpdateStatement<PersonFormData>("UPDATE PERSON SET %sversion = version + 1")
+      .withColumn("first_name = :firstName", PersonFormData::getFirstName)
+      .withColumn("phone = :phone", PersonFormData::getPhone)
+      .withColumn("date_of_birth = :dateOfBirth", PersonFormData::getDateOfBirth);
+
+  @Test
+  public void testOnlySetColumnsAreAssigned() {
+    PersonFormData formData = new PersonFormData();
+    formData.getPhone().setValue("123");
+    assertEquals("UPDATE PERSON SET phone = :phone, version = version + 1", statement.create(formData, null));
+  }
+
+  @Test
+  public void testUnchangedColumnsAreNotAssigned() {
+    PersonFormData stored = new PersonFormData();
+    stored.getFirstName().setValue("Alice");
+    stored.getPhone().setValue("123");
+    stored.getDateOfBirth().setValue(new Timestamp(0));
+
+    PersonFormData formData = new PersonFormData();
+    formData.getFirstName().setValue("Alice");
+    formData.getPhone().setValue("456");
+    formData.getDateOfBirth().setValue(new Date(0));
+    assertEquals("UPDATE PERSON SET phone = :phone, version = version + 1", statement.create(formData, stored));
+  }
+
+  @Test
+  public void testStatementsAreReused() {
+    PersonFormData formData = new PersonFormData();
+    formData.getFirstName().setValue("Alice");
+    formData.getDateOfBirth().setValue(null);
+
+    PersonFormData otherFormData = new PersonFormData();
+    otherFormData.getFirstName().setValue("Bob");
+    otherFormData.getDateOfBirth().setValue(new Date());
+
+    String sql = statement.create(formData, null);
+    assertEquals("UPDATE PERSON SET first_name = :firstName, date_of_birth = :dateOfBirth, version = version + 1", sql);
+    assertSame(sql, statement.create(otherFormData, null));
+  }
+}
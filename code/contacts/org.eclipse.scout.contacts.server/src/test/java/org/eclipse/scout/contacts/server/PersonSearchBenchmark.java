@@ -0,0 +1,122 @@
+package org.eclipse.scout.contacts.server;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.scout.contacts.server.sql.DatabaseSetupService;
+import org.eclipse.scout.contacts.server.sql.DerbySqlService;
+import org.eclipse.scout.contacts.server.sql.SearchTextUtility;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.holders.LongHolder;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the latency of a person prefix search with a function on the column (<code>LOWER(last_name) LIKE</code>)
+ * against a search on the indexed, normalized search column.
+ * <p>
+ * Not part of the regular test run. Start it manually, the number of persons can be set with the system property
+ * <code>contacts.benchmark.persons</code> (default 1'000'000).
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(ServerSession.class)
+@RunWithSubject("default")
+public class PersonSearchBenchmark {
+  private static final Logger LOG = LoggerFactory.getLogger(PersonSearchBenchmark.class);
+
+  private static final int PERSONS = Integer.getInteger("contacts.benchmark.persons", 1000000);
+  private static final int BATCH_SIZE = 10000;
+  private static final int QUERIES = 200;
+  private static final String[] SYLLABLES = {"an", "be", "ch", "dé", "el", "fr", "gü", "ha", "ir", "jo", "ka", "lu", "mé", "no", "ös", "pe"};
+
+  private static final String INSERT_PERSON = ""
+      + "INSERT   INTO PERSON (person_id, first_name, last_name) "
+      + "VALUES   (:{ids}, :{firstNames}, :{lastNames})";
+
+  private static final String COUNT_BY_FUNCTION = ""
+      + "SELECT   COUNT(1) "
+      + "FROM     PERSON "
+      + "WHERE    LOWER(last_name) LIKE LOWER(:prefix || '%') "
+      + "INTO     :result";
+
+  private static final String COUNT_BY_SEARCH_COLUMN = ""
+      + "SELECT   COUNT(1) "
+      + "FROM     PERSON "
+      + "WHERE    last_name_search LIKE :prefix "
+      + "INTO     :result";
+
+  @BeforeClass
+  public static void setupDatabase() {
+    BEANS.get(DatabaseSetupService.class).createOrganizationTable();
+    BEANS.get(DatabaseSetupService.class).createPersonTable();
+    seedPersons();
+  }
+
+  @AfterClass
+  public static void destroyDBConnections() {
+    BEANS.get(DerbySqlService.class).dropDB();
+    BEANS.get(DerbySqlService.class).destroySqlConnectionPool();
+  }
+
+  private static void seedPersons() {
+    Random random = new Random(1);
+    long start = System.nanoTime();
+    for (int offset = 0; offset < PERSONS; offset += BATCH_SIZE) {
+      int size = Math.min(BATCH_SIZE, PERSONS - offset);
+      String[] ids = new String[size];
+      String[] firstNames = new String[size];
+      String[] lastNames = new String[size];
+      for (int i = 0; i < size; i++) {
+        ids[i] = "bm" + (offset + i);
+        firstNames[i] = randomName(random);
+        lastNames[i] = randomName(random);
+      }
+      SQL.insert(INSERT_PERSON, new NVPair("ids", ids), new NVPair("firstNames", firstNames), new NVPair("lastNames", lastNames));
+      SQL.commit();
+    }
+    LOG.info("Seeded {} persons in {} ms", PERSONS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  private static String randomName(Random random) {
+    StringBuilder name = new StringBuilder();
+    for (int i = 0; i < 4; i++) {
+      name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+    }
+    name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+    return name.toString();
+  }
+
+  @Test
+  public void benchmarkPrefixSearch() {
+    // warm up both statements
+    measure(COUNT_BY_FUNCTION, false, QUERIES / 10);
+    measure(COUNT_BY_SEARCH_COLUMN, true, QUERIES / 10);
+
+    double functionMillis = measure(COUNT_BY_FUNCTION, false, QUERIES);
+    double searchColumnMillis = measure(COUNT_BY_SEARCH_COLUMN, true, QUERIES);
+
+    LOG.info("Prefix search over {} persons: LOWER(last_name) LIKE {} ms/query, last_name_search LIKE {} ms/query",
+        PERSONS, String.format("%.3f", functionMillis), String.format("%.3f", searchColumnMillis));
+  }
+
+  private double measure(String sql, boolean normalized, int queries) {
+    Random random = new Random(2);
+    LongHolder result = new LongHolder();
+    long start = System.nanoTime();
+    for (int i = 0; i < queries; i++) {
+      String prefix = SYLLABLES[random.nextInt(SYLLABLES.length)] + SYLLABLES[random.nextInt(SYLLABLES.length)];
+      String bindValue = normalized ? SearchTextUtility.toPrefixPattern(prefix, "%") : prefix;
+      SQL.selectInto(sql, new NVPair("prefix", bindValue), new NVPair("result", result));
+    }
+    return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start) / 1000d / queries;
+  }
+}
@@ -0,0 +1,205 @@
+package org.eclipse.scout.contacts.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.eclipse.scout.contacts.server.person.PersonService;
+import org.eclipse.scout.contacts.server.sql.DatabaseProperties.MaxPageSizeProperty;
+import org.eclipse.scout.contacts.server.sql.DatabaseSetupService;
+import org.eclipse.scout.contacts.server.sql.DerbySqlService;
+import org.eclipse.scout.contacts.server.sql.SQLs;
+import org.eclipse.scout.contacts.server.sql.SelectContribution;
+import org.eclipse.scout.contacts.shared.person.PersonFormData;
+import org.eclipse.scout.contacts.shared.person.PersonSearchFormData;
+import org.eclipse.scout.contacts.shared.person.PersonTablePageData;
+import org.eclipse.scout.contacts.shared.person.PersonTablePageData.PersonTableRowData;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.config.CONFIG;
+import org.eclipse.scout.rt.platform.holders.StringArrayHolder;
+import org.eclipse.scout.rt.platform.transaction.TransactionScope;
+import org.eclipse.scout.rt.server.context.ServerRunContexts;
+import org.eclipse.scout.rt.shared.services.common.jdbc.SearchFilter;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link PersonService}
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(ServerSession.class)
+@RunWithSubject("default")
+public class PersonServiceTest {
+
+  private static final int PAGE_SIZE = 10;
+
+  @BeforeClass
+  public static void setupDatabase() {
+    BEANS.get(DatabaseSetupService.class).createOrganizationTable();
+    BEANS.get(DatabaseSetupService.class).createPersonTable();
+
+    // persons without names are sorted after all others and must not be skipped by the windows
+    createPerson(null, null);
+    createPerson(null, "Anna");
+    createPerson("Zuber", null);
+    createPerson("Zuber", null);
+  }
+
+  @AfterClass
+  public static void destroyDBConnections() {
+    BEANS.get(DerbySqlService.class).dropDB();
+    BEANS.get(DerbySqlService.class).destroySqlConnectionPool();
+  }
+
+  @Test
+  public void testFirstWindowIsLimitedToPageSize() {
+    PersonTablePageData pageData = new PersonService().getPersonTableData(createFilter(null), null);
+    assertEquals(PAGE_SIZE, pageData.getRowCount());
+    assertTrue(pageData.isLimitedResult());
+  }
+
+  @Test
+  public void testWindowIsLimitedToMaxPageSize() {
+    int maxPageSize = CONFIG.getPropertyValue(MaxPageSizeProperty.class);
+    SearchFilter filter = createFilter(null);
+    ((PersonSearchFormData) filter.getFormData()).setPageSize(maxPageSize + 1);
+
+    PersonTablePageData pageData = new PersonService().getPersonTableData(filter, null);
+    assertTrue(pageData.getRowCount() <= maxPageSize);
+  }
+
+  @Test
+  public void testWindowsAreContiguous() {
+    PersonService svc = new PersonService();
+    List<String> personIds = new ArrayList<>();
+    PersonTableRowData lastRow = null;
+
+    PersonTablePageData window;
+    do {
+      window = svc.getPersonTableData(createFilter(lastRow), null);
+      for (PersonTableRowData row : window.getRows()) {
+        personIds.add(row.getPersonId());
+        lastRow = row;
+      }
+    }
+    while (window.isLimitedResult());
+
+    assertNull(lastRow.getLastName());
+    int rowCount = svc.getPersonTableData(new SearchFilter(), null).getRowCount();
+    assertTrue(rowCount > PAGE_SIZE);
+    assertEquals(rowCount, personIds.size());
+    assertEquals(rowCount, new HashSet<>(personIds).size());
+  }
+
+  @Test
+  public void testContributedColumnsAreSelectedInWindowOrder() {
+    List<String[]> contributedPersonIds = new ArrayList<>();
+    PersonService svc = new PersonService() {
+      @Override
+      protected void contributePageColumns(SelectContribution contribution) {
+        contribution.addColumn("p.person_id", "contributedPersonIds", new StringArrayHolder());
+      }
+
+      @Override
+      protected void importPageColumns(PersonTablePageData pageData, SelectContribution contribution) {
+        contributedPersonIds.add(contribution.<StringArrayHolder> getHolder("contributedPersonIds").getValue());
+      }
+    };
+
+    PersonTablePageData pageData = svc.getPersonTableData(createFilter(null), null);
+
+    String[] personIds = contributedPersonIds.get(0);
+    assertEquals(PAGE_SIZE + 1, personIds.length);
+    for (int i = 0; i < pageData.getRowCount(); i++) {
+      assertEquals(pageData.rowAt(i).getPersonId(), personIds[i]);
+    }
+  }
+
+  @Test
+  public void testSelectWithoutContributionIsNotWrapped() {
+    StringBuilder sql = new StringBuilder("SELECT person_id FROM PERSON ");
+    new ContributingPersonService().addContributedColumns(sql, new SelectContribution());
+    assertEquals("SELECT person_id FROM PERSON ", sql.toString());
+  }
+
+  @Test
+  public void testSelectIsWrappedIntoContribution() {
+    StringBuilder sql = new StringBuilder("SELECT person_id FROM PERSON ");
+    new ContributingPersonService().addContributedColumns(sql, new SelectContribution().addColumn("p.person_id", "ids", new StringArrayHolder()));
+    assertEquals(String.format(SQLs.PERSON_PAGE_CONTRIBUTION_SELECT, ", p.person_id", "SELECT person_id FROM PERSON ") + SQLs.PERSON_PAGE_ORDER_BY, sql.toString());
+  }
+
+  private SearchFilter createFilter(PersonTableRowData lastRow) {
+    PersonSearchFormData searchData = new PersonSearchFormData();
+    searchData.setPageSize(PAGE_SIZE);
+    if (lastRow != null) {
+      searchData.setCursorLastName(lastRow.getLastName());
+      searchData.setCursorFirstName(lastRow.getFirstName());
+      searchData.setCursorPersonId(lastRow.getPersonId());
+    }
+
+    SearchFilter filter = new SearchFilter();
+    filter.setFormData(searchData);
+    return filter;
+  }
+
+  @Test
+  public void testOnlyChangedColumnsOfExportedFormDataAreUpdated() {
+    PersonFormData created = new PersonFormData();
+    created.getLastName().setValue("Exported");
+    created.getPhone().setValue("000");
+    ServerRunContexts.copyCurrent().withTransactionScope(TransactionScope.REQUIRES_NEW).run(() -> new PersonService().create(created));
+
+    List<String> statements = new ArrayList<>();
+    PersonService svc = new PersonService() {
+      @Override
+      protected String createUpdateStatement(PersonFormData formData) {
+        String statement = super.createUpdateStatement(formData);
+        statements.add(statement);
+        return statement;
+      }
+    };
+
+    // like the form, the loaded form data has all fields set
+    PersonFormData exported = svc.load(createPerson(created.getPersonId()));
+    assertTrue(exported.getLastName().isValueSet());
+    exported.getPhone().setValue("111");
+    svc.store(exported);
+
+    assertEquals(Arrays.asList(String.format(SQLs.PERSON_UPDATE, "phone = :phone, ")), statements);
+    PersonFormData stored = svc.loadFromDatabase(createPerson(created.getPersonId()));
+    assertEquals("111", stored.getPhone().getValue());
+    assertEquals("Exported", stored.getLastName().getValue());
+  }
+
+  private static PersonFormData createPerson(String personId) {
+    PersonFormData formData = new PersonFormData();
+    formData.setPersonId(personId);
+    return formData;
+  }
+
+  private static void createPerson(String lastName, String firstName) {
+    PersonFormData formData = new PersonFormData();
+    formData.getLastName().setValue(lastName);
+    formData.getFirstName().setValue(firstName);
+    new PersonService().create(formData);
+  }
+
+  private static class ContributingPersonService extends PersonService {
+
+    @Override
+    protected void addContributedColumns(StringBuilder sql, SelectContribution contribution) {
+      super.addContributedColumns(sql, contribution);
+    }
+  }
+}
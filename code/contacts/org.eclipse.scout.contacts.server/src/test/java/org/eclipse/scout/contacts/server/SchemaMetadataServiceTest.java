@@ -0,0 +1,98 @@
+package org.eclipse.scout.contacts.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.scout.contacts.server.sql.DatabaseSetupService;
+import org.eclipse.scout.contacts.server.sql.DerbySqlService;
+import org.eclipse.scout.contacts.server.sql.SchemaMetadataService;
+import org.eclipse.scout.contacts.server.sql.TableDefinition;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link SchemaMetadataService}
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(ServerSession.class)
+@RunWithSubject("default")
+public class SchemaMetadataServiceTest {
+
+  @BeforeClass
+  public static void setupDatabase() {
+    BEANS.get(DatabaseSetupService.class).createOrganizationTable();
+  }
+
+  @AfterClass
+  public static void destroyDBConnections() {
+    BEANS.get(DerbySqlService.class).dropDB();
+    BEANS.get(DerbySqlService.class).destroySqlConnectionPool();
+  }
+
+  @Test
+  public void testMetadata() {
+    SchemaMetadataService schema = BEANS.get(SchemaMetadataService.class);
+    assertTrue(schema.existsTable("ORGANIZATION"));
+    assertTrue(schema.existsColumn("ORGANIZATION", "NAME_SEARCH"));
+    assertTrue(schema.existsFunction("SEARCH_TEXT"));
+    assertFalse(schema.existsColumn("ORGANIZATION", "UNKNOWN"));
+  }
+
+  @Test
+  public void testDdlInvalidatesMetadata() {
+    SchemaMetadataService schema = BEANS.get(SchemaMetadataService.class);
+    assertFalse(schema.existsTable("SCHEMA_TEST"));
+
+    schema.executeDdl("CREATE TABLE SCHEMA_TEST (id INTEGER)");
+    assertTrue(schema.existsTable("SCHEMA_TEST"));
+    assertTrue(schema.existsColumn("SCHEMA_TEST", "ID"));
+
+    schema.executeDdl("DROP TABLE SCHEMA_TEST");
+    assertFalse(schema.existsTable("SCHEMA_TEST"));
+  }
+
+  @Test
+  public void testReferencedTablesAreCreatedFirst() {
+    List<String> created = new ArrayList<>();
+    BEANS.get(SchemaMetadataService.class).createTables(Arrays.asList(
+        new TableDefinition("C", () -> created.add("C"), "B"),
+        new TableDefinition("B", () -> created.add("B"), "A"),
+        new TableDefinition("A", () -> created.add("A"))));
+
+    assertEquals(Arrays.asList("A", "B", "C"), created);
+  }
+
+  @Test
+  public void testTablesAreMigratedAfterCreation() {
+    List<String> steps = Collections.synchronizedList(new ArrayList<>());
+    BEANS.get(SchemaMetadataService.class).createTablesInParallel(Arrays.asList(
+        new TableDefinition("A", () -> steps.add("create A")).withMigration(() -> steps.add("migrate A")),
+        new TableDefinition("B", () -> steps.add("create B")),
+        new TableDefinition("C", () -> steps.add("create C"), "A").withMigration(() -> steps.add("migrate C"))));
+
+    assertEquals(5, steps.size());
+    assertEquals(Arrays.asList("create C", "migrate A", "migrate C"), steps.subList(2, 5));
+  }
+
+  @Test(expected = ProcessingException.class)
+  public void testCyclicReferences() {
+    BEANS.get(SchemaMetadataService.class).createTables(Arrays.asList(
+        new TableDefinition("A", () -> {
+        }, "B"),
+        new TableDefinition("B", () -> {
+        }, "A")));
+  }
+}
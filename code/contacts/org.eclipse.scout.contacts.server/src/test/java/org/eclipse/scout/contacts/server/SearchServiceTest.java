@@ -0,0 +1,157 @@
+package org.eclipse.scout.contacts.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.scout.contacts.server.organization.OrganizationSearchDocumentProvider;
+import org.eclipse.scout.contacts.server.organization.OrganizationService;
+import org.eclipse.scout.contacts.server.search.SearchIndexNotification;
+import org.eclipse.scout.contacts.server.search.SearchIndexNotificationListener;
+import org.eclipse.scout.contacts.server.search.SearchService;
+import org.eclipse.scout.contacts.server.sql.DatabaseSetupService;
+import org.eclipse.scout.contacts.server.sql.DerbySqlService;
+import org.eclipse.scout.contacts.shared.organization.OrganizationFormData;
+import org.eclipse.scout.contacts.shared.search.SearchResultTablePageData.SearchResultTableRowData;
+import org.eclipse.scout.rt.platform.BEANS;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.transaction.TransactionScope;
+import org.eclipse.scout.rt.platform.util.concurrent.IRunnable;
+import org.eclipse.scout.rt.server.context.ServerRunContexts;
+import org.eclipse.scout.rt.server.jdbc.SQL;
+import org.eclipse.scout.rt.server.services.common.clustersync.IClusterNotificationMessage;
+import org.eclipse.scout.rt.testing.platform.runner.RunWithSubject;
+import org.eclipse.scout.rt.testing.server.runner.RunWithServerSession;
+import org.eclipse.scout.rt.testing.server.runner.ServerTestRunner;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Tests for {@link SearchService}
+ */
+@RunWith(ServerTestRunner.class)
+@RunWithServerSession(ServerSession.class)
+@RunWithSubject("default")
+public class SearchServiceTest {
+
+  @BeforeClass
+  public static void setupDatabase() {
+    BEANS.get(DatabaseSetupService.class).createOrganizationTable();
+    BEANS.get(DatabaseSetupService.class).createPersonTable();
+  }
+
+  @AfterClass
+  public static void destroyDBConnections() {
+    BEANS.get(DerbySqlService.class).dropDB();
+    BEANS.get(DerbySqlService.class).destroySqlConnectionPool();
+  }
+
+  @Test
+  public void testPrefixIgnoresCaseAndAccents() {
+    assertEquals(1, search("SCHRÖ").size());
+    assertEquals("prs04", search("SCHRÖ").get(0));
+    assertTrue(search("zur").contains("prs04"));
+  }
+
+  @Test
+  public void testAllWordsMustMatch() {
+    List<String> ids = search("alice wonderland");
+    assertEquals(1, ids.size());
+    assertEquals("org01", ids.get(0));
+  }
+
+  @Test
+  public void testExactMatchRanksBeforePrefixMatch() {
+    OrganizationService svc = new OrganizationService();
+    createOrganization(svc, "searchTest1", "Quarkstone");
+    createOrganization(svc, "searchTest2", "Quark");
+
+    List<String> ids = search("quark");
+    assertEquals(2, ids.size());
+    assertEquals("searchTest2", ids.get(0));
+  }
+
+  @Test
+  public void testStoreUpdatesIndex() {
+    OrganizationService svc = new OrganizationService();
+    OrganizationFormData formData = createOrganization(svc, "searchTest3", "Zyxwv");
+    assertEquals(1, search("zyx").size());
+
+    formData.getName().setValue("Vwxyz");
+    runInNewTransaction(() -> svc.store(formData));
+    assertEquals(0, search("zyx").size());
+    assertEquals(1, search("vwx").size());
+  }
+
+  @Test
+  public void testRolledBackStoreDoesNotUpdateIndex() {
+    OrganizationService svc = new OrganizationService();
+    OrganizationFormData formData = createOrganization(svc, "searchTest4", "Qwertz");
+    assertEquals(1, search("qwer").size());
+
+    formData.getName().setValue("Asdfgh");
+    try {
+      runInNewTransaction(() -> {
+        svc.store(formData);
+        throw new ProcessingException("rollback");
+      });
+    }
+    catch (ProcessingException e) {
+      // expected
+    }
+    assertEquals(1, search("qwer").size());
+    assertEquals(0, search("asdf").size());
+  }
+
+  @Test
+  public void testNotificationOfOtherNodeUpdatesIndex() {
+    createOrganization(new OrganizationService(), "searchTest5", "Mnbvc");
+    assertEquals(1, search("mnb").size());
+
+    // written on another node, which only notifies this one
+    runInNewTransaction(() -> SQL.update("UPDATE ORGANIZATION SET name = 'Lkjhg' WHERE organization_id = 'searchTest5'"));
+    IClusterNotificationMessage message = mock(IClusterNotificationMessage.class);
+    when(message.getNotification()).thenReturn(new SearchIndexNotification(OrganizationSearchDocumentProvider.ENTITY_TYPE, "searchTest5"));
+    new SearchIndexNotificationListener().onNotification(message);
+
+    assertEquals(0, search("mnb").size());
+    assertEquals(1, search("lkj").size());
+  }
+
+  @Test
+  public void testEmptyQuery() {
+    assertEquals(0, search(" - ").size());
+  }
+
+  private OrganizationFormData createOrganization(OrganizationService svc, String organizationId, String name) {
+    OrganizationFormData formData = new OrganizationFormData();
+    formData.setOrganizationId(organizationId);
+    formData.getName().setValue(name);
+    return ServerRunContexts.copyCurrent()
+        .withTransactionScope(TransactionScope.REQUIRES_NEW)
+        .call(() -> svc.create(formData));
+  }
+
+  /**
+   * The search index is updated once the changing transaction is committed.
+   */
+  private void runInNewTransaction(IRunnable runnable) {
+    ServerRunContexts.copyCurrent()
+        .withTransactionScope(TransactionScope.REQUIRES_NEW)
+        .run(runnable);
+  }
+
+  private List<String> search(String query) {
+    List<String> ids = new ArrayList<>();
+    for (SearchResultTableRowData row : new SearchService().search(query).getRows()) {
+      ids.add(row.getEntityId());
+    }
+    return ids;
+  }
+}
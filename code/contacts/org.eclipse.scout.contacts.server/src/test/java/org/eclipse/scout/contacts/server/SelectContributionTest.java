@@ -0,0 +1,49 @@
+package org.eclipse.scout.contacts.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.scout.contacts.server.sql.SelectContribution;
+import org.eclipse.scout.rt.platform.holders.LongArrayHolder;
+import org.eclipse.scout.rt.platform.holders.NVPair;
+import org.eclipse.scout.rt.platform.holders.StringArrayHolder;
+import org.junit.Test;
+
+/**
+ * Tests for {@link SelectContribution}
+ */
+public class SelectContributionTest {
+
+  @Test
+  public void testEmptyContribution() {
+    SelectContribution contribution = new SelectContribution();
+    assertTrue(contribution.isEmpty());
+    assertEquals("", contribution.getColumns());
+    assertEquals("", contribution.getInto());
+    assertTrue(contribution.getBinds().isEmpty());
+  }
+
+  @Test
+  public void testColumnsBindsAndIntoAreInTheSameOrder() {
+    LongArrayHolder counts = new LongArrayHolder();
+    StringArrayHolder names = new StringArrayHolder();
+    SelectContribution contribution = new SelectContribution()
+        .addColumn("(SELECT COUNT(1) FROM PARTICIPANT x WHERE x.person_id = p.person_id)", "counts", counts)
+        .addColumn("p.last_name", "names", names);
+
+    assertEquals(", (SELECT COUNT(1) FROM PARTICIPANT x WHERE x.person_id = p.person_id), p.last_name", contribution.getColumns());
+    assertEquals(", :counts, :names", contribution.getInto());
+
+    List<Object> binds = contribution.getBinds();
+    assertEquals(2, binds.size());
+    assertEquals("counts", ((NVPair) binds.get(0)).getName());
+    assertSame(counts, ((NVPair) binds.get(0)).getValue());
+    assertEquals("names", ((NVPair) binds.get(1)).getName());
+    assertSame(names, ((NVPair) binds.get(1)).getValue());
+
+    assertSame(names, contribution.<StringArrayHolder> getHolder("names"));
+  }
+}
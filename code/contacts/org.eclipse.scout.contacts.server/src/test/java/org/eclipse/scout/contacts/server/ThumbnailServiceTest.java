@@ -0,0 +1,180 @@
+package org.eclipse.scout.contacts.server;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.scout.contacts.server.common.BlobStore;
+import org.eclipse.scout.contacts.server.common.ThumbnailService;
+import org.eclipse.scout.rt.platform.exception.ProcessingException;
+import org.eclipse.scout.rt.platform.resource.BinaryResource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests for {@link ThumbnailService}
+ */
+public class ThumbnailServiceTest {
+  private static final int SIZE = 100;
+  private static final long MAX_PIXELS = 500 * 500;
+
+  @Rule
+  public TemporaryFolder blobStoreFolder = new TemporaryFolder();
+
+  private HttpServer server;
+  private ExecutorService executor;
+  private final AtomicInteger requests = new AtomicInteger();
+
+  @Before
+  public void before() throws IOException {
+    executor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.createContext("/photo.png", exchange -> respond(exchange, createImage(400, 200, BufferedImage.TYPE_INT_RGB)));
+    server.createContext("/logo.png", exchange -> respond(exchange, createImage(50, 80, BufferedImage.TYPE_INT_ARGB)));
+    server.createContext("/huge.png", exchange -> respond(exchange, createImage(1000, 1000, BufferedImage.TYPE_INT_RGB)));
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  @After
+  public void after() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void respond(HttpExchange exchange, byte[] content) throws IOException {
+    requests.incrementAndGet();
+    exchange.sendResponseHeaders(200, content.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(content);
+    }
+  }
+
+  private static byte[] createImage(int width, int height, int type) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(width, height, type), "png", out);
+    return out.toByteArray();
+  }
+
+  private String url(String path) {
+    return "http://localhost:" + server.getAddress().getPort() + path;
+  }
+
+  private ThumbnailService createService() {
+    return createService(Collections.singleton("localhost"));
+  }
+
+  private ThumbnailService createService(Set<String> allowedHosts) {
+    return createService(new BlobStore(blobStoreFolder.getRoot()), allowedHosts);
+  }
+
+  private ThumbnailService createService(BlobStore blobStore, Set<String> allowedHosts) {
+    return new ThumbnailService(blobStore, SIZE, 1000, 1024 * 1024, MAX_PIXELS, allowedHosts, 60, 3600) {
+      @Override
+      protected void checkAccess() {
+        // no access control outside of a server session
+      }
+    };
+  }
+
+  @Test
+  public void testThumbnailFitsIntoSize() throws IOException {
+    BinaryResource thumbnail = createService().getThumbnail(url("/photo.png"));
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail.getContent()));
+    assertEquals(SIZE, image.getWidth());
+    assertEquals(SIZE / 2, image.getHeight());
+    assertEquals("image/jpeg", thumbnail.getContentType());
+    assertTrue(thumbnail.isCachingAllowed());
+  }
+
+  @Test
+  public void testSmallImageWithTransparencyIsNotEnlarged() throws IOException {
+    BinaryResource thumbnail = createService().getThumbnail(url("/logo.png"));
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail.getContent()));
+    assertEquals(50, image.getWidth());
+    assertEquals(80, image.getHeight());
+    assertEquals("image/png", thumbnail.getContentType());
+  }
+
+  @Test
+  public void testImageIsFetchedOnce() {
+    BinaryResource first = createService().getThumbnail(url("/photo.png"));
+    BinaryResource second = createService().getThumbnail(url("/photo.png"));
+    assertEquals(1, requests.get());
+    assertEquals(first.getFilename(), second.getFilename());
+    assertArrayEquals(first.getContent(), second.getContent());
+  }
+
+  @Test(expected = ProcessingException.class)
+  public void testOnlyHttpUrlsAreFetched() {
+    createService().getThumbnail("file:///etc/passwd");
+  }
+
+  @Test(expected = ProcessingException.class)
+  public void testHostNotAllowedIsNotFetched() {
+    try {
+      createService(Collections.singleton(".example.org")).getThumbnail(url("/photo.png"));
+    }
+    finally {
+      assertEquals(0, requests.get());
+    }
+  }
+
+  @Test(expected = ProcessingException.class)
+  public void testNothingIsFetchedWithoutAllowList() {
+    try {
+      createService(Collections.emptySet()).getThumbnail(url("/photo.png"));
+    }
+    finally {
+      assertEquals(0, requests.get());
+    }
+  }
+
+  @Test(expected = ProcessingException.class)
+  public void testImageExceedingMaxPixelsIsNotDecoded() {
+    createService().getThumbnail(url("/huge.png"));
+  }
+
+  @Test
+  public void testExpiredThumbnailIsFetchedAgain() {
+    ThumbnailService service = createService();
+    service.getThumbnail(url("/photo.png"));
+    assertEquals(0, service.removeExpiredThumbnails());
+
+    new BlobStore(blobStoreFolder.getRoot()).removeOlderThan(System.currentTimeMillis() + 1000);
+    service.getThumbnail(url("/photo.png"));
+    assertEquals(2, requests.get());
+  }
+
+  @Test(expected = ProcessingException.class)
+  public void testThumbnailRemovedWhileCreatedIsRejected() {
+    BlobStore blobStore = new BlobStore(blobStoreFolder.getRoot()) {
+      @Override
+      public byte[] get(String hash) {
+        // removed again right after every creation
+        return null;
+      }
+    };
+    createService(blobStore, Collections.singleton("localhost")).getThumbnail(url("/photo.png"));
+  }
+}
@@ -74,6 +74,24 @@ public class OrganizationFormData extends AbstractFormData {
     return getFieldByClass(Picture.class);
   }
 
+  /**
+   * access method for property RowVersion.
+   */
+  public Long getRowVersion() {
+    return getRowVersionProperty().getValue();
+  }
+
+  /**
+   * access method for property RowVersion.
+   */
+  public void setRowVersion(Long rowVersion) {
+    getRowVersionProperty().setValue(rowVersion);
+  }
+
+  public RowVersionProperty getRowVersionProperty() {
+    return getPropertyByClass(RowVersionProperty.class);
+  }
+
   public static class AddressBox extends AbstractAddressBoxData {
 
     private static final long serialVersionUID = 1L;
@@ -113,4 +131,9 @@ public class OrganizationFormData extends AbstractFormData {
 
     private static final long serialVersionUID = 1L;
   }
+
+  public static class RowVersionProperty extends AbstractPropertyData<Long> {
+
+    private static final long serialVersionUID = 1L;
+  }
 }
@@ -105,6 +105,24 @@ public class PersonFormData extends AbstractFormData {
     return getFieldByClass(Position.class);
   }
 
+  /**
+   * access method for property RowVersion.
+   */
+  public Long getRowVersion() {
+    return getRowVersionProperty().getValue();
+  }
+
+  /**
+   * access method for property RowVersion.
+   */
+  public void setRowVersion(Long rowVersion) {
+    getRowVersionProperty().setValue(rowVersion);
+  }
+
+  public RowVersionProperty getRowVersionProperty() {
+    return getPropertyByClass(RowVersionProperty.class);
+  }
+
   public Street getStreet() {
     return getFieldByClass(Street.class);
   }
@@ -189,6 +207,11 @@ public class PersonFormData extends AbstractFormData {
     private static final long serialVersionUID = 1L;
   }
 
+  public static class RowVersionProperty extends AbstractPropertyData<Long> {
+
+    private static final long serialVersionUID = 1L;
+  }
+
   public static class Street extends AbstractValueFieldData<String> {
 
     private static final long serialVersionUID = 1L;
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2018 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.shared.search;
+
+import java.math.BigDecimal;
+
+import javax.annotation.Generated;
+
+import org.eclipse.scout.rt.shared.data.basic.table.AbstractTableRowData;
+import org.eclipse.scout.rt.shared.data.page.AbstractTablePageData;
+
+/**
+ * <b>NOTE:</b><br>
+ * This class is auto generated by the Scout SDK. No manual modifications recommended.
+ */
+@Generated(value = "org.eclipse.scout.contacts.client.search.SearchResultTablePage", comments = "This class is auto generated by the Scout SDK. No manual modifications recommended.")
+public class SearchResultTablePageData extends AbstractTablePageData {
+
+  private static final long serialVersionUID = 1L;
+
+  @Override
+  public SearchResultTableRowData addRow() {
+    return (SearchResultTableRowData) super.addRow();
+  }
+
+  @Override
+  public SearchResultTableRowData addRow(int rowState) {
+    return (SearchResultTableRowData) super.addRow(rowState);
+  }
+
+  @Override
+  public SearchResultTableRowData createRow() {
+    return new SearchResultTableRowData();
+  }
+
+  @Override
+  public Class<? extends AbstractTableRowData> getRowType() {
+    return SearchResultTableRowData.class;
+  }
+
+  @Override
+  public SearchResultTableRowData[] getRows() {
+    return (SearchResultTableRowData[]) super.getRows();
+  }
+
+  @Override
+  public SearchResultTableRowData rowAt(int index) {
+    return (SearchResultTableRowData) super.rowAt(index);
+  }
+
+  public void setRows(SearchResultTableRowData[] rows) {
+    super.setRows(rows);
+  }
+
+  public static class SearchResultTableRowData extends AbstractTableRowData {
+
+    private static final long serialVersionUID = 1L;
+    public static final String entityType = "entityType";
+    public static final String entityId = "entityId";
+    public static final String type = "type";
+    public static final String text = "text";
+    public static final String score = "score";
+    private String m_entityType;
+    private String m_entityId;
+    private String m_type;
+    private String m_text;
+    private BigDecimal m_score;
+
+    public String getEntityType() {
+      return m_entityType;
+    }
+
+    public void setEntityType(String newEntityType) {
+      m_entityType = newEntityType;
+    }
+
+    public String getEntityId() {
+      return m_entityId;
+    }
+
+    public void setEntityId(String newEntityId) {
+      m_entityId = newEntityId;
+    }
+
+    public String getType() {
+      return m_type;
+    }
+
+    public void setType(String newType) {
+      m_type = newType;
+    }
+
+    public String getText() {
+      return m_text;
+    }
+
+    public void setText(String newText) {
+      m_text = newText;
+    }
+
+    public BigDecimal getScore() {
+      return m_score;
+    }
+
+    public void setScore(BigDecimal newScore) {
+      m_score = newScore;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.shared.common;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.platform.resource.BinaryResource;
+import org.eclipse.scout.rt.shared.TunnelToServer;
+
+/**
+ * Provides small, fixed-size versions of the images referenced by persons and organizations (picture and logo URLs).
+ */
+@ApplicationScoped
+@TunnelToServer
+public interface IThumbnailService {
+
+  /**
+   * @return the thumbnail of the image at the given http(s) URL. The resource is named after its content hash and may
+   *         be cached by clients.
+   */
+  BinaryResource getThumbnail(String imageUrl);
+}
@@ -8,11 +8,15 @@
  * Contributors:
  *     BSI Business Systems Integration AG - initial API and implementation
  ******************************************************************************/
-package org.eclipsescout.demo.bahbah.shared.notification;
+package org.eclipse.scout.contacts.shared.common;
 
-import java.io.Serializable;
+import java.security.BasicPermission;
+
+public class ReadThumbnailPermission extends BasicPermission {
 
-public class RefreshBuddiesNotification implements Serializable {
   private static final long serialVersionUID = 1L;
 
+  public ReadThumbnailPermission() {
+    super("ReadThumbnail");
+  }
 }
@@ -10,11 +10,22 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.shared.organization;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.scout.rt.shared.TunnelToServer;
+import org.eclipse.scout.rt.shared.services.lookup.ILookupRow;
 import org.eclipse.scout.rt.shared.services.lookup.ILookupService;
 
 //tag::all[]
 @TunnelToServer
 public interface IOrganizationLookupService extends ILookupService<String> {
+  //end::all[]
+
+  /**
+   * @return the lookup rows of the given keys in the order of the keys, unknown keys are skipped
+   */
+  List<ILookupRow<String>> getDataByKeys(Collection<String> keys);
+  //tag::all[]
 }
 //end::all[]
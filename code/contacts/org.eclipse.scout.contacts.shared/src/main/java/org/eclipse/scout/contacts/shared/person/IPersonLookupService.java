@@ -10,9 +10,18 @@
  ******************************************************************************/
 package org.eclipse.scout.contacts.shared.person;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.scout.rt.shared.TunnelToServer;
+import org.eclipse.scout.rt.shared.services.lookup.ILookupRow;
 import org.eclipse.scout.rt.shared.services.lookup.ILookupService;
 
 @TunnelToServer
 public interface IPersonLookupService extends ILookupService<String> {
+
+  /**
+   * @return the lookup rows of the given keys in the order of the keys, unknown keys are skipped
+   */
+  List<ILookupRow<String>> getDataByKeys(Collection<String> keys);
 }
@@ -15,6 +15,7 @@ import javax.annotation.Generated;
 import org.eclipse.scout.contacts.shared.common.AbstractAddressBoxData;
 import org.eclipse.scout.rt.shared.data.form.AbstractFormData;
 import org.eclipse.scout.rt.shared.data.form.fields.AbstractValueFieldData;
+import org.eclipse.scout.rt.shared.data.form.properties.AbstractPropertyData;
 
 /**
  * <b>NOTE:</b><br>
@@ -25,6 +26,60 @@ public class PersonSearchFormData extends AbstractFormData {
 
   private static final long serialVersionUID = 1L;
 
+  /**
+   * access method for property CursorFirstName.
+   */
+  public String getCursorFirstName() {
+    return getCursorFirstNameProperty().getValue();
+  }
+
+  /**
+   * access method for property CursorFirstName.
+   */
+  public void setCursorFirstName(String cursorFirstName) {
+    getCursorFirstNameProperty().setValue(cursorFirstName);
+  }
+
+  public CursorFirstNameProperty getCursorFirstNameProperty() {
+    return getPropertyByClass(CursorFirstNameProperty.class);
+  }
+
+  /**
+   * access method for property CursorLastName.
+   */
+  public String getCursorLastName() {
+    return getCursorLastNameProperty().getValue();
+  }
+
+  /**
+   * access method for property CursorLastName.
+   */
+  public void setCursorLastName(String cursorLastName) {
+    getCursorLastNameProperty().setValue(cursorLastName);
+  }
+
+  public CursorLastNameProperty getCursorLastNameProperty() {
+    return getPropertyByClass(CursorLastNameProperty.class);
+  }
+
+  /**
+   * access method for property CursorPersonId.
+   */
+  public String getCursorPersonId() {
+    return getCursorPersonIdProperty().getValue();
+  }
+
+  /**
+   * access method for property CursorPersonId.
+   */
+  public void setCursorPersonId(String cursorPersonId) {
+    getCursorPersonIdProperty().setValue(cursorPersonId);
+  }
+
+  public CursorPersonIdProperty getCursorPersonIdProperty() {
+    return getPropertyByClass(CursorPersonIdProperty.class);
+  }
+
   public FirstName getFirstName() {
     return getFieldByClass(FirstName.class);
   }
@@ -41,6 +96,39 @@ public class PersonSearchFormData extends AbstractFormData {
     return getFieldByClass(Organization.class);
   }
 
+  /**
+   * access method for property PageSize.
+   */
+  public Integer getPageSize() {
+    return getPageSizeProperty().getValue();
+  }
+
+  /**
+   * access method for property PageSize.
+   */
+  public void setPageSize(Integer pageSize) {
+    getPageSizeProperty().setValue(pageSize);
+  }
+
+  public PageSizeProperty getPageSizeProperty() {
+    return getPropertyByClass(PageSizeProperty.class);
+  }
+
+  public static class CursorFirstNameProperty extends AbstractPropertyData<String> {
+
+    private static final long serialVersionUID = 1L;
+  }
+
+  public static class CursorLastNameProperty extends AbstractPropertyData<String> {
+
+    private static final long serialVersionUID = 1L;
+  }
+
+  public static class CursorPersonIdProperty extends AbstractPropertyData<String> {
+
+    private static final long serialVersionUID = 1L;
+  }
+
   public static class FirstName extends AbstractValueFieldData<String> {
 
     private static final long serialVersionUID = 1L;
@@ -60,4 +148,9 @@ public class PersonSearchFormData extends AbstractFormData {
 
     private static final long serialVersionUID = 1L;
   }
+
+  public static class PageSizeProperty extends AbstractPropertyData<Integer> {
+
+    private static final long serialVersionUID = 1L;
+  }
 }
@@ -0,0 +1,27 @@
+/*******************************************************************************
+ * Copyright (c) 2015 BSI Business Systems Integration AG.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Distribution License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/org/documents/edl-v10.html
+ *
+ * Contributors:
+ *     BSI Business Systems Integration AG - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.scout.contacts.shared.search;
+
+import org.eclipse.scout.rt.platform.ApplicationScoped;
+import org.eclipse.scout.rt.shared.TunnelToServer;
+
+@ApplicationScoped
+@TunnelToServer
+public interface ISearchService {
+
+  /**
+   * Searches persons, organizations and any other indexed entities for the words of the query. Each word matches a word
+   * of an entity starting with it, ignoring case and accents.
+   *
+   * @return the matching entities, best matches first
+   */
+  SearchResultTablePageData search(String query);
+}